@@ -0,0 +1,115 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookup of the certificate extensions processed during a validation, when the extensions
+ * are already memoised within the {@code CertificateToken} against their parsing from the ASN.1 encoding.
+ * <p>
+ * Run with : java -jar dss-benchmarks/target/benchmarks.jar CertificateExtensionsBenchmark -prof gc
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CertificateExtensionsBenchmark {
+
+	/** The certificate with memoised extensions */
+	private CertificateToken certificateToken;
+
+	/**
+	 * Generates the certificate and parses its extensions once
+	 */
+	@Setup
+	public void setup() {
+		certificateToken = new CertificateGenerator().generate(1).get(0);
+		lookupExtensions(certificateToken, null);
+	}
+
+	/**
+	 * The extensions are returned from the token
+	 *
+	 * @param blackhole {@link Blackhole}
+	 */
+	@Benchmark
+	public void memoisedExtensions(Blackhole blackhole) {
+		lookupExtensions(certificateToken, blackhole);
+	}
+
+	/**
+	 * A new token is created for every invocation, thus all the extensions are parsed
+	 *
+	 * @param blackhole {@link Blackhole}
+	 */
+	@Benchmark
+	public void parsedExtensions(Blackhole blackhole) {
+		lookupExtensions(new CertificateToken(certificateToken.getCertificate()), blackhole);
+	}
+
+	/**
+	 * The cost of the token creation, included within {@code parsedExtensions}
+	 *
+	 * @return {@link CertificateToken}
+	 */
+	@Benchmark
+	public CertificateToken tokenCreation() {
+		return new CertificateToken(certificateToken.getCertificate());
+	}
+
+	private void lookupExtensions(CertificateToken token, Blackhole blackhole) {
+		consume(blackhole, CertificateExtensionsUtils.getSubjectKeyIdentifier(token));
+		consume(blackhole, CertificateExtensionsUtils.getAuthorityKeyIdentifier(token));
+		consume(blackhole, CertificateExtensionsUtils.getKeyUsage(token));
+		consume(blackhole, CertificateExtensionsUtils.getExtendedKeyUsage(token));
+		consume(blackhole, CertificateExtensionsUtils.getBasicConstraints(token));
+		consume(blackhole, CertificateExtensionsUtils.getCertificatePolicies(token));
+		consume(blackhole, CertificateExtensionsUtils.getCRLDistributionPoints(token));
+		consume(blackhole, CertificateExtensionsUtils.getAuthorityInformationAccess(token));
+		consume(blackhole, CertificateExtensionsUtils.getOcspNoCheck(token));
+		consume(blackhole, CertificateExtensionsUtils.getQcStatements(token));
+	}
+
+	private void consume(Blackhole blackhole, Object object) {
+		if (blackhole != null) {
+			blackhole.consume(object);
+		}
+	}
+
+}
@@ -0,0 +1,210 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.CertificatePolicies;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.asn1.x509.PolicyInformation;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates certificates with distinct key pairs, issued by a single CA, and CRLs of the CA for the benchmarks.
+ * The certificates contain the extensions commonly processed during a validation
+ * (SKI, AKI, key usage, basic constraints, certificate policies, CRL distribution points and AIA).
+ *
+ */
+final class CertificateGenerator {
+
+	/** The certificate policy of the generated certificates */
+	private static final String CERTIFICATE_POLICY_OID = "1.3.6.1.4.1.99999.1";
+
+	/** The CRL distribution point of the generated certificates */
+	private static final String CRL_URL = "http://dss.example.com/crl/ca.crl";
+
+	/** The CA issuers location of the generated certificates */
+	private static final String CA_ISSUERS_URL = "http://dss.example.com/crt/ca.crt";
+
+	/** The OCSP responder of the generated certificates */
+	private static final String OCSP_URL = "http://dss.example.com/ocsp";
+
+	/** The key pair generator (EC keys are used in order to keep the generation of large sets fast) */
+	private final KeyPairGenerator keyPairGenerator;
+
+	/** The name of the CA */
+	private final X500Name caName = new X500Name("CN=DSS Benchmark CA,O=DSS,C=LU");
+
+	/** The signer of the certificates */
+	private final ContentSigner contentSigner;
+
+	/** The extensions utils */
+	private final JcaX509ExtensionUtils extensionUtils;
+
+	/** The authority key identifier of the CA */
+	private final AuthorityKeyIdentifier authorityKeyIdentifier;
+
+	/** The self-signed certificate of the CA */
+	private final CertificateToken caCertificate;
+
+	/**
+	 * Default constructor
+	 */
+	CertificateGenerator() {
+		try {
+			keyPairGenerator = KeyPairGenerator.getInstance("EC");
+			keyPairGenerator.initialize(256);
+			final KeyPair caKeyPair = keyPairGenerator.generateKeyPair();
+			contentSigner = new JcaContentSignerBuilder("SHA256withECDSA").build(caKeyPair.getPrivate());
+			extensionUtils = new JcaX509ExtensionUtils();
+			authorityKeyIdentifier = extensionUtils.createAuthorityKeyIdentifier(caKeyPair.getPublic());
+			caCertificate = generateCaCertificate(caKeyPair);
+		} catch (Exception e) {
+			throw new DSSException(String.format("Unable to initialize the certificate generator : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Gets the self-signed certificate of the CA
+	 *
+	 * @return {@link CertificateToken}
+	 */
+	CertificateToken getCaCertificate() {
+		return caCertificate;
+	}
+
+	/**
+	 * Gets the CRL distribution point of the generated certificates
+	 *
+	 * @return {@link String} url
+	 */
+	String getCrlUrl() {
+		return CRL_URL;
+	}
+
+	/**
+	 * Generates {@code number} certificates with serial numbers from 1 to {@code number}
+	 *
+	 * @param number the number of certificates to generate
+	 * @return a list of {@link CertificateToken}s
+	 */
+	List<CertificateToken> generate(int number) {
+		final List<CertificateToken> certificates = new ArrayList<>(number);
+		for (int i = 1; i <= number; i++) {
+			certificates.add(generate(BigInteger.valueOf(i)));
+		}
+		return certificates;
+	}
+
+	/**
+	 * Generates a CRL of the CA revoking the certificates with serial numbers from 1 to {@code numberOfRevokedCertificates}
+	 *
+	 * @param numberOfRevokedCertificates the number of CRL entries
+	 * @param nextUpdate {@link Date} the nextUpdate of the CRL
+	 * @return DER-encoded CRL
+	 */
+	byte[] generateCRL(int numberOfRevokedCertificates, Date nextUpdate) {
+		try {
+			final Date thisUpdate = new Date();
+			final X509v2CRLBuilder builder = new X509v2CRLBuilder(caName, thisUpdate);
+			builder.setNextUpdate(nextUpdate);
+			builder.addExtension(Extension.authorityKeyIdentifier, false, authorityKeyIdentifier);
+			for (int i = 1; i <= numberOfRevokedCertificates; i++) {
+				builder.addCRLEntry(BigInteger.valueOf(i), thisUpdate, CRLReason.keyCompromise);
+			}
+			return builder.build(contentSigner).getEncoded();
+
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to generate a CRL : %s", e.getMessage()), e);
+		}
+	}
+
+	private CertificateToken generateCaCertificate(KeyPair caKeyPair) throws GeneralSecurityException, IOException {
+		final Date notBefore = new Date();
+		final Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(365));
+
+		final JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, BigInteger.ZERO, notBefore, notAfter,
+				caName, caKeyPair.getPublic());
+		builder.addExtension(Extension.subjectKeyIdentifier, false, extensionUtils.createSubjectKeyIdentifier(caKeyPair.getPublic()));
+		builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		return DSSASN1Utils.getCertificate(builder.build(contentSigner));
+	}
+
+	private CertificateToken generate(BigInteger serialNumber) {
+		try {
+			final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+			final Date notBefore = new Date();
+			final Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(365));
+
+			final JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, serialNumber, notBefore, notAfter,
+					new X500Name("CN=DSS Benchmark " + serialNumber + ",O=DSS,C=LU"), keyPair.getPublic());
+			builder.addExtension(Extension.subjectKeyIdentifier, false, extensionUtils.createSubjectKeyIdentifier(keyPair.getPublic()));
+			builder.addExtension(Extension.authorityKeyIdentifier, false, authorityKeyIdentifier);
+			builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.digitalSignature | KeyUsage.nonRepudiation));
+			builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(false));
+			builder.addExtension(Extension.certificatePolicies, false,
+					new CertificatePolicies(new PolicyInformation(new ASN1ObjectIdentifier(CERTIFICATE_POLICY_OID))));
+			builder.addExtension(Extension.cRLDistributionPoints, false, new CRLDistPoint(new DistributionPoint[] {
+					new DistributionPoint(new DistributionPointName(new GeneralNames(getURI(CRL_URL))), null, null) }));
+			builder.addExtension(Extension.authorityInfoAccess, false, new AuthorityInformationAccess(new AccessDescription[] {
+					new AccessDescription(AccessDescription.id_ad_caIssuers, getURI(CA_ISSUERS_URL)),
+					new AccessDescription(AccessDescription.id_ad_ocsp, getURI(OCSP_URL)) }));
+			return DSSASN1Utils.getCertificate(builder.build(contentSigner));
+
+		} catch (GeneralSecurityException | IOException e) {
+			throw new DSSException(String.format("Unable to generate a certificate : %s", e.getMessage()), e);
+		}
+	}
+
+	private GeneralName getURI(String url) {
+		return new GeneralName(GeneralName.uniformResourceIdentifier, url);
+	}
+
+}
@@ -0,0 +1,158 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.x509.CertificateRef;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.spi.x509.SignerIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the {@code CommonCertificateSource} lookups against the linear scan
+ * over all the certificates of the source (the behaviour before the introduction of the indexes).
+ * <p>
+ * Run with : java -jar dss-benchmarks/target/benchmarks.jar CommonCertificateSourceBenchmark
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommonCertificateSourceBenchmark {
+
+	/** The number of certificates within the source */
+	@Param({ "10000", "100000" })
+	private int numberOfCertificates;
+
+	/** The certificate source to query */
+	private CommonCertificateSource certificateSource;
+
+	/** All the certificates of the source, used by the linear scan */
+	private List<CertificateToken> certificates;
+
+	/** The looked up certificate */
+	private CertificateToken certificateToken;
+
+	/** SKI of the looked up certificate */
+	private byte[] ski;
+
+	/** Issuer and serial number of the looked up certificate */
+	private SignerIdentifier signerIdentifier;
+
+	/** SHA-256 digest of the looked up certificate */
+	private Digest digest;
+
+	/** Certificate reference by digest and issuer-serial of the looked up certificate */
+	private CertificateRef certificateRef;
+
+	/**
+	 * Fills the certificate source and computes the identifiers of the looked up certificate
+	 */
+	@Setup
+	public void setup() {
+		certificates = new CertificateGenerator().generate(numberOfCertificates);
+		certificateSource = new CommonCertificateSource();
+		for (CertificateToken certificate : certificates) {
+			certificateSource.addCertificate(certificate);
+		}
+
+		certificateToken = certificates.get(numberOfCertificates / 2);
+		ski = DSSASN1Utils.computeSkiFromCert(certificateToken);
+
+		signerIdentifier = new SignerIdentifier();
+		signerIdentifier.setIssuerName(certificateToken.getIssuerX500Principal());
+		signerIdentifier.setSerialNumber(certificateToken.getSerialNumber());
+
+		digest = new Digest(DigestAlgorithm.SHA256, certificateToken.getDigest(DigestAlgorithm.SHA256));
+
+		certificateRef = new CertificateRef();
+		certificateRef.setCertDigest(digest);
+		certificateRef.setCertificateIdentifier(signerIdentifier);
+
+		// builds the lazy digest index and the digests used by the linear scan
+		certificateSource.getByCertificateDigest(digest);
+	}
+
+	@Benchmark
+	public Set<CertificateToken> getBySki() {
+		return certificateSource.getBySki(ski);
+	}
+
+	@Benchmark
+	public Set<CertificateToken> getBySignerIdentifier() {
+		return certificateSource.getBySignerIdentifier(signerIdentifier);
+	}
+
+	@Benchmark
+	public Set<CertificateToken> getByCertificateDigest() {
+		return certificateSource.getByCertificateDigest(digest);
+	}
+
+	@Benchmark
+	public Set<CertificateToken> findTokensFromCertRef() {
+		return certificateSource.findTokensFromCertRef(certificateRef);
+	}
+
+	@Benchmark
+	public Set<CertificateToken> linearScanBySignerIdentifier() {
+		final Set<CertificateToken> result = new HashSet<>();
+		for (CertificateToken certificate : certificates) {
+			if (signerIdentifier.isRelatedToCertificate(certificate)) {
+				result.add(certificate);
+			}
+		}
+		return result;
+	}
+
+	@Benchmark
+	public Set<CertificateToken> linearScanByCertificateDigest() {
+		final Set<CertificateToken> result = new HashSet<>();
+		for (CertificateToken certificate : certificates) {
+			if (Arrays.equals(digest.getValue(), certificate.getDigest(digest.getAlgorithm()))) {
+				result.add(certificate);
+			}
+		}
+		return result;
+	}
+
+}
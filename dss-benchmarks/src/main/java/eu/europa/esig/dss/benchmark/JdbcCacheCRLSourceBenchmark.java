@@ -0,0 +1,197 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.service.crl.JdbcCacheCRLSource;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@code JdbcCacheCRLSource} with the default schema (no index, one statement per stored entry)
+ * against the indexed schema (primary key on ID, index on NEXT_UPDATE, batched upserts)
+ * within an in-memory H2 database.
+ * <p>
+ * Run with : java -jar dss-benchmarks/target/benchmarks.jar JdbcCacheCRLSourceBenchmark
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcCacheCRLSourceBenchmark {
+
+	/** The number of entries stored within a refresh */
+	private static final int REFRESHED_ENTRIES = 100;
+
+	/** Whether the indexed schema is used */
+	@Param({ "false", "true" })
+	private boolean indexedSchema;
+
+	/** The number of entries within the table */
+	@Param({ "1000", "10000" })
+	private int numberOfEntries;
+
+	/** The benchmarked source */
+	private BenchmarkJdbcCacheCRLSource crlSource;
+
+	/** The certificate to get the CRL for */
+	private CertificateToken certificateToken;
+
+	/** The issuer of the certificate and of the CRL */
+	private CertificateToken caCertificate;
+
+	/** The entries stored on a refresh */
+	private Map<String, RevocationToken<CRL>> refreshedEntries;
+
+	/**
+	 * Creates the table and stores {@code numberOfEntries} CRLs, including the one of the looked up certificate
+	 *
+	 * @throws SQLException if an error on table creation occurs
+	 * @throws IOException if an error on CRL parsing occurs
+	 */
+	@Setup
+	public void setup() throws SQLException, IOException {
+		final CertificateGenerator certificateGenerator = new CertificateGenerator();
+		certificateToken = certificateGenerator.generate(1).get(0);
+		caCertificate = certificateGenerator.getCaCertificate();
+
+		final byte[] crl = certificateGenerator.generateCRL(REFRESHED_ENTRIES, new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(7)));
+		final CRLValidity crlValidity = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(crl), caCertificate);
+		crlValidity.setIssuerToken(caCertificate);
+		final CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
+
+		final JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setUrl(String.format("jdbc:h2:mem:crl-%s-%s;DB_CLOSE_DELAY=-1", indexedSchema, numberOfEntries));
+
+		crlSource = new BenchmarkJdbcCacheCRLSource();
+		crlSource.setJdbcCacheConnector(new JdbcCacheConnector(dataSource));
+		crlSource.setIndexedSchema(indexedSchema);
+		crlSource.initTable();
+
+		refreshedEntries = new LinkedHashMap<>();
+		final Map<String, RevocationToken<CRL>> entries = new LinkedHashMap<>();
+		for (int i = 1; i < numberOfEntries; i++) {
+			final String key = DSSUtils.getSHA1Digest("http://dss.example.com/crl/" + i + ".crl");
+			entries.put(key, crlToken);
+			if (i <= REFRESHED_ENTRIES) {
+				refreshedEntries.put(key, crlToken);
+			}
+		}
+		// the looked up entry is stored at the end of the table
+		entries.put(DSSRevocationUtils.getCRLRevocationTokenKey(certificateGenerator.getCrlUrl()), crlToken);
+		crlSource.insert(entries);
+	}
+
+	/**
+	 * Drops the table
+	 *
+	 * @throws SQLException if an error on table removal occurs
+	 */
+	@TearDown
+	public void tearDown() throws SQLException {
+		crlSource.destroyTable();
+	}
+
+	/**
+	 * Gets a fresh CRL from the cache
+	 *
+	 * @return {@link CRLToken}
+	 */
+	@Benchmark
+	public CRLToken getRevocationToken() {
+		final CRLToken crlToken = crlSource.getRevocationToken(certificateToken, caCertificate);
+		if (crlToken == null) {
+			throw new DSSException("The CRL is not found in the cache!");
+		}
+		return crlToken;
+	}
+
+	/**
+	 * Stores {@code REFRESHED_ENTRIES} refreshed CRLs
+	 *
+	 * @return number of stored entries
+	 */
+	@Benchmark
+	public int storeRefreshedEntries() {
+		return crlSource.store(refreshedEntries);
+	}
+
+	/**
+	 * Exposes the storage of the entries : a batched upsert with the indexed schema,
+	 * a lookup followed by an UPDATE or an INSERT statement per entry with the default schema
+	 */
+	private static class BenchmarkJdbcCacheCRLSource extends JdbcCacheCRLSource {
+
+		private static final long serialVersionUID = -3150270436212402371L;
+
+		private void insert(Map<String, RevocationToken<CRL>> entries) {
+			for (Map.Entry<String, RevocationToken<CRL>> entry : entries.entrySet()) {
+				insertRevocation(entry.getKey(), entry.getValue());
+			}
+		}
+
+		private int store(Map<String, RevocationToken<CRL>> entries) {
+			if (isIndexedSchema()) {
+				return upsertRevocations(entries);
+			}
+			for (Map.Entry<String, RevocationToken<CRL>> entry : entries.entrySet()) {
+				if (!getJdbcCacheConnector().select(getRevocationDataExtractQuery(), entry.getKey()).isEmpty()) {
+					updateRevocation(entry.getKey(), entry.getValue());
+				} else {
+					insertRevocation(entry.getKey(), entry.getValue());
+				}
+			}
+			return entries.size();
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one complete {@code validateDocument()} of an XAdES-BASELINE-LTA signature, with the memoisation
+ * of the parsed certificate extensions enabled and disabled. Running the benchmark with "-prof gc" also shows
+ * the allocation saved by parsing each extension at most once per certificate.
+ * <p>
+ * The validation is performed offline, with the validation data embedded within the signature.
+ * The signature is read from the test resources of the dss-xades module.
+ * Run from the project root with : java -jar dss-benchmarks/target/benchmarks.jar LTAValidationBenchmark -prof gc
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LTAValidationBenchmark {
+
+	/** The root certificate of the signature and timestamp chains */
+	private static final String ROOT_CA = "MIIDVzCCAj+gAwIBAgIBATANBgkqhkiG9w0BAQ0FADBNMRAwDgYDVQQDDAdyb290LWNhMRkwFwYDVQQKDBBOb3dpbmEgU29sdXRpb25zMREwDwYDVQQLDAhQS0ktVEVTVDELMAkGA1UEBhMCTFUwHhcNMjAwODExMTMzODQ2WhcNMjIwODExMTMzODQ2WjBNMRAwDgYDVQQDDAdyb290LWNhMRkwFwYDVQQKDBBOb3dpbmEgU29sdXRpb25zMREwDwYDVQQLDAhQS0ktVEVTVDELMAkGA1UEBhMCTFUwggEiMA0GCSqGSIb3DQEBAQUAA4IBDwAwggEKAoIBAQCbPNNfnt/DLFBCITlbVs/p9zjEZnwMCxYA9XjGwY866otqZ9QPuDwV+gimlPdsZo41ph8tNNneLgwwm8Ju2eTY94uRneUZAkLK0FZA0kGg6uPtDKlUkVRzYcRkfAzUB6D3hgp3yI72EF3TfZ3KKEr6h7IBVmKI7fhF5DGBZ/kXcPVmx+2qgTAQQWjLFSxaAbAozWX0lqF6mb5FbMhI1nYsI3Dfri1ne6JB2FoiUUclQYbHO/AkVoCkQ7mjzkRz5Wg25CQIC9Ry40d9JPkT3s6BDzNB7QmOXuP1ebw3P13LOzvjOgP5pByePMylIHOHhxKx7nKNtQUDPefyLzk6Y5IhAgMBAAGjQjBAMA4GA1UdDwEB/wQEAwIBBjAdBgNVHQ4EFgQUeiKvMxpYImeWH2ooAIfMB0aWL9IwDwYDVR0TAQH/BAUwAwEB/zANBgkqhkiG9w0BAQ0FAAOCAQEAYxuCQLquCbVG4Q+2IZjfpCf5sOGhrESLsoZrlXX+8P+3FJ0yqLxQwkLe2Q55CbvPg39kdjtW8V1/ZrMuV00YWDSwhSQCuUH9id/2gWZ+TA6J83nTnPmGcyAnLChhG5yuZZZxPy9fzhZRwA4O91VFrd/5aXZ0fBsfhOPc/t5J0vPbbv+wkCj+A/gQk5wmne9u53brZI39aoqZmYFC5JiprI5f8cgM7s94Z7LUg4k9vlNiw3Ovo5oHEui9j6skIu5yWqmC+7d60KIRhHgwxm/plbNr9Ed2O+xVn1G0tK7CuQDoKK/n16FnTBB3xHY2u/nwMKL0MGKg5+n+iwYi7aC6Yw==";
+
+	@Param({ "dss-xades/src/test/resources/validation/xades-lta-valid.xml" })
+	private String signedDocumentPath;
+
+	@Param({ "true", "false" })
+	private boolean extensionsMemoisation;
+
+	private DSSDocument signedDocument;
+
+	private CertificateVerifier certificateVerifier;
+
+	@Setup
+	public void setup() {
+		// the document is kept in memory to exclude the file access from the measurement
+		signedDocument = new InMemoryDocument(DSSUtils.toByteArray(new FileDocument(signedDocumentPath)));
+
+		CommonTrustedCertificateSource trustedCertificateSource = new CommonTrustedCertificateSource();
+		trustedCertificateSource.addCertificate(DSSUtils.loadCertificateFromBase64EncodedString(ROOT_CA));
+
+		// no online sources, the validation data embedded within the signature is used
+		certificateVerifier = new CommonCertificateVerifier(true);
+		certificateVerifier.setTrustedCertSources(trustedCertificateSource);
+
+		CertificateExtensionsUtils.setMemoisationEnabled(extensionsMemoisation);
+
+		SimpleReport simpleReport = validateDocument().getSimpleReport();
+		if (simpleReport.getSignaturesCount() != 1) {
+			throw new IllegalStateException(String.format("The document '%s' shall contain one signature", signedDocumentPath));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		CertificateExtensionsUtils.setMemoisationEnabled(true);
+	}
+
+	/**
+	 * A new validator is created for every invocation, thus the certificate tokens (and their memoised extensions)
+	 * are not shared between the invocations
+	 *
+	 * @return {@link Reports}
+	 */
+	@Benchmark
+	public Reports validateDocument() {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(certificateVerifier);
+		return validator.validateDocument();
+	}
+
+}
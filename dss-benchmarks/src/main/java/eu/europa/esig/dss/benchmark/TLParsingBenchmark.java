@@ -0,0 +1,86 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.tsl.parsing.StreamingTLParsingTask;
+import eu.europa.esig.dss.tsl.parsing.TLParsingResult;
+import eu.europa.esig.dss.tsl.parsing.TLParsingTask;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of a trusted list with the streaming StAX parser against the complete JAXB unmarshalling.
+ * The allocation rate reported by the gc profiler shows the transient object graph avoided by the streaming parser.
+ * <p>
+ * The trusted lists are read from the test resources of the dss-tsl-validation module.
+ * Run from the project root with : java -jar dss-benchmarks/target/benchmarks.jar TLParsingBenchmark -prof gc
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TLParsingBenchmark {
+
+	@Param({ "dss-tsl-validation/src/test/resources/de-tl.xml", "dss-tsl-validation/src/test/resources/fr.xml",
+			"dss-tsl-validation/src/test/resources/eu-lotl.xml" })
+	private String trustedListPath;
+
+	private DSSDocument trustedList;
+
+	private TLSource tlSource;
+
+	@Setup
+	public void setup() {
+		// the document is kept in memory to exclude the file access from the measurement
+		trustedList = new InMemoryDocument(DSSUtils.toByteArray(new FileDocument(trustedListPath)));
+		tlSource = new TLSource();
+	}
+
+	@Benchmark
+	public TLParsingResult jaxbParsing() {
+		return new TLParsingTask(trustedList, tlSource).get();
+	}
+
+	@Benchmark
+	public TLParsingResult streamingParsing() {
+		return new StreamingTLParsingTask(trustedList, tlSource).get();
+	}
+
+}
@@ -0,0 +1,140 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.tsl.OtherTSLPointer;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.tsl.parsing.LOTLParsingResult;
+import eu.europa.esig.dss.tsl.parsing.LOTLParsingTask;
+import eu.europa.esig.dss.tsl.parsing.TLParsingTask;
+import eu.europa.esig.dss.tsl.source.LOTLSource;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import eu.europa.esig.dss.tsl.validation.LightweightTLValidatorTask;
+import eu.europa.esig.dss.tsl.validation.TLValidatorTask;
+import eu.europa.esig.dss.tsl.validation.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the validation of a trusted list signature with the lightweight validator against
+ * the complete validation process, for each of the national trusted lists bundled within the test resources
+ * and for the LOTL itself. The signature of a trusted list is validated against the signing certificates
+ * announced for its territory within the LOTL, as done by the TL validation job.
+ * <p>
+ * The trusted lists are read from the test resources of the dss-tsl-validation module.
+ * Run from the project root with : java -jar dss-benchmarks/target/benchmarks.jar TLValidationBenchmark
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TLValidationBenchmark {
+
+	/** The LOTL announcing the signing certificates of the trusted lists */
+	private static final String LOTL_PATH = "dss-tsl-validation/src/test/resources/eu-lotl.xml";
+
+	@Param({
+			"dss-tsl-validation/src/test/resources/eu-lotl.xml",
+			"dss-tsl-validation/src/test/resources/de-tl.xml",
+			"dss-tsl-validation/src/test/resources/dk_tl-sn21.xml",
+			"dss-tsl-validation/src/test/resources/fr.xml",
+			"dss-tsl-validation/src/test/resources/ie-tl.xml",
+			"dss-tsl-validation/src/test/resources/sk-tl.xml"
+	})
+	private String trustedListPath;
+
+	private DSSDocument trustedList;
+
+	private CertificateSource certificateSource;
+
+	@Setup
+	public void setup() {
+		// the document is kept in memory to exclude the file access from the measurement
+		trustedList = new InMemoryDocument(DSSUtils.toByteArray(new FileDocument(trustedListPath)));
+
+		String territory = new TLParsingTask(trustedList, new TLSource()).get().getTerritory();
+		List<CertificateToken> signingCertificates = getAnnouncedSigningCertificates(territory);
+		if (signingCertificates.isEmpty()) {
+			throw new IllegalStateException(String.format("No signing certificate is announced within the LOTL for the territory '%s'",
+					territory));
+		}
+		certificateSource = new CommonCertificateSource();
+		for (CertificateToken signingCertificate : signingCertificates) {
+			certificateSource.addCertificate(signingCertificate);
+		}
+
+		ValidationResult validationResult = new TLValidatorTask(trustedList, certificateSource).get();
+		if (Indication.TOTAL_PASSED != validationResult.getIndication()) {
+			throw new IllegalStateException(String.format("The signature of the trusted list '%s' is not valid : %s",
+					trustedListPath, validationResult.getIndication()));
+		}
+	}
+
+	private List<CertificateToken> getAnnouncedSigningCertificates(String territory) {
+		DSSDocument lotl = new FileDocument(LOTL_PATH);
+		LOTLParsingResult lotlParsingResult = new LOTLParsingTask(lotl, new LOTLSource()).get();
+
+		List<OtherTSLPointer> pointers = new ArrayList<>(lotlParsingResult.getLotlPointers());
+		pointers.addAll(lotlParsingResult.getTlPointers());
+
+		List<CertificateToken> signingCertificates = new ArrayList<>();
+		for (OtherTSLPointer pointer : pointers) {
+			if (territory.equals(pointer.getSchemeTerritory())) {
+				signingCertificates.addAll(pointer.getSdiCertificates());
+			}
+		}
+		return signingCertificates;
+	}
+
+	@Benchmark
+	public ValidationResult completeValidation() {
+		return new TLValidatorTask(trustedList, certificateSource).get();
+	}
+
+	@Benchmark
+	public ValidationResult lightweightValidation() {
+		return new LightweightTLValidatorTask(trustedList, certificateSource).get();
+	}
+
+}
@@ -42,6 +42,7 @@ import org.slf4j.LoggerFactory;
 import javax.security.auth.x500.X500Principal;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
@@ -86,6 +87,9 @@ class CRLParser {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CRLParser.class);
 
+	/** The size of the buffer used to stream the signed data */
+	private static final int BUFFER_SIZE = 8192;
+
 	/**
 	 * This method extracts the signed data (TBSCertList)
 	 * 
@@ -108,8 +112,8 @@ class CRLParser {
 		DERUtil.readTagNumber(is, tag);
 		int tbsLength = DERUtil.readLength(is);
 
-		// Read TBSCertList Content
-		readNbBytes(is, tbsLength);
+		// Read TBSCertList Content by chunks (the content is consumed by the filtering OutputStream)
+		consume(is, tbsLength);
 
 		// End digest TBS
 		is.on(false);
@@ -196,6 +200,116 @@ class CRLParser {
 		return null;
 	}
 
+	/**
+	 * This method parses the revokedCertificates sequence once and collects the serial numbers with the position
+	 * of the corresponding entries within the CRL
+	 *
+	 * @param is
+	 *            {@link InputStream} an InputStream with the CRL
+	 * @return {@link SerialNumberIndex}
+	 * @throws IOException if an exception occurs
+	 */
+	public SerialNumberIndex buildSerialNumberIndex(InputStream is) throws IOException {
+		final PositionInputStream pis = new PositionInputStream(is);
+
+		// Skip CertificateList Sequence info
+		consumeTagIntro(pis);
+
+		// Read TBSCertList Sequence
+		consumeTagIntro(pis);
+
+		// Skip all before mandatory thisUpdate
+		int tag = -1;
+		int tagNo = BERTags.NULL;
+		int length = -1;
+		do {
+			tag = DERUtil.readTag(pis);
+			tagNo = DERUtil.readTagNumber(pis, tag);
+			length = DERUtil.readLength(pis);
+			skip(pis, length);
+		} while (!isDate(tagNo));
+
+		tag = DERUtil.readTag(pis);
+		tagNo = DERUtil.readTagNumber(pis, tag);
+		length = DERUtil.readLength(pis);
+
+		// TBSCertList -> nextUpdate (optional)
+		if (isDate(tagNo)) {
+			skip(pis, length);
+
+			tag = DERUtil.readTag(pis);
+			tagNo = DERUtil.readTagNumber(pis, tag);
+			length = DERUtil.readLength(pis);
+		}
+
+		final SerialNumberIndex.Builder builder = new SerialNumberIndex.Builder();
+		if (tagNo != BERTags.SEQUENCE) {
+			return builder.build();
+		}
+
+		// TBSCertList -> revokedCertificates (or CertificateList -> signatureAlgorithm if absent)
+		final long end = pis.getPosition() + length;
+		while (pis.getPosition() < end) {
+			final int entryPosition = (int) pis.getPosition();
+			tag = DERUtil.readTag(pis);
+			if (tag < 0) {
+				// EOF
+				break;
+			}
+			tagNo = DERUtil.readTagNumber(pis, tag);
+			length = DERUtil.readLength(pis);
+
+			if (tagNo != BERTags.SEQUENCE) {
+				// not a revokedCertificates sequence
+				return SerialNumberIndex.EMPTY;
+			}
+
+			final long entryEnd = pis.getPosition() + length;
+			int entryTag = DERUtil.readTag(pis);
+			int entryTagNo = DERUtil.readTagNumber(pis, entryTag);
+			int entryLength = DERUtil.readLength(pis);
+
+			// SerialNumber
+			if (BERTags.INTEGER == entryTagNo) {
+				ASN1Integer asn1SerialNumber = rebuildASN1Integer(readNbBytes(pis, entryLength));
+				builder.add(asn1SerialNumber.getValue(), entryPosition);
+			} else {
+				LOG.debug("CRL entry should start with an INTEGER : tagNo = {} (ignored)", entryTagNo);
+			}
+			skip(pis, (int) (entryEnd - pis.getPosition()));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * This method reads a single CRL entry at the given position (see {@link #buildSerialNumberIndex(InputStream)})
+	 *
+	 * @param is
+	 *            {@link InputStream} an InputStream with the CRL
+	 * @param entryPosition
+	 *            position of the CRL entry within the CRL
+	 * @param serialNumber
+	 *            {@link BigInteger} the certificate's serial number
+	 * @return {@link X509CRLEntry} or null if the entry at the given position does not concern the serial number
+	 * @throws IOException if an exception occurs
+	 */
+	public X509CRLEntry retrieveRevocationInfo(InputStream is, int entryPosition, BigInteger serialNumber) throws IOException {
+		skip(is, entryPosition);
+
+		int tag = DERUtil.readTag(is);
+		int tagNo = DERUtil.readTagNumber(is, tag);
+		int length = DERUtil.readLength(is);
+		if (tagNo != BERTags.SEQUENCE) {
+			return null;
+		}
+
+		CRLEntry crlEntry = CRLEntry.getInstance(rebuildASN1Sequence(readNbBytes(is, length)));
+		if (serialNumber.equals(crlEntry.getUserCertificate().getValue())) {
+			return new X509CRLEntryObject(crlEntry);
+		}
+		return null;
+	}
+
 	/**
 	 * This method allows to retrieve common CRL information (thisUpdate, nextUpdate, signatureAlgorithm,
 	 * signatureValue, extensions,...). It voluntary doesn't parse the revokedCertificates sequence.
@@ -386,6 +500,28 @@ class CRLParser {
 		return array;
 	}
 
+	/**
+	 * This method reads n bytes from the InputStream using a fixed-size buffer
+	 *
+	 * @param is
+	 *            {@link InputStream}
+	 * @param length
+	 *            number of bytes to be read
+	 * @throws IOException if an error occurs during the InputStream reading
+	 */
+	private void consume(InputStream is, int length) throws IOException {
+		byte[] buffer = new byte[Math.min(length, BUFFER_SIZE)];
+		int remaining = length;
+		while (remaining > 0) {
+			int read = is.read(buffer, 0, Math.min(remaining, buffer.length));
+			if (read == -1) {
+				LOG.warn("Cannot read expected length!");
+				return;
+			}
+			remaining -= read;
+		}
+	}
+
 	/**
 	 * This method skips n bytes in the InputStream
 	 * 
@@ -475,4 +611,62 @@ class CRLParser {
 		}
 	}
 
+	/**
+	 * Keeps track of the number of bytes read or skipped
+	 */
+	private static class PositionInputStream extends FilterInputStream {
+
+		/** Number of consumed bytes */
+		private long position = 0;
+
+		/**
+		 * The default constructor
+		 *
+		 * @param in to read
+		 */
+		PositionInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int ch = in.read();
+			if (ch != -1) {
+				position++;
+			}
+			return ch;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int result = in.read(b, off, len);
+			if (result > 0) {
+				position += result;
+			}
+			return result;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = in.skip(n);
+			position += skipped;
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		/**
+		 * Returns the number of consumed bytes
+		 *
+		 * @return the position within the original InputStream
+		 */
+		long getPosition() {
+			return position;
+		}
+
+	}
+
 }
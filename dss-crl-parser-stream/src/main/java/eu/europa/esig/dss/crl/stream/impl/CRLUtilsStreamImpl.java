@@ -33,13 +33,15 @@ import org.slf4j.LoggerFactory;
 
 import javax.security.auth.x500.X500Principal;
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
 import java.security.GeneralSecurityException;
 import java.security.Signature;
 import java.security.cert.X509CRLEntry;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * The DSS implementation of {@code ICRLUtils}
@@ -48,6 +50,15 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CRLUtilsStreamImpl.class);
 
+	/** The default number of CRLs for which a serial number index is kept in memory */
+	private static final int DEFAULT_SERIAL_NUMBER_INDEX_CACHE_SIZE = 16;
+
+	/** The maximum number of kept serial number indexes (0 disables the indexing) */
+	private volatile int serialNumberIndexCacheSize = DEFAULT_SERIAL_NUMBER_INDEX_CACHE_SIZE;
+
+	/** The serial number indexes of verified CRLs, by CRL identifier (in access order) */
+	private final Map<String, SerialNumberIndex> serialNumberIndexes = new LinkedHashMap<>(16, 0.75f, true);
+
 	/**
 	 * Default constructor
 	 */
@@ -55,6 +66,33 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 		// empty
 	}
 
+	/**
+	 * Sets the maximum number of CRLs for which the revoked serial numbers are indexed in memory.
+	 * The index is built once per verified CRL, on the first revocation lookup, and allows to answer the following
+	 * lookups without re-parsing the whole CRL. The least recently used indexes are evicted first.
+	 * Default : 16 (0 disables the indexing)
+	 *
+	 * @param serialNumberIndexCacheSize the maximum number of kept indexes
+	 */
+	public void setSerialNumberIndexCacheSize(int serialNumberIndexCacheSize) {
+		if (serialNumberIndexCacheSize < 0) {
+			throw new IllegalArgumentException("The serial number index cache size cannot be negative!");
+		}
+		synchronized (serialNumberIndexes) {
+			this.serialNumberIndexCacheSize = serialNumberIndexCacheSize;
+			evictSerialNumberIndexes();
+		}
+	}
+
+	/**
+	 * Removes all the kept serial number indexes
+	 */
+	public void clearSerialNumberIndexCache() {
+		synchronized (serialNumberIndexes) {
+			serialNumberIndexes.clear();
+		}
+	}
+
 	@Override
 	public CRLValidity buildCRLValidity(CRLBinary crlBinary, CertificateToken issuerToken) throws IOException {
 		
@@ -71,6 +109,8 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 		crlValidity.setCriticalExtensionsOid(crlInfos.getCriticalExtensions().keySet());
 		extractIssuingDistributionPointBinary(crlValidity, crlInfos.getCriticalExtension(Extension.issuingDistributionPoint.getId()));
 		extractExpiredCertsOnCRL(crlValidity, crlInfos.getNonCriticalExtension(Extension.expiredCertsOnCRL.getId()));
+		extractCRLNumber(crlValidity, crlInfos.getNonCriticalExtension(Extension.cRLNumber.getId()));
+		extractDeltaCRLIndicator(crlValidity, crlInfos.getCriticalExtension(Extension.deltaCRLIndicator.getId()));
 
 		final X500Principal x509CRLIssuerX500Principal = crlInfos.getIssuer();
 		final X500Principal issuerTokenSubjectX500Principal = issuerToken.getSubject().getPrincipal();
@@ -78,23 +118,34 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 			crlValidity.setIssuerX509PrincipalMatches(true);
 		}
 
-		checkSignatureValue(crlValidity, crlInfos.getSignatureValue(), signatureAlgorithm, getSignedData(crlValidity), issuerToken);
+		checkSignatureValue(crlValidity, crlInfos.getSignatureValue(), signatureAlgorithm, issuerToken);
 		
 		return crlValidity;
 	}
 
-	private byte[] getSignedData(CRLValidity crlValidity) throws IOException {
+	/**
+	 * Streams the TBSCertList of the CRL into the {@code signature}, without loading the signed data in memory
+	 *
+	 * @param crlValidity {@link CRLValidity}
+	 * @param signature {@link Signature} initialized for verification
+	 * @throws IOException if an error occurs during the CRL reading
+	 */
+	private void updateWithSignedData(CRLValidity crlValidity, Signature signature) throws IOException {
 		try (InputStream is = crlValidity.toCRLInputStream();
-			 ByteArrayOutputStream baos = new ByteArrayOutputStream();
-			 BinaryFilteringInputStream bfis = new BinaryFilteringInputStream(is, baos)) {
+			 BufferedInputStream bis = new BufferedInputStream(is);
+			 BinaryFilteringInputStream bfis = new BinaryFilteringInputStream(bis, new SignatureOutputStream(signature))) {
 			CRLParser parser = new CRLParser();
 			parser.getSignedData(bfis);
-			return baos.toByteArray();
 		}
 	}
 
 	@Override
 	public X509CRLEntry getRevocationInfo(CRLValidity crlValidity, BigInteger serialNumber) {
+		SerialNumberIndex serialNumberIndex = getSerialNumberIndex(crlValidity);
+		if (serialNumberIndex != null) {
+			return getRevocationInfo(crlValidity, serialNumberIndex, serialNumber);
+		}
+
 		CRLParser parser = new CRLParser();
 		X509CRLEntry crlEntry = null;
 		try (InputStream is = crlValidity.toCRLInputStream()) {
@@ -105,12 +156,75 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 		return crlEntry;
 	}
 
+	private X509CRLEntry getRevocationInfo(CRLValidity crlValidity, SerialNumberIndex serialNumberIndex, BigInteger serialNumber) {
+		int entryPosition = serialNumberIndex.getEntryPosition(serialNumber);
+		if (entryPosition < 0) {
+			return null;
+		}
+		CRLParser parser = new CRLParser();
+		X509CRLEntry crlEntry = null;
+		try (InputStream is = crlValidity.toCRLInputStream()) {
+			crlEntry = parser.retrieveRevocationInfo(is, entryPosition, serialNumber);
+		} catch (IOException e) {
+			LOG.warn("Unable to retrieve the revocation status", e);
+		}
+		return crlEntry;
+	}
+
+	/**
+	 * Returns the serial number index for the given CRL, builds it if needed.
+	 * The index is only built for CRLs with a verified signature.
+	 *
+	 * @param crlValidity {@link CRLValidity}
+	 * @return {@link SerialNumberIndex} or null if not available
+	 */
+	private SerialNumberIndex getSerialNumberIndex(CRLValidity crlValidity) {
+		if (serialNumberIndexCacheSize == 0 || !crlValidity.isSignatureIntact()) {
+			return null;
+		}
+		final String key = crlValidity.getCrlBinary().asXmlId();
+		synchronized (serialNumberIndexes) {
+			SerialNumberIndex serialNumberIndex = serialNumberIndexes.get(key);
+			if (serialNumberIndex != null) {
+				return serialNumberIndex;
+			}
+		}
+
+		SerialNumberIndex serialNumberIndex;
+		try (InputStream is = crlValidity.toCRLInputStream(); BufferedInputStream bis = new BufferedInputStream(is)) {
+			serialNumberIndex = new CRLParser().buildSerialNumberIndex(bis);
+		} catch (Exception e) {
+			LOG.warn("Unable to index the CRL entries : {}", e.getMessage());
+			return null;
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Serial number index built for CRL '{}' : {} entries, {} bytes", key,
+					serialNumberIndex.size(), serialNumberIndex.getMemorySize());
+		}
+
+		synchronized (serialNumberIndexes) {
+			if (serialNumberIndexCacheSize > 0) {
+				serialNumberIndexes.put(key, serialNumberIndex);
+				evictSerialNumberIndexes();
+			}
+		}
+		return serialNumberIndex;
+	}
+
+	private void evictSerialNumberIndexes() {
+		Iterator<String> iterator = serialNumberIndexes.keySet().iterator();
+		while (serialNumberIndexes.size() > serialNumberIndexCacheSize && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
 	private void checkSignatureValue(CRLValidity crlValidity, byte[] signatureValue, SignatureAlgorithm signatureAlgorithm,
-									 byte[] signedData, CertificateToken signer) {
+									 CertificateToken signer) throws IOException {
 		try {
 			Signature signature = Signature.getInstance(signatureAlgorithm.getJCEId());
 			signature.initVerify(signer.getPublicKey());
-			signature.update(signedData);
+			updateWithSignedData(crlValidity, signature);
 			if (signature.verify(signatureValue)) {
 				crlValidity.setSignatureIntact(true);
 				crlValidity.setIssuerToken(signer);
@@ -0,0 +1,201 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl.stream.impl;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Compact lookup index over the revokedCertificates of a CRL.
+ * <p>
+ * The index keeps only the encoded serial numbers (sorted) and the position of the corresponding entry within
+ * the DER encoded CRL. A lookup for a non-revoked certificate is answered from memory, a lookup for a revoked
+ * certificate requires a single positioned read of the CRL entry.
+ */
+final class SerialNumberIndex {
+
+	/** Empty index, used for CRLs without revoked certificates */
+	static final SerialNumberIndex EMPTY = new SerialNumberIndex(new byte[0], new int[] { 0 }, new int[0]);
+
+	/** Concatenated two's-complement encodings of the sorted serial numbers */
+	private final byte[] serialNumbers;
+
+	/** Start of each serial number within {@code serialNumbers} (size + 1 elements) */
+	private final int[] serialNumberOffsets;
+
+	/** Position of the CRL entry tag within the CRL binaries, in the serial numbers order */
+	private final int[] entryPositions;
+
+	private SerialNumberIndex(byte[] serialNumbers, int[] serialNumberOffsets, int[] entryPositions) {
+		this.serialNumbers = serialNumbers;
+		this.serialNumberOffsets = serialNumberOffsets;
+		this.entryPositions = entryPositions;
+	}
+
+	/**
+	 * Returns the number of indexed CRL entries
+	 *
+	 * @return number of entries
+	 */
+	int size() {
+		return entryPositions.length;
+	}
+
+	/**
+	 * Returns the approximate heap size of the index data, in bytes
+	 *
+	 * @return the size in bytes
+	 */
+	long getMemorySize() {
+		return serialNumbers.length + 4L * serialNumberOffsets.length + 4L * entryPositions.length;
+	}
+
+	/**
+	 * Returns the position of the CRL entry for the given serial number within the CRL binaries
+	 *
+	 * @param serialNumber {@link BigInteger} the certificate's serial number
+	 * @return position of the CRL entry tag, or -1 if the serial number is not revoked
+	 */
+	int getEntryPosition(BigInteger serialNumber) {
+		final byte[] key = serialNumber.toByteArray();
+		int low = 0;
+		int high = entryPositions.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = compare(serialNumbers, serialNumberOffsets[mid], serialNumberOffsets[mid + 1], key, 0, key.length);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				// duplicated entries : keep the first one of the CRL, as a sequential read would do
+				while (mid > 0 && compare(serialNumbers, serialNumberOffsets[mid - 1], serialNumberOffsets[mid], key, 0, key.length) == 0) {
+					mid--;
+				}
+				return entryPositions[mid];
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Orders encoded serial numbers by length then by unsigned bytes. This is not the numerical order, but a total
+	 * order which only requires the minimal encodings to be compared.
+	 */
+	private static int compare(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+		int aLength = aTo - aFrom;
+		int bLength = bTo - bFrom;
+		if (aLength != bLength) {
+			return aLength < bLength ? -1 : 1;
+		}
+		for (int i = 0; i < aLength; i++) {
+			int cmp = (a[aFrom + i] & 0xFF) - (b[bFrom + i] & 0xFF);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Collects the CRL entries while the revokedCertificates sequence is parsed
+	 */
+	static final class Builder {
+
+		/** Concatenated encoded serial numbers, in the CRL order */
+		private byte[] serialNumbers = new byte[256];
+
+		/** Number of used bytes in {@code serialNumbers} */
+		private int serialNumbersLength = 0;
+
+		/** Start of each serial number, in the CRL order */
+		private int[] serialNumberOffsets = new int[16];
+
+		/** Position of each CRL entry, in the CRL order */
+		private int[] entryPositions = new int[16];
+
+		/** Number of collected entries */
+		private int size = 0;
+
+		/**
+		 * Adds a CRL entry
+		 *
+		 * @param serialNumber {@link BigInteger} the revoked serial number
+		 * @param entryPosition position of the CRL entry tag within the CRL binaries
+		 * @return this builder
+		 */
+		Builder add(BigInteger serialNumber, int entryPosition) {
+			// normalise to the minimal encoding, in order to match the lookup key
+			final byte[] encoded = serialNumber.toByteArray();
+			if (size == entryPositions.length) {
+				serialNumberOffsets = Arrays.copyOf(serialNumberOffsets, size * 2);
+				entryPositions = Arrays.copyOf(entryPositions, size * 2);
+			}
+			if (serialNumbersLength + encoded.length > serialNumbers.length) {
+				serialNumbers = Arrays.copyOf(serialNumbers, Math.max(serialNumbers.length * 2, serialNumbersLength + encoded.length));
+			}
+			System.arraycopy(encoded, 0, serialNumbers, serialNumbersLength, encoded.length);
+			serialNumberOffsets[size] = serialNumbersLength;
+			entryPositions[size] = entryPosition;
+			serialNumbersLength += encoded.length;
+			size++;
+			return this;
+		}
+
+		/**
+		 * Builds the sorted index
+		 *
+		 * @return {@link SerialNumberIndex}
+		 */
+		SerialNumberIndex build() {
+			if (size == 0) {
+				return EMPTY;
+			}
+			final int[] ends = new int[size];
+			for (int i = 0; i < size; i++) {
+				ends[i] = i + 1 < size ? serialNumberOffsets[i + 1] : serialNumbersLength;
+			}
+			final Integer[] order = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (i, j) -> compare(serialNumbers, serialNumberOffsets[i], ends[i],
+					serialNumbers, serialNumberOffsets[j], ends[j]));
+
+			final byte[] sortedSerialNumbers = new byte[serialNumbersLength];
+			final int[] sortedOffsets = new int[size + 1];
+			final int[] sortedPositions = new int[size];
+			int offset = 0;
+			for (int k = 0; k < size; k++) {
+				int i = order[k];
+				int length = ends[i] - serialNumberOffsets[i];
+				System.arraycopy(serialNumbers, serialNumberOffsets[i], sortedSerialNumbers, offset, length);
+				sortedOffsets[k] = offset;
+				sortedPositions[k] = entryPositions[i];
+				offset += length;
+			}
+			sortedOffsets[size] = offset;
+			return new SerialNumberIndex(sortedSerialNumbers, sortedOffsets, sortedPositions);
+		}
+
+	}
+
+}
@@ -0,0 +1,66 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl.stream.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Objects;
+
+/**
+ * Feeds the written data to an initialized {@code java.security.Signature},
+ * allowing to verify a signature without keeping the signed data in memory
+ */
+public class SignatureOutputStream extends OutputStream {
+
+	/** The signature to be updated */
+	private final Signature signature;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param signature {@link Signature} initialized for verification
+	 */
+	public SignatureOutputStream(Signature signature) {
+		Objects.requireNonNull(signature, "Signature cannot be null!");
+		this.signature = signature;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		try {
+			signature.update((byte) b);
+		} catch (SignatureException e) {
+			throw new IOException(String.format("Unable to update the signature : %s", e.getMessage()), e);
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		try {
+			signature.update(b, off, len);
+		} catch (SignatureException e) {
+			throw new IOException(String.format("Unable to update the signature : %s", e.getMessage()), e);
+		}
+	}
+
+}
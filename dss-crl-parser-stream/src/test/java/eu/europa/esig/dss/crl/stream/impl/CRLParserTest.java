@@ -29,10 +29,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
 import java.security.cert.X509CRLEntry;
 
 import org.junit.jupiter.api.Test;
@@ -180,6 +183,36 @@ class CRLParserTest {
 		}
 	}
 
+	@Test
+	void serialNumberIndex() throws IOException {
+		SerialNumberIndex index;
+		try (InputStream fis = CRLParserTest.class.getResourceAsStream("/LTGRCA.crl"); BufferedInputStream is = new BufferedInputStream(fis)) {
+			index = parser.buildSerialNumberIndex(is);
+		}
+		assertEquals(4, index.size());
+		assertEquals(-1, index.getEntryPosition(new BigInteger("52030000000")));
+
+		BigInteger serialNumber = new BigInteger("5203");
+		int entryPosition = index.getEntryPosition(serialNumber);
+		assertTrue(entryPosition > 0);
+		try (InputStream fis = CRLParserTest.class.getResourceAsStream("/LTGRCA.crl")) {
+			X509CRLEntry entry = parser.retrieveRevocationInfo(fis, entryPosition, serialNumber);
+			assertNotNull(entry);
+			assertNotNull(entry.getRevocationDate());
+			assertNotNull(entry.getRevocationReason());
+			assertEquals(serialNumber, entry.getSerialNumber());
+		}
+	}
+
+	@Test
+	void serialNumberIndexEmpty() throws IOException {
+		try (InputStream fis = CRLParserTest.class.getResourceAsStream("/belgium2.crl")) {
+			SerialNumberIndex index = parser.buildSerialNumberIndex(fis);
+			assertEquals(0, index.size());
+			assertEquals(-1, index.getEntryPosition(BigInteger.ONE));
+		}
+	}
+
 	@Test
 	void retrieveRevocationInfoNull() throws IOException {
 		try (InputStream fis = CRLParserTest.class.getResourceAsStream("/LTGRCA.crl")) {
@@ -239,4 +272,19 @@ class CRLParserTest {
 		}
 	}
 
+	@Test
+	void signedData() throws Exception {
+		X509CRL x509CRL;
+		try (InputStream fis = CRLParserTest.class.getResourceAsStream("/CA-5358AA45-Full.crl")) {
+			x509CRL = (X509CRL) CertificateFactory.getInstance("X.509").generateCRL(fis);
+		}
+
+		try (InputStream fis = CRLParserTest.class.getResourceAsStream("/CA-5358AA45-Full.crl"); BufferedInputStream is = new BufferedInputStream(fis);
+				ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				BinaryFilteringInputStream bfis = new BinaryFilteringInputStream(is, baos)) {
+			parser.getSignedData(bfis);
+			assertArrayEquals(x509CRL.getTBSCertList(), baos.toByteArray());
+		}
+	}
+
 }
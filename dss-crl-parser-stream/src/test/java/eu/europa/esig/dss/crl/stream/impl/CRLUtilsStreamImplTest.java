@@ -21,7 +21,56 @@
 package eu.europa.esig.dss.crl.stream.impl;
 
 import eu.europa.esig.dss.crl.AbstractTestCRLUtils;
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLValidity;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class CRLUtilsStreamImplTest extends AbstractTestCRLUtils {
 
+	@Test
+	void serialNumberIndexTest() throws Exception {
+		try (InputStream is = CRLUtilsStreamImplTest.class.getResourceAsStream("/http___crl.globalsign.com_gs_gspersonalsign2sha2g2.crl")) {
+			byte[] binaries = toByteArray(is);
+
+			CRLValidity validity = new CRLValidity(new CRLBinary(binaries));
+			// the index is only built for verified CRLs
+			validity.setSignatureIntact(true);
+
+			CRLUtilsStreamImpl indexed = new CRLUtilsStreamImpl();
+			CRLUtilsStreamImpl streamed = new CRLUtilsStreamImpl();
+			streamed.setSerialNumberIndexCacheSize(0);
+
+			X509CRL x509CRL = (X509CRL) CertificateFactory.getInstance("X.509").generateCRL(new ByteArrayInputStream(binaries));
+			int counter = 0;
+			for (X509CRLEntry expected : x509CRL.getRevokedCertificates()) {
+				X509CRLEntry entry = indexed.getRevocationInfo(validity, expected.getSerialNumber());
+				assertNotNull(entry);
+				assertEquals(expected.getSerialNumber(), entry.getSerialNumber());
+				// the CRL contains duplicated serial numbers, the first entry is returned in both cases
+				if (counter++ % 500 == 0) {
+					assertEquals(streamed.getRevocationInfo(validity, expected.getSerialNumber()), entry);
+				}
+			}
+			assertEquals(10337, counter);
+
+			assertNull(indexed.getRevocationInfo(validity, BigInteger.ZERO));
+			assertNull(indexed.getRevocationInfo(validity, new BigInteger("111111111111111111111111111")));
+			assertNull(indexed.getRevocationInfo(validity, new BigInteger("-288350169419475868349393253038503091234")));
+
+			indexed.clearSerialNumberIndexCache();
+			assertNotNull(indexed.getRevocationInfo(validity, new BigInteger("288350169419475868349393253038503091234")));
+		}
+	}
+
 }
@@ -20,8 +20,11 @@
  */
 package eu.europa.esig.dss.crl;
 
+import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
 import org.bouncycastle.asn1.ASN1GeneralizedTime;
+import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1OctetString;
 import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.ASN1String;
@@ -35,6 +38,11 @@ import org.bouncycastle.asn1.x509.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.Objects;
+
 /**
  * The abstract class containing common code for CRL parsing
  */
@@ -58,6 +66,33 @@ public abstract class AbstractCRLUtils {
 	public CRLBinary buildCRLBinary(byte[] binaries) {
 		return new CRLBinary(getDERContent(binaries));
 	}
+
+	/**
+	 * Builds the {@code CRLBinary} object backed by the given {@code document}.
+	 * A DER encoded CRL is not loaded in memory, a PEM encoded CRL is converted to DER in memory.
+	 *
+	 * @param document {@link DSSDocument} representing the CRL (DER or PEM encoded)
+	 * @return {@link CRLBinary}
+	 */
+	public CRLBinary buildCRLBinary(DSSDocument document) {
+		Objects.requireNonNull(document, "CRL document cannot be null!");
+		if (isDerEncoded(readFirstByte(document))) {
+			return new CRLBinary(document);
+		}
+		return buildCRLBinary(new InMemoryDocument(document.openStream()).getBytes());
+	}
+
+	private byte readFirstByte(DSSDocument document) {
+		try (InputStream is = document.openStream()) {
+			int first = is.read();
+			if (first == -1) {
+				throw new DSSException("Unsupported CRL. The obtained CRL content is empty!");
+			}
+			return (byte) first;
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to read the CRL document : %s", e.getMessage()), e);
+		}
+	}
 	
 	private byte[] getDERContent(byte[] binaries) {
 		if (binaries != null && binaries.length > 0) {
@@ -103,6 +138,43 @@ public abstract class AbstractCRLUtils {
 		}
 	}
 
+	/**
+	 * Parses and sets the 'cRLNumber' value
+	 *
+	 * @param validity {@link CRLValidity} to set the value to
+	 * @param crlNumberBinaries the 'cRLNumber' extension value
+	 */
+	protected void extractCRLNumber(CRLValidity validity, byte[] crlNumberBinaries) {
+		if (crlNumberBinaries != null) {
+			try {
+				validity.setCrlNumber(getIntegerValue(crlNumberBinaries));
+			} catch (Exception e) {
+				LOG.warn("Unable to parse cRLNumber on CRL : {}", e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * Parses and sets the 'deltaCRLIndicator' value (the number of the base CRL a delta CRL refers to)
+	 *
+	 * @param validity {@link CRLValidity} to set the value to
+	 * @param deltaCRLIndicatorBinaries the 'deltaCRLIndicator' extension value
+	 */
+	protected void extractDeltaCRLIndicator(CRLValidity validity, byte[] deltaCRLIndicatorBinaries) {
+		if (deltaCRLIndicatorBinaries != null) {
+			try {
+				validity.setBaseCrlNumber(getIntegerValue(deltaCRLIndicatorBinaries));
+			} catch (Exception e) {
+				LOG.warn("Unable to parse deltaCRLIndicator on CRL : {}", e.getMessage(), e);
+			}
+		}
+	}
+
+	private BigInteger getIntegerValue(byte[] extensionValue) throws IOException {
+		ASN1OctetString octetString = (ASN1OctetString) ASN1Primitive.fromByteArray(extensionValue);
+		return ASN1Integer.getInstance(octetString.getOctets()).getValue();
+	}
+
 	/**
 	 * Parses and sets the issuing distribution point binaries
 	 *
@@ -111,8 +183,9 @@ public abstract class AbstractCRLUtils {
 	 */
 	protected void extractIssuingDistributionPointBinary(CRLValidity validity, byte[] issuingDistributionPointBinary) {
 		if (issuingDistributionPointBinary != null) {
-			IssuingDistributionPoint issuingDistributionPoint = IssuingDistributionPoint
-					.getInstance(ASN1OctetString.getInstance(issuingDistributionPointBinary).getOctets());
+			byte[] issuingDistributionPointValue = ASN1OctetString.getInstance(issuingDistributionPointBinary).getOctets();
+			IssuingDistributionPoint issuingDistributionPoint = IssuingDistributionPoint.getInstance(issuingDistributionPointValue);
+			validity.setIssuingDistributionPoint(issuingDistributionPointValue);
 			validity.setOnlyAttributeCerts(issuingDistributionPoint.onlyContainsAttributeCerts());
 			validity.setOnlyCaCerts(issuingDistributionPoint.onlyContainsCACerts());
 			validity.setOnlyUserCerts(issuingDistributionPoint.onlyContainsUserCerts());
@@ -20,16 +20,28 @@
  */
 package eu.europa.esig.dss.crl;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.identifier.EncapsulatedRevocationTokenIdentifier;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Objects;
+
 /**
- * This class represents DER encoded CRL Binary identifier
+ * This class represents DER encoded CRL Binary identifier.
+ * The binaries are either kept in memory or read on demand from a {@code DSSDocument}.
  *
  */
 public class CRLBinary extends EncapsulatedRevocationTokenIdentifier<CRL> {
 
 	private static final long serialVersionUID = 3365111934665055383L;
+
+	/** The document containing the DER encoded CRL, when the binaries are not kept in memory */
+	private final DSSDocument crlDocument;
 	
 	/**
 	 * The default constructor, accepts DER encoded binaries
@@ -38,6 +50,62 @@ public class CRLBinary extends EncapsulatedRevocationTokenIdentifier<CRL> {
 	 */
 	public CRLBinary(byte[] derEncoded) {
 		super(derEncoded);
+		this.crlDocument = null;
+	}
+
+	/**
+	 * Constructor to build a CRL binary backed by a {@code DSSDocument} (e.g. a {@code FileDocument}).
+	 * The identifier is computed by streaming the document content and the binaries are not kept in memory.
+	 * NOTE: the document content shall not change during the lifetime of the object.
+	 *
+	 * @param crlDocument {@link DSSDocument} containing a DER encoded CRL
+	 */
+	public CRLBinary(DSSDocument crlDocument) {
+		super(new Digest(DIGEST_ALGO, Objects.requireNonNull(crlDocument, "CRL document cannot be null!")
+				.getDigestValue(DIGEST_ALGO)));
+		this.crlDocument = crlDocument;
+	}
+
+	/**
+	 * Gets the document the CRL binaries are read from, when the binaries are not kept in memory
+	 *
+	 * @return {@link DSSDocument} if the CRL is backed by a document, NULL otherwise
+	 */
+	public DSSDocument getCRLDocument() {
+		return crlDocument;
+	}
+
+	/**
+	 * Returns the DER encoded CRL. When the CRL is backed by a document, the content is read on each call.
+	 *
+	 * @return byte array
+	 */
+	@Override
+	public byte[] getBinaries() {
+		if (crlDocument != null) {
+			return new InMemoryDocument(crlDocument.openStream()).getBytes();
+		}
+		return super.getBinaries();
+	}
+
+	/**
+	 * Opens an InputStream on the DER encoded CRL, without loading the document-backed binaries in memory
+	 *
+	 * @return {@link InputStream}
+	 */
+	public InputStream openStream() {
+		if (crlDocument != null) {
+			return crlDocument.openStream();
+		}
+		return new ByteArrayInputStream(super.getBinaries());
+	}
+
+	@Override
+	protected byte[] computeDigestValue(DigestAlgorithm digestAlgorithm) {
+		if (crlDocument != null) {
+			return crlDocument.getDigestValue(digestAlgorithm);
+		}
+		return super.computeDigestValue(digestAlgorithm);
 	}
 
 }
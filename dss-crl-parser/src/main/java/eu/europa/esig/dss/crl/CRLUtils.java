@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.crl;
 
+import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 
 import java.io.IOException;
@@ -62,6 +63,17 @@ public class CRLUtils {
 		return impl.buildCRLBinary(binaries);
 	}
 
+	/**
+	 * Takes a document and returns DER encoded {@code CRLBinary}, reading the DER encoded content
+	 * from the document on demand instead of keeping it in memory
+	 *
+	 * @param document {@link DSSDocument} representing an encoded CRL
+	 * @return DER encoded {@link CRLBinary}
+	 */
+	public static CRLBinary buildCRLBinary(final DSSDocument document) {
+		return impl.buildCRLBinary(document);
+	}
+
 	/**
 	 * This method verifies and creates: the signature of the CRL, the key usage of its signing certificate and the coherence
 	 * between the subject names of the CRL signing certificate and the issuer name of the certificate for which the
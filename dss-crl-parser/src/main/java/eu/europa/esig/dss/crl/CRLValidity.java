@@ -22,11 +22,13 @@ package eu.europa.esig.dss.crl;
 
 import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import org.bouncycastle.asn1.x509.Extension;
 import org.bouncycastle.asn1.x509.ReasonFlags;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Objects;
@@ -89,6 +91,15 @@ public class CRLValidity implements Serializable {
 
 	/** The 'thisUpdate' date value */
 	private Date thisUpdate;
+
+	/** The 'cRLNumber' value */
+	private BigInteger crlNumber;
+
+	/** The 'deltaCRLIndicator' value (the number of the base CRL), present only for a delta CRL */
+	private BigInteger baseCrlNumber;
+
+	/** The DER-encoded 'issuingDistributionPoint' extension value, defining the scope of the CRL */
+	private byte[] issuingDistributionPoint;
 	
 	/**
 	 * Default constructor
@@ -124,7 +135,7 @@ public class CRLValidity implements Serializable {
 	 * @return {@link InputStream}
 	 */
 	public InputStream toCRLInputStream() {
-		return new ByteArrayInputStream(getDerEncoded());
+		return crlBinary.openStream();
 	}
 
 	/**
@@ -199,6 +210,97 @@ public class CRLValidity implements Serializable {
 		this.expiredCertsOnCRL = expiredCertsOnCRL;
 	}
 
+	/**
+	 * Gets the 'cRLNumber' value
+	 *
+	 * @return {@link BigInteger}, null if not present
+	 */
+	public BigInteger getCrlNumber() {
+		return crlNumber;
+	}
+
+	/**
+	 * Sets the 'cRLNumber' value
+	 *
+	 * @param crlNumber {@link BigInteger}
+	 */
+	public void setCrlNumber(BigInteger crlNumber) {
+		this.crlNumber = crlNumber;
+	}
+
+	/**
+	 * Gets the 'deltaCRLIndicator' value, defining the number of the complete CRL
+	 * the current delta CRL is based on
+	 *
+	 * @return {@link BigInteger}, null if the CRL is not a delta CRL
+	 */
+	public BigInteger getBaseCrlNumber() {
+		return baseCrlNumber;
+	}
+
+	/**
+	 * Sets the 'deltaCRLIndicator' value
+	 *
+	 * @param baseCrlNumber {@link BigInteger}
+	 */
+	public void setBaseCrlNumber(BigInteger baseCrlNumber) {
+		this.baseCrlNumber = baseCrlNumber;
+	}
+
+	/**
+	 * Gets the DER-encoded 'issuingDistributionPoint' extension value
+	 *
+	 * @return byte array, null if the extension is not present
+	 */
+	public byte[] getIssuingDistributionPoint() {
+		return issuingDistributionPoint;
+	}
+
+	/**
+	 * Sets the DER-encoded 'issuingDistributionPoint' extension value
+	 *
+	 * @param issuingDistributionPoint byte array
+	 */
+	public void setIssuingDistributionPoint(byte[] issuingDistributionPoint) {
+		this.issuingDistributionPoint = issuingDistributionPoint;
+	}
+
+	/**
+	 * Checks if the CRL is a delta CRL (contains a 'deltaCRLIndicator' extension)
+	 *
+	 * @return TRUE if the CRL is a delta CRL, FALSE otherwise
+	 */
+	public boolean isDeltaCRL() {
+		return baseCrlNumber != null;
+	}
+
+	/**
+	 * Checks if the current delta CRL can be used to update the given complete CRL.
+	 * The CRLs shall be issued by the same issuer, the 'deltaCRLIndicator' of the delta CRL
+	 * shall not be greater than the 'cRLNumber' of the complete CRL, the delta CRL shall
+	 * be more recent than the complete CRL and both CRLs shall have the same scope, i.e. the same
+	 * 'issuingDistributionPoint' extension, when present (see RFC 5280, 5.2.4 and 5.2.5).
+	 *
+	 * @param completeCrlValidity {@link CRLValidity} of the complete CRL
+	 * @return TRUE if the current CRL is a delta CRL applicable to the given complete CRL, FALSE otherwise
+	 */
+	public boolean isDeltaCRLFor(CRLValidity completeCrlValidity) {
+		if (!isDeltaCRL() || completeCrlValidity == null || completeCrlValidity.isDeltaCRL()
+				|| completeCrlValidity.getCrlNumber() == null) {
+			return false;
+		}
+		if (issuerToken == null || !issuerToken.equals(completeCrlValidity.getIssuerToken())) {
+			return false;
+		}
+		if (baseCrlNumber.compareTo(completeCrlValidity.getCrlNumber()) > 0) {
+			return false;
+		}
+		if (crlNumber != null && crlNumber.compareTo(completeCrlValidity.getCrlNumber()) <= 0) {
+			return false;
+		}
+		return Arrays.equals(issuingDistributionPoint, completeCrlValidity.issuingDistributionPoint);
+	}
+
 	/**
 	 * Returns if the issuer X509 Principal matches between one defined in CRL and
 	 * its issuer certificate corresponding value
@@ -413,10 +515,18 @@ public class CRLValidity implements Serializable {
 	 * @return TRUE if the critical extensions are unknown, FALSE otherwise
 	 */
 	public boolean isUnknownCriticalExtension() {
-		return areCriticalExtensionsOidNotEmpty() &&
+		return hasCriticalExtensionsOtherThanDeltaCRLIndicator() &&
 					((onlyAttributeCerts && onlyCaCerts && onlyUserCerts && indirectCrl) || (onlySomeReasonFlags != null) || (url == null));
 	}
 
+	private boolean hasCriticalExtensionsOtherThanDeltaCRLIndicator() {
+		if (!areCriticalExtensionsOidNotEmpty()) {
+			return false;
+		}
+		// deltaCRLIndicator is always critical and is supported
+		return criticalExtensionsOid.size() > 1 || !criticalExtensionsOid.contains(Extension.deltaCRLIndicator.getId());
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -444,6 +554,9 @@ public class CRLValidity implements Serializable {
 		if (!Objects.equals(expiredCertsOnCRL, that.expiredCertsOnCRL))
 			return false;
 		if (!Objects.equals(nextUpdate, that.nextUpdate)) return false;
+		if (!Objects.equals(crlNumber, that.crlNumber)) return false;
+		if (!Objects.equals(baseCrlNumber, that.baseCrlNumber)) return false;
+		if (!Arrays.equals(issuingDistributionPoint, that.issuingDistributionPoint)) return false;
 		return Objects.equals(thisUpdate, that.thisUpdate);
 	}
 
@@ -466,6 +579,9 @@ public class CRLValidity implements Serializable {
 		result = 31 * result + (expiredCertsOnCRL != null ? expiredCertsOnCRL.hashCode() : 0);
 		result = 31 * result + (nextUpdate != null ? nextUpdate.hashCode() : 0);
 		result = 31 * result + (thisUpdate != null ? thisUpdate.hashCode() : 0);
+		result = 31 * result + (crlNumber != null ? crlNumber.hashCode() : 0);
+		result = 31 * result + (baseCrlNumber != null ? baseCrlNumber.hashCode() : 0);
+		result = 31 * result + Arrays.hashCode(issuingDistributionPoint);
 		return result;
 	}
 
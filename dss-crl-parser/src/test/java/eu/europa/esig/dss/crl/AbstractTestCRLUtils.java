@@ -20,17 +20,28 @@
  */
 package eu.europa.esig.dss.crl;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.KeyUsageBit;
 import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.IssuingDistributionPoint;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledForJreRange;
 import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.CRLReason;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509CRLEntry;
@@ -522,6 +533,93 @@ public abstract class AbstractTestCRLUtils extends AbstractCRLParserTestUtils {
 		}
 	}
 
+	@Test
+	public void documentBackedCRL(@TempDir Path tempDir) throws Exception {
+		try (InputStream is = AbstractTestCRLUtils.class.getResourceAsStream("/delta-base.crl");
+				InputStream isCer = AbstractTestCRLUtils.class.getResourceAsStream("/delta-ca.crt")) {
+			CertificateToken certificateToken = loadCert(isCer);
+			byte[] crlBinaries = toByteArray(is);
+			Path crlFile = tempDir.resolve("delta-base.crl");
+			Files.write(crlFile, crlBinaries);
+
+			CRLBinary inMemoryBinary = CRLUtils.buildCRLBinary(crlBinaries);
+			CRLBinary documentBinary = CRLUtils.buildCRLBinary(new FileDocument(crlFile.toFile()));
+			assertNotNull(documentBinary.getCRLDocument());
+			assertNull(inMemoryBinary.getCRLDocument());
+			assertEquals(inMemoryBinary, documentBinary);
+			assertEquals(inMemoryBinary.asXmlId(), documentBinary.asXmlId());
+			assertArrayEquals(inMemoryBinary.getDigestValue(DigestAlgorithm.SHA1), documentBinary.getDigestValue(DigestAlgorithm.SHA1));
+			assertArrayEquals(crlBinaries, documentBinary.getBinaries());
+
+			CRLValidity validCRL = CRLUtils.buildCRLValidity(documentBinary, certificateToken);
+			assertTrue(validCRL.isValid());
+			assertEquals(BigInteger.valueOf(5), validCRL.getCrlNumber());
+			assertArrayEquals(crlBinaries, validCRL.getDerEncoded());
+
+			X509CRLEntry heldEntry = CRLUtils.getRevocationInfo(validCRL, BigInteger.TEN);
+			assertNotNull(heldEntry);
+			assertEquals(CRLReason.CERTIFICATE_HOLD, heldEntry.getRevocationReason());
+		}
+	}
+
+	@Test
+	public void documentBackedPemCRL() throws Exception {
+		try (InputStream is = AbstractTestCRLUtils.class.getResourceAsStream("/belgium2.pem.crl")) {
+			CRLBinary crlBinary = CRLUtils.buildCRLBinary(new InMemoryDocument(is));
+			// PEM content is converted to DER in memory
+			assertNull(crlBinary.getCRLDocument());
+			assertEquals(0x30, crlBinary.getBinaries()[0]);
+		}
+
+		Exception exception = assertThrows(DSSException.class, () -> CRLUtils.buildCRLBinary(new InMemoryDocument(new byte[0])));
+		assertEquals("Unsupported CRL. The obtained CRL content is empty!", exception.getMessage());
+	}
+
+	@Test
+	public void deltaCRL() throws Exception {
+		try (InputStream baseIS = AbstractTestCRLUtils.class.getResourceAsStream("/delta-base.crl");
+				InputStream deltaIS = AbstractTestCRLUtils.class.getResourceAsStream("/delta.crl");
+				InputStream isCer = AbstractTestCRLUtils.class.getResourceAsStream("/delta-ca.crt")) {
+			CertificateToken certificateToken = loadCert(isCer);
+			CRLValidity baseCRL = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(toByteArray(baseIS)), certificateToken);
+			assertTrue(baseCRL.isValid());
+			assertFalse(baseCRL.isDeltaCRL());
+			assertEquals(BigInteger.valueOf(5), baseCRL.getCrlNumber());
+			assertNull(baseCRL.getBaseCrlNumber());
+
+			CRLValidity deltaCRL = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(toByteArray(deltaIS)), certificateToken);
+			assertTrue(deltaCRL.isValid());
+			assertFalse(deltaCRL.isUnknownCriticalExtension());
+			assertTrue(deltaCRL.isDeltaCRL());
+			assertEquals(BigInteger.valueOf(8), deltaCRL.getCrlNumber());
+			assertEquals(BigInteger.valueOf(5), deltaCRL.getBaseCrlNumber());
+
+			assertTrue(deltaCRL.isDeltaCRLFor(baseCRL));
+			assertFalse(baseCRL.isDeltaCRLFor(deltaCRL));
+			assertFalse(deltaCRL.isDeltaCRLFor(deltaCRL));
+
+			// a delta CRL with another scope (issuing distribution point) is not applicable
+			assertNull(baseCRL.getIssuingDistributionPoint());
+			deltaCRL.setIssuingDistributionPoint(new IssuingDistributionPoint(new DistributionPointName(new GeneralNames(
+					new GeneralName(GeneralName.uniformResourceIdentifier, "http://dss.test.lu/crl/ca.crl"))), false, false).getEncoded());
+			assertFalse(deltaCRL.isDeltaCRLFor(baseCRL));
+			baseCRL.setIssuingDistributionPoint(deltaCRL.getIssuingDistributionPoint());
+			assertTrue(deltaCRL.isDeltaCRLFor(baseCRL));
+			baseCRL.setIssuingDistributionPoint(new IssuingDistributionPoint(new DistributionPointName(new GeneralNames(
+					new GeneralName(GeneralName.uniformResourceIdentifier, "http://dss.test.lu/crl/other.crl"))), false, false).getEncoded());
+			assertFalse(deltaCRL.isDeltaCRLFor(baseCRL));
+
+			X509CRLEntry heldEntry = CRLUtils.getRevocationInfo(baseCRL, BigInteger.TEN);
+			assertNotNull(heldEntry);
+			assertEquals(CRLReason.CERTIFICATE_HOLD, heldEntry.getRevocationReason());
+			X509CRLEntry releasedEntry = CRLUtils.getRevocationInfo(deltaCRL, BigInteger.TEN);
+			assertNotNull(releasedEntry);
+			assertEquals(CRLReason.REMOVE_FROM_CRL, releasedEntry.getRevocationReason());
+			assertNotNull(CRLUtils.getRevocationInfo(deltaCRL, BigInteger.valueOf(11)));
+			assertNull(CRLUtils.getRevocationInfo(baseCRL, BigInteger.valueOf(11)));
+		}
+	}
+
 	protected CertificateToken loadCert(InputStream is) throws CertificateException {
 		X509Certificate certificate = (X509Certificate) certificateFactory.generateCertificate(is);
 		return new CertificateToken(certificate);
@@ -378,6 +378,20 @@ public abstract class AbstractJaxbFacade<T> {
 		return unmarshaller;
 	}
 
+	/**
+	 * Creates a secured {@code XMLStreamReader} for the given {@code source}, with the support of
+	 * DTD and external entities disabled. The reader can be used to unmarshall the document
+	 * fragment by fragment with the {@code Unmarshaller} returned by {@code #getUnmarshaller}.
+	 *
+	 * @param source {@link Source} to read
+	 * @return {@link XMLStreamReader}
+	 * @throws XMLStreamException
+	 *                            if an exception occurred on the reader creation
+	 */
+	public XMLStreamReader createXMLStreamReader(Source source) throws XMLStreamException {
+		return avoidXXE(source);
+	}
+
 	private XMLStreamReader avoidXXE(Source source) throws XMLStreamException {
 		XMLInputFactory xif = XMLInputFactory.newFactory();
 		xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.model.identifier;
 
+import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
 
 /**
@@ -39,6 +40,15 @@ public class EncapsulatedRevocationTokenIdentifier<R extends Revocation> extends
 	public EncapsulatedRevocationTokenIdentifier(byte[] binaries) {
 		super("R-", binaries);
 	}
+
+	/**
+	 * Constructor to be used when the revocation data binaries are not kept in memory
+	 *
+	 * @param digestId {@link Digest} of the revocation data binaries computed with the default digest algorithm
+	 */
+	protected EncapsulatedRevocationTokenIdentifier(Digest digestId) {
+		super("R-", digestId);
+	}
 	
 	@Override
 	public Identifier getDSSId() {
@@ -37,7 +37,7 @@ public abstract class MultipleDigestIdentifier extends Identifier {
 	/** Binary to compute the identifier for */
 	private final byte[] binaries;
 
-	/** Digest map */
+	/** Digest map (guarded by itself, as the identifier may be shared between threads) */
 	private final EnumMap<DigestAlgorithm, byte[]> digestMap = new EnumMap<>(DigestAlgorithm.class);
 
 	/**
@@ -54,6 +54,20 @@ public abstract class MultipleDigestIdentifier extends Identifier {
 		digestMap.put(id.getAlgorithm(), id.getValue());
 	}
 
+	/**
+	 * Constructor to be used when the binaries are not kept in memory.
+	 * {@code getBinaries()} and {@code computeDigestValue(DigestAlgorithm)} shall be overridden accordingly.
+	 *
+	 * @param prefix {@link String} for the identifier
+	 * @param digestId {@link Digest} of the token binaries computed with the default digest algorithm
+	 */
+	protected MultipleDigestIdentifier(final String prefix, final Digest digestId) {
+		super(prefix, digestId);
+		this.binaries = null;
+
+		digestMap.put(digestId.getAlgorithm(), digestId.getValue());
+	}
+
 	/**
 	 * Gets token binaries
 	 *
@@ -70,7 +84,31 @@ public abstract class MultipleDigestIdentifier extends Identifier {
 	 * @return digests
 	 */
 	public byte[] getDigestValue(DigestAlgorithm digestAlgorithm) {
-		return digestMap.computeIfAbsent(digestAlgorithm, k -> getMessageDigest(digestAlgorithm).digest(getBinaries()));
+		byte[] digestValue;
+		synchronized (digestMap) {
+			digestValue = digestMap.get(digestAlgorithm);
+		}
+		if (digestValue == null) {
+			// computed outside the lock, a concurrent computation results in the same value
+			final byte[] computedDigestValue = computeDigestValue(digestAlgorithm);
+			synchronized (digestMap) {
+				digestValue = digestMap.putIfAbsent(digestAlgorithm, computedDigestValue);
+			}
+			if (digestValue == null) {
+				digestValue = computedDigestValue;
+			}
+		}
+		return digestValue;
+	}
+
+	/**
+	 * Computes a digest value of the token binaries for the given {@code digestAlgorithm}
+	 *
+	 * @param digestAlgorithm {@link DigestAlgorithm}
+	 * @return digests
+	 */
+	protected byte[] computeDigestValue(DigestAlgorithm digestAlgorithm) {
+		return getMessageDigest(digestAlgorithm).digest(getBinaries());
 	}
 
 	/**
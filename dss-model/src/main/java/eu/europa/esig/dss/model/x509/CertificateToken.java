@@ -27,6 +27,7 @@ import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.identifier.CertificateTokenIdentifier;
 import eu.europa.esig.dss.model.identifier.EntityIdentifier;
 import eu.europa.esig.dss.model.identifier.TokenIdentifier;
+import eu.europa.esig.dss.model.x509.extension.CertificateExtensionsHolder;
 
 import javax.security.auth.x500.X500Principal;
 import java.math.BigInteger;
@@ -77,6 +78,21 @@ public class CertificateToken extends Token {
      */
     private String sourceURL;
 
+    /**
+     * Cached subject name helper
+     */
+    private transient X500PrincipalHelper subject;
+
+    /**
+     * Cached issuer name helper
+     */
+    private transient X500PrincipalHelper issuer;
+
+    /**
+     * Lazily populated holder of the parsed certificate extensions
+     */
+    private transient volatile CertificateExtensionsHolder extensionsHolder;
+
     /**
      * Creates a CertificateToken wrapping the provided X509Certificate.
      *
@@ -92,6 +108,31 @@ public class CertificateToken extends Token {
         this.signatureAlgorithm = SignatureAlgorithm.forOidAndParams(x509Certificate.getSigAlgOID(), x509Certificate.getSigAlgParams());
     }
 
+    /**
+     * Creates a CertificateToken sharing the parsed content of the given {@code certificateToken}
+     *
+     * @param certificateToken {@link CertificateToken} to share the parsed content of
+     */
+    private CertificateToken(CertificateToken certificateToken) {
+        super(certificateToken);
+
+        this.x509Certificate = certificateToken.x509Certificate;
+        this.entityKey = certificateToken.entityKey;
+        this.selfSigned = certificateToken.selfSigned;
+        this.extensionsHolder = certificateToken.getExtensionsHolder();
+    }
+
+    /**
+     * Returns a new CertificateToken sharing the parsed content (the X509Certificate, the identifiers and
+     * the certificate extensions) of the current token.
+     * The validation state (signature validity, public key of the signer and source URL) is not shared.
+     *
+     * @return {@link CertificateToken}
+     */
+    public CertificateToken copy() {
+        return new CertificateToken(this);
+    }
+
     @Override
     public String getAbbreviation() {
         return getDSSIdAsString();
@@ -276,7 +317,10 @@ public class CertificateToken extends Token {
      * @return an instance of X500PrincipalHelper with the SubjectX500Principal
      */
     public X500PrincipalHelper getSubject() {
-        return new X500PrincipalHelper(x509Certificate.getSubjectX500Principal());
+        if (subject == null) {
+            subject = new X500PrincipalHelper(x509Certificate.getSubjectX500Principal());
+        }
+        return subject;
     }
 
     /**
@@ -285,7 +329,10 @@ public class CertificateToken extends Token {
      * @return an instance of X500PrincipalHelper with the IssuerX500Principal
      */
     public X500PrincipalHelper getIssuer() {
-        return new X500PrincipalHelper(x509Certificate.getIssuerX500Principal());
+        if (issuer == null) {
+            issuer = new X500PrincipalHelper(x509Certificate.getIssuerX500Principal());
+        }
+        return issuer;
     }
 
     /**
@@ -314,6 +361,57 @@ public class CertificateToken extends Token {
         return signatureValidity;
     }
 
+    @Override
+    protected boolean isSignatureValidityCacheable() {
+        return true;
+    }
+
+    /**
+     * Verifies whether the certificate is signed by the given {@code publicKey}.
+     * Unlike {@code isSignedBy(publicKey)}, this method does not change the signature validity state of the token,
+     * and therefore can be used to evaluate several issuer candidates concurrently.
+     * NOTE: the method {@code isSignedBy(publicKey)} shall still be called in order to set the signature validity.
+     *
+     * @param publicKey {@link PublicKey} to be verified
+     * @return TRUE if the certificate is signed by the {@code publicKey}, FALSE otherwise
+     */
+    public boolean verifySignature(final PublicKey publicKey) {
+        final SignatureValidityCache signatureValidityCache = SignatureValidityCache.getInstance();
+        if (signatureValidityCache != null) {
+            final SignatureValidityCache.Result result = signatureValidityCache.get(getDSSId(), publicKey);
+            if (result != null) {
+                return SignatureValidity.VALID == result.getSignatureValidity();
+            }
+        }
+        try {
+            x509Certificate.verify(publicKey);
+            return true;
+        } catch (NoSuchProviderException e) { // if there's no default provider.
+            throw new DSSException(String.format("No provider has been found for signature validation : %s", e.getMessage()), e);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the holder of the parsed certificate extensions, shared by all the consumers of the certificate
+     *
+     * @return {@link CertificateExtensionsHolder}
+     */
+    public CertificateExtensionsHolder getExtensionsHolder() {
+        CertificateExtensionsHolder holder = extensionsHolder;
+        if (holder == null) {
+            synchronized (this) {
+                holder = extensionsHolder;
+                if (holder == null) {
+                    holder = new CertificateExtensionsHolder();
+                    extensionsHolder = holder;
+                }
+            }
+        }
+        return holder;
+    }
+
     /**
      * This method checks if the certificate contains the given key usage bit.
      *
@@ -0,0 +1,256 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.x509;
+
+import eu.europa.esig.dss.enumerations.SignatureValidity;
+import eu.europa.esig.dss.model.identifier.EntityIdentifier;
+import eu.europa.esig.dss.model.identifier.TokenIdentifier;
+
+import java.security.PublicKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A process-wide bounded cache of the results of the token signature verification,
+ * used by {@code Token.isSignedBy(...)} to avoid repeating the cryptographic verification of the same token
+ * with the same public key (e.g. for intermediate CA, TSA or OCSP responder certificates re-used between validations).
+ * <p>
+ * The entries are identified by the digest of the token's binaries and the digest of the encoded public key,
+ * thus the results may be safely shared between different instances of the same token.
+ * <p>
+ * The cache is disabled by default. Use {@code SignatureValidityCache.enable(maxSize)} to activate it.
+ *
+ */
+public final class SignatureValidityCache {
+
+	/** The currently used instance (null if the cache is disabled) */
+	private static volatile SignatureValidityCache instance;
+
+	/** The maximum number of cached results */
+	private final int maxSize;
+
+	/** Number of the successful look-ups */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/** Number of the failed look-ups */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/** The cached results, ordered by the access order */
+	private final Map<EntryKey, Result> cache;
+
+	/**
+	 * Constructor instantiating a cache with the given maximum number of entries
+	 *
+	 * @param maxSize the maximum number of cached results
+	 */
+	private SignatureValidityCache(final int maxSize) {
+		this.maxSize = maxSize;
+		this.cache = new LinkedHashMap<EntryKey, Result>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 3915482201543790125L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<EntryKey, Result> eldest) {
+				return size() > SignatureValidityCache.this.maxSize;
+			}
+
+		};
+	}
+
+	/**
+	 * Enables the process-wide signature validity cache with the given maximum number of entries.
+	 * A previously enabled cache, if any, is replaced together with its content and counters.
+	 *
+	 * @param maxSize the maximum number of cached results
+	 * @return the enabled {@link SignatureValidityCache}
+	 */
+	public static SignatureValidityCache enable(final int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximum size of the cache shall be a positive number!");
+		}
+		final SignatureValidityCache signatureValidityCache = new SignatureValidityCache(maxSize);
+		instance = signatureValidityCache;
+		return signatureValidityCache;
+	}
+
+	/**
+	 * Disables the process-wide signature validity cache
+	 */
+	public static void disable() {
+		instance = null;
+	}
+
+	/**
+	 * Returns the currently enabled signature validity cache
+	 *
+	 * @return {@link SignatureValidityCache} if enabled, NULL otherwise
+	 */
+	public static SignatureValidityCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns the cached result of the signature verification of the token with the given public key
+	 *
+	 * @param tokenIdentifier {@link TokenIdentifier} of the token to be verified
+	 * @param publicKey {@link PublicKey} of the signer candidate
+	 * @return {@link Result} if present, NULL otherwise
+	 */
+	Result get(final TokenIdentifier tokenIdentifier, final PublicKey publicKey) {
+		final EntryKey key = new EntryKey(tokenIdentifier, new EntityIdentifier(publicKey));
+		final Result result;
+		synchronized (cache) {
+			result = cache.get(key);
+		}
+		if (result != null) {
+			hitCount.incrementAndGet();
+		} else {
+			missCount.incrementAndGet();
+		}
+		return result;
+	}
+
+	/**
+	 * Stores the result of the signature verification of the token with the given public key
+	 *
+	 * @param tokenIdentifier {@link TokenIdentifier} of the verified token
+	 * @param publicKey {@link PublicKey} of the signer candidate
+	 * @param signatureValidity {@link SignatureValidity} the verification result
+	 * @param signatureInvalidityReason {@link String} the invalidity reason, when applicable
+	 */
+	void put(final TokenIdentifier tokenIdentifier, final PublicKey publicKey,
+			 final SignatureValidity signatureValidity, final String signatureInvalidityReason) {
+		final EntryKey key = new EntryKey(tokenIdentifier, new EntityIdentifier(publicKey));
+		final Result result = new Result(signatureValidity, signatureInvalidityReason);
+		synchronized (cache) {
+			cache.put(key, result);
+		}
+	}
+
+	/**
+	 * Gets the maximum number of cached results
+	 *
+	 * @return the maximum size of the cache
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Gets the current number of cached results
+	 *
+	 * @return number of entries
+	 */
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	/**
+	 * Gets the number of look-ups returning a cached result
+	 *
+	 * @return number of cache hits
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Gets the number of look-ups without a cached result
+	 *
+	 * @return number of cache misses
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Removes all the cached results and resets the counters
+	 */
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+		hitCount.set(0);
+		missCount.set(0);
+	}
+
+	/**
+	 * Identifies a cached result by the token and the public key
+	 */
+	private static final class EntryKey {
+
+		/** Identifier of the verified token */
+		private final TokenIdentifier tokenIdentifier;
+
+		/** Identifier of the public key */
+		private final EntityIdentifier publicKeyIdentifier;
+
+		EntryKey(TokenIdentifier tokenIdentifier, EntityIdentifier publicKeyIdentifier) {
+			this.tokenIdentifier = Objects.requireNonNull(tokenIdentifier, "TokenIdentifier cannot be null!");
+			this.publicKeyIdentifier = publicKeyIdentifier;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof EntryKey)) return false;
+			EntryKey entryKey = (EntryKey) o;
+			return tokenIdentifier.equals(entryKey.tokenIdentifier) && publicKeyIdentifier.equals(entryKey.publicKeyIdentifier);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * tokenIdentifier.hashCode() + publicKeyIdentifier.hashCode();
+		}
+
+	}
+
+	/**
+	 * Contains a cached result of the signature verification
+	 */
+	static final class Result {
+
+		/** The signature validity */
+		private final SignatureValidity signatureValidity;
+
+		/** The signature invalidity reason */
+		private final String signatureInvalidityReason;
+
+		Result(SignatureValidity signatureValidity, String signatureInvalidityReason) {
+			this.signatureValidity = signatureValidity;
+			this.signatureInvalidityReason = signatureInvalidityReason;
+		}
+
+		SignatureValidity getSignatureValidity() {
+			return signatureValidity;
+		}
+
+		String getSignatureInvalidityReason() {
+			return signatureInvalidityReason;
+		}
+
+	}
+
+}
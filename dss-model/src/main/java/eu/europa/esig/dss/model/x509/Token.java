@@ -72,6 +72,17 @@ public abstract class Token implements IdentifierBasedObject, Serializable {
 		// empty
 	}
 
+	/**
+	 * Constructor sharing the identifier and the signature algorithm of the given {@code token}.
+	 * NOTE: the signature validation state is not copied.
+	 *
+	 * @param token {@link Token} to share the identifier of
+	 */
+	protected Token(Token token) {
+		this.tokenIdentifier = token.getDSSId();
+		this.signatureAlgorithm = token.getSignatureAlgorithm();
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -163,7 +174,7 @@ public abstract class Token implements IdentifierBasedObject, Serializable {
 	public synchronized boolean isSignedBy(final PublicKey publicKey) {
 		if (publicKeyOfTheSigner != null) {
 			return publicKeyOfTheSigner.equals(publicKey);
-		} else if (SignatureValidity.VALID == checkIsSignedBy(publicKey)) {
+		} else if (SignatureValidity.VALID == checkIsSignedByWithCache(publicKey)) {
 			if (!isSelfSigned()) {
 				this.publicKeyOfTheSigner = publicKey;
 			}
@@ -172,6 +183,44 @@ public abstract class Token implements IdentifierBasedObject, Serializable {
 		return false;
 	}
 
+	/**
+	 * Verifies if the current token has been signed by the specified publicKey,
+	 * using the {@code SignatureValidityCache} when enabled and supported by the token
+	 *
+	 * @param publicKey {@link PublicKey} of a signing candidate
+	 * @return {@link SignatureValidity}
+	 */
+	private SignatureValidity checkIsSignedByWithCache(final PublicKey publicKey) {
+		final SignatureValidityCache signatureValidityCache = SignatureValidityCache.getInstance();
+		if (signatureValidityCache == null || !isSignatureValidityCacheable()) {
+			return checkIsSignedBy(publicKey);
+		}
+
+		final SignatureValidityCache.Result result = signatureValidityCache.get(getDSSId(), publicKey);
+		if (result != null) {
+			signatureValidity = result.getSignatureValidity();
+			signatureInvalidityReason = result.getSignatureInvalidityReason();
+			return signatureValidity;
+		}
+
+		final SignatureValidity checkedSignatureValidity = checkIsSignedBy(publicKey);
+		if (SignatureValidity.NOT_EVALUATED != checkedSignatureValidity) {
+			signatureValidityCache.put(getDSSId(), publicKey, checkedSignatureValidity, signatureInvalidityReason);
+		}
+		return checkedSignatureValidity;
+	}
+
+	/**
+	 * Returns whether the result of the signature verification depends only on the token's binaries
+	 * and the public key, and thus can be shared with other instances of the token using the {@code SignatureValidityCache}.
+	 * Default : FALSE
+	 *
+	 * @return TRUE if the signature verification result can be cached, FALSE otherwise
+	 */
+	protected boolean isSignatureValidityCacheable() {
+		return false;
+	}
+
 	/**
 	 * Verifies if the current token has been signed by the specified publicKey
 	 * @param publicKey {@link PublicKey} of a signing candidate
@@ -36,6 +36,11 @@ public class X500PrincipalHelper {
 	 */
 	private final X500Principal principal;
 
+	/**
+	 * Cached canonical key of the principal (see {@code #getCanonicalKey()})
+	 */
+	private volatile String canonicalKey;
+
 	/**
 	 * Default constructor
 	 *
@@ -64,6 +69,24 @@ public class X500PrincipalHelper {
 		return principal.getName(X500Principal.CANONICAL);
 	}
 
+	/**
+	 * Gets an interned canonical key of the distinguished name, computed once per instance.
+	 * The key does not depend on the order of RDNs or on the string types used to encode the attribute values,
+	 * and allows a fast comparison of names (e.g. when matching subject and issuer names).
+	 * <p>
+	 * NOTE: the key is not intended to be displayed. Please use {@code #getCanonical()} for a canonical name.
+	 *
+	 * @return {@link String}
+	 */
+	public String getCanonicalKey() {
+		String key = canonicalKey;
+		if (key == null) {
+			key = X500PrincipalKeyBuilder.build(principal);
+			canonicalKey = key;
+		}
+		return key;
+	}
+
 	/**
 	 * Gets RFC2253 standard name
 	 *
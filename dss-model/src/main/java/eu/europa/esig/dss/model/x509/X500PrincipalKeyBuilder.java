@@ -0,0 +1,205 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.x509;
+
+import javax.security.auth.x500.X500Principal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds a canonical key of a {@code X500Principal}, used for a fast comparison of distinguished names.
+ * <p>
+ * The key is built from the DER-encoded name, as a sorted set of attribute types with their values,
+ * independently of the order of RDNs and of the ASN.1 string type used for the attribute values.
+ * When the same attribute type is present several times, the last value is used.
+ *
+ */
+final class X500PrincipalKeyBuilder {
+
+	/** ASN.1 SEQUENCE tag */
+	private static final int SEQUENCE = 0x30;
+
+	/** ASN.1 SET tag */
+	private static final int SET = 0x31;
+
+	/** ASN.1 OBJECT IDENTIFIER tag */
+	private static final int OBJECT_IDENTIFIER = 0x06;
+
+	/**
+	 * Empty constructor
+	 */
+	private X500PrincipalKeyBuilder() {
+		// empty
+	}
+
+	/**
+	 * Builds an interned canonical key for the given {@code X500Principal}
+	 *
+	 * @param principal {@link X500Principal}
+	 * @return {@link String} key
+	 */
+	static String build(X500Principal principal) {
+		String key;
+		try {
+			key = buildFromEncoded(principal.getEncoded());
+		} catch (RuntimeException e) {
+			// not a valid DER-encoded Name, use the JDK canonical representation
+			key = "!" + principal.getName(X500Principal.CANONICAL);
+		}
+		return key.intern();
+	}
+
+	private static String buildFromEncoded(byte[] encoded) {
+		final Map<String, String> attributes = new TreeMap<>();
+
+		final DERReader name = new DERReader(encoded, 0, encoded.length);
+		final DERReader rdnSequence = name.readConstructed(SEQUENCE);
+		while (rdnSequence.hasNext()) {
+			final DERReader rdn = rdnSequence.readConstructed(SET);
+			while (rdn.hasNext()) {
+				final DERReader typeAndValue = rdn.readConstructed(SEQUENCE);
+				final String type = typeAndValue.readHex(OBJECT_IDENTIFIER);
+				final String value = typeAndValue.readValue();
+				attributes.put(type, value);
+			}
+		}
+
+		final StringBuilder sb = new StringBuilder();
+		for (Map.Entry<String, String> entry : attributes.entrySet()) {
+			// the value length is added in order to avoid ambiguity
+			sb.append(entry.getKey()).append('=').append(entry.getValue().length()).append(':').append(entry.getValue()).append(';');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Minimal reader of DER-encoded TLV structures
+	 */
+	private static final class DERReader {
+
+		/** The encoded binaries */
+		private final byte[] bytes;
+
+		/** Current position */
+		private int position;
+
+		/** End position (exclusive) */
+		private final int end;
+
+		DERReader(byte[] bytes, int start, int end) {
+			if (end > bytes.length) {
+				throw new IllegalArgumentException("Invalid length");
+			}
+			this.bytes = bytes;
+			this.position = start;
+			this.end = end;
+		}
+
+		boolean hasNext() {
+			return position < end;
+		}
+
+		DERReader readConstructed(int expectedTag) {
+			readTag(expectedTag);
+			final int length = readLength();
+			final DERReader content = new DERReader(bytes, position, position + length);
+			position += length;
+			return content;
+		}
+
+		String readHex(int expectedTag) {
+			final int start = position;
+			readTag(expectedTag);
+			final int length = readLength();
+			position += length;
+			return toHex(start, position);
+		}
+
+		/**
+		 * Reads an attribute value. String values are decoded, other values are returned as hex-encoded TLV.
+		 *
+		 * @return {@link String}
+		 */
+		String readValue() {
+			final int start = position;
+			final int tag = bytes[position++] & 0xff;
+			final int length = readLength();
+			final int valueStart = position;
+			position += length;
+			if (position > end) {
+				throw new IllegalArgumentException("Invalid length");
+			}
+			switch (tag) {
+				case 0x0C: // UTF8String
+					return "s" + new String(bytes, valueStart, length, StandardCharsets.UTF_8);
+				case 0x1E: // BMPString
+					return "s" + new String(bytes, valueStart, length, StandardCharsets.UTF_16BE);
+				case 0x12: // NumericString
+				case 0x13: // PrintableString
+				case 0x14: // T61String
+				case 0x15: // VideotexString
+				case 0x16: // IA5String
+				case 0x19: // GraphicString
+				case 0x1A: // VisibleString
+				case 0x1B: // GeneralString
+					return "s" + new String(bytes, valueStart, length, StandardCharsets.ISO_8859_1);
+				default:
+					return "#" + toHex(start, position);
+			}
+		}
+
+		private void readTag(int expectedTag) {
+			final int tag = bytes[position++] & 0xff;
+			if (tag != expectedTag) {
+				throw new IllegalArgumentException(String.format("Unexpected tag '%s'", tag));
+			}
+		}
+
+		private int readLength() {
+			int length = bytes[position++] & 0xff;
+			if (length > 0x7f) {
+				final int numberOfBytes = length & 0x7f;
+				if (numberOfBytes > 3) {
+					throw new IllegalArgumentException("Unsupported length");
+				}
+				length = 0;
+				for (int i = 0; i < numberOfBytes; i++) {
+					length = (length << 8) | (bytes[position++] & 0xff);
+				}
+			}
+			if (position + length > end) {
+				throw new IllegalArgumentException("Invalid length");
+			}
+			return length;
+		}
+
+		private String toHex(int from, int to) {
+			final StringBuilder sb = new StringBuilder((to - from) * 2);
+			for (int i = from; i < to; i++) {
+				sb.append(Character.forDigit((bytes[i] >> 4) & 0xf, 16)).append(Character.forDigit(bytes[i] & 0xf, 16));
+			}
+			return sb.toString();
+		}
+
+	}
+
+}
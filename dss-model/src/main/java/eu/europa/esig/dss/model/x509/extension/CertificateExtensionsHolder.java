@@ -0,0 +1,91 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.x509.extension;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * This class contains the certificate extensions parsed from a certificate.
+ * The holder is populated lazily, each extension being parsed at most once per certificate
+ * and then re-used by all the consumers.
+ *
+ */
+public class CertificateExtensionsHolder {
+
+    /** Used to cache an absence of the extension */
+    private static final Object ABSENT = new Object();
+
+    /** The parsed extensions, by OID */
+    private final Map<String, Object> parsedExtensions = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor instantiating an empty holder
+     */
+    public CertificateExtensionsHolder() {
+        // empty
+    }
+
+    /**
+     * Returns the parsed extension with the given {@code oid}.
+     * When called for the first time for the given OID, the extension is obtained from the {@code parser}.
+     * NOTE: the returned object is shared between all the consumers and shall not be modified.
+     *
+     * @param oid {@link String} the OID of the extension
+     * @param parser {@link Supplier} used to parse the extension, returning NULL when the extension is not present
+     * @param <T> {@link CertificateExtension} type
+     * @return {@link CertificateExtension} when present, NULL otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends CertificateExtension> T getOrParse(String oid, Supplier<T> parser) {
+        Object extension = parsedExtensions.get(oid);
+        if (extension == null) {
+            // parsed outside the map in order to avoid blocking of other OIDs
+            T parsedExtension = parser.get();
+            extension = parsedExtensions.putIfAbsent(oid, parsedExtension != null ? parsedExtension : ABSENT);
+            if (extension == null) {
+                return parsedExtension;
+            }
+        }
+        return extension != ABSENT ? (T) extension : null;
+    }
+
+    /**
+     * Checks whether the extension with the given {@code oid} has been already parsed
+     *
+     * @param oid {@link String} the OID of the extension
+     * @return TRUE if the extension has been parsed, FALSE otherwise
+     */
+    public boolean isParsed(String oid) {
+        return parsedExtensions.containsKey(oid);
+    }
+
+    /**
+     * Returns the number of extensions parsed so far (including the extensions not present within the certificate)
+     *
+     * @return number of parsed extensions
+     */
+    public int getNumberOfParsedExtensions() {
+        return parsedExtensions.size();
+    }
+
+}
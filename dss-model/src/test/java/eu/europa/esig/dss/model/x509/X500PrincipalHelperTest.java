@@ -0,0 +1,62 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.x509;
+
+import org.junit.jupiter.api.Test;
+
+import javax.security.auth.x500.X500Principal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class X500PrincipalHelperTest {
+
+	@Test
+	void canonicalKeyTest() {
+		X500PrincipalHelper helper = new X500PrincipalHelper(new X500Principal(
+				"CN=ESTEID-SK 2015,2.5.4.97=#0C0E4E545245452D3130373437303133,O=AS Sertifitseerimiskeskus,C=EE"));
+		// different order of RDNs
+		X500PrincipalHelper reordered = new X500PrincipalHelper(new X500Principal(
+				"2.5.4.97=#0C0E4E545245452D3130373437303133,O=AS Sertifitseerimiskeskus,C=EE,CN=ESTEID-SK 2015"));
+		// PrintableString instead of UTF8String
+		X500PrincipalHelper printableString = new X500PrincipalHelper(new X500Principal(
+				"CN=ESTEID-SK 2015,2.5.4.97=#130E4E545245452D3130373437303133,O=AS Sertifitseerimiskeskus,C=EE"));
+		X500PrincipalHelper otherCountry = new X500PrincipalHelper(new X500Principal(
+				"CN=ESTEID-SK 2015,2.5.4.97=#0C0E4E545245452D3130373437303133,O=AS Sertifitseerimiskeskus,C=BE"));
+		X500PrincipalHelper missingAttribute = new X500PrincipalHelper(new X500Principal(
+				"CN=ESTEID-SK 2015,2.5.4.97=#0C0E4E545245452D3130373437303133,O=AS Sertifitseerimiskeskus"));
+
+		assertSame(helper.getCanonicalKey(), helper.getCanonicalKey());
+		assertSame(helper.getCanonicalKey(), reordered.getCanonicalKey());
+		assertSame(helper.getCanonicalKey(), printableString.getCanonicalKey());
+		assertNotEquals(helper.getCanonicalKey(), otherCountry.getCanonicalKey());
+		assertNotEquals(helper.getCanonicalKey(), missingAttribute.getCanonicalKey());
+	}
+
+	@Test
+	void multiValuedRdnTest() {
+		X500PrincipalHelper helper = new X500PrincipalHelper(new X500Principal("CN=abc+OU=x,O=Foo,C=BE"));
+		X500PrincipalHelper other = new X500PrincipalHelper(new X500Principal("OU=x,CN=abc,O=Foo,C=BE"));
+		assertEquals(helper.getCanonicalKey(), other.getCanonicalKey());
+	}
+
+}
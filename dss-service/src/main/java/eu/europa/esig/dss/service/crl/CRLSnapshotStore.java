@@ -0,0 +1,205 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.crl;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores the read-only snapshots of the CRLs used by the file-backed {@code OnlineCRLSource}.
+ * <p>
+ * A snapshot is named by the digest of its content and is shared by all the CRL sources using the same directory.
+ * The last snapshot obtained for a URL is kept. A snapshot superseded by a newer content for all its URLs is deleted
+ * as soon as the document returned for it is no longer referenced (i.e. no {@code CRLBinary} uses it anymore).
+ * The snapshots left by a previous execution are deleted when the directory is used for the first time.
+ *
+ */
+final class CRLSnapshotStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CRLSnapshotStore.class);
+
+	/** The extension of the snapshot files */
+	private static final String SNAPSHOT_EXTENSION = ".crl";
+
+	/** The stores, by directory */
+	private static final Map<Path, CRLSnapshotStore> STORES = new ConcurrentHashMap<>();
+
+	/** The directory containing the snapshots */
+	private final Path directory;
+
+	/** The current snapshot, by URL */
+	private final Map<String, Path> snapshotsByUrl = new HashMap<>();
+
+	/** The documents returned for the snapshots, referenced as long as they are used */
+	private final Map<Path, WeakReference<DSSDocument>> documents = new HashMap<>();
+
+	/** The snapshots which are not current for any URL anymore, to be deleted when not referenced */
+	private final Set<Path> supersededSnapshots = new HashSet<>();
+
+	private CRLSnapshotStore(final Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the store of the given {@code directory}
+	 *
+	 * @param directory {@link File}
+	 * @return {@link CRLSnapshotStore}
+	 */
+	static CRLSnapshotStore getInstance(final File directory) {
+		return STORES.computeIfAbsent(directory.toPath().toAbsolutePath().normalize(), path -> {
+			final CRLSnapshotStore store = new CRLSnapshotStore(path);
+			store.deleteLeftSnapshots();
+			return store;
+		});
+	}
+
+	/**
+	 * Copies the content of the {@code document} obtained from {@code url} to a read-only snapshot file,
+	 * which is not modified afterwards. The same document is returned for the same content, as long as it is used.
+	 *
+	 * @param url {@link String} the URL the document has been obtained from
+	 * @param document {@link DSSDocument} obtained from the data loader
+	 * @return {@link DSSDocument} representing the snapshot
+	 */
+	DSSDocument createSnapshot(final String url, final DSSDocument document) {
+		try {
+			Files.createDirectories(directory);
+			final Path tempFile = Files.createTempFile(directory, "crl-", ".tmp");
+			try {
+				final MessageDigest messageDigest = DigestAlgorithm.SHA256.getMessageDigest();
+				try (InputStream is = new DigestInputStream(document.openStream(), messageDigest)) {
+					Files.copy(is, tempFile, StandardCopyOption.REPLACE_EXISTING);
+				}
+				final Path snapshot = directory.resolve(Utils.toHex(messageDigest.digest()) + SNAPSHOT_EXTENSION);
+
+				synchronized (this) {
+					final DSSDocument snapshotDocument = getSnapshotDocument(snapshot, tempFile);
+					final Path previousSnapshot = snapshotsByUrl.put(url, snapshot);
+					supersededSnapshots.remove(snapshot);
+					if (previousSnapshot != null && !previousSnapshot.equals(snapshot)
+							&& !snapshotsByUrl.containsValue(previousSnapshot)) {
+						supersededSnapshots.add(previousSnapshot);
+					}
+					deleteUnusedSnapshots();
+					return snapshotDocument;
+				}
+
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+
+		} catch (IOException | NoSuchAlgorithmException e) {
+			throw new DSSExternalResourceException(String.format(
+					"Unable to create a snapshot of the CRL document : %s", e.getMessage()), e);
+		}
+	}
+
+	private DSSDocument getSnapshotDocument(final Path snapshot, final Path tempFile) throws IOException {
+		final WeakReference<DSSDocument> reference = documents.get(snapshot);
+		DSSDocument snapshotDocument = reference != null ? reference.get() : null;
+		if (snapshotDocument != null && Files.exists(snapshot)) {
+			return snapshotDocument;
+		}
+		if (!Files.exists(snapshot)) {
+			Files.move(tempFile, snapshot, StandardCopyOption.ATOMIC_MOVE);
+			if (!snapshot.toFile().setReadOnly()) {
+				LOG.debug("Unable to set the CRL snapshot '{}' read-only.", snapshot);
+			}
+		}
+		snapshotDocument = new FileDocument(snapshot.toFile());
+		documents.put(snapshot, new WeakReference<>(snapshotDocument));
+		return snapshotDocument;
+	}
+
+	/**
+	 * Deletes the superseded snapshots, which are not referenced anymore
+	 */
+	private void deleteUnusedSnapshots() {
+		final Iterator<Path> it = supersededSnapshots.iterator();
+		while (it.hasNext()) {
+			final Path snapshot = it.next();
+			final WeakReference<DSSDocument> reference = documents.get(snapshot);
+			if (reference != null && reference.get() != null) {
+				continue;
+			}
+			if (delete(snapshot)) {
+				documents.remove(snapshot);
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Deletes the snapshots created by a previous execution
+	 */
+	private void deleteLeftSnapshots() {
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SNAPSHOT_EXTENSION)) {
+			for (Path snapshot : stream) {
+				delete(snapshot);
+			}
+		} catch (IOException e) {
+			LOG.warn("Unable to clean the CRL snapshot directory '{}' : {}", directory, e.getMessage());
+		}
+	}
+
+	private boolean delete(final Path snapshot) {
+		try {
+			if (!snapshot.toFile().setWritable(true)) {
+				LOG.trace("Unable to set the CRL snapshot '{}' writable.", snapshot);
+			}
+			Files.deleteIfExists(snapshot);
+			LOG.debug("The CRL snapshot '{}' has been deleted.", snapshot);
+			return true;
+		} catch (IOException e) {
+			// e.g. the file is still opened on Windows, a new attempt is done on the next snapshot creation
+			LOG.debug("Unable to delete the CRL snapshot '{}' : {}", snapshot, e.getMessage());
+			return false;
+		}
+	}
+
+}
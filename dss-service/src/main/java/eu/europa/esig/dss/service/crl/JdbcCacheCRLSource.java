@@ -37,18 +37,29 @@ import eu.europa.esig.dss.spi.x509.revocation.JdbcRevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 
 /**
  * CRLSource that retrieve information from a JDBC datasource
+ * <p>
+ * NOTE: the delta CRL merged with a complete CRL is only stored with the indexed schema
+ * (see {@code setIndexedSchema(boolean)}), within its DELTA_DATA column. The default schema is unchanged,
+ * and a CRL token restored from it contains the complete CRL only.
  */
 public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRLSource {
 
     private static final long serialVersionUID = 3007740140330998336L;
 
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcCacheCRLSource.class);
+
     /**
      * Used in the init method to check if the table exists
      */
@@ -60,6 +71,17 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
      */
     private static final SqlQuery SQL_INIT_CREATE_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_CRL (ID CHAR(40), DATA BLOB, ISSUER LONGVARBINARY)");
 
+    /**
+     * Used in the init method to create the table with the indexed schema, if not existing:
+     * ID (char40 = SHA1 length, primary key), DATA (blob), ISSUER, DELTA_DATA (blob) and NEXT_UPDATE (timestamp)
+     */
+    private static final SqlQuery SQL_INIT_CREATE_INDEXED_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_CRL (ID CHAR(40) NOT NULL PRIMARY KEY, DATA BLOB, ISSUER LONGVARBINARY, DELTA_DATA BLOB, NEXT_UPDATE TIMESTAMP)");
+
+    /**
+     * Used in the init method to create the index on the NEXT_UPDATE column for the indexed schema
+     */
+    private static final SqlQuery SQL_INIT_CREATE_INDEX = SqlQuery.createQuery("CREATE INDEX CACHED_CRL_NEXT_UPDATE_IDX ON CACHED_CRL (NEXT_UPDATE)");
+
     /**
      * Used to drop the cache table
      */
@@ -75,6 +97,21 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
      */
     private static final SqlQuery SQL_FIND_UPDATE = SqlQuery.createQuery("UPDATE CACHED_CRL SET DATA = ?, ISSUER = ?  WHERE ID = ?");
 
+    /**
+     * Used via the find method to insert a new record with the indexed schema
+     */
+    private static final SqlQuery SQL_FIND_INDEXED_INSERT = SqlQuery.createQuery("INSERT INTO CACHED_CRL (ID, DATA, ISSUER, DELTA_DATA, NEXT_UPDATE) VALUES (?, ?, ?, ?, ?)");
+
+    /**
+     * Used via the find method to update an existing record via the id with the indexed schema
+     */
+    private static final SqlQuery SQL_FIND_INDEXED_UPDATE = SqlQuery.createQuery("UPDATE CACHED_CRL SET DATA = ?, ISSUER = ?, DELTA_DATA = ?, NEXT_UPDATE = ? WHERE ID = ?");
+
+    /**
+     * Used to remove all the records with a nextUpdate before the given time with the indexed schema
+     */
+    private static final SqlQuery SQL_REMOVE_EXPIRED = SqlQuery.createQuery("DELETE FROM CACHED_CRL WHERE NEXT_UPDATE < ?");
+
     /**
      * Used via the find method to remove an existing record by the id
      */
@@ -86,11 +123,18 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
     private static final SqlSelectQuery SQL_FIND_QUERY = new SqlSelectQuery("SELECT * FROM CACHED_CRL WHERE ID = ?") {
         @Override
         public SqlCRLRecord getRecord(ResultSet rs) throws SQLException {
-            SqlCRLRecord response = new SqlCRLRecord();
-            response.id = rs.getString("ID");
-            response.crlBinary = rs.getBytes("DATA");
-            response.certificateIssuerBinary = rs.getBytes("ISSUER");
-            return response;
+            return toSqlCRLRecord(rs, false);
+        }
+    };
+
+    /**
+     * A list of requests to extract the not expired certificates by, with the indexed schema
+     */
+    private static final SqlSelectQuery SQL_FIND_INDEXED_QUERY = new SqlSelectQuery(
+            "SELECT ID, DATA, ISSUER, DELTA_DATA FROM CACHED_CRL WHERE ID = ? AND NEXT_UPDATE > ?") {
+        @Override
+        public SqlCRLRecord getRecord(ResultSet rs) throws SQLException {
+            return toSqlCRLRecord(rs, true);
         }
     };
 
@@ -101,9 +145,34 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
         // empty
     }
 
+    private static SqlCRLRecord toSqlCRLRecord(ResultSet rs, boolean withDeltaCrl) throws SQLException {
+        SqlCRLRecord response = new SqlCRLRecord();
+        response.id = rs.getString("ID");
+        response.crlBinary = readBlob(rs, "DATA");
+        response.certificateIssuerBinary = rs.getBytes("ISSUER");
+        if (withDeltaCrl) {
+            response.deltaCrlBinary = readBlob(rs, "DELTA_DATA");
+        }
+        return response;
+    }
+
+    private static byte[] readBlob(ResultSet rs, String columnName) throws SQLException {
+        // the BLOB is read as a stream, avoiding an intermediate copy by the driver
+        try (InputStream is = rs.getBinaryStream(columnName)) {
+            return is != null ? Utils.toByteArray(is) : null;
+        } catch (IOException e) {
+            throw new SQLException(String.format("Unable to read the CRL binaries : %s", e.getMessage()), e);
+        }
+    }
+
     @Override
     protected SqlQuery getCreateTableQuery() {
-        return SQL_INIT_CREATE_TABLE;
+        return isIndexedSchema() ? SQL_INIT_CREATE_INDEXED_TABLE : SQL_INIT_CREATE_TABLE;
+    }
+
+    @Override
+    protected SqlQuery getCreateIndexQuery() {
+        return SQL_INIT_CREATE_INDEX;
     }
 
     @Override
@@ -113,12 +182,12 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
 
     @Override
     protected SqlQuery getInsertRevocationTokenEntryQuery() {
-        return SQL_FIND_INSERT;
+        return isIndexedSchema() ? SQL_FIND_INDEXED_INSERT : SQL_FIND_INSERT;
     }
 
     @Override
     protected SqlQuery getUpdateRevocationTokenEntryQuery() {
-        return SQL_FIND_UPDATE;
+        return isIndexedSchema() ? SQL_FIND_INDEXED_UPDATE : SQL_FIND_UPDATE;
     }
 
     @Override
@@ -131,9 +200,14 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
         return SQL_DROP_TABLE;
     }
 
+    @Override
+    protected SqlQuery getRemoveExpiredRevocationTokenEntriesQuery() {
+        return SQL_REMOVE_EXPIRED;
+    }
+
     @Override
     protected SqlSelectQuery getRevocationDataExtractQuery() {
-        return SQL_FIND_QUERY;
+        return isIndexedSchema() ? SQL_FIND_INDEXED_QUERY : SQL_FIND_QUERY;
     }
 
     /**
@@ -158,7 +232,9 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
             final CRLValidity cached = CRLUtils.buildCRLValidity(crlBinary, cachedIssuerCertificate);
             cached.setIssuerToken(cachedIssuerCertificate);
 
-            CRLToken crlToken = new CRLToken(certificateToken, cached);
+            final CRLValidity cachedDelta = getDeltaCRLValidity(crlResponse, cached, cachedIssuerCertificate);
+
+            CRLToken crlToken = new CRLToken(certificateToken, cached, cachedDelta);
             crlToken.setExternalOrigin(RevocationOrigin.CACHED);
             return crlToken;
 
@@ -168,22 +244,31 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
         }
     }
 
-    @Override
-    protected void insertRevocation(final String revocationKey, final RevocationToken<CRL> token) {
-        CRLToken crlToken = (CRLToken) token;
-        CRLValidity crlValidity = crlToken.getCrlValidity();
-
-        getJdbcCacheConnector().execute(getInsertRevocationTokenEntryQuery(), revocationKey, crlValidity.getDerEncoded(),
-                crlValidity.getIssuerToken().getEncoded());
+    private CRLValidity getDeltaCRLValidity(SqlCRLRecord crlResponse, CRLValidity completeCrlValidity,
+                                            CertificateToken cachedIssuerCertificate) throws IOException {
+        if (crlResponse.deltaCrlBinary == null) {
+            return null;
+        }
+        final CRLValidity cachedDelta = CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(crlResponse.deltaCrlBinary), cachedIssuerCertificate);
+        cachedDelta.setIssuerToken(cachedIssuerCertificate);
+        if (!cachedDelta.isDeltaCRLFor(completeCrlValidity)) {
+            LOG.warn("The cached delta CRL is not applicable to the cached complete CRL with Id '{}'. The delta CRL is ignored.",
+                    completeCrlValidity.getCrlBinary().asXmlId());
+            return null;
+        }
+        return cachedDelta;
     }
 
     @Override
-    protected void updateRevocation(final String revocationKey, final RevocationToken<CRL> token) {
+    protected Object[] getRevocationTokenEntryValues(final RevocationToken<CRL> token) {
         CRLToken crlToken = (CRLToken) token;
         CRLValidity crlValidity = crlToken.getCrlValidity();
-
-        getJdbcCacheConnector().execute(getUpdateRevocationTokenEntryQuery(), crlValidity.getDerEncoded(),
-                crlValidity.getIssuerToken().getEncoded(), revocationKey);
+        if (isIndexedSchema()) {
+            // DATA, ISSUER, DELTA_DATA
+            return new Object[] { crlValidity.getDerEncoded(), crlValidity.getIssuerToken().getEncoded(), crlToken.getDeltaEncoded() };
+        }
+        // DATA, ISSUER
+        return new Object[] { crlValidity.getDerEncoded(), crlValidity.getIssuerToken().getEncoded() };
     }
 
     @Override
@@ -226,6 +311,11 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
          */
         protected byte[] certificateIssuerBinary;
 
+        /**
+         * Binary of the delta CRL merged with the CRL, if any
+         */
+        protected byte[] deltaCrlBinary;
+
         /**
          * Default constructor
          */
@@ -24,13 +24,16 @@ import eu.europa.esig.dss.crl.CRLBinary;
 import eu.europa.esig.dss.crl.CRLUtils;
 import eu.europa.esig.dss.crl.CRLValidity;
 import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.client.http.DSSCacheFileLoader;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.SingleFlight;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
@@ -38,9 +41,15 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -70,6 +79,39 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * Shares a CRL download and verification between concurrent requests for the same URL and issuer
+	 */
+	private final SingleFlight<String, CRLValidity> crlRequests = new SingleFlight<>();
+
+	/**
+	 * Defines whether delta CRLs announced within the 'freshestCRL' certificate extension shall be retrieved
+	 * and merged with the complete CRL
+	 */
+	private boolean deltaCRLEnabled = false;
+
+	/**
+	 * The maximum number of verified complete CRLs kept in memory to be updated with delta CRLs
+	 */
+	private int completeCRLCacheSize = 16;
+
+	/**
+	 * Defines whether the downloaded CRLs shall be read from the files of a {@code DSSCacheFileLoader}
+	 * instead of being kept in memory
+	 */
+	private boolean fileBackedCRLEnabled = false;
+
+	/**
+	 * The directory containing the private copies of the CRLs, when {@code fileBackedCRLEnabled}
+	 */
+	private File crlSnapshotDirectory = new File(System.getProperty("java.io.tmpdir"), "dss-crl-snapshots");
+
+	/**
+	 * The verified complete CRLs, by URL and issuer (in access order), reused until their nextUpdate
+	 * when the delta CRL support is enabled
+	 */
+	private final Map<String, CRLValidity> completeCRLs = new LinkedHashMap<>(16, 0.75f, true);
+
 	/**
 	 * The default constructor. A {@code CommonsDataLoader is created}.
 	 */
@@ -113,6 +155,70 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 		this.dataLoader = dataLoader;
 	}
 
+	/**
+	 * Sets whether delta CRLs shall be retrieved from the locations defined within the 'freshestCRL'
+	 * extension of the certificate. When enabled, a verified complete CRL is kept in memory until its nextUpdate
+	 * and only the delta CRL is downloaded on the following requests. The returned {@code CRLToken} reflects
+	 * the merged view of the complete and the delta CRLs. If the delta CRL cannot be retrieved or
+	 * does not apply to the complete CRL, the complete CRL is used alone.
+	 * <p>
+	 * Default : FALSE (delta CRLs are not retrieved)
+	 *
+	 * @param deltaCRLEnabled whether delta CRLs shall be retrieved
+	 */
+	public void setDeltaCRLEnabled(boolean deltaCRLEnabled) {
+		this.deltaCRLEnabled = deltaCRLEnabled;
+	}
+
+	/**
+	 * Sets whether the CRLs shall be backed by files instead of being kept in memory, when the {@code DataLoader}
+	 * is a {@code DSSCacheFileLoader}. The document obtained from the data loader is copied to a read-only
+	 * snapshot file within {@code crlSnapshotDirectory}, named by the digest of its content, and the DER encoded
+	 * CRL is read from the snapshot when parsed. Thus, a later update of the data loader's cache does not alter
+	 * the content of the created {@code CRLToken}s. This is recommended for large CRLs, together with
+	 * the dss-crl-parser-stream implementation.
+	 * <p>
+	 * Default : FALSE (the CRL binaries are kept in memory)
+	 *
+	 * @param fileBackedCRLEnabled whether the CRLs shall be backed by files
+	 */
+	public void setFileBackedCRLEnabled(boolean fileBackedCRLEnabled) {
+		this.fileBackedCRLEnabled = fileBackedCRLEnabled;
+	}
+
+	/**
+	 * Sets the directory where the snapshots of the CRLs are stored, when {@code fileBackedCRLEnabled}.
+	 * The directory shall not be shared with other processes. A snapshot is deleted once superseded by a newer
+	 * content of the CRL and no longer used by a {@code CRLToken}. The snapshots left by a previous execution
+	 * are deleted on the first use of the directory.
+	 * <p>
+	 * Default : "dss-crl-snapshots" directory within the "java.io.tmpdir"
+	 *
+	 * @param crlSnapshotDirectory {@link File}
+	 */
+	public void setCrlSnapshotDirectory(File crlSnapshotDirectory) {
+		Objects.requireNonNull(crlSnapshotDirectory, "CRL snapshot directory cannot be null!");
+		this.crlSnapshotDirectory = crlSnapshotDirectory;
+	}
+
+	/**
+	 * Sets the maximum number of verified complete CRLs kept in memory, when the delta CRL support is enabled.
+	 * When the limit is reached, the least recently used CRLs are evicted.
+	 * <p>
+	 * Default : 16
+	 *
+	 * @param completeCRLCacheSize the maximum number of complete CRLs kept in memory
+	 */
+	public void setCompleteCRLCacheSize(int completeCRLCacheSize) {
+		if (completeCRLCacheSize < 0) {
+			throw new IllegalArgumentException("The maximum number of cached complete CRLs cannot be negative!");
+		}
+		synchronized (completeCRLs) {
+			this.completeCRLCacheSize = completeCRLCacheSize;
+			evictCompleteCRLs();
+		}
+	}
+
 	@Override
 	public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
 		return getRevocationToken(certificateToken, issuerCertificateToken, Collections.emptyList());
@@ -140,9 +246,18 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 			nbTries--;
 
 			try {
-				final CRLBinary crlBinary = executeCRLRequest(crlUrl);
-				final CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, issuerToken);
-				final CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
+				final String crlKey = crlUrl + " " + issuerToken.getDSSIdAsString();
+				CRLValidity crlValidity = deltaCRLEnabled ? getCachedCompleteCRL(crlKey) : null;
+				if (crlValidity == null) {
+					crlValidity = crlRequests.execute(crlKey, () -> getCRLValidity(crlUrl, issuerToken));
+				}
+				final CRLToken crlToken;
+				if (deltaCRLEnabled && crlValidity.isValid() && !crlValidity.isDeltaCRL()) {
+					cacheCompleteCRL(crlKey, crlValidity);
+					crlToken = new CRLToken(certificateToken, crlValidity, getDeltaCRLValidity(certificateToken, issuerToken, crlValidity));
+				} else {
+					crlToken = new CRLToken(certificateToken, crlValidity);
+				}
 				crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
 				crlToken.setSourceURL(crlUrl);
 				if (LOG.isDebugEnabled()) {
@@ -167,6 +282,69 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 				"for a certificate call with id '%s'", certificateToken.getDSSIdAsString()));
 	}
 
+	private CRLValidity getDeltaCRLValidity(final CertificateToken certificateToken, final CertificateToken issuerToken,
+											final CRLValidity completeCrlValidity) {
+		final List<String> deltaCrlUrls = new ArrayList<>(CertificateExtensionsUtils.getFreshestCRLAccessUrls(certificateToken));
+		prioritize(deltaCrlUrls);
+		for (String deltaCrlUrl : deltaCrlUrls) {
+			try {
+				final CRLValidity deltaCrlValidity = crlRequests.execute(deltaCrlUrl + " " + issuerToken.getDSSIdAsString(),
+						() -> getCRLValidity(deltaCrlUrl, issuerToken));
+				if (deltaCrlValidity.isValid() && deltaCrlValidity.isDeltaCRLFor(completeCrlValidity)) {
+					LOG.debug("Delta CRL retrieved from URL '{}' is merged with the complete CRL.", deltaCrlUrl);
+					return deltaCrlValidity;
+				}
+				LOG.warn("The CRL retrieved from URL '{}' is not a valid delta CRL for the complete CRL. Skipped.", deltaCrlUrl);
+
+			} catch (Exception e) {
+				LOG.warn("Unable to retrieve delta CRL with URL '{}' : {}", deltaCrlUrl, e.getMessage());
+			}
+		}
+		return null;
+	}
+
+	private CRLValidity getCachedCompleteCRL(final String crlKey) {
+		synchronized (completeCRLs) {
+			final CRLValidity crlValidity = completeCRLs.get(crlKey);
+			if (crlValidity != null && !isFresh(crlValidity)) {
+				completeCRLs.remove(crlKey);
+				return null;
+			}
+			return crlValidity;
+		}
+	}
+
+	private void cacheCompleteCRL(final String crlKey, final CRLValidity crlValidity) {
+		if (isFresh(crlValidity)) {
+			synchronized (completeCRLs) {
+				completeCRLs.put(crlKey, crlValidity);
+				evictCompleteCRLs();
+			}
+		}
+	}
+
+	private boolean isFresh(final CRLValidity crlValidity) {
+		return crlValidity.getNextUpdate() != null && crlValidity.getNextUpdate().after(new Date());
+	}
+
+	private void evictCompleteCRLs() {
+		final Iterator<String> it = completeCRLs.keySet().iterator();
+		while (completeCRLs.size() > completeCRLCacheSize && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	private CRLValidity getCRLValidity(final String crlUrl, final CertificateToken issuerToken) {
+		final CRLBinary crlBinary = executeCRLRequest(crlUrl);
+		try {
+			return CRLUtils.buildCRLValidity(crlBinary, issuerToken);
+		} catch (IOException e) {
+			throw new DSSExternalResourceException(String.format("Unable to parse the CRL from URL '%s' : %s",
+					crlUrl, e.getMessage()), e);
+		}
+	}
+
 	/**
 	 * Extracts a list of CRL distribution point URLs to be used in the provided order to retrieve a CRL
 	 *
@@ -196,9 +374,16 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	 * @return {@link CRLBinary}
 	 */
 	protected CRLBinary executeCRLRequest(final String crlUrl) {
-		byte[] bytes = dataLoader.get(crlUrl);
-		if (Utils.isArrayNotEmpty(bytes)) {
-			return CRLUtils.buildCRLBinary(bytes);
+		if (fileBackedCRLEnabled && dataLoader instanceof DSSCacheFileLoader) {
+			DSSDocument document = ((DSSCacheFileLoader) dataLoader).getDocument(crlUrl);
+			if (document != null) {
+				return CRLUtils.buildCRLBinary(CRLSnapshotStore.getInstance(crlSnapshotDirectory).createSnapshot(crlUrl, document));
+			}
+		} else {
+			byte[] bytes = dataLoader.get(crlUrl);
+			if (Utils.isArrayNotEmpty(bytes)) {
+				return CRLUtils.buildCRLBinary(bytes);
+			}
 		}
 		throw new DSSExternalResourceException(String.format("CRL DataLoader for certificate with url '%s' " +
 				"responded with an empty byte array!", crlUrl));
@@ -53,10 +53,14 @@ import org.apache.hc.client5.http.routing.HttpRoutePlanner;
 import org.apache.hc.client5.http.ssl.DefaultHostnameVerifier;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.HttpClientResponseHandler;
 import org.apache.hc.core5.http.io.SocketConfig;
 import org.apache.hc.core5.http.io.entity.BufferedHttpEntity;
@@ -887,6 +891,68 @@ public class CommonsDataLoader implements DataLoader {
 		}
 	}
 
+	/**
+	 * Executes a conditional GET request to the provided HTTP(S) url, using the {@code validators} of
+	 * a previously obtained response within the If-None-Match and If-Modified-Since request headers.
+	 * When the server responds the resource has not been modified (HTTP 304), no content is transferred and
+	 * the returned {@code ConditionalGetResponse} is marked as not modified.
+	 * For other protocols, a regular GET is performed.
+	 *
+	 * @param url {@link String} to access
+	 * @param validators {@link HttpCacheValidators} of the previously obtained response, can be null
+	 * @return {@link ConditionalGetResponse}
+	 */
+	public ConditionalGetResponse conditionalGet(final String url, final HttpCacheValidators validators) {
+		if (!Protocol.isHttpUrl(url)) {
+			return new ConditionalGetResponse(get(url), null);
+		}
+
+		HttpGet httpRequest = null;
+		CloseableHttpClient client = null;
+
+		try {
+			httpRequest = getHttpRequest(url);
+			final boolean conditional = validators != null && !validators.isEmpty();
+			if (conditional) {
+				if (Utils.isStringNotEmpty(validators.getETag())) {
+					httpRequest.setHeader(HttpHeaders.IF_NONE_MATCH, validators.getETag());
+				}
+				if (Utils.isStringNotEmpty(validators.getLastModified())) {
+					httpRequest.setHeader(HttpHeaders.IF_MODIFIED_SINCE, validators.getLastModified());
+				}
+			}
+			client = getHttpClient(url);
+			final HttpHost targetHost = getHttpHost(httpRequest);
+			final HttpContext localContext = getHttpContext(targetHost);
+			return client.execute(targetHost, httpRequest, localContext,
+					response -> handleConditionalResponse(response, conditional ? validators : null));
+
+		} catch (URISyntaxException | IOException e) {
+			throw new DSSExternalResourceException(String.format("Unable to process GET call for url [%s]. Reason : [%s]", url, DSSUtils.getExceptionMessage(e)), e);
+
+		} finally {
+			closeQuietly(httpRequest, client);
+
+		}
+	}
+
+	private ConditionalGetResponse handleConditionalResponse(final ClassicHttpResponse response,
+			final HttpCacheValidators requestValidators) throws HttpException, IOException {
+		final HttpCacheValidators responseValidators = new HttpCacheValidators(
+				getHeaderValue(response, HttpHeaders.ETAG), getHeaderValue(response, HttpHeaders.LAST_MODIFIED));
+		if (requestValidators != null && HttpStatus.SC_NOT_MODIFIED == response.getCode()) {
+			LOG.debug("The resource has not been modified since the last request.");
+			// the validators may be omitted in a 304 response
+			return new ConditionalGetResponse(null, responseValidators.isEmpty() ? requestValidators : responseValidators);
+		}
+		return new ConditionalGetResponse(getHttpClientResponseHandler().handleResponse(response), responseValidators);
+	}
+
+	private String getHeaderValue(final ClassicHttpResponse response, final String headerName) {
+		final Header header = response.getFirstHeader(headerName);
+		return header != null ? header.getValue() : null;
+	}
+
 	@Override
 	public byte[] post(final String url, final byte[] content) {
 
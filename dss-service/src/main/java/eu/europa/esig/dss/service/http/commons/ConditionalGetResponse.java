@@ -0,0 +1,72 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+/**
+ * Represents the result of a conditional GET request
+ */
+public class ConditionalGetResponse {
+
+	/** The obtained content, null when the resource has not been modified */
+	private final byte[] content;
+
+	/** The validators of the response */
+	private final HttpCacheValidators validators;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param content byte array of the obtained content, null when the resource has not been modified
+	 * @param validators {@link HttpCacheValidators} of the response, can be null
+	 */
+	public ConditionalGetResponse(final byte[] content, final HttpCacheValidators validators) {
+		this.content = content;
+		this.validators = validators;
+	}
+
+	/**
+	 * Gets the obtained content
+	 *
+	 * @return byte array, null when the resource has not been modified
+	 */
+	public byte[] getContent() {
+		return content;
+	}
+
+	/**
+	 * Gets the validators to be stored with the content for the next conditional requests
+	 *
+	 * @return {@link HttpCacheValidators}, can be null
+	 */
+	public HttpCacheValidators getValidators() {
+		return validators;
+	}
+
+	/**
+	 * Checks whether the server responded the resource has not been modified (HTTP 304)
+	 *
+	 * @return TRUE if the resource has not been modified, FALSE otherwise
+	 */
+	public boolean isNotModified() {
+		return content == null;
+	}
+
+}
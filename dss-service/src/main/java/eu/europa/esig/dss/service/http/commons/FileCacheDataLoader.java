@@ -36,6 +36,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Date;
@@ -43,6 +45,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
 
 /**
  * This class provides some caching features to handle the resources. The default cache folder is set to
@@ -58,6 +61,15 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 	/** The error message if the dataloader is not configured */
 	private static final String DATA_LOADER_NOT_CONFIGURED = "The DataLoader is not configured";
 
+	/** The extension of the files storing the HTTP validators of a cached file */
+	private static final String VALIDATORS_FILE_EXTENSION = ".validators";
+
+	/** The property name of the ETag validator */
+	private static final String ETAG_PROPERTY = "ETag";
+
+	/** The property name of the Last-Modified validator */
+	private static final String LAST_MODIFIED_PROPERTY = "Last-Modified";
+
 	/** The directory to cache files */
 	private File fileCacheDirectory = new File(System.getProperty("java.io.tmpdir"));
 
@@ -73,6 +85,9 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 	/** The cache expiration time, after which the document shall be downloaded again */
 	private long cacheExpirationTime = -1;
 
+	/** Defines whether conditional GET requests are used to refresh the cached files */
+	private boolean conditionalGetEnabled = false;
+
 	/** The dataloader to be used for a remote files access */
 	private DataLoader dataLoader;
 
@@ -145,6 +160,21 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 		this.cacheExpirationTime = cacheExpirationTimeInMilliseconds;
 	}
 
+	/**
+	 * Sets whether conditional GET requests shall be used to refresh the cached files obtained over HTTP(S).
+	 * When enabled, the ETag and Last-Modified response headers are stored next to the cached file, and
+	 * sent back on the next refresh within If-None-Match and If-Modified-Since request headers.
+	 * A "304 Not Modified" response is then treated as a cache hit, without transferring the content again.
+	 * NOTE: requires a {@code CommonsDataLoader} to be used as the underlying data loader.
+	 *
+	 * Default : false (the content is downloaded entirely on each refresh)
+	 *
+	 * @param conditionalGetEnabled whether conditional GET requests shall be used
+	 */
+	public void setConditionalGetEnabled(boolean conditionalGetEnabled) {
+		this.conditionalGetEnabled = conditionalGetEnabled;
+	}
+
 	/**
 	 * Sets the ResourceLoader for an absolute path creation
 	 *
@@ -245,9 +275,21 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 		}
 		
 		byte[] bytes;
+		HttpCacheValidators validators = null;
 		if (!isNetworkProtocol(url)) {
 			bytes = getLocalFileContent(url);
 			
+		} else if (isConditionalGetApplicable(url)) {
+			final ConditionalGetResponse response = ((CommonsDataLoader) dataLoader).conditionalGet(url,
+					fileExists ? loadValidators(fileName) : null);
+			if (fileExists && response.isNotModified()) {
+				LOG.debug("The cached file is up to date for url '{}'.", url);
+				renewCacheTime(file);
+				return new FileDocument(file);
+			}
+			bytes = response.getContent();
+			validators = response.getValidators();
+
 		} else {
 			bytes = dataLoader.get(url);
 			
@@ -255,6 +297,7 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 		
 		if (Utils.isArrayNotEmpty(bytes)) {
 			final File out = createFile(fileName, bytes);
+			saveValidators(fileName, validators);
 			return new FileDocument(out);
 			
 		} 
@@ -266,11 +309,74 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 	public DSSDocument getDocument(String url) {
 		return getDocument(url, false);
 	}
+
+	private boolean isConditionalGetApplicable(final String url) {
+		return conditionalGetEnabled && dataLoader instanceof CommonsDataLoader
+				&& Protocol.isHttpUrl(Utils.trim(url).toLowerCase());
+	}
+
+	private void renewCacheTime(final File file) {
+		if (!file.setLastModified(System.currentTimeMillis())) {
+			LOG.debug("Unable to update the last modification time of the cached file '{}'.", file.getName());
+		}
+	}
+
+	private File getValidatorsFile(final String fileName) {
+		return getCacheFile(fileName + VALIDATORS_FILE_EXTENSION);
+	}
+
+	private HttpCacheValidators loadValidators(final String fileName) {
+		final File validatorsFile = getValidatorsFile(fileName);
+		if (!validatorsFile.exists()) {
+			return null;
+		}
+		try (InputStream is = Files.newInputStream(validatorsFile.toPath())) {
+			final Properties properties = new Properties();
+			properties.load(is);
+			return new HttpCacheValidators(properties.getProperty(ETAG_PROPERTY), properties.getProperty(LAST_MODIFIED_PROPERTY));
+
+		} catch (IOException e) {
+			LOG.warn("Unable to read the HTTP validators from file '{}'. Reason : {}", validatorsFile.getName(), e.getMessage());
+			return null;
+		}
+	}
+
+	private void saveValidators(final String fileName, final HttpCacheValidators validators) {
+		if (validators == null || validators.isEmpty()) {
+			return;
+		}
+		final Properties properties = new Properties();
+		if (Utils.isStringNotEmpty(validators.getETag())) {
+			properties.setProperty(ETAG_PROPERTY, validators.getETag());
+		}
+		if (Utils.isStringNotEmpty(validators.getLastModified())) {
+			properties.setProperty(LAST_MODIFIED_PROPERTY, validators.getLastModified());
+		}
+		final File validatorsFile = getValidatorsFile(fileName);
+		try (OutputStream os = Files.newOutputStream(validatorsFile.toPath())) {
+			properties.store(os, null);
+
+		} catch (IOException e) {
+			LOG.warn("Unable to store the HTTP validators to file '{}'. Reason : {}", validatorsFile.getName(), e.getMessage());
+		}
+	}
+
+	private void removeValidators(final String fileName) {
+		final File validatorsFile = getValidatorsFile(fileName);
+		if (validatorsFile.exists()) {
+			try {
+				Files.delete(validatorsFile.toPath());
+			} catch (IOException e) {
+				LOG.warn("Unable to remove the HTTP validators file '{}'. Reason : {}", validatorsFile.getName(), e.getMessage());
+			}
+		}
+	}
 	
 	@Override
 	public boolean remove(String url) {
 		final String fileName = DSSUtils.getNormalizedString(url);
 		final File file = getCacheFile(fileName);
+		removeValidators(fileName);
 		if (file.exists()) {
 			if (LOG.isTraceEnabled()) {
 				LOG.trace("Deleting the file corresponding to URL '{}'...", url);
@@ -340,6 +446,8 @@ public class FileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
 		final String fileName = DSSUtils.getNormalizedString(urlString);
 		final File file = getCacheFile(fileName);
 		DSSUtils.saveToFile(bytes, file);
+		// the validators of a previous content are not valid anymore
+		removeValidators(fileName);
 		return file;
 	}
 
@@ -0,0 +1,85 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import eu.europa.esig.dss.utils.Utils;
+
+import java.io.Serializable;
+
+/**
+ * Contains the validators of a cached HTTP response, namely the values of the {@code ETag} and
+ * {@code Last-Modified} response headers. The validators are used to perform a conditional GET request
+ * (see RFC 9110, section 13.1), allowing the server to answer with a "304 Not Modified" response without content.
+ */
+public class HttpCacheValidators implements Serializable {
+
+	private static final long serialVersionUID = -3960823532716095405L;
+
+	/** The value of the ETag header */
+	private final String eTag;
+
+	/** The value of the Last-Modified header */
+	private final String lastModified;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param eTag {@link String} value of the ETag response header, can be null
+	 * @param lastModified {@link String} value of the Last-Modified response header, can be null
+	 */
+	public HttpCacheValidators(final String eTag, final String lastModified) {
+		this.eTag = eTag;
+		this.lastModified = lastModified;
+	}
+
+	/**
+	 * Gets the value of the ETag header, to be used within the If-None-Match request header
+	 *
+	 * @return {@link String}
+	 */
+	public String getETag() {
+		return eTag;
+	}
+
+	/**
+	 * Gets the value of the Last-Modified header, to be used within the If-Modified-Since request header
+	 *
+	 * @return {@link String}
+	 */
+	public String getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * Checks whether none of the validators is defined
+	 *
+	 * @return TRUE if no validator is defined, FALSE otherwise
+	 */
+	public boolean isEmpty() {
+		return Utils.isStringEmpty(eTag) && Utils.isStringEmpty(lastModified);
+	}
+
+	@Override
+	public String toString() {
+		return "HttpCacheValidators [eTag=" + eTag + ", lastModified=" + lastModified + "]";
+	}
+
+}
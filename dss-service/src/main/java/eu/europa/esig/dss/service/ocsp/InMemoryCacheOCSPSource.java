@@ -0,0 +1,108 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.ocsp;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.x509.revocation.InMemoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.SingleResp;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OCSPSource that keeps the retrieved OCSP responses in memory.
+ * <p>
+ * The parsed {@code BasicOCSPResp} is kept, so a cached response is neither requested nor parsed again until its
+ * expiration. Can be used in front of a {@code JdbcCacheOCSPSource} :
+ * {@code inMemoryOCSPSource.setProxySource(jdbcCacheOCSPSource)}.
+ */
+public class InMemoryCacheOCSPSource extends InMemoryRevocationSource<OCSP> implements OCSPSource {
+
+	private static final long serialVersionUID = -6894216208571384312L;
+
+	/**
+	 * Default constructor
+	 */
+	public InMemoryCacheOCSPSource() {
+		// empty
+	}
+
+	@Override
+	protected final List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
+		return DSSRevocationUtils.getOcspRevocationTokenKeys(certificateToken);
+	}
+
+	@Override
+	protected RevocationToken<OCSP> buildRevocationTokenFromCache(RevocationToken<OCSP> cachedToken,
+			CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		final BasicOCSPResp basicResponse = ((OCSPToken) cachedToken).getBasicOCSPResp();
+		final SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCertificateToken);
+		return new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
+	}
+
+	@Override
+	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		return (OCSPToken) super.getRevocationToken(certificateToken, issuerCertificateToken);
+	}
+
+	@Override
+	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken, boolean forceRefresh) {
+		return (OCSPToken) super.getRevocationToken(certificateToken, issuerCertificateToken, forceRefresh);
+	}
+
+	@Override
+	public Map<CertificateToken, OCSPToken> getRevocationTokens(Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+		final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+		for (Map.Entry<CertificateToken, RevocationToken<OCSP>> entry : extractRevocationTokens(certificatesAndIssuers).entrySet()) {
+			result.put(entry.getKey(), (OCSPToken) entry.getValue());
+		}
+		return result;
+	}
+
+	@Override
+	protected Map<CertificateToken, RevocationToken<OCSP>> getProxiedRevocationTokens(
+			Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+		if (proxiedSource instanceof OCSPSource) {
+			// allows the proxied source to request several certificates at once
+			return new LinkedHashMap<>(((OCSPSource) proxiedSource).getRevocationTokens(certificatesAndIssuers));
+		}
+		return super.getProxiedRevocationTokens(certificatesAndIssuers);
+	}
+
+	@Override
+	protected List<String> getRevocationAccessUrls(CertificateToken certificateToken) {
+		return CertificateExtensionsUtils.getOCSPAccessUrls(certificateToken);
+	}
+
+	@Override
+	protected String getRevocationTokenKey(CertificateToken certificateToken, String urlString) {
+		return DSSRevocationUtils.getOcspRevocationKey(certificateToken, urlString);
+	}
+
+}
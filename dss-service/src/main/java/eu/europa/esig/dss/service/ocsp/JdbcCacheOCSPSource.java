@@ -33,15 +33,19 @@ import eu.europa.esig.dss.spi.x509.revocation.JdbcRevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import eu.europa.esig.dss.utils.Utils;
 import org.bouncycastle.cert.ocsp.BasicOCSPResp;
 import org.bouncycastle.cert.ocsp.OCSPException;
 import org.bouncycastle.cert.ocsp.OCSPResp;
 import org.bouncycastle.cert.ocsp.SingleResp;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * OCSPSource that retrieve information from a JDBC data-source.
@@ -62,6 +66,18 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
  	 */
 	private static final SqlQuery SQL_INIT_CREATE_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_OCSP (ID VARCHAR(100), DATA BLOB, LOC VARCHAR(200))");
 
+	/**
+	 * Used in the init method to create the table with the indexed schema, if not existing:
+	 * ID (varchar(100), primary key), DATA (blob = OCSP binaries), LOC (varchar(200) = location url)
+	 * and NEXT_UPDATE (timestamp)
+	 */
+	private static final SqlQuery SQL_INIT_CREATE_INDEXED_TABLE = SqlQuery.createQuery("CREATE TABLE CACHED_OCSP (ID VARCHAR(100) NOT NULL PRIMARY KEY, DATA BLOB, LOC VARCHAR(200), NEXT_UPDATE TIMESTAMP)");
+
+	/**
+	 * Used in the init method to create the index on the NEXT_UPDATE column for the indexed schema
+	 */
+	private static final SqlQuery SQL_INIT_CREATE_INDEX = SqlQuery.createQuery("CREATE INDEX CACHED_OCSP_NEXT_UPDATE_IDX ON CACHED_OCSP (NEXT_UPDATE)");
+
 	/**
 	 * Used via the find method to insert a new record
 	 */
@@ -72,6 +88,21 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 	 */
 	private static final SqlQuery SQL_FIND_UPDATE = SqlQuery.createQuery("UPDATE CACHED_OCSP SET DATA = ?, LOC = ? WHERE ID = ?");
 	
+	/**
+	 * Used via the find method to insert a new record with the indexed schema
+	 */
+	private static final SqlQuery SQL_FIND_INDEXED_INSERT = SqlQuery.createQuery("INSERT INTO CACHED_OCSP (ID, DATA, LOC, NEXT_UPDATE) VALUES (?, ?, ?, ?)");
+
+	/**
+	 * Used via the find method to update an existing record via the id with the indexed schema
+	 */
+	private static final SqlQuery SQL_FIND_INDEXED_UPDATE = SqlQuery.createQuery("UPDATE CACHED_OCSP SET DATA = ?, LOC = ?, NEXT_UPDATE = ? WHERE ID = ?");
+
+	/**
+	 * Used to remove all the records with a nextUpdate before the given time with the indexed schema
+	 */
+	private static final SqlQuery SQL_REMOVE_EXPIRED = SqlQuery.createQuery("DELETE FROM CACHED_OCSP WHERE NEXT_UPDATE < ?");
+
 	/**
 	 * Used via the find method to remove an existing record by the id
 	 */
@@ -88,11 +119,18 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 	private static final SqlSelectQuery SQL_FIND_QUERY = new SqlSelectQuery("SELECT * FROM CACHED_OCSP WHERE ID = ?") {
 		@Override
 		public SqlOCSPResponse getRecord(ResultSet rs) throws SQLException {
-			SqlOCSPResponse response = new SqlOCSPResponse();
-			response.id = rs.getString("ID");
-			response.ocspBinary = rs.getBytes("DATA");
-			response.ocspUrl = rs.getString("LOC");
-			return response;
+			return toSqlOCSPResponse(rs);
+		}
+	};
+
+	/**
+	 * A list of requests to extract the not expired certificates by, with the indexed schema
+	 */
+	private static final SqlSelectQuery SQL_FIND_INDEXED_QUERY = new SqlSelectQuery(
+			"SELECT ID, DATA, LOC FROM CACHED_OCSP WHERE ID = ? AND NEXT_UPDATE > ?") {
+		@Override
+		public SqlOCSPResponse getRecord(ResultSet rs) throws SQLException {
+			return toSqlOCSPResponse(rs);
 		}
 	};
 
@@ -103,9 +141,27 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 		// empty
 	}
 
+	private static SqlOCSPResponse toSqlOCSPResponse(ResultSet rs) throws SQLException {
+		SqlOCSPResponse response = new SqlOCSPResponse();
+		response.id = rs.getString("ID");
+		// the BLOB is read as a stream, avoiding an intermediate copy by the driver
+		try (InputStream is = rs.getBinaryStream("DATA")) {
+			response.ocspBinary = is != null ? Utils.toByteArray(is) : null;
+		} catch (IOException e) {
+			throw new SQLException(String.format("Unable to read the OCSP binaries : %s", e.getMessage()), e);
+		}
+		response.ocspUrl = rs.getString("LOC");
+		return response;
+	}
+
 	@Override
 	protected SqlQuery getCreateTableQuery() {
-		return SQL_INIT_CREATE_TABLE;
+		return isIndexedSchema() ? SQL_INIT_CREATE_INDEXED_TABLE : SQL_INIT_CREATE_TABLE;
+	}
+
+	@Override
+	protected SqlQuery getCreateIndexQuery() {
+		return SQL_INIT_CREATE_INDEX;
 	}
 	
 	@Override
@@ -120,12 +176,12 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 
 	@Override
 	protected SqlQuery getInsertRevocationTokenEntryQuery() {
-		return SQL_FIND_INSERT;
+		return isIndexedSchema() ? SQL_FIND_INDEXED_INSERT : SQL_FIND_INSERT;
 	}
 
 	@Override
 	protected SqlQuery getUpdateRevocationTokenEntryQuery() {
-		return SQL_FIND_UPDATE;
+		return isIndexedSchema() ? SQL_FIND_INDEXED_UPDATE : SQL_FIND_UPDATE;
 	}
 
 	@Override
@@ -133,9 +189,14 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 		return SQL_FIND_REMOVE;
 	}
 
+	@Override
+	protected SqlQuery getRemoveExpiredRevocationTokenEntriesQuery() {
+		return SQL_REMOVE_EXPIRED;
+	}
+
 	@Override
 	protected SqlSelectQuery getRevocationDataExtractQuery() {
-		return SQL_FIND_QUERY;
+		return isIndexedSchema() ? SQL_FIND_INDEXED_QUERY : SQL_FIND_QUERY;
 	}
 
 	@Override
@@ -162,20 +223,9 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 	}
 
 	@Override
-	protected void insertRevocation(final String revocationKey, final RevocationToken<OCSP> token) {
-		getJdbcCacheConnector().execute(getInsertRevocationTokenEntryQuery(), revocationKey, token.getEncoded(), token.getSourceURL());
-	}
-
-	/**
-	 * Updates the currently stored OCSP token for the given <code>key</code>
-	 * with supplied <code>token</code>.
-	 *
-	 * @param revocationKey {@link String} the key of the revocation data to be updated
-	 * @param token new OCSP token
-	 */
-	@Override
-	protected void updateRevocation(final String revocationKey, final RevocationToken<OCSP> token) {
-		getJdbcCacheConnector().execute(getUpdateRevocationTokenEntryQuery(), token.getEncoded(), token.getSourceURL(), revocationKey);
+	protected Object[] getRevocationTokenEntryValues(final RevocationToken<OCSP> token) {
+		// DATA, LOC
+		return new Object[] { token.getEncoded(), token.getSourceURL() };
 	}
 
 	@Override
@@ -188,6 +238,25 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 		return (OCSPToken) super.getRevocationToken(certificateToken, issuerCertificateToken, forceRefresh);
 	}
 
+	@Override
+	public Map<CertificateToken, OCSPToken> getRevocationTokens(Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+		final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+		for (Map.Entry<CertificateToken, RevocationToken<OCSP>> entry : extractRevocationTokens(certificatesAndIssuers).entrySet()) {
+			result.put(entry.getKey(), (OCSPToken) entry.getValue());
+		}
+		return result;
+	}
+
+	@Override
+	protected Map<CertificateToken, RevocationToken<OCSP>> getProxiedRevocationTokens(
+			Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+		if (proxiedSource instanceof OCSPSource) {
+			// allows the proxied source to request several certificates at once
+			return new LinkedHashMap<>(((OCSPSource) proxiedSource).getRevocationTokens(certificatesAndIssuers));
+		}
+		return super.getProxiedRevocationTokens(certificatesAndIssuers);
+	}
+
 	@Override
 	protected List<String> getRevocationAccessUrls(CertificateToken certificateToken) {
 		return CertificateExtensionsUtils.getOCSPAccessUrls(certificateToken);
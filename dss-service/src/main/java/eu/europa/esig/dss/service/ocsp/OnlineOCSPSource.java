@@ -37,6 +37,7 @@ import eu.europa.esig.dss.spi.DSSRevocationUtils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.SingleFlight;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPRespStatus;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
@@ -64,8 +65,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Online OCSP repository. This implementation will contact the OCSP Responder
@@ -76,6 +80,12 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 
 	private static final Logger LOG = LoggerFactory.getLogger(OnlineOCSPSource.class);
 
+	/**
+	 * The period (in milliseconds) during which a responder which rejected a request for several certificates
+	 * receives only single requests (24 hours)
+	 */
+	private static final long SINGLE_REQUEST_PERIOD = 24 * 60 * 60 * 1000L;
+
 	/**
 	 * This variable is used to prevent the replay attack.
 	 */
@@ -91,6 +101,22 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 	 */
 	private DigestAlgorithm certIDDigestAlgorithm = DigestAlgorithm.SHA1;
 
+	/**
+	 * Shares an OCSP request between concurrent requests for the same certificate
+	 */
+	private final SingleFlight<String, RetrievedOCSPResponse> ocspRequests = new SingleFlight<>();
+
+	/**
+	 * The maximum number of certificates to be requested within a single OCSP request
+	 */
+	private int maxCertificatesPerRequest = 10;
+
+	/**
+	 * Contains URLs of OCSP responders which rejected a request for several certificates,
+	 * with the time until which only single requests are sent to them
+	 */
+	private final Map<String, Long> singleRequestOCSPUrls = new ConcurrentHashMap<>();
+
 	/**
 	 * This variable sets a behavior when an obtained OCSP response's nonce does not match the expected value.
 	 * NOTE: applies only when {@code nonceSource} is defined.
@@ -214,11 +240,186 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 		this.nextUpdateTolerancePeriod = nextUpdateTolerancePeriod;
 	}
 
+	/**
+	 * Sets the maximum number of certificates to be requested within a single OCSP request,
+	 * when retrieving OCSP responses for several certificates with {@code #getRevocationTokens(Map)}.
+	 * Default : 10
+	 *
+	 * @param maxCertificatesPerRequest the maximum number of CertIDs within an OCSP request
+	 */
+	public void setMaxCertificatesPerRequest(int maxCertificatesPerRequest) {
+		if (maxCertificatesPerRequest < 1) {
+			throw new IllegalArgumentException("The maximum number of certificates per request shall be positive!");
+		}
+		this.maxCertificatesPerRequest = maxCertificatesPerRequest;
+	}
+
 	@Override
 	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
 		return getRevocationToken(certificateToken, issuerCertificateToken, Collections.emptyList());
 	}
 
+	/**
+	 * Retrieves OCSP responses for several certificates. The certificates sharing the same OCSP access URLs
+	 * are requested within a single OCSP request (see {@code #setMaxCertificatesPerRequest}).
+	 * The certificates not covered by the obtained OCSP response, as well as the certificates to be requested from
+	 * a responder rejecting requests for several certificates, are requested individually.
+	 *
+	 * @param certificatesAndIssuers a map between {@code CertificateToken}s to be requested and their issuers
+	 * @return a map between {@link CertificateToken}s and the obtained {@link OCSPToken}s
+	 */
+	@Override
+	public Map<CertificateToken, OCSPToken> getRevocationTokens(Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+		Objects.requireNonNull(certificatesAndIssuers, "Certificates and issuers map cannot be null!");
+		Objects.requireNonNull(dataLoader, "DataLoader is not provided !");
+
+		final Map<List<String>, List<CertificateToken>> certificatesByOCSPUrls = new LinkedHashMap<>();
+		for (CertificateToken certificateToken : certificatesAndIssuers.keySet()) {
+			final List<String> ocspUrls = getOCSPAccessURLs(certificateToken, Collections.emptyList());
+			certificatesByOCSPUrls.computeIfAbsent(ocspUrls, k -> new ArrayList<>()).add(certificateToken);
+		}
+
+		final Map<CertificateToken, OCSPToken> ocspTokens = new LinkedHashMap<>();
+		for (Map.Entry<List<String>, List<CertificateToken>> entry : certificatesByOCSPUrls.entrySet()) {
+			final List<String> ocspUrls = entry.getKey();
+			final List<CertificateToken> certificates = entry.getValue();
+			if (certificates.size() > 1 && Utils.isCollectionNotEmpty(ocspUrls)) {
+				for (int i = 0; i < certificates.size(); i += maxCertificatesPerRequest) {
+					final List<CertificateToken> requestCertificates = certificates.subList(i,
+							Math.min(i + maxCertificatesPerRequest, certificates.size()));
+					ocspTokens.putAll(requestRevocationTokens(requestCertificates, certificatesAndIssuers, ocspUrls));
+				}
+			}
+		}
+
+		final Map<CertificateToken, CertificateToken> remainingCertificates = new LinkedHashMap<>();
+		for (Map.Entry<CertificateToken, CertificateToken> entry : certificatesAndIssuers.entrySet()) {
+			if (!ocspTokens.containsKey(entry.getKey())) {
+				remainingCertificates.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if (!remainingCertificates.isEmpty()) {
+			ocspTokens.putAll(OCSPSource.super.getRevocationTokens(remainingCertificates));
+		}
+
+		final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+		for (CertificateToken certificateToken : certificatesAndIssuers.keySet()) {
+			final OCSPToken ocspToken = ocspTokens.get(certificateToken);
+			if (ocspToken != null) {
+				result.put(certificateToken, ocspToken);
+			}
+		}
+		return result;
+	}
+
+	private Map<CertificateToken, OCSPToken> requestRevocationTokens(List<CertificateToken> certificates,
+			Map<CertificateToken, CertificateToken> certificatesAndIssuers, List<String> ocspUrls) {
+		if (certificates.size() < 2) {
+			return Collections.emptyMap();
+		}
+
+		byte[] nonce = null;
+		if (nonceSource != null) {
+			nonce = nonceSource.getNonceValue();
+		}
+
+		final List<CertificateID> certIds = new ArrayList<>();
+		for (CertificateToken certificateToken : certificates) {
+			certIds.add(DSSRevocationUtils.getOCSPCertificateID(certificateToken,
+					certificatesAndIssuers.get(certificateToken), certIDDigestAlgorithm));
+		}
+		final byte[] content = buildOCSPRequest(certIds, nonce);
+
+		for (String ocspAccessLocation : ocspUrls) {
+			if (isSingleRequestOCSPUrl(ocspAccessLocation)) {
+				continue;
+			}
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Trying to retrieve an OCSP response for {} certificates from URL '{}'...",
+						certificates.size(), ocspAccessLocation);
+			}
+
+			try {
+				final BasicOCSPResp basicResponse = executeMultipleCertificatesOCSPRequest(ocspAccessLocation, content);
+				if (basicResponse == null) {
+					continue;
+				}
+
+				final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+				for (CertificateToken certificateToken : certificates) {
+					final CertificateToken issuerCertificateToken = certificatesAndIssuers.get(certificateToken);
+					final SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(
+							basicResponse, certificateToken, issuerCertificateToken);
+					if (latestSingleResponse == null) {
+						LOG.debug("The OCSP response does not contain an entry for certificate with Id '{}'",
+								certificateToken.getDSSIdAsString());
+						continue;
+					}
+					try {
+						assertOCSPResponseValid(basicResponse, latestSingleResponse, nonce);
+					} catch (Exception e) {
+						LOG.warn("OCSP response entry for certificate with Id '{}' is not valid : {}",
+								certificateToken.getDSSIdAsString(), e.getMessage());
+						continue;
+					}
+
+					final OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
+					ocspToken.setSourceURL(ocspAccessLocation);
+					ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+					result.put(certificateToken, ocspToken);
+				}
+
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("OCSP response for {} out of {} certificates has been retrieved from a source with URL '{}'.",
+							result.size(), certificates.size(), ocspAccessLocation);
+				}
+				return result;
+
+			} catch (Exception e) {
+				LOG.warn("Unable to retrieve OCSP response for several certificates with URL '{}' : {}",
+						ocspAccessLocation, e.getMessage());
+			}
+		}
+		return Collections.emptyMap();
+	}
+
+	private boolean isSingleRequestOCSPUrl(String ocspAccessLocation) {
+		final Long singleRequestTime = singleRequestOCSPUrls.get(ocspAccessLocation);
+		if (singleRequestTime == null) {
+			return false;
+		}
+		if (singleRequestTime < System.currentTimeMillis()) {
+			singleRequestOCSPUrls.remove(ocspAccessLocation, singleRequestTime);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Executes a request for several certificates and returns an OCSP basic response.
+	 * Returns null when the responder rejects the request. When the request is rejected as malformed or unauthorized,
+	 * the URL is remembered and only single requests are sent to the responder during {@code SINGLE_REQUEST_PERIOD}.
+	 */
+	private BasicOCSPResp executeMultipleCertificatesOCSPRequest(String ocspAccessLocation, byte[] request)
+			throws IOException, OCSPException {
+		final byte[] ocspRespBytes = dataLoader.post(ocspAccessLocation, request);
+		if (Utils.isArrayEmpty(ocspRespBytes)) {
+			throw new DSSExternalResourceException(String.format("OCSP DataLoader for certificate with url '%s' " +
+					"responded with an empty byte array!", ocspAccessLocation));
+		}
+		final OCSPResp ocspResp = new OCSPResp(ocspRespBytes);
+		final OCSPRespStatus status = OCSPRespStatus.fromInt(ocspResp.getStatus());
+		if (OCSPRespStatus.SUCCESSFUL.equals(status) && ocspResp.getResponseObject() instanceof BasicOCSPResp) {
+			return (BasicOCSPResp) ocspResp.getResponseObject();
+		}
+		LOG.info("OCSP responder with URL '{}' rejected a request for several certificates (status -> {}). " +
+				"Certificates will be requested individually.", ocspAccessLocation, status);
+		if (OCSPRespStatus.MALFORMED_REQUEST.equals(status) || OCSPRespStatus.UNAUTHORIZED.equals(status)) {
+			singleRequestOCSPUrls.put(ocspAccessLocation, System.currentTimeMillis() + SINGLE_REQUEST_PERIOD);
+		}
+		return null;
+	}
+
 	@Override
 	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
 										List<String> alternativeUrls) {
@@ -227,6 +428,24 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 		Objects.requireNonNull(dataLoader, "DataLoader is not provided !");
 		LOG.trace("--> OnlineOCSPSource queried for {}", certificateToken.getDSSIdAsString());
 
+		final String requestKey = certificateToken.getDSSIdAsString() + " " + issuerCertificateToken.getDSSIdAsString() + " " + alternativeUrls;
+		// only the response is shared between concurrent callers, every caller obtains its own token
+		final RetrievedOCSPResponse response = ocspRequests.execute(requestKey,
+				() -> requestRevocationToken(certificateToken, issuerCertificateToken, alternativeUrls));
+
+		OCSPToken ocspToken = new OCSPToken(response.basicResponse, response.singleResponse, certificateToken, issuerCertificateToken);
+		ocspToken.setSourceURL(response.url);
+		ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("OCSP Response '{}' has been retrieved from a source with URL '{}'.",
+					ocspToken.getDSSIdAsString(), response.url);
+		}
+		return ocspToken;
+	}
+
+	private RetrievedOCSPResponse requestRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+											 List<String> alternativeUrls) {
 		final List<String> ocspUrls = getOCSPAccessURLs(certificateToken, alternativeUrls);
 		if (Utils.isCollectionEmpty(ocspUrls)) {
 			throw new DSSExternalResourceException(String.format(
@@ -251,16 +470,7 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 				BasicOCSPResp basicResponse = executeOCSPRequest(ocspAccessLocation, content);
 				SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCertificateToken);
 				assertOCSPResponseValid(basicResponse, latestSingleResponse, nonce);
-
-				OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCertificateToken);
-				ocspToken.setSourceURL(ocspAccessLocation);
-				ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
-
-				if (LOG.isDebugEnabled()) {
-					LOG.debug("OCSP Response '{}' has been retrieved from a source with URL '{}'.",
-							ocspToken.getDSSIdAsString(), ocspAccessLocation);
-				}
-				return ocspToken;
+				return new RetrievedOCSPResponse(basicResponse, latestSingleResponse, ocspAccessLocation);
 
 			} catch (Exception e) {
 				if (nbTries == 0) {
@@ -306,11 +516,16 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 	 * @return byte array representing an OCSP request
 	 */
 	protected byte[] buildOCSPRequest(CertificateToken certificateToken, CertificateToken issuerToken, byte[] nonce) {
+		final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerToken, certIDDigestAlgorithm);
+		return buildOCSPRequest(Collections.singletonList(certId), nonce);
+	}
+
+	private byte[] buildOCSPRequest(List<CertificateID> certIds, byte[] nonce) {
 		try {
 			final OCSPReqBuilder ocspReqBuilder = new OCSPReqBuilder();
-
-			final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerToken, certIDDigestAlgorithm);
-			ocspReqBuilder.addRequest(certId);
+			for (CertificateID certId : certIds) {
+				ocspReqBuilder.addRequest(certId);
+			}
 			/*
 			 * The nonce extension is used to bind a request to a response to
 			 * prevent replay attacks. RFC 6960 (OCSP) section 4.1.2 such
@@ -476,4 +691,33 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 				DSSUtils.formatDateToRFC(currentTime), DSSUtils.formatDateToRFC(thisUpdate), DSSUtils.formatDateToRFC(nextUpdate)));
 	}
 
+	/**
+	 * Contains an OCSP response retrieved from a responder, shared between concurrent requests for the same certificate
+	 */
+	private static final class RetrievedOCSPResponse {
+
+		/** The obtained basic OCSP response */
+		private final BasicOCSPResp basicResponse;
+
+		/** The latest single response for the requested certificate */
+		private final SingleResp singleResponse;
+
+		/** The URL the response has been obtained from */
+		private final String url;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param basicResponse {@link BasicOCSPResp}
+		 * @param singleResponse {@link SingleResp}
+		 * @param url {@link String}
+		 */
+		private RetrievedOCSPResponse(BasicOCSPResp basicResponse, SingleResp singleResponse, String url) {
+			this.basicResponse = basicResponse;
+			this.singleResponse = singleResponse;
+			this.url = url;
+		}
+
+	}
+
 }
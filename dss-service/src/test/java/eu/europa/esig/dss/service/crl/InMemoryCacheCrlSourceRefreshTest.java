@@ -0,0 +1,184 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.crl;
+
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationRefreshScheduler;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class InMemoryCacheCrlSourceRefreshTest {
+
+	private static final String CRL_URL = "http://dss.test.lu/crl/refresh.crl";
+
+	private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+	/** Validity of the generated CRLs, in milliseconds */
+	private static final long CRL_VALIDITY = 4000L;
+
+	private static KeyPair caKeyPair;
+	private static CertificateToken caCert;
+	private static CertificateToken userCert;
+
+	private ScheduledExecutorService executorService;
+
+	@BeforeAll
+	static void init() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		caKeyPair = keyPairGenerator.generateKeyPair();
+
+		X500Name caName = new X500Name("CN=Refresh CA,C=LU");
+		X509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE,
+				new Date(System.currentTimeMillis() - ONE_DAY), new Date(System.currentTimeMillis() + 365 * ONE_DAY),
+				caName, caKeyPair.getPublic());
+		caBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		caBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		caCert = toCertificateToken(caBuilder);
+
+		X509v3CertificateBuilder userBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.TEN,
+				new Date(System.currentTimeMillis() - ONE_DAY), new Date(System.currentTimeMillis() + 365 * ONE_DAY),
+				new X500Name("CN=User,C=LU"), keyPairGenerator.generateKeyPair().getPublic());
+		DistributionPointName distributionPointName = new DistributionPointName(
+				new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, CRL_URL)));
+		userBuilder.addExtension(Extension.cRLDistributionPoints, false,
+				new CRLDistPoint(new DistributionPoint[] { new DistributionPoint(distributionPointName, null, null) }));
+		userCert = toCertificateToken(userBuilder);
+	}
+
+	@BeforeEach
+	void initExecutor() {
+		executorService = Executors.newScheduledThreadPool(2);
+	}
+
+	@AfterEach
+	void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	void backgroundRefreshTest() throws Exception {
+		AtomicInteger downloads = new AtomicInteger();
+		MemoryDataLoader dataLoader = new MemoryDataLoader(Collections.emptyMap()) {
+
+			private static final long serialVersionUID = -6517409421254871203L;
+
+			@Override
+			public byte[] get(String url) {
+				if (!CRL_URL.equals(url)) {
+					return super.get(url);
+				}
+				downloads.incrementAndGet();
+				try {
+					return buildCRL();
+				} catch (Exception e) {
+					throw new DSSExternalResourceException(e.getMessage());
+				}
+			}
+
+		};
+
+		RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(executorService);
+		// the refresh is executed ~1 second after the download
+		scheduler.setRefreshLeadTime(3);
+		scheduler.setMaxJitter(0);
+
+		InMemoryCacheCRLSource cacheCRLSource = new InMemoryCacheCRLSource();
+		cacheCRLSource.setProxySource(new OnlineCRLSource(dataLoader));
+		cacheCRLSource.setRefreshScheduler(scheduler);
+
+		CRLToken crlToken = cacheCRLSource.getRevocationToken(userCert, caCert);
+		assertNotNull(crlToken);
+		assertEquals(RevocationOrigin.EXTERNAL, crlToken.getExternalOrigin());
+		assertEquals(1, downloads.get());
+		assertEquals(1, scheduler.getNumberOfPlannedRefreshes());
+
+		// the CRL is refreshed in the background and the planned refresh is released
+		await().atMost(5, TimeUnit.SECONDS).until(() -> downloads.get() == 2);
+		await().atMost(5, TimeUnit.SECONDS).until(() -> scheduler.getNumberOfPlannedRefreshes() == 0);
+
+		// the refresh does not plan itself : the CRL is not requested, so it is not refreshed again
+		Thread.sleep(1500);
+		assertEquals(2, downloads.get());
+		assertEquals(0, scheduler.getNumberOfPlannedRefreshes());
+
+		// a request served from the cache plans the refresh of the refreshed CRL
+		crlToken = cacheCRLSource.getRevocationToken(userCert, caCert);
+		assertNotNull(crlToken);
+		assertEquals(RevocationOrigin.CACHED, crlToken.getExternalOrigin());
+		assertEquals(2, downloads.get());
+		assertEquals(1, scheduler.getNumberOfPlannedRefreshes());
+
+		await().atMost(5, TimeUnit.SECONDS).until(() -> downloads.get() == 3);
+		await().atMost(5, TimeUnit.SECONDS).until(() -> scheduler.getNumberOfPlannedRefreshes() == 0);
+	}
+
+	private static byte[] buildCRL() throws Exception {
+		Date now = new Date();
+		X509v2CRLBuilder builder = new X509v2CRLBuilder(new X500Name("CN=Refresh CA,C=LU"), new Date(now.getTime() - 60000));
+		builder.setNextUpdate(new Date(now.getTime() + CRL_VALIDITY));
+		return builder.build(getContentSigner()).getEncoded();
+	}
+
+	private static CertificateToken toCertificateToken(X509v3CertificateBuilder builder) throws Exception {
+		return new CertificateToken(new JcaX509CertificateConverter().getCertificate(builder.build(getContentSigner())));
+	}
+
+	private static ContentSigner getContentSigner() throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(caKeyPair.getPrivate());
+	}
+
+}
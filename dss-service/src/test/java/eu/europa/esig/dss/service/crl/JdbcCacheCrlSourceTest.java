@@ -43,6 +43,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -151,6 +152,97 @@ class JdbcCacheCrlSourceTest extends OnlineSourceTest {
 		assertEquals(RevocationOrigin.EXTERNAL, savedRevocationToken.getExternalOrigin()); // expired crl
 	}
 
+	@Test
+	void indexedSchemaTest() throws Exception {
+		crlSource.destroyTable();
+		crlSource.setIndexedSchema(true);
+		crlSource.initTable();
+		assertTrue(crlSource.isTableExists());
+
+		DataLoader dataLoader = new CommonsDataLoader();
+		CertificateToken certificateToken = DSSUtils.loadCertificate(dataLoader.get(ONLINE_PKI_HOST + "/crt/good-user-crl-ocsp.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(dataLoader.get(ONLINE_PKI_HOST + "/crt/good-ca.crt"));
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource();
+		crlSource.setProxySource(onlineCRLSource);
+		CRLToken revocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+		CRLToken savedRevocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(savedRevocationToken);
+		compareTokens(revocationToken, savedRevocationToken);
+		assertEquals(RevocationOrigin.CACHED, savedRevocationToken.getExternalOrigin());
+
+		// the existing entry is updated, no duplicate key
+		CRLToken forceRefresh = crlSource.getRevocationToken(certificateToken, caToken, true);
+		assertNotNull(forceRefresh);
+		assertEquals(RevocationOrigin.EXTERNAL, forceRefresh.getExternalOrigin());
+
+		savedRevocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(savedRevocationToken);
+		assertEquals(RevocationOrigin.CACHED, savedRevocationToken.getExternalOrigin());
+
+		assertEquals(0, crlSource.removeExpiredRevocations());
+	}
+
+	@Test
+	void indexedSchemaExpiredTest() throws SQLException {
+		crlSource.destroyTable();
+		crlSource.setIndexedSchema(true);
+		crlSource.initTable();
+
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/ec.europa.eu.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/CALT.crt"));
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource();
+		crlSource.setProxySource(onlineCRLSource);
+		CRLToken revocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+		// the expired entry is skipped by the query and replaced
+		CRLToken savedRevocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(savedRevocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, savedRevocationToken.getExternalOrigin());
+
+		assertEquals(1, crlSource.removeExpiredRevocations());
+		assertEquals(0, crlSource.removeExpiredRevocations());
+	}
+
+	@Test
+	void indexedSchemaMaxNextUpdateDelayTest() throws Exception {
+		crlSource.destroyTable();
+		crlSource.setIndexedSchema(true);
+		crlSource.initTable();
+		crlSource.setMaxNextUpdateDelay(1L); // the entry expires one second after the CRL thisUpdate
+
+		DataLoader dataLoader = new CommonsDataLoader();
+		CertificateToken certificateToken = DSSUtils.loadCertificate(dataLoader.get(ONLINE_PKI_HOST + "/crt/good-user-crl-ocsp.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(dataLoader.get(ONLINE_PKI_HOST + "/crt/good-ca.crt"));
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource();
+		crlSource.setProxySource(onlineCRLSource);
+		CRLToken revocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+		// wait one second
+		Calendar nextSecond = Calendar.getInstance();
+		nextSecond.setTime(revocationToken.getThisUpdate());
+		nextSecond.add(Calendar.SECOND, 1);
+		await().atMost(2, TimeUnit.SECONDS).until(() -> Calendar.getInstance().getTime().after(nextSecond.getTime()));
+
+		// the entry is stored with the expiration date, not with the nextUpdate of the CRL
+		assertEquals(1, crlSource.removeExpiredRevocations());
+		assertEquals(0, crlSource.removeExpiredRevocations());
+	}
+
+	@Test
+	void removeExpiredWithoutIndexedSchemaTest() {
+		assertThrows(UnsupportedOperationException.class, () -> crlSource.removeExpiredRevocations());
+	}
+
 	@AfterEach
 	void cleanUp() throws SQLException {
 		crlSource.destroyTable();
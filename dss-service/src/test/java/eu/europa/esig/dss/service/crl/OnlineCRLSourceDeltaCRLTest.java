@@ -0,0 +1,444 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.crl;
+
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.enumerations.RevocationReason;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
+import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.client.jdbc.query.SqlQuery;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.validation.SignatureValidationContext;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.ExternalResourcesCRLSource;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OnlineCRLSourceDeltaCRLTest {
+
+	private static final String CRL_URL = "http://dss.test.lu/crl/ca.crl";
+	private static final String DELTA_CRL_URL = "http://dss.test.lu/crl/ca-delta.crl";
+
+	private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+	private static KeyPair caKeyPair;
+	private static CertificateToken caCert;
+	private static CertificateToken heldUser;
+	private static CertificateToken revokedUser;
+	private static CertificateToken goodUser;
+
+	@BeforeAll
+	static void init() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		caKeyPair = keyPairGenerator.generateKeyPair();
+
+		X500Name caName = new X500Name("CN=Delta CA,C=LU");
+		X509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE,
+				new Date(System.currentTimeMillis() - ONE_DAY), new Date(System.currentTimeMillis() + 365 * ONE_DAY),
+				caName, caKeyPair.getPublic());
+		caBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		caBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		caCert = toCertificateToken(caBuilder);
+
+		KeyPair userKeyPair = keyPairGenerator.generateKeyPair();
+		heldUser = buildUserCertificate(caName, BigInteger.valueOf(10), userKeyPair);
+		revokedUser = buildUserCertificate(caName, BigInteger.valueOf(11), userKeyPair);
+		goodUser = buildUserCertificate(caName, BigInteger.valueOf(12), userKeyPair);
+	}
+
+	@Test
+	void deltaCRLDisabledTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCompleteCRL());
+		dataMap.put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(5)));
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(new MemoryDataLoader(dataMap));
+		CRLToken crlToken = onlineCRLSource.getRevocationToken(heldUser, caCert);
+		assertNotNull(crlToken);
+		assertNull(crlToken.getDeltaCrlValidity());
+		assertEquals(CertificateStatus.REVOKED, crlToken.getStatus());
+		assertEquals(RevocationReason.CERTIFICATE_HOLD, crlToken.getReason());
+
+		crlToken = onlineCRLSource.getRevocationToken(revokedUser, caCert);
+		assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+	}
+
+	@Test
+	void deltaCRLEnabledTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCompleteCRL());
+		dataMap.put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(5)));
+
+		AtomicInteger completeCRLRequests = new AtomicInteger();
+		MemoryDataLoader dataLoader = new MemoryDataLoader(dataMap) {
+
+			private static final long serialVersionUID = 2193573318624712634L;
+
+			@Override
+			public byte[] get(String url) {
+				if (CRL_URL.equals(url)) {
+					completeCRLRequests.incrementAndGet();
+				}
+				return super.get(url);
+			}
+
+		};
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(dataLoader);
+		onlineCRLSource.setDeltaCRLEnabled(true);
+
+		CRLToken crlToken = onlineCRLSource.getRevocationToken(heldUser, caCert);
+		assertNotNull(crlToken.getDeltaCrlValidity());
+		assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+		assertEquals(crlToken.getDeltaCrlValidity().getThisUpdate(), crlToken.getThisUpdate());
+
+		crlToken = onlineCRLSource.getRevocationToken(revokedUser, caCert);
+		assertNotNull(crlToken.getDeltaCrlValidity());
+		assertEquals(CertificateStatus.REVOKED, crlToken.getStatus());
+		assertEquals(RevocationReason.KEY_COMPROMISE, crlToken.getReason());
+
+		crlToken = onlineCRLSource.getRevocationToken(goodUser, caCert);
+		assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+
+		// the verified complete CRL is reused, only the delta CRL is downloaded again
+		assertEquals(1, completeCRLRequests.get());
+	}
+
+	@Test
+	void deltaCRLNotApplicableTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCompleteCRL());
+		// refers to a complete CRL more recent than the one available
+		dataMap.put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(7)));
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(new MemoryDataLoader(dataMap));
+		onlineCRLSource.setDeltaCRLEnabled(true);
+
+		CRLToken crlToken = onlineCRLSource.getRevocationToken(heldUser, caCert);
+		assertNull(crlToken.getDeltaCrlValidity());
+		assertEquals(CertificateStatus.REVOKED, crlToken.getStatus());
+		assertEquals(RevocationReason.CERTIFICATE_HOLD, crlToken.getReason());
+	}
+
+	@Test
+	void deltaCRLMissingTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCompleteCRL());
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(new MemoryDataLoader(dataMap));
+		onlineCRLSource.setDeltaCRLEnabled(true);
+
+		CRLToken crlToken = onlineCRLSource.getRevocationToken(heldUser, caCert);
+		assertNull(crlToken.getDeltaCrlValidity());
+		assertEquals(CertificateStatus.REVOKED, crlToken.getStatus());
+	}
+
+	@Test
+	void offlineDeltaCRLTest() throws Exception {
+		ExternalResourcesCRLSource crlSource = new ExternalResourcesCRLSource(
+				new ByteArrayInputStream(buildCompleteCRL()), new ByteArrayInputStream(buildDeltaCRL(BigInteger.valueOf(5))));
+
+		List<RevocationToken<CRL>> revocationTokens = crlSource.getRevocationTokens(heldUser, caCert);
+		assertEquals(1, revocationTokens.size());
+		CRLToken crlToken = (CRLToken) revocationTokens.get(0);
+		assertNotNull(crlToken.getDeltaCrlValidity());
+		assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+
+		revocationTokens = crlSource.getRevocationTokens(revokedUser, caCert);
+		assertEquals(1, revocationTokens.size());
+		assertEquals(CertificateStatus.REVOKED, revocationTokens.get(0).getStatus());
+	}
+
+	@Test
+	void siblingCertificatesDeltaCRLTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCompleteCRL());
+		dataMap.put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(5)));
+
+		AtomicInteger deltaCRLRequests = new AtomicInteger();
+		MemoryDataLoader dataLoader = new MemoryDataLoader(dataMap) {
+
+			private static final long serialVersionUID = -3614937046423157781L;
+
+			@Override
+			public byte[] get(String url) {
+				if (DELTA_CRL_URL.equals(url)) {
+					deltaCRLRequests.incrementAndGet();
+				}
+				return super.get(url);
+			}
+
+		};
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(dataLoader);
+		onlineCRLSource.setDeltaCRLEnabled(true);
+
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setCrlSource(onlineCRLSource);
+		certificateVerifier.setOcspSource(null);
+		CommonTrustedCertificateSource trustedCertificateSource = new CommonTrustedCertificateSource();
+		trustedCertificateSource.addCertificate(caCert);
+		certificateVerifier.setTrustedCertSources(trustedCertificateSource);
+
+		SignatureValidationContext validationContext = new SignatureValidationContext();
+		validationContext.initialize(certificateVerifier);
+		validationContext.addCertificateTokenForVerification(heldUser);
+		validationContext.addCertificateTokenForVerification(revokedUser);
+		validationContext.validate();
+
+		// the token obtained for one certificate is linked to its sibling, together with the delta CRL
+		assertEquals(1, deltaCRLRequests.get());
+		int crlTokens = 0;
+		for (RevocationToken<?> revocationToken : validationContext.getProcessedRevocations()) {
+			CRLToken crlToken = (CRLToken) revocationToken;
+			assertNotNull(crlToken.getDeltaCrlValidity());
+			if (revokedUser.getDSSIdAsString().equals(crlToken.getRelatedCertificateId())) {
+				assertEquals(CertificateStatus.REVOKED, crlToken.getStatus());
+				assertEquals(RevocationReason.KEY_COMPROMISE, crlToken.getReason());
+			} else {
+				assertEquals(heldUser.getDSSIdAsString(), crlToken.getRelatedCertificateId());
+				assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+			}
+			++crlTokens;
+		}
+		assertEquals(2, crlTokens);
+	}
+
+	@Test
+	void inMemoryCacheDeltaCRLTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCompleteCRL());
+		dataMap.put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(5)));
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(new MemoryDataLoader(dataMap));
+		onlineCRLSource.setDeltaCRLEnabled(true);
+
+		InMemoryCacheCRLSource cacheCRLSource = new InMemoryCacheCRLSource();
+		cacheCRLSource.setProxySource(onlineCRLSource);
+
+		CRLToken crlToken = cacheCRLSource.getRevocationToken(heldUser, caCert);
+		assertEquals(RevocationOrigin.EXTERNAL, crlToken.getExternalOrigin());
+		assertNotNull(crlToken.getDeltaCrlValidity());
+
+		dataMap.clear();
+
+		CRLToken cachedCRLToken = cacheCRLSource.getRevocationToken(revokedUser, caCert);
+		assertEquals(RevocationOrigin.CACHED, cachedCRLToken.getExternalOrigin());
+		assertNotNull(cachedCRLToken.getDeltaCrlValidity());
+		assertEquals(CertificateStatus.REVOKED, cachedCRLToken.getStatus());
+		assertEquals(RevocationReason.KEY_COMPROMISE, cachedCRLToken.getReason());
+		assertEquals(crlToken.getDSSId(), cachedCRLToken.getDSSId());
+		assertEquals(crlToken.getThisUpdate(), cachedCRLToken.getThisUpdate());
+	}
+
+	@Test
+	void jdbcCacheDeltaCRLTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCompleteCRL());
+		dataMap.put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(5)));
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(new MemoryDataLoader(dataMap));
+		onlineCRLSource.setDeltaCRLEnabled(true);
+
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setUrl("jdbc:h2:mem:deltacrl;DB_CLOSE_DELAY=-1");
+		JdbcCacheCRLSource cacheCRLSource = new JdbcCacheCRLSource();
+		cacheCRLSource.setJdbcCacheConnector(new JdbcCacheConnector(dataSource));
+		cacheCRLSource.setIndexedSchema(true);
+		cacheCRLSource.setProxySource(onlineCRLSource);
+		cacheCRLSource.initTable();
+
+		try {
+			CRLToken crlToken = cacheCRLSource.getRevocationToken(heldUser, caCert);
+			assertEquals(RevocationOrigin.EXTERNAL, crlToken.getExternalOrigin());
+			assertNotNull(crlToken.getDeltaCrlValidity());
+
+			dataMap.clear();
+
+			CRLToken cachedCRLToken = cacheCRLSource.getRevocationToken(revokedUser, caCert);
+			assertEquals(RevocationOrigin.CACHED, cachedCRLToken.getExternalOrigin());
+			assertNotNull(cachedCRLToken.getDeltaCrlValidity());
+			assertArrayEquals(crlToken.getDeltaEncoded(), cachedCRLToken.getDeltaEncoded());
+			assertEquals(CertificateStatus.REVOKED, cachedCRLToken.getStatus());
+			assertEquals(RevocationReason.KEY_COMPROMISE, cachedCRLToken.getReason());
+			assertEquals(crlToken.getDSSId(), cachedCRLToken.getDSSId());
+			assertEquals(crlToken.getNextUpdate(), cachedCRLToken.getNextUpdate());
+
+			cachedCRLToken = cacheCRLSource.getRevocationToken(heldUser, caCert);
+			assertEquals(RevocationOrigin.CACHED, cachedCRLToken.getExternalOrigin());
+			assertEquals(CertificateStatus.GOOD, cachedCRLToken.getStatus());
+
+		} finally {
+			cacheCRLSource.destroyTable();
+		}
+	}
+
+	@Test
+	void jdbcCacheDefaultSchemaDeltaCRLTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCompleteCRL());
+		dataMap.put(DELTA_CRL_URL, buildDeltaCRL(BigInteger.valueOf(5)));
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(new MemoryDataLoader(dataMap));
+		onlineCRLSource.setDeltaCRLEnabled(true);
+
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setUrl("jdbc:h2:mem:deltacrldefault;DB_CLOSE_DELAY=-1");
+		JdbcCacheConnector jdbcCacheConnector = new JdbcCacheConnector(dataSource);
+		// table created with the default schema of the previous versions
+		jdbcCacheConnector.execute(SqlQuery.createQuery("CREATE TABLE CACHED_CRL (ID CHAR(40), DATA BLOB, ISSUER LONGVARBINARY)"));
+
+		JdbcCacheCRLSource cacheCRLSource = new JdbcCacheCRLSource();
+		cacheCRLSource.setJdbcCacheConnector(jdbcCacheConnector);
+		cacheCRLSource.setProxySource(onlineCRLSource);
+		cacheCRLSource.initTable();
+
+		try {
+			CRLToken crlToken = cacheCRLSource.getRevocationToken(heldUser, caCert);
+			assertEquals(RevocationOrigin.EXTERNAL, crlToken.getExternalOrigin());
+			assertNotNull(crlToken.getDeltaCrlValidity());
+
+			dataMap.clear();
+
+			// the default schema stores the complete CRL only
+			CRLToken cachedCRLToken = cacheCRLSource.getRevocationToken(heldUser, caCert);
+			assertNotNull(cachedCRLToken);
+			assertEquals(RevocationOrigin.CACHED, cachedCRLToken.getExternalOrigin());
+			assertNull(cachedCRLToken.getDeltaCrlValidity());
+			assertArrayEquals(crlToken.getEncoded(), cachedCRLToken.getEncoded());
+
+		} finally {
+			cacheCRLSource.destroyTable();
+		}
+	}
+
+	@Test
+	void mergedTokenIdentifierTest() throws Exception {
+		ExternalResourcesCRLSource crlSource = new ExternalResourcesCRLSource(new ByteArrayInputStream(buildCompleteCRL()));
+		CRLToken completeCRLToken = (CRLToken) crlSource.getRevocationTokens(heldUser, caCert).get(0);
+		assertNull(completeCRLToken.getDeltaEncoded());
+
+		CRLToken mergedCRLToken = new CRLToken(heldUser, completeCRLToken.getCrlValidity(),
+				CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(buildDeltaCRL(BigInteger.valueOf(5))), caCert));
+		assertNotNull(mergedCRLToken.getDeltaEncoded());
+
+		// the merged token is identified by both CRLs, while keeping the complete CRL binaries and digest
+		assertNotEquals(completeCRLToken.getDSSId(), mergedCRLToken.getDSSId());
+		assertArrayEquals(completeCRLToken.getEncoded(), mergedCRLToken.getEncoded());
+		assertArrayEquals(completeCRLToken.getDigest(DigestAlgorithm.SHA256), mergedCRLToken.getDigest(DigestAlgorithm.SHA256));
+		assertEquals(mergedCRLToken.getDeltaCrlValidity().getThisUpdate(), mergedCRLToken.getThisUpdate());
+		assertEquals(mergedCRLToken.getDeltaCrlValidity().getNextUpdate(), mergedCRLToken.getNextUpdate());
+	}
+
+	@Test
+	void freshestCRLUrlsTest() {
+		assertEquals(Collections.singletonList(DELTA_CRL_URL), CertificateExtensionsUtils.getFreshestCRLAccessUrls(heldUser));
+		assertEquals(0, CertificateExtensionsUtils.getFreshestCRLAccessUrls(caCert).size());
+	}
+
+	private static CertificateToken buildUserCertificate(X500Name caName, BigInteger serialNumber, KeyPair keyPair) throws Exception {
+		X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, serialNumber,
+				new Date(System.currentTimeMillis() - ONE_DAY), new Date(System.currentTimeMillis() + 365 * ONE_DAY),
+				new X500Name("CN=User " + serialNumber + ",C=LU"), keyPair.getPublic());
+		builder.addExtension(Extension.cRLDistributionPoints, false, toDistributionPoints(CRL_URL));
+		builder.addExtension(Extension.freshestCRL, false, toDistributionPoints(DELTA_CRL_URL));
+		return toCertificateToken(builder);
+	}
+
+	private static CRLDistPoint toDistributionPoints(String url) {
+		DistributionPointName distributionPointName = new DistributionPointName(
+				new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, url)));
+		return new CRLDistPoint(new DistributionPoint[] { new DistributionPoint(distributionPointName, null, null) });
+	}
+
+	private static CertificateToken toCertificateToken(X509v3CertificateBuilder builder) throws Exception {
+		return new CertificateToken(new JcaX509CertificateConverter().getCertificate(builder.build(getContentSigner())));
+	}
+
+	private static byte[] buildCompleteCRL() throws Exception {
+		Date now = new Date();
+		X509v2CRLBuilder builder = new X509v2CRLBuilder(new X500Name("CN=Delta CA,C=LU"), new Date(now.getTime() - ONE_DAY));
+		builder.setNextUpdate(new Date(now.getTime() + ONE_DAY));
+		builder.addCRLEntry(heldUser.getSerialNumber(), new Date(now.getTime() - ONE_DAY), CRLReason.certificateHold);
+		builder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(5)));
+		return builder.build(getContentSigner()).getEncoded();
+	}
+
+	private static byte[] buildDeltaCRL(BigInteger baseCRLNumber) throws Exception {
+		Date now = new Date();
+		X509v2CRLBuilder builder = new X509v2CRLBuilder(new X500Name("CN=Delta CA,C=LU"), new Date(now.getTime() - 60000));
+		builder.setNextUpdate(new Date(now.getTime() + 60 * 60 * 1000L));
+		builder.addCRLEntry(heldUser.getSerialNumber(), new Date(now.getTime() - 60000), CRLReason.removeFromCRL);
+		builder.addCRLEntry(revokedUser.getSerialNumber(), new Date(now.getTime() - 60000), CRLReason.keyCompromise);
+		builder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(8)));
+		builder.addExtension(Extension.deltaCRLIndicator, true, new CRLNumber(baseCRLNumber));
+		return builder.build(getContentSigner()).getEncoded();
+	}
+
+	private static ContentSigner getContentSigner() throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(caKeyPair.getPrivate());
+	}
+
+}
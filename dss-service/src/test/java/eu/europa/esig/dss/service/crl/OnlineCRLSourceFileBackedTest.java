@@ -0,0 +1,216 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.crl;
+
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.service.http.commons.FileCacheDataLoader;
+import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OnlineCRLSourceFileBackedTest {
+
+	private static final String CRL_URL = "http://dss.test.lu/crl/file-backed.crl";
+
+	private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+	private static KeyPair caKeyPair;
+	private static CertificateToken caCert;
+	private static CertificateToken userCert;
+
+	@TempDir
+	File cacheDirectory;
+
+	@TempDir
+	File snapshotDirectory;
+
+	@BeforeAll
+	static void init() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		caKeyPair = keyPairGenerator.generateKeyPair();
+
+		X500Name caName = new X500Name("CN=File Backed CA,C=LU");
+		X509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE,
+				new Date(System.currentTimeMillis() - ONE_DAY), new Date(System.currentTimeMillis() + 365 * ONE_DAY),
+				caName, caKeyPair.getPublic());
+		caBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		caBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		caCert = toCertificateToken(caBuilder);
+
+		X509v3CertificateBuilder userBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.TEN,
+				new Date(System.currentTimeMillis() - ONE_DAY), new Date(System.currentTimeMillis() + 365 * ONE_DAY),
+				new X500Name("CN=User,C=LU"), keyPairGenerator.generateKeyPair().getPublic());
+		DistributionPointName distributionPointName = new DistributionPointName(
+				new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, CRL_URL)));
+		userBuilder.addExtension(Extension.cRLDistributionPoints, false,
+				new CRLDistPoint(new DistributionPoint[] { new DistributionPoint(distributionPointName, null, null) }));
+		userCert = toCertificateToken(userBuilder);
+	}
+
+	@Test
+	void cacheFileUpdateTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCRL(false));
+
+		FileCacheDataLoader fileCacheDataLoader = new FileCacheDataLoader(new MemoryDataLoader(dataMap));
+		fileCacheDataLoader.setFileCacheDirectory(cacheDirectory);
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(fileCacheDataLoader);
+		onlineCRLSource.setFileBackedCRLEnabled(true);
+		onlineCRLSource.setCrlSnapshotDirectory(snapshotDirectory);
+
+		CRLToken crlToken = onlineCRLSource.getRevocationToken(userCert, caCert);
+		assertNotNull(crlToken);
+		assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+
+		FileDocument snapshot = (FileDocument) crlToken.getCrlValidity().getCrlBinary().getCRLDocument();
+		assertNotNull(snapshot);
+		assertEquals(snapshotDirectory, snapshot.getFile().getParentFile());
+		assertFalse(snapshot.getFile().canWrite());
+
+		final String crlId = crlToken.getCrlValidity().getCrlBinary().asXmlId();
+		final byte[] crlBinaries = crlToken.getEncoded();
+
+		// the cached file is rewritten in place with a new CRL
+		dataMap.put(CRL_URL, buildCRL(true));
+		fileCacheDataLoader.getDocument(CRL_URL, true);
+
+		// the existing token still refers to the content it has been created from
+		assertArrayEquals(crlBinaries, crlToken.getEncoded());
+		assertEquals(crlId, CRLUtils.buildCRLBinary(crlToken.getEncoded()).asXmlId());
+
+		CRLToken updatedCRLToken = onlineCRLSource.getRevocationToken(userCert, caCert);
+		assertNotNull(updatedCRLToken);
+		assertEquals(CertificateStatus.REVOKED, updatedCRLToken.getStatus());
+		assertNotEquals(crlId, updatedCRLToken.getCrlValidity().getCrlBinary().asXmlId());
+		assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+
+		// the same content is stored once
+		onlineCRLSource.getRevocationToken(userCert, caCert);
+		File[] snapshots = snapshotDirectory.listFiles();
+		assertNotNull(snapshots);
+		assertEquals(2, snapshots.length);
+		for (File file : snapshots) {
+			assertTrue(file.getName().endsWith(".crl"));
+		}
+	}
+
+	@Test
+	void supersededSnapshotDeletionTest() throws Exception {
+		File leftSnapshot = new File(snapshotDirectory, "left.crl");
+		assertTrue(leftSnapshot.createNewFile());
+
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, buildCRL(false));
+
+		FileCacheDataLoader fileCacheDataLoader = new FileCacheDataLoader(new MemoryDataLoader(dataMap));
+		fileCacheDataLoader.setFileCacheDirectory(cacheDirectory);
+
+		OnlineCRLSource onlineCRLSource = new OnlineCRLSource(fileCacheDataLoader);
+		onlineCRLSource.setFileBackedCRLEnabled(true);
+		onlineCRLSource.setCrlSnapshotDirectory(snapshotDirectory);
+
+		CRLToken crlToken = onlineCRLSource.getRevocationToken(userCert, caCert);
+		assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+		File snapshot = ((FileDocument) crlToken.getCrlValidity().getCrlBinary().getCRLDocument()).getFile();
+
+		// the snapshots of a previous execution are deleted
+		assertFalse(leftSnapshot.exists());
+
+		dataMap.put(CRL_URL, buildCRL(true));
+		fileCacheDataLoader.getDocument(CRL_URL, true);
+
+		CRLToken updatedCRLToken = onlineCRLSource.getRevocationToken(userCert, caCert);
+		assertEquals(CertificateStatus.REVOKED, updatedCRLToken.getStatus());
+		File updatedSnapshot = ((FileDocument) updatedCRLToken.getCrlValidity().getCrlBinary().getCRLDocument()).getFile();
+
+		// the superseded snapshot is kept while used
+		assertTrue(snapshot.exists());
+		assertEquals(CertificateStatus.GOOD, crlToken.getStatus());
+
+		crlToken = null;
+		for (int i = 0; i < 20 && snapshot.exists(); i++) {
+			System.gc();
+			Thread.sleep(50);
+			// the unused snapshots are deleted on the next snapshot creation
+			onlineCRLSource.getRevocationToken(userCert, caCert);
+		}
+		assertFalse(snapshot.exists());
+		assertTrue(updatedSnapshot.exists());
+		assertEquals(CertificateStatus.REVOKED, updatedCRLToken.getStatus());
+	}
+
+	private static byte[] buildCRL(boolean revoked) throws Exception {
+		Date now = new Date();
+		X509v2CRLBuilder builder = new X509v2CRLBuilder(new X500Name("CN=File Backed CA,C=LU"), new Date(now.getTime() - ONE_DAY));
+		builder.setNextUpdate(new Date(now.getTime() + ONE_DAY));
+		if (revoked) {
+			builder.addCRLEntry(userCert.getSerialNumber(), new Date(now.getTime() - 60000), CRLReason.keyCompromise);
+		}
+		return builder.build(getContentSigner()).getEncoded();
+	}
+
+	private static CertificateToken toCertificateToken(X509v3CertificateBuilder builder) throws Exception {
+		return new CertificateToken(new JcaX509CertificateConverter().getCertificate(builder.build(getContentSigner())));
+	}
+
+	private static ContentSigner getContentSigner() throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(caKeyPair.getPrivate());
+	}
+
+}
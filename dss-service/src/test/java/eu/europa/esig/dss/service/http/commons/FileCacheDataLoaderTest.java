@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.service.http.commons;
 
+import com.sun.net.httpserver.HttpServer;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.spi.DSSUtils;
@@ -33,6 +34,8 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -41,9 +44,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -179,6 +185,58 @@ class FileCacheDataLoaderTest {
 		assertNotNull(dataAndUrl.getData());
 	}
 
+	@Test
+	void conditionalGetTest() throws IOException {
+		final byte[] content = "trusted list content".getBytes();
+		final String eTag = "\"v1\"";
+		final AtomicInteger fullResponses = new AtomicInteger();
+		final AtomicInteger notModifiedResponses = new AtomicInteger();
+
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/tl.xml", exchange -> {
+			if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				notModifiedResponses.incrementAndGet();
+				exchange.getResponseHeaders().add("ETag", eTag);
+				exchange.sendResponseHeaders(304, -1);
+			} else {
+				fullResponses.incrementAndGet();
+				exchange.getResponseHeaders().add("ETag", eTag);
+				exchange.sendResponseHeaders(200, content.length);
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(content);
+				}
+			}
+			exchange.close();
+		});
+		server.start();
+		try {
+			String url = "http://localhost:" + server.getAddress().getPort() + "/tl.xml";
+
+			dataLoader.setConditionalGetEnabled(true);
+			assertArrayEquals(content, dataLoader.get(url, true));
+			assertEquals(1, fullResponses.get());
+			assertEquals(0, notModifiedResponses.get());
+
+			assertArrayEquals(content, dataLoader.get(url, true));
+			assertArrayEquals(content, dataLoader.get(url, true));
+			assertEquals(1, fullResponses.get());
+			assertEquals(2, notModifiedResponses.get());
+
+			assertTrue(dataLoader.remove(url));
+			assertFalse(new File(cacheDirectory, DSSUtils.getNormalizedString(url) + ".validators").exists());
+			assertArrayEquals(content, dataLoader.get(url, true));
+			assertEquals(2, fullResponses.get());
+
+			dataLoader.setConditionalGetEnabled(false);
+			assertArrayEquals(content, dataLoader.get(url, true));
+			assertEquals(3, fullResponses.get());
+			assertEquals(2, notModifiedResponses.get());
+
+		} finally {
+			server.stop(0);
+		}
+	}
+
 	private long getUrlAndReturnCacheCreationTime() {
 		byte[] bytesArray = dataLoader.get(URL_TO_LOAD);
 		assertTrue(bytesArray.length > 0);
@@ -0,0 +1,169 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.ocsp;
+
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.ExternalResourcesOCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryCacheOcspSourceTest {
+
+	private static CertificateToken user;
+	private static CertificateToken ca;
+	private static ExternalResourcesOCSPSource externalOCSPSource;
+
+	@BeforeAll
+	static void init() {
+		user = DSSUtils.loadCertificate(new File("src/test/resources/sk_user.cer"));
+		ca = DSSUtils.loadCertificate(new File("src/test/resources/sk_ca.cer"));
+		externalOCSPSource = new ExternalResourcesOCSPSource(new InMemoryDocument(
+				DSSUtils.toByteArray(new File("src/test/resources/sk_ocsp.bin"))));
+	}
+
+	@Test
+	void test() {
+		MockInMemoryCacheOCSPSource ocspSource = new MockInMemoryCacheOCSPSource();
+		assertNull(ocspSource.getRevocationToken(user, ca));
+
+		ocspSource.setProxySource(externalOCSPSource);
+		OCSPToken revocationToken = ocspSource.getRevocationToken(user, ca);
+		assertNotNull(revocationToken);
+		assertTrue(revocationToken.isValid());
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertEquals(1, ocspSource.size());
+
+		OCSPToken savedRevocationToken = ocspSource.getRevocationToken(user, ca);
+		assertNotNull(savedRevocationToken);
+		assertNotSame(revocationToken, savedRevocationToken);
+		assertEquals(RevocationOrigin.CACHED, savedRevocationToken.getExternalOrigin());
+		assertArrayEquals(revocationToken.getEncoded(), savedRevocationToken.getEncoded());
+		assertEquals(revocationToken.getStatus(), savedRevocationToken.getStatus());
+		assertEquals(revocationToken.getRevocationDate(), savedRevocationToken.getRevocationDate());
+		assertEquals(revocationToken.getThisUpdate(), savedRevocationToken.getThisUpdate());
+		assertEquals(revocationToken.getIssuerCertificateToken(), savedRevocationToken.getIssuerCertificateToken());
+
+		OCSPToken forceRefresh = ocspSource.getRevocationToken(user, ca, true);
+		assertNotNull(forceRefresh);
+		assertEquals(RevocationOrigin.EXTERNAL, forceRefresh.getExternalOrigin());
+		assertEquals(1, ocspSource.size());
+
+		ocspSource.setMaximumSize(0);
+		assertEquals(0, ocspSource.size());
+		revocationToken = ocspSource.getRevocationToken(user, ca);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertEquals(0, ocspSource.size());
+
+		assertThrows(IllegalArgumentException.class, () -> ocspSource.setMaximumSize(-1));
+	}
+
+	@Test
+	void testExpired() {
+		InMemoryCacheOCSPSource ocspSource = new InMemoryCacheOCSPSource();
+		ocspSource.setProxySource(externalOCSPSource);
+
+		OCSPToken revocationToken = ocspSource.getRevocationToken(user, ca);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertEquals(1, ocspSource.size());
+
+		// the response has been produced in 2018
+		revocationToken = ocspSource.getRevocationToken(user, ca);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+	}
+
+	@Test
+	void testInFrontOfJdbc() throws SQLException {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setUrl("jdbc:h2:mem:test-in-memory;DB_CLOSE_DELAY=-1");
+		MockJdbcCacheOCSPSource jdbcSource = new MockJdbcCacheOCSPSource();
+		jdbcSource.setJdbcCacheConnector(new JdbcCacheConnector(dataSource));
+		jdbcSource.initTable();
+		jdbcSource.setProxySource(externalOCSPSource);
+
+		try {
+			MockInMemoryCacheOCSPSource ocspSource = new MockInMemoryCacheOCSPSource();
+			ocspSource.setProxySource(jdbcSource);
+
+			OCSPToken revocationToken = ocspSource.getRevocationToken(user, ca);
+			assertNotNull(revocationToken);
+			assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+			// served by the memory cache
+			revocationToken = ocspSource.getRevocationToken(user, ca);
+			assertNotNull(revocationToken);
+			assertEquals(RevocationOrigin.CACHED, revocationToken.getExternalOrigin());
+
+			// served by the database
+			ocspSource.clear();
+			assertEquals(0, ocspSource.size());
+			revocationToken = ocspSource.getRevocationToken(user, ca);
+			assertNotNull(revocationToken);
+			assertEquals(RevocationOrigin.CACHED, revocationToken.getExternalOrigin());
+			assertEquals(1, ocspSource.size());
+
+		} finally {
+			jdbcSource.destroyTable();
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class MockInMemoryCacheOCSPSource extends InMemoryCacheOCSPSource {
+
+		@Override
+		protected boolean isNotExpired(RevocationToken<OCSP> revocationToken, CertificateToken certificateTokenIssuer) {
+			return true;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class MockJdbcCacheOCSPSource extends JdbcCacheOCSPSource {
+
+		@Override
+		protected boolean isNotExpired(RevocationToken<OCSP> revocationToken, CertificateToken certificateTokenIssuer) {
+			return true;
+		}
+
+	}
+
+}
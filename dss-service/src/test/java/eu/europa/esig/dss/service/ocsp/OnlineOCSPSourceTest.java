@@ -22,6 +22,7 @@ package eu.europa.esig.dss.service.ocsp;
 
 import eu.europa.esig.dss.alert.SilentOnStatusAlert;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
 import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
 import eu.europa.esig.dss.enumerations.SignatureValidity;
 import eu.europa.esig.dss.model.x509.CertificateToken;
@@ -40,6 +41,8 @@ import eu.europa.esig.dss.spi.x509.AlternateUrlsSourceAdapter;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -47,7 +50,9 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -56,6 +61,7 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 class OnlineOCSPSourceTest extends OnlineSourceTest {
 
@@ -286,6 +292,84 @@ class OnlineOCSPSourceTest extends OnlineSourceTest {
 		assertNotNull(ocspToken);
 	}
 
+	@Test
+	void multipleCertificatesRequestTest() throws Exception {
+		RecordingOCSPSource ocspSource = new RecordingOCSPSource(qtspOcsp, null);
+
+		Map<CertificateToken, CertificateToken> certificatesAndIssuers = new LinkedHashMap<>();
+		certificatesAndIssuers.put(qtspUser, qtspCa);
+		certificatesAndIssuers.put(qtspCa, qtspCa);
+
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(certificatesAndIssuers);
+		assertEquals(1, ocspTokens.size());
+		OCSPToken ocspToken = ocspTokens.get(qtspUser);
+		assertNotNull(ocspToken);
+		assertEquals(RecordingOCSPSource.OCSP_URL, ocspToken.getSourceURL());
+		assertEquals(RevocationOrigin.EXTERNAL, ocspToken.getExternalOrigin());
+
+		// one request for both certificates + one single request for the certificate not covered by the response
+		assertEquals(2, ocspSource.requests.size());
+		assertEquals(2, new OCSPReq(ocspSource.requests.get(0)).getRequestList().length);
+		assertEquals(1, new OCSPReq(ocspSource.requests.get(1)).getRequestList().length);
+
+		ocspSource.requests.clear();
+		ocspSource.setMaxCertificatesPerRequest(1);
+		ocspTokens = ocspSource.getRevocationTokens(certificatesAndIssuers);
+		assertEquals(1, ocspTokens.size());
+		assertEquals(2, ocspSource.requests.size());
+		assertEquals(1, new OCSPReq(ocspSource.requests.get(0)).getRequestList().length);
+		assertEquals(1, new OCSPReq(ocspSource.requests.get(1)).getRequestList().length);
+
+		assertThrows(IllegalArgumentException.class, () -> ocspSource.setMaxCertificatesPerRequest(0));
+	}
+
+	@Test
+	void multipleCertificatesRequestRejectedTest() throws Exception {
+		RecordingOCSPSource ocspSource = new RecordingOCSPSource(qtspOcsp, OCSPRespBuilder.MALFORMED_REQUEST);
+
+		Map<CertificateToken, CertificateToken> certificatesAndIssuers = new LinkedHashMap<>();
+		certificatesAndIssuers.put(qtspCa, qtspCa);
+		certificatesAndIssuers.put(qtspUser, qtspCa);
+
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(certificatesAndIssuers);
+		assertEquals(1, ocspTokens.size());
+		assertNotNull(ocspTokens.get(qtspUser));
+
+		// rejected request + two single requests
+		assertEquals(3, ocspSource.requests.size());
+		assertEquals(2, new OCSPReq(ocspSource.requests.get(0)).getRequestList().length);
+
+		// the responder is not requested for several certificates anymore
+		ocspSource.requests.clear();
+		ocspTokens = ocspSource.getRevocationTokens(certificatesAndIssuers);
+		assertEquals(1, ocspTokens.size());
+		assertEquals(2, ocspSource.requests.size());
+		for (byte[] request : ocspSource.requests) {
+			assertEquals(1, new OCSPReq(request).getRequestList().length);
+		}
+	}
+
+	@Test
+	void multipleCertificatesRequestTryLaterTest() throws Exception {
+		RecordingOCSPSource ocspSource = new RecordingOCSPSource(qtspOcsp, OCSPRespBuilder.TRY_LATER);
+
+		Map<CertificateToken, CertificateToken> certificatesAndIssuers = new LinkedHashMap<>();
+		certificatesAndIssuers.put(qtspCa, qtspCa);
+		certificatesAndIssuers.put(qtspUser, qtspCa);
+
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(certificatesAndIssuers);
+		assertEquals(1, ocspTokens.size());
+		assertNotNull(ocspTokens.get(qtspUser));
+		assertEquals(3, ocspSource.requests.size());
+
+		// a temporary failure does not prevent further requests for several certificates
+		ocspSource.requests.clear();
+		ocspTokens = ocspSource.getRevocationTokens(certificatesAndIssuers);
+		assertEquals(1, ocspTokens.size());
+		assertEquals(3, ocspSource.requests.size());
+		assertEquals(2, new OCSPReq(ocspSource.requests.get(0)).getRequestList().length);
+	}
+
 	@Test
 	void testOCSPWithFileCache() {
 		File cacheFolder = new File("target/ocsp-cache");
@@ -438,6 +522,42 @@ class OnlineOCSPSourceTest extends OnlineSourceTest {
 
 	}
 
+	private static class RecordingOCSPSource extends OnlineOCSPSource {
+
+		private static final long serialVersionUID = 2913373557468346727L;
+
+		private static final String OCSP_URL = "http://dss.nowina.lu/ocsp";
+
+		private final List<byte[]> requests = new ArrayList<>();
+
+		private RecordingOCSPSource(final byte[] ocspResponse, final Integer rejectionStatus) {
+			setDataLoader(new CommonsDataLoader() {
+
+				private static final long serialVersionUID = -2452720584213725932L;
+
+				@Override
+				public byte[] post(String url, byte[] content) {
+					requests.add(content);
+					try {
+						if (rejectionStatus != null && new OCSPReq(content).getRequestList().length > 1) {
+							return new OCSPRespBuilder().build(rejectionStatus, null).getEncoded();
+						}
+					} catch (Exception e) {
+						fail(e);
+					}
+					return ocspResponse;
+				}
+
+			});
+		}
+
+		@Override
+		protected List<String> getOCSPAccessURLs(CertificateToken certificateToken, List<String> alternativeUrls) {
+			return Collections.singletonList(OCSP_URL);
+		}
+
+	}
+
 	private static class SubstituteOCSPDataLoader extends CommonsDataLoader {
 
 		private static final long serialVersionUID = -7023354489321956369L;
@@ -82,6 +82,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * This class contains utility methods for extraction certificate extension (whether critical or not)
@@ -91,6 +92,9 @@ public class CertificateExtensionsUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(CertificateExtensionsUtils.class);
 
+    /** Defines whether the parsed extensions are kept within the extensions holder of a {@code CertificateToken} */
+    private static volatile boolean memoisationEnabled = true;
+
     /**
      * Utils class
      */
@@ -98,6 +102,27 @@ public class CertificateExtensionsUtils {
         // empty
     }
 
+    /**
+     * Sets whether the parsed certificate extensions are kept within the {@code CertificateToken},
+     * in order to parse each extension at most once per certificate.
+     * When disabled, the extension is parsed from the certificate on every call.
+     * Enabled by default.
+     *
+     * @param enabled whether the parsed certificate extensions shall be kept
+     */
+    public static void setMemoisationEnabled(boolean enabled) {
+        memoisationEnabled = enabled;
+    }
+
+    /**
+     * Returns whether the parsed certificate extensions are kept within the {@code CertificateToken}
+     *
+     * @return TRUE if the memoisation is enabled, FALSE otherwise
+     */
+    public static boolean isMemoisationEnabled() {
+        return memoisationEnabled;
+    }
+
     /**
      * This method extracts the certificate extensions from the given {@code certificateToken}
      *
@@ -111,6 +136,24 @@ public class CertificateExtensionsUtils {
         return certificateExtensions;
     }
 
+    /**
+     * Returns the certificate extension from the extensions holder of the {@code certificateToken},
+     * parsing it on the first call
+     *
+     * @param certificateToken {@link CertificateToken}
+     * @param extension {@link CertificateExtensionEnum} to get
+     * @param parser {@link Function} used to parse the extension
+     * @param <T> {@link CertificateExtension} type
+     * @return {@link CertificateExtension} when present, NULL otherwise
+     */
+    private static <T extends CertificateExtension> T getParsedExtension(CertificateToken certificateToken,
+                                        CertificateExtensionEnum extension, Function<CertificateToken, T> parser) {
+        if (!memoisationEnabled) {
+            return parser.apply(certificateToken);
+        }
+        return certificateToken.getExtensionsHolder().getOrParse(extension.getOid(), () -> parser.apply(certificateToken));
+    }
+
     private static void setCertificateExtensions(CertificateExtensions certificateExtensions,
                                                  CertificateToken certificateToken, Collection<String> extensionOIDs) {
         if (Utils.isCollectionNotEmpty(extensionOIDs)) {
@@ -309,6 +352,10 @@ public class CertificateExtensionsUtils {
      * @return {@link SubjectAlternativeNames}
      */
     public static SubjectAlternativeNames getSubjectAlternativeNames(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.SUBJECT_ALTERNATIVE_NAME, CertificateExtensionsUtils::parseSubjectAlternativeNames);
+    }
+
+    private static SubjectAlternativeNames parseSubjectAlternativeNames(CertificateToken certificateToken) {
         try {
             final SubjectAlternativeNames subjectAlternateNames = new SubjectAlternativeNames();
             subjectAlternateNames.setOctets(certificateToken.getCertificate().getExtensionValue(subjectAlternateNames.getOid()));
@@ -387,6 +434,10 @@ public class CertificateExtensionsUtils {
      * @return {@link AuthorityInformationAccess}
      */
     public static AuthorityInformationAccess getAuthorityInformationAccess(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.AUTHORITY_INFORMATION_ACCESS, CertificateExtensionsUtils::parseAuthorityInformationAccess);
+    }
+
+    private static AuthorityInformationAccess parseAuthorityInformationAccess(CertificateToken certificateToken) {
         final byte[] authInfoAccessExtensionValue = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.AUTHORITY_INFORMATION_ACCESS.getOid());
         if (Utils.isArrayEmpty(authInfoAccessExtensionValue)) {
@@ -459,6 +510,10 @@ public class CertificateExtensionsUtils {
      * @return {@link SubjectKeyIdentifier}
      */
     public static AuthorityKeyIdentifier getAuthorityKeyIdentifier(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.AUTHORITY_KEY_IDENTIFIER, CertificateExtensionsUtils::parseAuthorityKeyIdentifier);
+    }
+
+    private static AuthorityKeyIdentifier parseAuthorityKeyIdentifier(CertificateToken certificateToken) {
         byte[] extensionValue = certificateToken.getCertificate().getExtensionValue(CertificateExtensionEnum.AUTHORITY_KEY_IDENTIFIER.getOid());
         if (Utils.isArrayEmpty(extensionValue)) {
             return null;
@@ -491,6 +546,10 @@ public class CertificateExtensionsUtils {
      * @return {@link SubjectKeyIdentifier}
      */
     public static SubjectKeyIdentifier getSubjectKeyIdentifier(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.SUBJECT_KEY_IDENTIFIER, CertificateExtensionsUtils::parseSubjectKeyIdentifier);
+    }
+
+    private static SubjectKeyIdentifier parseSubjectKeyIdentifier(CertificateToken certificateToken) {
         byte[] extensionValue = certificateToken.getCertificate().getExtensionValue(CertificateExtensionEnum.SUBJECT_KEY_IDENTIFIER.getOid());
         if (Utils.isArrayEmpty(extensionValue)) {
             return null;
@@ -519,34 +578,16 @@ public class CertificateExtensionsUtils {
      * @return {@link CRLDistributionPoints}
      */
     public static CRLDistributionPoints getCRLDistributionPoints(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.CRL_DISTRIBUTION_POINTS, CertificateExtensionsUtils::parseCRLDistributionPoints);
+    }
+
+    private static CRLDistributionPoints parseCRLDistributionPoints(CertificateToken certificateToken) {
         final byte[] crlDistributionPointsBytes = certificateToken.getCertificate().getExtensionValue(CertificateExtensionEnum.CRL_DISTRIBUTION_POINTS.getOid());
         if (crlDistributionPointsBytes != null) {
             try {
                 final CRLDistributionPoints crlDistributionPoints = new CRLDistributionPoints();
                 crlDistributionPoints.setOctets(crlDistributionPointsBytes);
-
-                final List<String> urls = new ArrayList<>();
-                final ASN1Sequence asn1Sequence = DSSASN1Utils.getAsn1SequenceFromDerOctetString(crlDistributionPointsBytes);
-                final CRLDistPoint distPoint = CRLDistPoint.getInstance(asn1Sequence);
-                final DistributionPoint[] distributionPoints = distPoint.getDistributionPoints();
-                for (final DistributionPoint distributionPoint : distributionPoints) {
-
-                    final DistributionPointName distributionPointName = distributionPoint.getDistributionPoint();
-                    if (DistributionPointName.FULL_NAME != distributionPointName.getType()) {
-                        continue;
-                    }
-
-                    final GeneralNames generalNames = (GeneralNames) distributionPointName.getName();
-                    final org.bouncycastle.asn1.x509.GeneralName[] names = generalNames.getNames();
-                    for (final org.bouncycastle.asn1.x509.GeneralName name : names) {
-                        String location = parseGn(name);
-                        if (location != null) {
-                            urls.add(location);
-                        }
-                    }
-                }
-
-                crlDistributionPoints.setCrlUrls(urls);
+                crlDistributionPoints.setCrlUrls(getDistributionPointUrls(crlDistributionPointsBytes));
                 crlDistributionPoints.checkCritical(certificateToken);
                 return crlDistributionPoints;
 
@@ -557,6 +598,30 @@ public class CertificateExtensionsUtils {
         return null;
     }
 
+    private static List<String> getDistributionPointUrls(byte[] distributionPointsBytes) {
+        final List<String> urls = new ArrayList<>();
+        final ASN1Sequence asn1Sequence = DSSASN1Utils.getAsn1SequenceFromDerOctetString(distributionPointsBytes);
+        final CRLDistPoint distPoint = CRLDistPoint.getInstance(asn1Sequence);
+        final DistributionPoint[] distributionPoints = distPoint.getDistributionPoints();
+        for (final DistributionPoint distributionPoint : distributionPoints) {
+
+            final DistributionPointName distributionPointName = distributionPoint.getDistributionPoint();
+            if (DistributionPointName.FULL_NAME != distributionPointName.getType()) {
+                continue;
+            }
+
+            final GeneralNames generalNames = (GeneralNames) distributionPointName.getName();
+            final org.bouncycastle.asn1.x509.GeneralName[] names = generalNames.getNames();
+            for (final org.bouncycastle.asn1.x509.GeneralName name : names) {
+                String location = parseGn(name);
+                if (location != null) {
+                    urls.add(location);
+                }
+            }
+        }
+        return urls;
+    }
+
     private static String parseGn(org.bouncycastle.asn1.x509.GeneralName gn) {
         try {
             if (org.bouncycastle.asn1.x509.GeneralName.uniformResourceIdentifier == gn.getTagNo()) {
@@ -580,6 +645,24 @@ public class CertificateExtensionsUtils {
         return crlDistributionPoints != null ? crlDistributionPoints.getCrlUrls() : Collections.emptyList();
     }
 
+    /**
+     * Returns the delta CRL distribution URIs extracted from freshestCRL field
+     *
+     * @param certificate {@link CertificateToken}
+     * @return a list of delta CRL URIs, or empty list if the extension is not present.
+     */
+    public static List<String> getFreshestCRLAccessUrls(final CertificateToken certificate) {
+        final byte[] freshestCRLBytes = certificate.getCertificate().getExtensionValue(CertificateExtensionEnum.FRESHEST_CRL.getOid());
+        if (freshestCRLBytes != null) {
+            try {
+                return getDistributionPointUrls(freshestCRLBytes);
+            } catch (Exception e) {
+                LOG.warn("Unable to parse freshestCRL", e);
+            }
+        }
+        return Collections.emptyList();
+    }
+
     /**
      * Returns a basic constraints extension, when present
      *
@@ -587,6 +670,10 @@ public class CertificateExtensionsUtils {
      * @return {@link BasicConstraints}
      */
     public static BasicConstraints getBasicConstraints(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.BASIC_CONSTRAINTS, CertificateExtensionsUtils::parseBasicConstraints);
+    }
+
+    private static BasicConstraints parseBasicConstraints(CertificateToken certificateToken) {
         final BasicConstraints basicConstraints = new BasicConstraints();
         basicConstraints.setOctets(certificateToken.getCertificate().getExtensionValue(basicConstraints.getOid()));
 
@@ -604,6 +691,10 @@ public class CertificateExtensionsUtils {
      * @return {@link NameConstraints}
      */
     public static NameConstraints getNameConstraints(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.NAME_CONSTRAINTS, CertificateExtensionsUtils::parseNameConstraints);
+    }
+
+    private static NameConstraints parseNameConstraints(CertificateToken certificateToken) {
         final byte[] nameConstraintsBinaries = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.NAME_CONSTRAINTS.getOid());
         if (Utils.isArrayNotEmpty(nameConstraintsBinaries)) {
@@ -710,6 +801,10 @@ public class CertificateExtensionsUtils {
      * @return {@link PolicyConstraints}
      */
     public static PolicyConstraints getPolicyConstraints(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.POLICY_CONSTRAINTS, CertificateExtensionsUtils::parsePolicyConstraints);
+    }
+
+    private static PolicyConstraints parsePolicyConstraints(CertificateToken certificateToken) {
         final byte[] policyConstraintsBinaries = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.POLICY_CONSTRAINTS.getOid());
         if (Utils.isArrayNotEmpty(policyConstraintsBinaries)) {
@@ -745,6 +840,10 @@ public class CertificateExtensionsUtils {
      * @return {@link PolicyConstraints}
      */
     public static InhibitAnyPolicy getInhibitAnyPolicy(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.INHIBIT_ANY_POLICY, CertificateExtensionsUtils::parseInhibitAnyPolicy);
+    }
+
+    private static InhibitAnyPolicy parseInhibitAnyPolicy(CertificateToken certificateToken) {
         final byte[] inhibitAnyPolicyBinaries = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.INHIBIT_ANY_POLICY.getOid());
         if (Utils.isArrayNotEmpty(inhibitAnyPolicyBinaries)) {
@@ -776,6 +875,10 @@ public class CertificateExtensionsUtils {
      * @return {@link KeyUsage}
      */
     public static KeyUsage getKeyUsage(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.KEY_USAGE, CertificateExtensionsUtils::parseKeyUsage);
+    }
+
+    private static KeyUsage parseKeyUsage(CertificateToken certificateToken) {
         final boolean[] keyUsageArray = certificateToken.getCertificate().getKeyUsage();
         if (keyUsageArray != null) {
             final KeyUsage keyUsage = new KeyUsage();
@@ -801,6 +904,10 @@ public class CertificateExtensionsUtils {
      * @return {@link ExtendedKeyUsages}
      */
     public static ExtendedKeyUsages getExtendedKeyUsage(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.EXTENDED_KEY_USAGE, CertificateExtensionsUtils::parseExtendedKeyUsage);
+    }
+
+    private static ExtendedKeyUsages parseExtendedKeyUsage(CertificateToken certificateToken) {
         try {
             final ExtendedKeyUsages extendedKeyUsage = new ExtendedKeyUsages();
             extendedKeyUsage.setOctets(certificateToken.getCertificate().getExtensionValue(extendedKeyUsage.getOid()));
@@ -821,6 +928,10 @@ public class CertificateExtensionsUtils {
      * @return {@link CertificatePolicies}
      */
     public static CertificatePolicies getCertificatePolicies(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.CERTIFICATE_POLICIES, CertificateExtensionsUtils::parseCertificatePolicies);
+    }
+
+    private static CertificatePolicies parseCertificatePolicies(CertificateToken certificateToken) {
         final byte[] certificatePoliciesBinaries = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.CERTIFICATE_POLICIES.getOid());
         if (Utils.isArrayNotEmpty(certificatePoliciesBinaries)) {
@@ -867,6 +978,10 @@ public class CertificateExtensionsUtils {
      * @return {@link OCSPNoCheck}
      */
     public static OCSPNoCheck getOcspNoCheck(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.OCSP_NOCHECK, CertificateExtensionsUtils::parseOcspNoCheck);
+    }
+
+    private static OCSPNoCheck parseOcspNoCheck(CertificateToken certificateToken) {
         final byte[] extensionValue = certificateToken.getCertificate().getExtensionValue(OCSPObjectIdentifiers.id_pkix_ocsp_nocheck.getId());
         if (extensionValue != null) {
             final OCSPNoCheck ocspNoCheck = new OCSPNoCheck();
@@ -899,6 +1014,10 @@ public class CertificateExtensionsUtils {
      * @return {@link ValidityAssuredShortTerm}
      */
     public static ValidityAssuredShortTerm getValAssuredSTCerts(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.VALIDITY_ASSURED_SHORT_TERM, CertificateExtensionsUtils::parseValAssuredSTCerts);
+    }
+
+    private static ValidityAssuredShortTerm parseValAssuredSTCerts(CertificateToken certificateToken) {
         final byte[] extensionValue = certificateToken.getCertificate().getExtensionValue(OID.id_etsi_ext_valassured_ST_certs.getId());
         if (extensionValue != null) {
             final ValidityAssuredShortTerm validityAssuredShortTerm = new ValidityAssuredShortTerm();
@@ -945,6 +1064,10 @@ public class CertificateExtensionsUtils {
      * @return {@link QcStatements}
      */
     public static QcStatements getQcStatements(CertificateToken certificateToken) {
+        return getParsedExtension(certificateToken, CertificateExtensionEnum.QC_STATEMENTS, CertificateExtensionsUtils::parseQcStatements);
+    }
+
+    private static QcStatements parseQcStatements(CertificateToken certificateToken) {
         final QcStatements qcStatements = QcStatementUtils.getQcStatements(certificateToken);
         if (qcStatements != null) {
             qcStatements.checkCritical(certificateToken);
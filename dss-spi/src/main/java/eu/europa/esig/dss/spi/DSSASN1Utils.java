@@ -28,6 +28,7 @@ import eu.europa.esig.dss.model.TimestampBinary;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
 import eu.europa.esig.dss.spi.x509.CertificateRef;
+import eu.europa.esig.dss.spi.x509.CertificateTokenInterner;
 import eu.europa.esig.dss.spi.x509.SignerIdentifier;
 import eu.europa.esig.dss.utils.Utils;
 import org.bouncycastle.asn1.ASN1Encodable;
@@ -600,10 +601,20 @@ public final class DSSASN1Utils {
 	 */
 	public static CertificateToken getCertificate(final X509CertificateHolder x509CertificateHolder) {
 		try {
+			if (CertificateTokenInterner.isEnabled()) {
+				// skip conversion of an already loaded certificate
+				final CertificateToken internedCertificate = CertificateTokenInterner.get(x509CertificateHolder.getEncoded());
+				if (internedCertificate != null) {
+					return internedCertificate;
+				}
+			}
 			JcaX509CertificateConverter converter = new JcaX509CertificateConverter().setProvider(DSSSecurityProvider.getSecurityProviderName());
 			X509Certificate x509Certificate = converter.getCertificate(x509CertificateHolder);
-			return new CertificateToken(x509Certificate);
+			return CertificateTokenInterner.intern(new CertificateToken(x509Certificate));
 
+		} catch (IOException e) {
+			throw new DSSException(String.format(
+					"Unable to encode a X509CertificateHolder : %s", e.getMessage()), e);
 		} catch (CertificateException e) {
 			throw new DSSException(String.format(
 					"Unable to get a CertificateToken from X509CertificateHolder : %s", e.getMessage()), e);
@@ -673,8 +684,8 @@ public final class DSSASN1Utils {
 	}
 
 	/**
-	 * This method compares two {@code X500Principal}s. {@code X500Principal.CANONICAL} and
-	 * {@code X500Principal.RFC2253} forms are compared.
+	 * This method compares two {@code X500Principal}s. {@code X500Principal.CANONICAL} forms and
+	 * sets of attribute types with their values are compared.
 	 *
 	 * @param firstX500Principal
 	 *            the first X500Principal object to be compared
@@ -686,12 +697,28 @@ public final class DSSASN1Utils {
 		if ((firstX500Principal == null) || (secondX500Principal == null)) {
 			return false;
 		}
-		if (firstX500Principal.equals(secondX500Principal)) {
+		return x500PrincipalAreEquals(new X500PrincipalHelper(firstX500Principal), new X500PrincipalHelper(secondX500Principal));
+	}
+
+	/**
+	 * This method compares two {@code X500PrincipalHelper}s. The canonical keys, computed once
+	 * per {@code X500PrincipalHelper} instance, and {@code X500Principal.CANONICAL} forms are compared.
+	 *
+	 * @param firstX500Principal
+	 *            the first X500PrincipalHelper object to be compared
+	 * @param secondX500Principal
+	 *            the second X500PrincipalHelper object to be compared
+	 * @return true if the two parameters contain the same key/values
+	 */
+	public static boolean x500PrincipalAreEquals(final X500PrincipalHelper firstX500Principal, final X500PrincipalHelper secondX500Principal) {
+		if ((firstX500Principal == null) || (secondX500Principal == null)) {
+			return false;
+		}
+		// keys are interned
+		if (firstX500Principal.getCanonicalKey().equals(secondX500Principal.getCanonicalKey())) {
 			return true;
 		}
-		final Map<String, String> firstStringStringHashMap = get(firstX500Principal);
-		final Map<String, String> secondStringStringHashMap = get(secondX500Principal);
-		return firstStringStringHashMap.equals(secondStringStringHashMap);
+		return firstX500Principal.getPrincipal().equals(secondX500Principal.getPrincipal());
 	}
 
 	/**
@@ -24,7 +24,9 @@ import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
 import eu.europa.esig.dss.spi.x509.ResponderId;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
@@ -60,7 +62,9 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Utility class used to manipulate revocation data (OCSP, CRL)
@@ -482,4 +486,32 @@ public final class DSSRevocationUtils {
 		return issuerCertificateToken != null && issuerCertificateToken.isValidOn(revocationToken.getProductionDate());
 	}
 
+	/**
+	 * Retrieves revocation tokens for several certificates by requesting the {@code revocationSource}
+	 * for each certificate individually.
+	 * NOTE: certificates for which no revocation data has been obtained are not present within the returned map
+	 *
+	 * @param revocationSource {@link RevocationSource} to request
+	 * @param certificatesAndIssuers a map between {@code CertificateToken}s to be requested and their issuers
+	 * @param <R> {@link Revocation} type
+	 * @return a map between {@link CertificateToken}s and the obtained {@link RevocationToken}s
+	 */
+	public static <R extends Revocation> Map<CertificateToken, RevocationToken<R>> getRevocationTokens(
+			RevocationSource<R> revocationSource, Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+		final Map<CertificateToken, RevocationToken<R>> result = new LinkedHashMap<>();
+		for (Map.Entry<CertificateToken, CertificateToken> entry : certificatesAndIssuers.entrySet()) {
+			final CertificateToken certificateToken = entry.getKey();
+			try {
+				final RevocationToken<R> revocationToken = revocationSource.getRevocationToken(certificateToken, entry.getValue());
+				if (revocationToken != null) {
+					result.put(certificateToken, revocationToken);
+				}
+			} catch (DSSException e) {
+				LOG.warn("Unable to retrieve revocation data for certificate with Id '{}' : {}",
+						certificateToken.getDSSIdAsString(), e.getMessage());
+			}
+		}
+		return result;
+	}
+
 }
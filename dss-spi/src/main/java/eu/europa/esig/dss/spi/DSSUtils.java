@@ -34,6 +34,7 @@ import eu.europa.esig.dss.model.SignatureValue;
 import eu.europa.esig.dss.model.UserNotice;
 import eu.europa.esig.dss.model.identifier.TokenIdentifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.CertificateTokenInterner;
 import eu.europa.esig.dss.utils.Utils;
 import org.bouncycastle.asn1.ASN1Encoding;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
@@ -319,7 +320,7 @@ public final class DSSUtils {
 					.getInstance("X.509", DSSSecurityProvider.getSecurityProviderName()).generateCertificates(is);
 			if (certificatesCollection != null) {
 				for (X509Certificate cert : certificatesCollection) {
-					certificates.add(new CertificateToken(cert));
+					certificates.add(CertificateTokenInterner.intern(new CertificateToken(cert)));
 				}
 			}
 			if (certificates.isEmpty()) {
@@ -348,6 +349,11 @@ public final class DSSUtils {
 	 */
 	public static CertificateToken loadCertificate(final byte[] input) {
 		Objects.requireNonNull(input, "Input binary cannot be null");
+		// skip parsing of an already loaded certificate
+		final CertificateToken internedCertificate = CertificateTokenInterner.get(input);
+		if (internedCertificate != null) {
+			return internedCertificate;
+		}
 		try (ByteArrayInputStream inputStream = new ByteArrayInputStream(input)) {
 			return loadCertificate(inputStream);
 		} catch (IOException e) {
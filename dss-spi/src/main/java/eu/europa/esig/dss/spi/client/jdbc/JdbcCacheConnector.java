@@ -32,8 +32,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -76,9 +78,7 @@ public class JdbcCacheConnector {
             c.setAutoCommit(false);
 
             s = c.prepareStatement(query.getQueryString());
-            for (int ii = 0; ii < arguments.length; ii++) {
-                s.setObject(ii + 1, arguments[ii]);
-            }
+            setArguments(s, arguments);
             int ii = s.executeUpdate();
             c.commit();
             LOG.debug("The query [{}] has been executed successfully", query);
@@ -94,6 +94,98 @@ public class JdbcCacheConnector {
         }
     }
 
+    /**
+     * This method updates the existing entries and inserts the missing ones within a single transaction,
+     * using one JDBC batch of UPDATE queries and one JDBC batch of INSERT queries for the entries not updated.
+     * The i-th element of {@code updateArgumentsList} and {@code insertArgumentsList} shall refer to the same entry.
+     * <p>
+     * NOTE: an entry is considered as existing when the JDBC driver does not report the number of updated rows.
+     *
+     * @param updateQuery {@link SqlQuery} the UPDATE query
+     * @param updateArgumentsList a list of {@link Object} arrays, representing the UPDATE query arguments for each entry
+     * @param insertQuery {@link SqlQuery} the INSERT query
+     * @param insertArgumentsList a list of {@link Object} arrays, representing the INSERT query arguments for each entry
+     * @return number of rows concerned by the queries
+     */
+    public int executeBatchUpsert(final SqlQuery updateQuery, final List<Object[]> updateArgumentsList,
+                                  final SqlQuery insertQuery, final List<Object[]> insertArgumentsList) {
+        Objects.requireNonNull(updateQuery, "Update query cannot be null!");
+        Objects.requireNonNull(insertQuery, "Insert query cannot be null!");
+        Objects.requireNonNull(updateArgumentsList, "Update arguments cannot be null!");
+        Objects.requireNonNull(insertArgumentsList, "Insert arguments cannot be null!");
+        if (updateArgumentsList.size() != insertArgumentsList.size()) {
+            throw new IllegalArgumentException("The number of update and insert arguments shall be the same!");
+        }
+        if (updateArgumentsList.isEmpty()) {
+            return 0;
+        }
+
+        Connection c = null;
+        PreparedStatement updateStatement = null;
+        PreparedStatement insertStatement = null;
+        try {
+            c = dataSource.getConnection();
+            c.setAutoCommit(false);
+
+            updateStatement = c.prepareStatement(updateQuery.getQueryString());
+            for (Object[] arguments : updateArgumentsList) {
+                setArguments(updateStatement, arguments);
+                updateStatement.addBatch();
+            }
+            final int[] updateCounts = updateStatement.executeBatch();
+
+            final List<Object[]> missingEntries = new ArrayList<>();
+            for (int ii = 0; ii < updateCounts.length; ii++) {
+                if (updateCounts[ii] == 0) {
+                    missingEntries.add(insertArgumentsList.get(ii));
+                }
+            }
+
+            int[] insertCounts = new int[0];
+            if (!missingEntries.isEmpty()) {
+                insertStatement = c.prepareStatement(insertQuery.getQueryString());
+                for (Object[] arguments : missingEntries) {
+                    setArguments(insertStatement, arguments);
+                    insertStatement.addBatch();
+                }
+                insertCounts = insertStatement.executeBatch();
+            }
+
+            c.commit();
+            LOG.debug("The batch upsert of {} entries ({} inserted) has been executed successfully",
+                    updateArgumentsList.size(), missingEntries.size());
+            return countRows(updateCounts) + countRows(insertCounts);
+
+        } catch (final SQLException e) {
+            LOG.error("Unable to execute the batch upsert [{}] / [{}]. Reason : '{}'",
+                    updateQuery, insertQuery, e.getMessage(), e);
+            rollback(c);
+            return 0;
+
+        } finally {
+            closeQuietly(insertStatement);
+            closeQuietly(c, updateStatement, null);
+        }
+    }
+
+    private void setArguments(final PreparedStatement s, final Object[] arguments) throws SQLException {
+        for (int ii = 0; ii < arguments.length; ii++) {
+            s.setObject(ii + 1, arguments[ii]);
+        }
+    }
+
+    private int countRows(final int[] counts) {
+        int result = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                result += count;
+            } else if (count == Statement.SUCCESS_NO_INFO) {
+                result++;
+            }
+        }
+        return result;
+    }
+
     /**
      * This method executes the query and returns a collection of selected objects
      *
@@ -110,9 +202,7 @@ public class JdbcCacheConnector {
             c.setAutoCommit(false);
 
             s = c.prepareStatement(selectQuery.getQueryString());
-            for (int ii = 0; ii < arguments.length; ii++) {
-                s.setObject(ii + 1, arguments[ii]);
-            }
+            setArguments(s, arguments);
             rs = s.executeQuery();
 
             final Collection<SqlRecord> records = selectQuery.getRecords(rs);
@@ -21,25 +21,33 @@
 package eu.europa.esig.dss.spi.tsl;
 
 import eu.europa.esig.dss.enumerations.CertificateSourceType;
-import eu.europa.esig.dss.model.identifier.EntityIdentifier;
+import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
 import eu.europa.esig.dss.model.tsl.TrustProperties;
 import eu.europa.esig.dss.model.tsl.TrustPropertiesCertificateSource;
 import eu.europa.esig.dss.model.tsl.TrustServiceStatusAndInformationExtensions;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
+import eu.europa.esig.dss.spi.x509.CertificateRef;
+import eu.europa.esig.dss.spi.x509.CertificateSourceEntity;
 import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.SignerIdentifier;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.security.PublicKey;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class allows injection of trusted certificates from Trusted Lists
+ *
+ * NOTE: the trusted certificates and their trust properties are stored within an immutable {@code TrustedListsSnapshot},
+ * which is replaced on every update of the certificate source. The read operations do not require any locking.
  */
 @SuppressWarnings("serial")
 public class TrustedListsCertificateSource extends CommonTrustedCertificateSource implements TrustPropertiesCertificateSource {
@@ -49,14 +57,72 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	/** The TL Validation job summary */
 	private TLValidationJobSummary summary;
 
-	/** The map of trust properties by EntityIdentifier (public keys) */
-	private Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity = new HashMap<>();
+	/** The current state of the certificate source */
+	private volatile TrustedListsSnapshot snapshot = new TrustedListsSnapshot(0);
+
+	/** The certificate source this object is a snapshot view of (NULL for an updatable certificate source) */
+	private final TrustedListsCertificateSource origin;
 
 	/**
 	 * The default constructor.
 	 */
 	public TrustedListsCertificateSource() {
 		super();
+		this.origin = null;
+	}
+
+	/**
+	 * Creates a read-only view of {@code origin}, bound to the given snapshot
+	 *
+	 * @param origin {@link TrustedListsCertificateSource} the view is created from
+	 * @param snapshot {@link TrustedListsSnapshot} to be used by the view
+	 * @param summary {@link TLValidationJobSummary} to be used by the view
+	 */
+	private TrustedListsCertificateSource(TrustedListsCertificateSource origin, TrustedListsSnapshot snapshot,
+										  TLValidationJobSummary summary) {
+		super();
+		this.origin = origin;
+		this.snapshot = snapshot;
+		this.summary = summary;
+	}
+
+	/**
+	 * Returns a read-only view of the certificate source, bound to its current snapshot and summary.
+	 * The content of the returned object does not change on later updates of this certificate source,
+	 * which allows a process to use a consistent set of trust anchors from its beginning to its end.
+	 *
+	 * @return {@link TrustedListsCertificateSource} view
+	 */
+	public TrustedListsCertificateSource getSnapshotView() {
+		if (isSnapshotView()) {
+			return this;
+		}
+		return new TrustedListsCertificateSource(this, snapshot, summary);
+	}
+
+	/**
+	 * Gets whether the current object is a read-only view created with {@link #getSnapshotView()}
+	 *
+	 * @return TRUE if the object is a snapshot view, FALSE otherwise
+	 */
+	public boolean isSnapshotView() {
+		return origin != null;
+	}
+
+	/**
+	 * Returns the updatable certificate source the snapshot view has been created from,
+	 * or the current object when it is not a snapshot view
+	 *
+	 * @return {@link TrustedListsCertificateSource}
+	 */
+	public TrustedListsCertificateSource getOrigin() {
+		return origin != null ? origin : this;
+	}
+
+	private void assertUpdatable() {
+		if (isSnapshotView()) {
+			throw new UnsupportedOperationException("Cannot update a snapshot view of a TrustedListsCertificateSource");
+		}
 	}
 
 	/**
@@ -74,6 +140,7 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	 * @param summary {@link TLValidationJobSummary}
 	 */
 	public void setSummary(TLValidationJobSummary summary) {
+		assertUpdatable();
 		this.summary = summary;
 	}
 
@@ -95,33 +162,138 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 		throw new UnsupportedOperationException("Cannot directly add certificate to a TrustedListsCertificateSource");
 	}
 
+	/**
+	 * Builds a new snapshot from the given map and publishes it once completely built.
+	 * The previous snapshot remains in use by the readers until then.
+	 *
+	 * @param trustPropertiesByCerts map between {@link CertificateToken}s and a list of {@link TrustProperties}
+	 */
 	@Override
 	public synchronized void setTrustPropertiesByCertificates(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
-		this.trustPropertiesByEntity = new HashMap<>(); // reinit the map
-		super.reset();
-		trustPropertiesByCerts.forEach(this::addCertificate);
-	}
-	
-	private void addCertificate(CertificateToken certificateToken, List<TrustProperties> trustPropertiesList) {
-		super.addCertificate(certificateToken);
-		
-		EntityIdentifier entityKey = certificateToken.getEntityKey();
-		List<TrustProperties> list = trustPropertiesByEntity.computeIfAbsent(entityKey, k -> new ArrayList<>());
-		for (TrustProperties trustProperties : trustPropertiesList) {
-			if (!list.contains(trustProperties)) {
-				list.add(trustProperties);
-			}
-		}
+		assertUpdatable();
+		this.snapshot = new TrustedListsSnapshot(snapshot.getVersion() + 1, trustPropertiesByCerts);
+	}
+
+	/**
+	 * Replaces the trust properties extracted from the Trusted Lists with the given URLs by the provided ones,
+	 * while the trust properties of other Trusted Lists are kept unchanged.
+	 * The new snapshot is derived from the current one and published once completely built.
+	 *
+	 * @param tlUrls a collection of URLs of the updated (or removed) Trusted Lists
+	 * @param trustPropertiesByCerts map between {@link CertificateToken}s and a list of {@link TrustProperties}
+	 *                               extracted from the given Trusted Lists
+	 */
+	public void updateTrustPropertiesByCertificates(final Collection<String> tlUrls,
+			final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
+		updateTrustPropertiesByCertificates(tlUrls, trustPropertiesByCerts, null);
+	}
+
+	/**
+	 * Replaces the trust properties extracted from the Trusted Lists with the given URLs by the provided ones.
+	 * The certificates of other Trusted Lists are kept unchanged, while their trust properties are refreshed
+	 * with the {@code TLInfo} and {@code LOTLInfo} of the given {@code summary}, when provided.
+	 * The new snapshot is derived from the current one and published once completely built.
+	 * NOTE: the version is not incremented when nothing has changed.
+	 *
+	 * @param tlUrls a collection of URLs of the updated (or removed) Trusted Lists
+	 * @param trustPropertiesByCerts map between {@link CertificateToken}s and a list of {@link TrustProperties}
+	 *                               extracted from the given Trusted Lists
+	 * @param summary {@link TLValidationJobSummary} to refresh the trust properties of other Trusted Lists from
+	 */
+	public synchronized void updateTrustPropertiesByCertificates(final Collection<String> tlUrls,
+			final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts, final TLValidationJobSummary summary) {
+		assertUpdatable();
+		this.snapshot = snapshot.update(snapshot.getVersion() + 1, tlUrls, trustPropertiesByCerts, summary);
 	}
 
 	@Override
-	public synchronized List<TrustProperties> getTrustServices(CertificateToken token) {
-		List<TrustProperties> currentTrustProperties = trustPropertiesByEntity.get(token.getEntityKey());
-		if (currentTrustProperties != null) {
-			return currentTrustProperties;
-		} else {
-			return Collections.emptyList();
-		}
+	protected synchronized void reset() {
+		assertUpdatable();
+		this.snapshot = new TrustedListsSnapshot(snapshot.getVersion() + 1);
+	}
+
+	/**
+	 * Gets the current state of the certificate source.
+	 * The returned object is immutable and remains consistent even when the certificate source is updated.
+	 *
+	 * @return {@link TrustedListsSnapshot}
+	 */
+	public TrustedListsSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Gets the version of the current snapshot, incremented on each update of the certificate source
+	 *
+	 * @return version number
+	 */
+	public long getSnapshotVersion() {
+		return snapshot.getVersion();
+	}
+
+	/**
+	 * Returns the version of the current snapshot
+	 *
+	 * @return version number
+	 */
+	@Override
+	public long getVersion() {
+		return getSnapshotVersion();
+	}
+
+	@Override
+	public List<TrustProperties> getTrustServices(CertificateToken token) {
+		return snapshot.getTrustServices(token);
+	}
+
+	@Override
+	public List<CertificateToken> getCertificates() {
+		return snapshot.getCertificates();
+	}
+
+	@Override
+	public List<CertificateSourceEntity> getEntities() {
+		return snapshot.getEntities();
+	}
+
+	@Override
+	public boolean isKnown(CertificateToken token) {
+		return snapshot.isKnown(token);
+	}
+
+	@Override
+	public Set<CertificateToken> getByPublicKey(PublicKey publicKey) {
+		return snapshot.getByPublicKey(publicKey);
+	}
+
+	@Override
+	public Set<CertificateToken> getBySki(byte[] ski) {
+		return snapshot.getBySki(ski);
+	}
+
+	@Override
+	public Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
+		return snapshot.getBySubject(subject);
+	}
+
+	@Override
+	public Set<CertificateToken> getBySignerIdentifier(SignerIdentifier signerIdentifier) {
+		return snapshot.getBySignerIdentifier(signerIdentifier);
+	}
+
+	@Override
+	public Set<CertificateToken> getByCertificateDigest(Digest digest) {
+		return snapshot.getByCertificateDigest(digest);
+	}
+
+	@Override
+	public Set<CertificateToken> findTokensFromCertRef(CertificateRef certificateRef) {
+		return snapshot.findTokensFromCertRef(certificateRef);
+	}
+
+	@Override
+	public int getNumberOfEntities() {
+		return snapshot.getNumberOfEntities();
 	}
 
 	@Override
@@ -161,7 +333,7 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	 * @return the number of trusted public keys
 	 */
 	public int getNumberOfTrustedPublicKeys() {
-		return trustPropertiesByEntity.size();
+		return snapshot.getNumberOfTrustedPublicKeys();
 	}
 
 }
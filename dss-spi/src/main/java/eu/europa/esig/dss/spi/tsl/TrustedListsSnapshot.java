@@ -0,0 +1,526 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.tsl;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.identifier.EntityIdentifier;
+import eu.europa.esig.dss.model.tsl.LOTLInfo;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.model.tsl.TrustProperties;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
+import eu.europa.esig.dss.spi.x509.CertificateBloomFilter;
+import eu.europa.esig.dss.spi.x509.CertificateRef;
+import eu.europa.esig.dss.spi.x509.CertificateSourceEntity;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.spi.x509.SignerIdentifier;
+
+import java.io.Serializable;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Represents an immutable versioned state of a {@code TrustedListsCertificateSource},
+ * containing the trust anchors and their trust properties.
+ *
+ * A new snapshot is built on every synchronization of the certificate source, and then published at once.
+ * This allows the readers to access the trusted certificates without any locking.
+ *
+ * The content of the snapshot is kept per Trusted List (certificates, indexes and membership filter), so an update
+ * rebuilds only the content of the changed Trusted Lists, while the content of other Trusted Lists is shared
+ * with the previous snapshot.
+ *
+ */
+public class TrustedListsSnapshot implements Serializable {
+
+	private static final long serialVersionUID = 2783510379436591851L;
+
+	/** The digest algorithms of the certificate digests added to the membership filters */
+	private static final Set<DigestAlgorithm> FILTERED_DIGEST_ALGORITHMS = EnumSet.of(DigestAlgorithm.SHA1, DigestAlgorithm.SHA256);
+
+	/** The version of the snapshot, incremented on each update of the certificate source */
+	private final long version;
+
+	/** The contents of the snapshot by Trusted List URL (NULL key for the certificates without a Trusted List URL) */
+	private final Map<String, TrustedListContent> contents;
+
+	/** The URLs of the Trusted Lists the trust properties of the snapshot have been extracted from */
+	private final Set<String> trustedListUrls;
+
+	/**
+	 * Creates an empty snapshot with the given version
+	 *
+	 * @param version the snapshot version
+	 */
+	TrustedListsSnapshot(long version) {
+		this(Collections.emptyMap(), version);
+	}
+
+	/**
+	 * Creates a snapshot with the given version from the map of trust properties by certificates
+	 *
+	 * @param version the snapshot version
+	 * @param trustPropertiesByCerts map between {@link CertificateToken}s and a list of {@link TrustProperties}
+	 */
+	TrustedListsSnapshot(long version, Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
+		this(buildContents(trustPropertiesByCerts), version);
+	}
+
+	private TrustedListsSnapshot(Map<String, TrustedListContent> contents, long version) {
+		this.version = version;
+		this.contents = Collections.unmodifiableMap(contents);
+
+		final Set<String> tlUrls = new HashSet<>(contents.keySet());
+		tlUrls.remove(null);
+		this.trustedListUrls = Collections.unmodifiableSet(tlUrls);
+	}
+
+	private static Map<String, TrustedListContent> buildContents(Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
+		final Map<String, Map<CertificateToken, List<TrustProperties>>> trustPropertiesByUrl = new LinkedHashMap<>();
+		for (Map.Entry<CertificateToken, List<TrustProperties>> entry : trustPropertiesByCerts.entrySet()) {
+			CertificateToken certificateToken = entry.getKey();
+			if (entry.getValue().isEmpty()) {
+				trustPropertiesByUrl.computeIfAbsent(null, k -> new LinkedHashMap<>()).computeIfAbsent(certificateToken, k -> new ArrayList<>());
+			}
+			for (TrustProperties trustProperties : entry.getValue()) {
+				List<TrustProperties> list = trustPropertiesByUrl.computeIfAbsent(getTLUrl(trustProperties), k -> new LinkedHashMap<>())
+						.computeIfAbsent(certificateToken, k -> new ArrayList<>());
+				if (!list.contains(trustProperties)) {
+					list.add(trustProperties);
+				}
+			}
+		}
+		final Map<String, TrustedListContent> result = new LinkedHashMap<>();
+		for (Map.Entry<String, Map<CertificateToken, List<TrustProperties>>> entry : trustPropertiesByUrl.entrySet()) {
+			result.put(entry.getKey(), new TrustedListContent(entry.getValue()));
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new snapshot with the given version, in which the content of the Trusted Lists with the given URLs
+	 * is replaced by {@code trustPropertiesByCerts}. The content of other Trusted Lists is shared with
+	 * the current snapshot, only their trust properties are refreshed with the {@code TLInfo} and {@code LOTLInfo}
+	 * of the given {@code summary}, when provided.
+	 *
+	 * @param version the version of the new snapshot
+	 * @param tlUrls a collection of URLs of the Trusted Lists to be replaced
+	 * @param trustPropertiesByCerts map between {@link CertificateToken}s and a list of {@link TrustProperties}
+	 *                               extracted from the given Trusted Lists
+	 * @param summary {@link TLValidationJobSummary} to refresh the trust properties of other Trusted Lists from (optional)
+	 * @return {@link TrustedListsSnapshot}, the current snapshot when nothing has changed
+	 */
+	TrustedListsSnapshot update(long version, Collection<String> tlUrls,
+								Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts,
+								TLValidationJobSummary summary) {
+		final SummaryInfos summaryInfos = summary != null ? new SummaryInfos(summary) : null;
+		final Map<String, TrustedListContent> updatedContents = buildContents(trustPropertiesByCerts);
+
+		boolean changed = !updatedContents.isEmpty();
+		final Map<String, TrustedListContent> result = new LinkedHashMap<>();
+		for (Map.Entry<String, TrustedListContent> entry : contents.entrySet()) {
+			String tlUrl = entry.getKey();
+			if ((tlUrl != null && tlUrls.contains(tlUrl)) || updatedContents.containsKey(tlUrl)) {
+				changed = true;
+				continue;
+			}
+			TrustedListContent content = summaryInfos != null ? entry.getValue().refresh(summaryInfos) : entry.getValue();
+			changed |= content != entry.getValue();
+			result.put(tlUrl, content);
+		}
+		result.putAll(updatedContents);
+		return changed ? new TrustedListsSnapshot(result, version) : this;
+	}
+
+	private static String getTLUrl(TrustProperties trustProperties) {
+		TLInfo tlInfo = trustProperties.getTLInfo();
+		return tlInfo != null ? tlInfo.getUrl() : null;
+	}
+
+	/**
+	 * Gets the version of the snapshot.
+	 * A greater value corresponds to a more recent snapshot of the same certificate source.
+	 *
+	 * @return version number
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Checks whether the given certificate is present within the snapshot
+	 *
+	 * @param token {@link CertificateToken} to check
+	 * @return TRUE if the certificate is present within the snapshot, FALSE otherwise
+	 */
+	boolean isKnown(CertificateToken token) {
+		for (TrustedListContent content : contents.values()) {
+			if (content.mightContain(token.getEntityKey()) && content.certificateSource.isKnown(token)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns all the certificates of the snapshot
+	 *
+	 * @return an unmodifiable list of {@link CertificateToken}s
+	 */
+	List<CertificateToken> getCertificates() {
+		if (contents.size() == 1) {
+			return contents.values().iterator().next().certificateSource.getCertificates();
+		}
+		final Set<CertificateToken> certificates = new LinkedHashSet<>();
+		for (TrustedListContent content : contents.values()) {
+			certificates.addAll(content.certificateSource.getCertificates());
+		}
+		return Collections.unmodifiableList(new ArrayList<>(certificates));
+	}
+
+	/**
+	 * Returns the entities (certificates grouped by public key) of the snapshot
+	 *
+	 * @return a list of {@link CertificateSourceEntity}
+	 */
+	List<CertificateSourceEntity> getEntities() {
+		final Set<CertificateSourceEntity> entities = new LinkedHashSet<>();
+		for (TrustedListContent content : contents.values()) {
+			entities.addAll(content.certificateSource.getEntities());
+		}
+		return new ArrayList<>(entities);
+	}
+
+	/**
+	 * Returns the number of entities (public keys) of the snapshot
+	 *
+	 * @return the number of entities
+	 */
+	int getNumberOfEntities() {
+		if (contents.size() == 1) {
+			return contents.values().iterator().next().certificateSource.getNumberOfEntities();
+		}
+		return getEntities().size();
+	}
+
+	/**
+	 * Returns the certificates of the snapshot with the given public key
+	 *
+	 * @param publicKey {@link PublicKey}
+	 * @return a set of {@link CertificateToken}s
+	 */
+	Set<CertificateToken> getByPublicKey(PublicKey publicKey) {
+		final EntityIdentifier entityKey = new EntityIdentifier(publicKey);
+		return collect(content -> content.mightContain(entityKey) ?
+				content.certificateSource.getByPublicKey(publicKey) : Collections.emptySet());
+	}
+
+	/**
+	 * Returns the certificates of the snapshot with the given SKI
+	 *
+	 * @param ski the Subject Key Identifier
+	 * @return a set of {@link CertificateToken}s
+	 */
+	Set<CertificateToken> getBySki(byte[] ski) {
+		return collect(content -> content.certificateSource.getBySki(ski));
+	}
+
+	/**
+	 * Returns the certificates of the snapshot with the given subject
+	 *
+	 * @param subject {@link X500PrincipalHelper}
+	 * @return a set of {@link CertificateToken}s
+	 */
+	Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
+		return collect(content -> content.certificateSource.getBySubject(subject));
+	}
+
+	/**
+	 * Returns the certificates of the snapshot matching the given signer identifier
+	 *
+	 * @param signerIdentifier {@link SignerIdentifier}
+	 * @return a set of {@link CertificateToken}s
+	 */
+	Set<CertificateToken> getBySignerIdentifier(SignerIdentifier signerIdentifier) {
+		return collect(content -> content.certificateSource.getBySignerIdentifier(signerIdentifier));
+	}
+
+	/**
+	 * Returns the certificates of the snapshot with the given digest
+	 *
+	 * @param digest {@link Digest} of a certificate
+	 * @return a set of {@link CertificateToken}s
+	 */
+	Set<CertificateToken> getByCertificateDigest(Digest digest) {
+		final boolean filtered = FILTERED_DIGEST_ALGORITHMS.contains(digest.getAlgorithm());
+		return collect(content -> !filtered || content.membershipFilter.mightContainDigest(digest) ?
+				content.certificateSource.getByCertificateDigest(digest) : Collections.emptySet());
+	}
+
+	/**
+	 * Returns the certificates of the snapshot matching the given certificate reference
+	 *
+	 * @param certificateRef {@link CertificateRef}
+	 * @return a set of {@link CertificateToken}s
+	 */
+	Set<CertificateToken> findTokensFromCertRef(CertificateRef certificateRef) {
+		return collect(content -> content.certificateSource.findTokensFromCertRef(certificateRef));
+	}
+
+	/**
+	 * Returns the union of the certificates found within each Trusted List content
+	 */
+	private Set<CertificateToken> collect(Function<TrustedListContent, Set<CertificateToken>> lookup) {
+		Set<CertificateToken> result = null;
+		boolean merged = false;
+		for (TrustedListContent content : contents.values()) {
+			final Set<CertificateToken> found = lookup.apply(content);
+			if (found.isEmpty()) {
+				continue;
+			}
+			if (result == null) {
+				result = found;
+			} else {
+				if (!merged) {
+					result = new HashSet<>(result);
+					merged = true;
+				}
+				result.addAll(found);
+			}
+		}
+		return result != null ? result : new HashSet<>();
+	}
+
+	/**
+	 * Returns TrustProperties for the given certificate, when applicable
+	 *
+	 * @param token {@link CertificateToken}
+	 * @return an unmodifiable list of {@link TrustProperties}
+	 */
+	public List<TrustProperties> getTrustServices(CertificateToken token) {
+		final EntityIdentifier entityKey = token.getEntityKey();
+		List<TrustProperties> result = null;
+		boolean merged = false;
+		for (TrustedListContent content : contents.values()) {
+			if (!content.mightContain(entityKey)) {
+				continue;
+			}
+			final List<TrustProperties> trustProperties = content.trustPropertiesByEntity.get(entityKey);
+			if (trustProperties == null || trustProperties.isEmpty()) {
+				continue;
+			}
+			if (result == null) {
+				result = trustProperties;
+			} else {
+				if (!merged) {
+					result = new ArrayList<>(result);
+					merged = true;
+				}
+				result.addAll(trustProperties);
+			}
+		}
+		if (result == null) {
+			return Collections.emptyList();
+		}
+		return merged ? Collections.unmodifiableList(result) : result;
+	}
+
+	/**
+	 * Gets the URLs of the Trusted Lists the trust properties of the snapshot have been extracted from
+	 *
+	 * @return an unmodifiable set of URLs
+	 */
+	public Set<String> getTrustedListUrls() {
+		return trustedListUrls;
+	}
+
+	/**
+	 * Gets the number of trusted public keys
+	 *
+	 * @return the number of trusted public keys
+	 */
+	public int getNumberOfTrustedPublicKeys() {
+		if (contents.size() == 1) {
+			return contents.values().iterator().next().trustPropertiesByEntity.size();
+		}
+		final Set<EntityIdentifier> entityKeys = new HashSet<>();
+		for (TrustedListContent content : contents.values()) {
+			entityKeys.addAll(content.trustPropertiesByEntity.keySet());
+		}
+		return entityKeys.size();
+	}
+
+	/**
+	 * Contains the certificates and the trust properties extracted from a single Trusted List, with their indexes.
+	 * The content is not modified after the creation, and is shared between the snapshots while the Trusted List
+	 * does not change.
+	 */
+	private static final class TrustedListContent implements Serializable {
+
+		private static final long serialVersionUID = -2096408133470427455L;
+
+		/** Contains the trust anchors of the Trusted List */
+		private final CommonCertificateSource certificateSource;
+
+		/** Used to quickly reject the certificates not present within the Trusted List */
+		private final CertificateBloomFilter membershipFilter;
+
+		/** The map of trust properties by EntityIdentifier (public keys) */
+		private final Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity;
+
+		/**
+		 * Builds the content from the certificates of a Trusted List and their trust properties
+		 *
+		 * @param trustPropertiesByCerts map between {@link CertificateToken}s and a list of {@link TrustProperties}
+		 */
+		private TrustedListContent(Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
+			this.certificateSource = new CommonCertificateSource();
+			this.membershipFilter = new CertificateBloomFilter(trustPropertiesByCerts.size() * (1 + FILTERED_DIGEST_ALGORITHMS.size()));
+
+			final Map<EntityIdentifier, List<TrustProperties>> trustPropertiesMap = new HashMap<>();
+			for (Map.Entry<CertificateToken, List<TrustProperties>> entry : trustPropertiesByCerts.entrySet()) {
+				CertificateToken certificateToken = entry.getKey();
+				certificateSource.addCertificate(certificateToken);
+				membershipFilter.addEntityKey(certificateToken.getEntityKey());
+				for (DigestAlgorithm digestAlgorithm : FILTERED_DIGEST_ALGORITHMS) {
+					membershipFilter.addDigest(new Digest(digestAlgorithm, certificateToken.getDigest(digestAlgorithm)));
+				}
+
+				List<TrustProperties> list = trustPropertiesMap.computeIfAbsent(certificateToken.getEntityKey(), k -> new ArrayList<>());
+				for (TrustProperties trustProperties : entry.getValue()) {
+					if (!list.contains(trustProperties)) {
+						list.add(trustProperties);
+					}
+				}
+			}
+			trustPropertiesMap.replaceAll((k, v) -> Collections.unmodifiableList(v));
+			this.trustPropertiesByEntity = Collections.unmodifiableMap(trustPropertiesMap);
+		}
+
+		/**
+		 * Creates a content sharing the certificates and the indexes of {@code content}, with other trust properties
+		 *
+		 * @param content {@link TrustedListContent} to share the certificates from
+		 * @param trustPropertiesByEntity the map of trust properties by EntityIdentifier
+		 */
+		private TrustedListContent(TrustedListContent content, Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity) {
+			this.certificateSource = content.certificateSource;
+			this.membershipFilter = content.membershipFilter;
+			this.trustPropertiesByEntity = trustPropertiesByEntity;
+		}
+
+		private boolean mightContain(EntityIdentifier entityKey) {
+			return membershipFilter.mightContainEntityKey(entityKey);
+		}
+
+		/**
+		 * Returns the content with the trust properties referring to the {@code TLInfo} and {@code LOTLInfo}
+		 * of the given summary. The certificates and the indexes are shared.
+		 *
+		 * @param summaryInfos {@link SummaryInfos}
+		 * @return {@link TrustedListContent}, this content when the trust properties are up to date
+		 */
+		private TrustedListContent refresh(SummaryInfos summaryInfos) {
+			final Map<TrustProperties, TrustProperties> refreshedTrustProperties = new IdentityHashMap<>();
+			final Map<EntityIdentifier, List<TrustProperties>> trustPropertiesMap = new HashMap<>();
+			boolean changed = false;
+			for (Map.Entry<EntityIdentifier, List<TrustProperties>> entry : trustPropertiesByEntity.entrySet()) {
+				final List<TrustProperties> list = new ArrayList<>(entry.getValue().size());
+				for (TrustProperties trustProperties : entry.getValue()) {
+					TrustProperties refreshed = refreshedTrustProperties.computeIfAbsent(trustProperties, summaryInfos::refresh);
+					changed |= refreshed != trustProperties;
+					list.add(refreshed);
+				}
+				trustPropertiesMap.put(entry.getKey(), Collections.unmodifiableList(list));
+			}
+			return changed ? new TrustedListContent(this, Collections.unmodifiableMap(trustPropertiesMap)) : this;
+		}
+
+	}
+
+	/**
+	 * Gives access to the {@code TLInfo}s and {@code LOTLInfo}s of a summary by URL
+	 */
+	private static final class SummaryInfos {
+
+		/** The LOTLInfos by URL */
+		private final Map<String, LOTLInfo> lotlInfos = new HashMap<>();
+
+		/** The TLInfos by URL, grouped by the URL of their LOTL (NULL key for the TLs not related to a LOTL) */
+		private final Map<String, Map<String, TLInfo>> tlInfosByLOTL = new HashMap<>();
+
+		private SummaryInfos(TLValidationJobSummary summary) {
+			if (summary.getLOTLInfos() != null) {
+				for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
+					lotlInfos.put(lotlInfo.getUrl(), lotlInfo);
+					addTLInfos(lotlInfo.getUrl(), lotlInfo.getTLInfos());
+				}
+			}
+			addTLInfos(null, summary.getOtherTLInfos());
+		}
+
+		private void addTLInfos(String lotlUrl, List<TLInfo> tlInfos) {
+			if (tlInfos == null) {
+				return;
+			}
+			final Map<String, TLInfo> tlInfosByUrl = tlInfosByLOTL.computeIfAbsent(lotlUrl, k -> new HashMap<>());
+			for (TLInfo tlInfo : tlInfos) {
+				tlInfosByUrl.put(tlInfo.getUrl(), tlInfo);
+			}
+		}
+
+		/**
+		 * Returns the trust properties referring to the infos of the summary with the same URLs,
+		 * or the given trust properties when up to date or not present within the summary
+		 *
+		 * @param trustProperties {@link TrustProperties}
+		 * @return {@link TrustProperties}
+		 */
+		private TrustProperties refresh(TrustProperties trustProperties) {
+			final LOTLInfo lotlInfo = trustProperties.getLOTLInfo();
+			final String lotlUrl = lotlInfo != null ? lotlInfo.getUrl() : null;
+			final Map<String, TLInfo> tlInfosByUrl = tlInfosByLOTL.get(lotlUrl);
+			final TLInfo tlInfo = tlInfosByUrl != null ? tlInfosByUrl.get(getTLUrl(trustProperties)) : null;
+			final LOTLInfo refreshedLOTLInfo = lotlInfo != null ? lotlInfos.get(lotlUrl) : null;
+			if (tlInfo == null || (tlInfo == trustProperties.getTLInfo() && refreshedLOTLInfo == lotlInfo)) {
+				return trustProperties;
+			}
+			return new TrustProperties(refreshedLOTLInfo, tlInfo, trustProperties.getTrustServiceProvider(),
+					trustProperties.getTrustService());
+		}
+
+	}
+
+}
@@ -0,0 +1,184 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * This class executes the OCSP and CRL requests concurrently, and selects the returned token
+ * based on the defined {@code RevocationDataRacePolicy}.
+ * The revocation data retrieval time is bounded by the slowest of the two requests,
+ * instead of the sum of both of them.
+ * <p>
+ * When used within {@code eu.europa.esig.dss.validation.SignatureValidationContext}, the revocation data of all
+ * certificates of the validated certificate chains are requested concurrently as well.
+ * <p>
+ * NOTE: the provided {@code Executor} is used to execute blocking network requests and is not shut down
+ *       by the validation process.
+ *
+ */
+public class AsynchronousRevocationDataLoadingStrategy extends RevocationDataLoadingStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsynchronousRevocationDataLoadingStrategy.class);
+
+    /**
+     * Executes the OCSP and CRL requests
+     */
+    private final Executor executor;
+
+    /**
+     * Defines the way the OCSP and CRL responses are selected
+     */
+    private final RevocationDataRacePolicy racePolicy;
+
+    /**
+     * Constructor with an {@code Executor} and {@code RevocationDataRacePolicy.PREFER_OCSP} policy
+     *
+     * @param executor {@link Executor} to execute the revocation requests with
+     */
+    public AsynchronousRevocationDataLoadingStrategy(final Executor executor) {
+        this(executor, RevocationDataRacePolicy.PREFER_OCSP);
+    }
+
+    /**
+     * Default constructor
+     *
+     * @param executor {@link Executor} to execute the revocation requests with
+     * @param racePolicy {@link RevocationDataRacePolicy} defining the selection of the returned token
+     */
+    public AsynchronousRevocationDataLoadingStrategy(final Executor executor, final RevocationDataRacePolicy racePolicy) {
+        Objects.requireNonNull(executor, "Executor shall be defined!");
+        Objects.requireNonNull(racePolicy, "RevocationDataRacePolicy shall be defined!");
+        this.executor = executor;
+        this.racePolicy = racePolicy;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public RevocationToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerToken) {
+        try {
+            return getRevocationTokenAsync(certificateToken, issuerToken).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * This method requests the OCSP and CRL revocation data concurrently and returns
+     * a future completed with the selected {@code RevocationToken}, or NULL if no token has been selected
+     *
+     * @param certificateToken
+     *                               The {@code CertificateToken} for which the
+     *                               request is made
+     * @param issuerToken
+     *                               The {@code CertificateToken} which is the
+     *                               issuer of the certificateToken
+     * @return {@link CompletableFuture} of the {@link RevocationToken}
+     */
+    public CompletableFuture<RevocationToken<?>> getRevocationTokenAsync(final CertificateToken certificateToken,
+                                                                         final CertificateToken issuerToken) {
+        final CompletableFuture<RevocationToken<?>> ocspFuture = ocspSource != null ?
+                CompletableFuture.supplyAsync(() -> checkOCSP(certificateToken, issuerToken), executor) :
+                CompletableFuture.completedFuture(null);
+        final CompletableFuture<RevocationToken<?>> crlFuture = crlSource != null ?
+                CompletableFuture.supplyAsync(() -> checkCRL(certificateToken, issuerToken), executor) :
+                CompletableFuture.completedFuture(null);
+
+        switch (racePolicy) {
+            case PREFER_OCSP:
+                return select(certificateToken, ocspFuture, crlFuture, true);
+            case PREFER_CRL:
+                return select(certificateToken, crlFuture, ocspFuture, true);
+            case FIRST_ACCEPTABLE:
+                return select(certificateToken, ocspFuture, crlFuture, false);
+            default:
+                throw new UnsupportedOperationException(String.format("The RevocationDataRacePolicy '%s' is not supported!", racePolicy));
+        }
+    }
+
+    /**
+     * Completes the returned future with the preferred token when acceptable, or the alternative one when acceptable.
+     * When {@code waitForPreferred} is not set, the first obtained acceptable token is returned.
+     */
+    private CompletableFuture<RevocationToken<?>> select(final CertificateToken certificateToken,
+                                                         final CompletableFuture<RevocationToken<?>> preferred,
+                                                         final CompletableFuture<RevocationToken<?>> alternative,
+                                                         final boolean waitForPreferred) {
+        final CompletableFuture<RevocationToken<?>> result = new CompletableFuture<>();
+
+        final CompletableFuture<Boolean> preferredAccepted = preferred.thenApply(this::isAccepted);
+        final CompletableFuture<Boolean> alternativeAccepted = alternative.thenApply(this::isAccepted);
+
+        preferredAccepted.whenComplete((accepted, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else if (accepted) {
+                result.complete(preferred.join());
+            }
+        });
+
+        final CompletableFuture<Boolean> alternativeSelected = waitForPreferred ?
+                alternativeAccepted.thenCombine(preferredAccepted, (a, p) -> a && !p) : alternativeAccepted;
+        alternativeSelected.whenComplete((selected, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else if (selected) {
+                result.complete(alternative.join());
+            }
+        });
+
+        preferredAccepted.thenAcceptBoth(alternativeAccepted, (p, a) -> {
+            if (!p && !a) {
+                result.complete(getFallbackToken(certificateToken, preferred.join(), alternative.join()));
+            }
+        });
+
+        return result;
+    }
+
+    private boolean isAccepted(RevocationToken<?> revocationToken) {
+        return revocationToken != null && isAcceptableToken(revocationToken);
+    }
+
+    private RevocationToken<?> getFallbackToken(CertificateToken certificateToken, RevocationToken<?> preferred,
+                                                RevocationToken<?> alternative) {
+        if (preferred == null && alternative == null && LOG.isDebugEnabled()) {
+            LOG.debug("There is no response for {} neither from OCSP nor from CRL!", certificateToken.getDSSIdAsString());
+        }
+        if (fallbackEnabled) {
+            // return first successful result
+            return preferred != null ? preferred : alternative;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * This class initializes a {@code AsynchronousRevocationDataLoadingStrategy}.
+ * NOTE: the provided {@code Executor} is not shut down by the validation process.
+ *
+ */
+public class AsynchronousRevocationDataLoadingStrategyFactory implements RevocationDataLoadingStrategyFactory {
+
+    /**
+     * Executes the revocation requests
+     */
+    private final Executor executor;
+
+    /**
+     * Defines the way the OCSP and CRL responses are selected
+     */
+    private RevocationDataRacePolicy racePolicy = RevocationDataRacePolicy.PREFER_OCSP;
+
+    /**
+     * Default constructor
+     *
+     * @param executor {@link Executor} to execute the revocation requests with
+     */
+    public AsynchronousRevocationDataLoadingStrategyFactory(final Executor executor) {
+        Objects.requireNonNull(executor, "Executor shall be defined!");
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the policy defining how the concurrently obtained OCSP and CRL responses are selected
+     * Default : {@code RevocationDataRacePolicy.PREFER_OCSP} (the same result as for {@code OCSPFirstRevocationDataLoadingStrategy})
+     *
+     * @param racePolicy {@link RevocationDataRacePolicy}
+     */
+    public void setRacePolicy(RevocationDataRacePolicy racePolicy) {
+        Objects.requireNonNull(racePolicy, "RevocationDataRacePolicy shall be defined!");
+        this.racePolicy = racePolicy;
+    }
+
+    @Override
+    public RevocationDataLoadingStrategy create() {
+        return new AsynchronousRevocationDataLoadingStrategy(executor, racePolicy);
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+
+/**
+ * This interface allows to share the results of a certificate's issuer discovery between different validations.
+ * The cached entries contain the issuer found for a certificate together with the certificates
+ * retrieved from the AIA, when applicable, and are used to avoid repeating the candidate verification
+ * and AIA download for the certificates already processed.
+ * <p>
+ * The entries are identified by the certificate's digest and the {@code TrustedSourcesVersion} of the used
+ * trusted certificate sources, in order to ignore the entries obtained with different trusted sources or content.
+ * <p>
+ * NOTE: the implementation shall be thread-safe, as the same instance may be used by concurrent validations.
+ *
+ */
+public interface CertificateChainCache {
+
+	/**
+	 * Returns a cached issuer entry for the given {@code certificateToken}, when available
+	 *
+	 * @param certificateToken {@link CertificateToken} to get issuer for
+	 * @param trustedSourcesVersion {@link TrustedSourcesVersion} of the trusted certificate sources used by the validation
+	 * @return {@link CertificateIssuerEntry} if a valid entry is found, NULL otherwise
+	 */
+	CertificateIssuerEntry get(CertificateToken certificateToken, TrustedSourcesVersion trustedSourcesVersion);
+
+	/**
+	 * Stores the issuer entry for the given {@code certificateToken}
+	 *
+	 * @param certificateToken {@link CertificateToken} the issuer has been found for
+	 * @param trustedSourcesVersion {@link TrustedSourcesVersion} of the trusted certificate sources used by the validation
+	 * @param issuerEntry {@link CertificateIssuerEntry} to be cached
+	 */
+	void put(CertificateToken certificateToken, TrustedSourcesVersion trustedSourcesVersion, CertificateIssuerEntry issuerEntry);
+
+	/**
+	 * Removes all the cached entries
+	 */
+	void clear();
+
+}
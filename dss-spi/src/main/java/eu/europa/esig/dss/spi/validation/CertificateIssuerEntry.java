@@ -0,0 +1,92 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Contains the result of an issuer discovery of a certificate, to be stored within a {@code CertificateChainCache}
+ *
+ */
+public class CertificateIssuerEntry {
+
+	/** The issuer certificate */
+	private final CertificateToken issuer;
+
+	/** The certificates retrieved from the AIA of the child certificate (empty if the AIA has not been used) */
+	private final List<CertificateToken> aiaCertificates;
+
+	/**
+	 * Constructor for an issuer obtained from the provided certificate sources
+	 *
+	 * @param issuer {@link CertificateToken}
+	 */
+	public CertificateIssuerEntry(final CertificateToken issuer) {
+		this(issuer, Collections.emptyList());
+	}
+
+	/**
+	 * Constructor for an issuer obtained with the AIA
+	 *
+	 * @param issuer {@link CertificateToken}
+	 * @param aiaCertificates a collection of {@link CertificateToken}s downloaded from the AIA
+	 */
+	public CertificateIssuerEntry(final CertificateToken issuer, final Collection<CertificateToken> aiaCertificates) {
+		Objects.requireNonNull(issuer, "Issuer cannot be null!");
+		Objects.requireNonNull(aiaCertificates, "AIA certificates cannot be null!");
+		this.issuer = issuer;
+		this.aiaCertificates = Collections.unmodifiableList(new ArrayList<>(aiaCertificates));
+	}
+
+	/**
+	 * Gets the issuer certificate
+	 *
+	 * @return {@link CertificateToken}
+	 */
+	public CertificateToken getIssuer() {
+		return issuer;
+	}
+
+	/**
+	 * Gets the certificates downloaded from the AIA of the child certificate
+	 *
+	 * @return an unmodifiable list of {@link CertificateToken}s
+	 */
+	public List<CertificateToken> getAIACertificates() {
+		return aiaCertificates;
+	}
+
+	/**
+	 * Returns whether the issuer has been retrieved from the AIA
+	 *
+	 * @return TRUE if the issuer has been downloaded with the AIA, FALSE otherwise
+	 */
+	public boolean isRetrievedFromAIA() {
+		return !aiaCertificates.isEmpty();
+	}
+
+}
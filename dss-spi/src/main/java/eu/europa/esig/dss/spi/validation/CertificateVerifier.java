@@ -31,6 +31,8 @@ import eu.europa.esig.dss.spi.x509.ListCertificateSource;
 import eu.europa.esig.dss.spi.x509.aia.AIASource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * Provides information on the sources to be used in the validation process in
  * the context of a signature.
@@ -81,6 +83,8 @@ public interface CertificateVerifier {
 	 * Creates a strategy used to fetch OCSP or CRL for certificate validation.
 	 * Default: {@code OCSPFirstRevocationDataLoadingStrategyFactory} used to create a strategy
 	 * 					 to extract OCSP token first and CRL after
+	 * Use {@code AsynchronousRevocationDataLoadingStrategyFactory} to request OCSP and CRL concurrently,
+	 * for all certificates of the validated chains.
 	 *
 	 * @param revocationDataLoadingStrategyFactory
 	 *                   {@link RevocationDataLoadingStrategyFactory}
@@ -231,6 +235,42 @@ public interface CertificateVerifier {
 	 */
 	void setAIASource(final AIASource aiaSource);
 
+	/**
+	 * Gets the CertificateChainCache used to share the issuers found for certificates between different validations
+	 *
+	 * @return {@link CertificateChainCache}, NULL if the cache is not used
+	 */
+	CertificateChainCache getCertificateChainCache();
+
+	/**
+	 * Sets the CertificateChainCache used to share the issuers found for certificates between different validations.
+	 * When defined, the issuers found on a previous validation are re-used, avoiding a repeated issuer candidates'
+	 * verification and AIA download.
+	 * Default : NULL (the issuers are not shared between validations)
+	 *
+	 * @param certificateChainCache {@link CertificateChainCache}
+	 */
+	void setCertificateChainCache(final CertificateChainCache certificateChainCache);
+
+	/**
+	 * Gets the ExecutorService used to verify the issuer candidates of a token concurrently
+	 *
+	 * @return {@link ExecutorService}, NULL if the candidates are verified sequentially
+	 */
+	ExecutorService getIssuerCandidatesExecutorService();
+
+	/**
+	 * Sets the ExecutorService used to verify the issuer candidates of a certificate concurrently.
+	 * When defined and several issuer candidates are found (e.g. cross-certified CAs), their signatures are verified
+	 * in parallel, and the verification is stopped on the first candidate signing the certificate.
+	 * The selected issuer remains the same as for the sequential verification.
+	 * NOTE: the ExecutorService is not shut down by the validation process.
+	 * Default : NULL (the issuer candidates are verified sequentially)
+	 *
+	 * @param issuerCandidatesExecutorService {@link ExecutorService}
+	 */
+	void setIssuerCandidatesExecutorService(final ExecutorService issuerCandidatesExecutorService);
+
 	/**
 	 * This method allows to change the Digest Algorithm that will be used for tokens' digest calculation
 	 * Default : {@code DigestAlgorithm.SHA256}
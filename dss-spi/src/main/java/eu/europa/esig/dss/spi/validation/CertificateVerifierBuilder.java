@@ -49,6 +49,8 @@ public class CertificateVerifierBuilder {
 		if (certificateVerifier != null) {
 			copy.setDefaultDigestAlgorithm(certificateVerifier.getDefaultDigestAlgorithm());
 			copy.setAIASource(certificateVerifier.getAIASource());
+			copy.setCertificateChainCache(certificateVerifier.getCertificateChainCache());
+			copy.setIssuerCandidatesExecutorService(certificateVerifier.getIssuerCandidatesExecutorService());
 			copy.setCrlSource(certificateVerifier.getCrlSource());
 			copy.setOcspSource(certificateVerifier.getOcspSource());
 			copy.setRevocationDataLoadingStrategyFactory(certificateVerifier.getRevocationDataLoadingStrategyFactory());
@@ -85,6 +87,7 @@ public class CertificateVerifierBuilder {
 		CertificateVerifier offlineCertificateVerifier = new CommonCertificateVerifier(true);
 		if (certificateVerifier != null) {
 			offlineCertificateVerifier.setDefaultDigestAlgorithm(certificateVerifier.getDefaultDigestAlgorithm());
+			offlineCertificateVerifier.setIssuerCandidatesExecutorService(certificateVerifier.getIssuerCandidatesExecutorService());
 			offlineCertificateVerifier.setAdjunctCertSources(certificateVerifier.getAdjunctCertSources());
 			offlineCertificateVerifier.setTrustedCertSources(certificateVerifier.getTrustedCertSources());
 			offlineCertificateVerifier.setRevocationDataVerifier(certificateVerifier.getRevocationDataVerifier());
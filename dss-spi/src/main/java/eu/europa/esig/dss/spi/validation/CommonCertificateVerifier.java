@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This class provides the different sources used to verify the status of a certificate using the trust model. There are
@@ -102,6 +103,16 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 	 */
 	private AIASource aiaSource;
 
+	/**
+	 * The cache used to share the issuers found for certificates between different validations
+	 */
+	private CertificateChainCache certificateChainCache;
+
+	/**
+	 * Used to verify the issuer candidates of a certificate concurrently
+	 */
+	private ExecutorService issuerCandidatesExecutorService;
+
 	/**
 	 * This variable set the default Digest Algorithm what will be used for calculation
 	 * of digests for validation tokens and signed data
@@ -382,6 +393,26 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 		this.aiaSource = aiaSource;
 	}
 
+	@Override
+	public CertificateChainCache getCertificateChainCache() {
+		return certificateChainCache;
+	}
+
+	@Override
+	public void setCertificateChainCache(final CertificateChainCache certificateChainCache) {
+		this.certificateChainCache = certificateChainCache;
+	}
+
+	@Override
+	public ExecutorService getIssuerCandidatesExecutorService() {
+		return issuerCandidatesExecutorService;
+	}
+
+	@Override
+	public void setIssuerCandidatesExecutorService(final ExecutorService issuerCandidatesExecutorService) {
+		this.issuerCandidatesExecutorService = issuerCandidatesExecutorService;
+	}
+
 	@Override
 	public StatusAlert getAlertOnInvalidSignature() {
 		return alertOnInvalidSignature;
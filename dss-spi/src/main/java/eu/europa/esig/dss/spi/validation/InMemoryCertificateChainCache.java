@@ -0,0 +1,196 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The default in-memory implementation of {@code CertificateChainCache}.
+ * <p>
+ * The number of stored entries is bounded, with the least recently used entries being evicted first.
+ * The entries older than the defined expiration time are ignored and removed on access.
+ *
+ */
+public class InMemoryCertificateChainCache implements CertificateChainCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(InMemoryCertificateChainCache.class);
+
+	/** The default maximum number of cached entries */
+	private static final int DEFAULT_MAX_SIZE = 1000;
+
+	/** The default expiration time of an entry (1 hour) */
+	private static final long DEFAULT_EXPIRATION_TIME = 60 * 60 * 1000L;
+
+	/** The maximum number of cached entries */
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	/** The expiration time of an entry in milliseconds (negative value means no expiration) */
+	private long expirationTime = DEFAULT_EXPIRATION_TIME;
+
+	/** The cached entries, ordered by the access order */
+	private final Map<EntryKey, TimedEntry> cache = new LinkedHashMap<EntryKey, TimedEntry>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = -5106932578398434613L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<EntryKey, TimedEntry> eldest) {
+			return size() > maxSize;
+		}
+
+	};
+
+	/**
+	 * Default constructor instantiating a cache with default parameters
+	 */
+	public InMemoryCertificateChainCache() {
+		// empty
+	}
+
+	/**
+	 * Sets the maximum number of cached entries. When the limit is reached, the least recently used entry is evicted.
+	 * Default : 1000
+	 *
+	 * @param maxSize the maximum number of entries
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximum size of the cache shall be a positive number!");
+		}
+		synchronized (cache) {
+			this.maxSize = maxSize;
+		}
+	}
+
+	/**
+	 * Sets the expiration time of an entry in milliseconds. A negative value means the entries never expire.
+	 * Default : 3600000 (1 hour)
+	 *
+	 * @param expirationTimeInMilliseconds value in milliseconds
+	 */
+	public void setExpirationTime(long expirationTimeInMilliseconds) {
+		this.expirationTime = expirationTimeInMilliseconds;
+	}
+
+	@Override
+	public CertificateIssuerEntry get(CertificateToken certificateToken, TrustedSourcesVersion trustedSourcesVersion) {
+		final EntryKey key = new EntryKey(certificateToken.getDSSIdAsString(), trustedSourcesVersion);
+		synchronized (cache) {
+			final TimedEntry timedEntry = cache.get(key);
+			if (timedEntry == null) {
+				return null;
+			}
+			if (isExpired(timedEntry)) {
+				LOG.debug("The cached issuer entry for certificate '{}' is expired.", key.tokenId);
+				cache.remove(key);
+				return null;
+			}
+			return timedEntry.issuerEntry;
+		}
+	}
+
+	@Override
+	public void put(CertificateToken certificateToken, TrustedSourcesVersion trustedSourcesVersion, CertificateIssuerEntry issuerEntry) {
+		Objects.requireNonNull(trustedSourcesVersion, "TrustedSourcesVersion cannot be null!");
+		Objects.requireNonNull(issuerEntry, "CertificateIssuerEntry cannot be null!");
+		final EntryKey key = new EntryKey(certificateToken.getDSSIdAsString(), trustedSourcesVersion);
+		synchronized (cache) {
+			cache.put(key, new TimedEntry(issuerEntry, System.currentTimeMillis()));
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Returns the current number of cached entries (including the expired entries not yet removed)
+	 *
+	 * @return number of entries
+	 */
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	private boolean isExpired(TimedEntry timedEntry) {
+		return expirationTime >= 0 && System.currentTimeMillis() - timedEntry.creationTime >= expirationTime;
+	}
+
+	/**
+	 * Identifies a cached entry by the certificate and the trusted sources version
+	 */
+	private static final class EntryKey {
+
+		/** The certificate identifier (based on the digest of the certificate) */
+		private final String tokenId;
+
+		/** The version of the trusted certificate sources */
+		private final TrustedSourcesVersion trustedSourcesVersion;
+
+		EntryKey(String tokenId, TrustedSourcesVersion trustedSourcesVersion) {
+			this.tokenId = tokenId;
+			this.trustedSourcesVersion = trustedSourcesVersion;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof EntryKey)) return false;
+			EntryKey entryKey = (EntryKey) o;
+			return tokenId.equals(entryKey.tokenId) && Objects.equals(trustedSourcesVersion, entryKey.trustedSourcesVersion);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * tokenId.hashCode() + Objects.hashCode(trustedSourcesVersion);
+		}
+
+	}
+
+	/**
+	 * Contains a cached entry with its creation time
+	 */
+	private static final class TimedEntry {
+
+		/** The cached entry */
+		private final CertificateIssuerEntry issuerEntry;
+
+		/** The creation time of the entry */
+		private final long creationTime;
+
+		TimedEntry(CertificateIssuerEntry issuerEntry, long creationTime) {
+			this.issuerEntry = issuerEntry;
+			this.creationTime = creationTime;
+		}
+
+	}
+
+}
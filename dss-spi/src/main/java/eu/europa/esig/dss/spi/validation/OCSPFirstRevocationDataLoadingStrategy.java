@@ -21,10 +21,14 @@
 package eu.europa.esig.dss.spi.validation;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * This class fetches firstly OCSP token response, if not available, tries CRL and returns the first succeeded result
  *
@@ -63,4 +67,22 @@ public class OCSPFirstRevocationDataLoadingStrategy extends RevocationDataLoadin
         return null;
     }
 
+    /**
+     * Requests the OCSP tokens for several certificates at once.
+     * The certificates without an acceptable OCSP token are processed individually (with a CRL fallback).
+     *
+     * @param certificatesAndIssuers a map between {@code CertificateToken}s to be requested and their issuers
+     * @return a map between {@link CertificateToken}s and the obtained acceptable {@link RevocationToken}s
+     */
+    @Override
+    public Map<CertificateToken, RevocationToken<?>> getRevocationTokens(Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+        final Map<CertificateToken, RevocationToken<?>> result = new LinkedHashMap<>();
+        for (Map.Entry<CertificateToken, RevocationToken<OCSP>> entry : checkOCSP(certificatesAndIssuers).entrySet()) {
+            if (entry.getValue() != null && isAcceptableToken(entry.getValue())) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
 }
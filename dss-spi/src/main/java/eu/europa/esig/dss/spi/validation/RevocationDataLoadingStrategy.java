@@ -26,9 +26,14 @@ import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * This class allows retrieving of Revocation data from CRL or OCSP sources, based on the defined strategy
  *
@@ -123,6 +128,22 @@ public abstract class RevocationDataLoadingStrategy {
 	public abstract RevocationToken getRevocationToken(CertificateToken certificateToken,
 														  CertificateToken issuerCertificateToken);
 
+	/**
+	 * This method retrieves {@code RevocationToken}s for several certificates at once, when supported by the strategy.
+	 * Used to obtain the revocation data for certificates issued by the same CA within a single request.
+	 *
+	 * NOTE: returns only acceptable tokens! The certificates not present within the returned map
+	 *       shall be processed individually with {@code #getRevocationToken}.
+	 *
+	 * Default : empty map (each certificate is processed individually)
+	 *
+	 * @param certificatesAndIssuers a map between {@code CertificateToken}s to be requested and their issuers
+	 * @return a map between {@link CertificateToken}s and the obtained {@link RevocationToken}s
+	 */
+	public Map<CertificateToken, RevocationToken<?>> getRevocationTokens(Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+		return Collections.emptyMap();
+	}
+
 	/**
 	 * Retrieves and verifies the obtained CRL token
 	 *
@@ -203,6 +224,35 @@ public abstract class RevocationDataLoadingStrategy {
 		return null;
 	}
 
+	/**
+	 * Retrieves the OCSP tokens for several certificates at once, when the OCSP source supports it
+	 * (see {@code OCSPSource#getRevocationTokens})
+	 *
+	 * @param certificatesAndIssuers a map between {@code CertificateToken}s to be requested and their issuers
+	 * @return a map between {@link CertificateToken}s and the obtained {@link RevocationToken}s
+	 */
+	protected Map<CertificateToken, RevocationToken<OCSP>> checkOCSP(final Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+		if (!(ocspSource instanceof OCSPSource)) {
+			LOG.debug("OCSPSource does not support a request for several certificates");
+			return Collections.emptyMap();
+		}
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("OCSP request for {} certificates using: {}", certificatesAndIssuers.size(), ocspSource.getClass().getSimpleName());
+		}
+		try {
+			return new LinkedHashMap<>(((OCSPSource) ocspSource).getRevocationTokens(certificatesAndIssuers));
+		} catch (DSSException e) {
+			String errorMessage = "OCSP DSS Exception: {}";
+			if (LOG.isDebugEnabled()) {
+				LOG.warn(errorMessage, e.getMessage(), e);
+			} else {
+				LOG.warn(errorMessage, e.getMessage());
+			}
+		}
+		return Collections.emptyMap();
+	}
+
 	/**
 	 * This method verifies whether the obtained revocation token is acceptable
 	 *
@@ -0,0 +1,49 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+/**
+ * Defines how the OCSP and CRL requests, executed concurrently by
+ * {@code AsynchronousRevocationDataLoadingStrategy}, are raced against each other
+ *
+ */
+public enum RevocationDataRacePolicy {
+
+    /**
+     * Returns the OCSP response when acceptable, otherwise the CRL.
+     * The CRL is downloaded concurrently, but is used only when the OCSP response is not acceptable.
+     * Returns the same result as {@code OCSPFirstRevocationDataLoadingStrategy}.
+     */
+    PREFER_OCSP,
+
+    /**
+     * Returns the CRL when acceptable, otherwise the OCSP response.
+     * The OCSP request is executed concurrently, but its result is used only when the CRL is not acceptable.
+     * Returns the same result as {@code CRLFirstRevocationDataLoadingStrategy}.
+     */
+    PREFER_CRL,
+
+    /**
+     * Returns the first acceptable revocation data obtained, either OCSP or CRL
+     */
+    FIRST_ACCEPTABLE
+
+}
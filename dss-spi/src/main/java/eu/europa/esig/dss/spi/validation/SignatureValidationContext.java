@@ -29,6 +29,7 @@ import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.signature.AdvancedSignature;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.spi.validation.status.RevocationFreshnessStatus;
 import eu.europa.esig.dss.spi.validation.status.SignatureStatus;
 import eu.europa.esig.dss.spi.validation.status.TokenStatus;
@@ -65,6 +66,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -72,6 +74,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * During the validation of a signature, the software retrieves different X509 artifacts like Certificate, CRL and OCSP
@@ -149,6 +154,12 @@ public class SignatureValidationContext implements ValidationContext {
 	/** Used to access certificate by AIA */
 	private AIASource aiaSource;
 
+	/** Used to share the issuers found for certificates between different validations */
+	private CertificateChainCache certificateChainCache;
+
+	/** Used to verify the issuer candidates concurrently (optional) */
+	private ExecutorService issuerCandidatesExecutorService;
+
 	/** External OCSP source */
 	private RevocationSource<OCSP> remoteOCSPSource;
 
@@ -158,6 +169,9 @@ public class SignatureValidationContext implements ValidationContext {
 	/** Used to build a strategy deciding how to retrieve a revocation data (e.g. CRL or OCSP) */
 	private RevocationDataLoadingStrategyFactory revocationDataLoadingStrategyFactory;
 
+	/** The online revocation requests executed asynchronously, which are not yet processed */
+	private final List<PendingRevocationRequest> pendingRevocationRequests = new ArrayList<>();
+
 	/** This class is used to verify the validity (i.e. consistency) of a revocation data */
 	private RevocationDataVerifier revocationDataVerifier;
 
@@ -167,12 +181,21 @@ public class SignatureValidationContext implements ValidationContext {
 	/** This class is used to verify validity of a {@code TimestampToken} */
 	private TimestampTokenVerifier timestampTokenVerifier;
 
-	/** External trusted certificate sources */
+	/**
+	 * External trusted certificate sources.
+	 * NOTE: the {@code TrustedListsCertificateSource}s are replaced by their snapshot views taken at the initialization.
+	 */
 	private ListCertificateSource trustedCertSources;
 
 	/** External adjunct certificate sources */
 	private ListCertificateSource adjunctCertSources;
 
+	/** Versions of snapshots of the trusted lists certificate sources, used during the whole validation */
+	private final Map<TrustedListsCertificateSource, Long> trustedListsSnapshotVersions = new LinkedHashMap<>();
+
+	/** Version of the trusted certificate sources, as observed at the initialization */
+	private TrustedSourcesVersion trustedSourcesVersion;
+
 	/**
 	 * This variable set the behavior to follow for revocation retrieving in case of
 	 * untrusted certificate chains.
@@ -221,14 +244,64 @@ public class SignatureValidationContext implements ValidationContext {
 		this.remoteCRLSource = certificateVerifier.getCrlSource();
 		this.remoteOCSPSource = certificateVerifier.getOcspSource();
 		this.aiaSource = certificateVerifier.getAIASource();
+		this.certificateChainCache = certificateVerifier.getCertificateChainCache();
+		this.issuerCandidatesExecutorService = certificateVerifier.getIssuerCandidatesExecutorService();
 		this.adjunctCertSources = certificateVerifier.getAdjunctCertSources();
-		this.trustedCertSources = certificateVerifier.getTrustedCertSources();
+		this.trustedCertSources = getTrustedCertSourcesSnapshot(certificateVerifier.getTrustedCertSources());
 		this.checkRevocationForUntrustedChains = certificateVerifier.isCheckRevocationForUntrustedChains();
 		this.extractPOEFromUntrustedChains = certificateVerifier.isExtractPOEFromUntrustedChains();
 		this.revocationDataLoadingStrategyFactory = certificateVerifier.getRevocationDataLoadingStrategyFactory();
 		this.revocationDataVerifier = certificateVerifier.getRevocationDataVerifier();
 		this.revocationFallback = certificateVerifier.isRevocationFallback();
 		this.timestampTokenVerifier = certificateVerifier.getTimestampTokenVerifier();
+		initTrustedListsSnapshotVersions();
+		this.trustedSourcesVersion = TrustedSourcesVersion.of(trustedCertSources);
+	}
+
+	/**
+	 * Captures the snapshots of the {@code TrustedListsCertificateSource}s once, so all the trust anchor lookups
+	 * of the validation use the same content, even when a Trusted Lists synchronization happens in the meantime
+	 *
+	 * @param certificateSources {@link ListCertificateSource} trusted certificate sources of the certificate verifier
+	 * @return {@link ListCertificateSource} to be used by the validation
+	 */
+	private ListCertificateSource getTrustedCertSourcesSnapshot(ListCertificateSource certificateSources) {
+		if (certificateSources == null) {
+			return null;
+		}
+		final ListCertificateSource result = new ListCertificateSource();
+		for (CertificateSource certificateSource : certificateSources.getSources()) {
+			if (certificateSource instanceof TrustedListsCertificateSource) {
+				result.add(((TrustedListsCertificateSource) certificateSource).getSnapshotView());
+			} else {
+				result.add(certificateSource);
+			}
+		}
+		return result;
+	}
+
+	private void initTrustedListsSnapshotVersions() {
+		trustedListsSnapshotVersions.clear();
+		if (trustedCertSources == null) {
+			return;
+		}
+		for (CertificateSource certificateSource : trustedCertSources.getSources()) {
+			if (certificateSource instanceof TrustedListsCertificateSource) {
+				TrustedListsCertificateSource tlCertificateSource = (TrustedListsCertificateSource) certificateSource;
+				trustedListsSnapshotVersions.put(tlCertificateSource.getOrigin(), tlCertificateSource.getSnapshotVersion());
+				LOG.debug("TrustedListsCertificateSource snapshot version '{}' is used", tlCertificateSource.getSnapshotVersion());
+			}
+		}
+	}
+
+	/**
+	 * Returns versions of snapshots of the used {@code TrustedListsCertificateSource}s,
+	 * captured at the initialization of the validation context and used for all its trust anchor lookups
+	 *
+	 * @return unmodifiable map between {@link TrustedListsCertificateSource}s and their snapshot versions
+	 */
+	public Map<TrustedListsCertificateSource, Long> getTrustedListsSnapshotVersions() {
+		return Collections.unmodifiableMap(trustedListsSnapshotVersions);
 	}
 
 	/**
@@ -240,9 +313,11 @@ public class SignatureValidationContext implements ValidationContext {
 	private RevocationDataVerifier getRevocationDataVerifier() {
 		if (revocationDataVerifier == null) {
 			revocationDataVerifier = RevocationDataVerifier.createDefaultRevocationDataVerifier();
+			revocationDataVerifier.setTrustedCertificateSource(trustedCertSources);
 		}
 		if (revocationDataVerifier.getTrustedCertificateSource() == null) {
-			revocationDataVerifier.setTrustedCertificateSource(trustedCertSources);
+			// the verifier is shared between validations, and shall not be bound to the snapshots of this one
+			revocationDataVerifier.setTrustedCertificateSource(certificateVerifier.getTrustedCertSources());
 		}
 		return revocationDataVerifier;
 	}
@@ -251,9 +326,11 @@ public class SignatureValidationContext implements ValidationContext {
 		if (timestampTokenVerifier == null) {
 			timestampTokenVerifier = TimestampTokenVerifier.createDefaultTimestampTokenVerifier();
 			timestampTokenVerifier.setAcceptUntrustedCertificateChains(extractPOEFromUntrustedChains);
+			timestampTokenVerifier.setTrustedCertificateSource(trustedCertSources);
 		}
 		if (timestampTokenVerifier.getTrustedCertificateSource() == null) {
-			timestampTokenVerifier.setTrustedCertificateSource(trustedCertSources);
+			// the verifier is shared between validations, and shall not be bound to the snapshots of this one
+			timestampTokenVerifier.setTrustedCertificateSource(certificateVerifier.getTrustedCertSources());
 		}
 		return timestampTokenVerifier;
 	}
@@ -493,6 +570,16 @@ public class SignatureValidationContext implements ValidationContext {
 			return issuerCertificateToken;
 		}
 
+		// Re-use the issuer found by a previous validation
+		if (isCertificateChainCacheUsed() && token instanceof CertificateToken && !tokenIssuerMap.containsKey(token)) {
+			issuerCertificateToken = getIssuerFromChainCache((CertificateToken) token);
+			if (issuerCertificateToken != null) {
+				addCertificateTokenForVerification(issuerCertificateToken);
+				addToCacheMap(token, issuerCertificateToken);
+				return issuerCertificateToken;
+			}
+		}
+
 		// Find issuer candidates from a particular certificate source
 		Set<CertificateToken> candidates = Collections.emptySet();
 
@@ -525,14 +612,21 @@ public class SignatureValidationContext implements ValidationContext {
 			candidates = processedCertificates;
 		}
 
-		issuerCertificateToken = new TokenIssuerSelector(token, candidates).getIssuer();
+		issuerCertificateToken = new TokenIssuerSelector(token, candidates, issuerCandidatesExecutorService).getIssuer();
 
 		// Request AIA only when no issuer has been found yet
+		List<CertificateToken> aiaCertificates = Collections.emptyList();
 		if (issuerCertificateToken == null && aiaSource != null
 				&& token instanceof CertificateToken && !tokenIssuerMap.containsKey(token)) {
 			final AIACertificateSource aiaCertificateSource = new AIACertificateSource((CertificateToken) token, aiaSource);
 			issuerCertificateToken = aiaCertificateSource.getIssuerFromAIA();
 			addCertificateSource(aiaCertificateSources, aiaCertificateSource);
+			aiaCertificates = aiaCertificateSource.getCertificates();
+		}
+
+		if (issuerCertificateToken != null && isCertificateChainCacheUsed() && token instanceof CertificateToken) {
+			certificateChainCache.put((CertificateToken) token, trustedSourcesVersion,
+					new CertificateIssuerEntry(issuerCertificateToken, aiaCertificates));
 		}
 		
 		if (issuerCertificateToken == null && token instanceof OCSPToken) {
@@ -553,6 +647,64 @@ public class SignatureValidationContext implements ValidationContext {
 		return issuerCertificateToken;
 	}
 
+	/**
+	 * Returns the issuer of the {@code certificateToken} from the {@code CertificateChainCache}, when available.
+	 * The cached issuer is accepted only when present within the certificate sources of the current validation
+	 * (or re-obtained from the cached AIA certificates when an AIA source is defined),
+	 * and when it has been verified as the signer of the certificate.
+	 *
+	 * @param certificateToken {@link CertificateToken} to get issuer for
+	 * @return {@link CertificateToken} issuer if found, NULL otherwise
+	 */
+	private CertificateToken getIssuerFromChainCache(CertificateToken certificateToken) {
+		final CertificateIssuerEntry issuerEntry = certificateChainCache.get(certificateToken, trustedSourcesVersion);
+		if (issuerEntry == null) {
+			return null;
+		}
+
+		final CertificateToken issuerCertificateToken = issuerEntry.getIssuer();
+		if (issuerEntry.isRetrievedFromAIA()) {
+			if (aiaSource == null) {
+				LOG.debug("AIA source is not defined. The cached AIA issuer of certificate '{}' is skipped.",
+						certificateToken.getDSSIdAsString());
+				return null;
+			}
+		} else if (!getAllCertificateSources().isKnown(issuerCertificateToken)
+				&& !processedCertificates.contains(issuerCertificateToken)) {
+			LOG.debug("The cached issuer of certificate '{}' is not present within the validation. The entry is skipped.",
+					certificateToken.getDSSIdAsString());
+			return null;
+		}
+
+		// isSignedBy(...) is required in order to instantiate a public key of the signer
+		if (!certificateToken.isSignedBy(issuerCertificateToken)) {
+			LOG.warn("The cached issuer does not sign the certificate with Id : {}. The entry is skipped.",
+					certificateToken.getDSSIdAsString());
+			return null;
+		}
+
+		if (issuerEntry.isRetrievedFromAIA()) {
+			final AIACertificateSource aiaCertificateSource = new AIACertificateSource(certificateToken, aiaSource);
+			for (CertificateToken aiaCertificate : issuerEntry.getAIACertificates()) {
+				aiaCertificateSource.addCertificate(aiaCertificate);
+			}
+			addCertificateSource(aiaCertificateSources, aiaCertificateSource);
+		}
+		LOG.debug("The issuer of certificate '{}' has been obtained from the certificate chain cache.",
+				certificateToken.getDSSIdAsString());
+		return issuerCertificateToken;
+	}
+
+	/**
+	 * Checks whether the {@code CertificateChainCache} can be used, i.e. when the cache is defined
+	 * and the version of all the trusted certificate sources is known
+	 *
+	 * @return TRUE if the certificate chain cache is used, FALSE otherwise
+	 */
+	private boolean isCertificateChainCacheUsed() {
+		return certificateChainCache != null && trustedSourcesVersion != null;
+	}
+
 	private void addToCacheMap(Token token, CertificateToken issuerCertificateToken) {
 		tokenIssuerMap.put(token, issuerCertificateToken);
 
@@ -607,7 +759,7 @@ public class SignatureValidationContext implements ValidationContext {
 		if (token.getPublicKeyOfTheSigner() != null) {
 			return allCertificateSources.getByPublicKey(token.getPublicKeyOfTheSigner());
 		} else if (token.getIssuerX500Principal() != null) {
-			return allCertificateSources.getBySubject(new X500PrincipalHelper(token.getIssuerX500Principal()));
+			return allCertificateSources.getBySubject(getIssuerX500PrincipalHelper(token));
 		}
 		return Collections.emptySet();
 	}
@@ -616,11 +768,19 @@ public class SignatureValidationContext implements ValidationContext {
 		if (token.getPublicKeyOfTheSigner() != null) {
 			return certificateSource.getByPublicKey(token.getPublicKeyOfTheSigner());
 		} else if (token.getIssuerX500Principal() != null) {
-			return certificateSource.getBySubject(new X500PrincipalHelper(token.getIssuerX500Principal()));
+			return certificateSource.getBySubject(getIssuerX500PrincipalHelper(token));
 		}
 		return Collections.emptySet();
 	}
 
+	private X500PrincipalHelper getIssuerX500PrincipalHelper(Token token) {
+		if (token instanceof CertificateToken) {
+			// the helper and its canonical key are cached within the certificate token
+			return ((CertificateToken) token).getIssuer();
+		}
+		return new X500PrincipalHelper(token.getIssuerX500Principal());
+	}
+
 	private CertificateToken getOCSPIssuer(OCSPToken token, ListCertificateSource allCertificateSources) {
 		Set<CertificateRef> signingCertificateRefs = token.getCertificateSource().getAllCertificateRefs();
 		if (Utils.collectionSize(signingCertificateRefs) == 1) {
@@ -634,7 +794,7 @@ public class SignatureValidationContext implements ValidationContext {
 				if (responderId.getX500Principal() != null) {
 					issuerCandidates.addAll(allCertificateSources.getBySubject(new X500PrincipalHelper(responderId.getX500Principal())));
 				}
-				return new TokenIssuerSelector(token, issuerCandidates).getIssuer();
+				return new TokenIssuerSelector(token, issuerCandidates, issuerCandidatesExecutorService).getIssuer();
 			}
 
 		}
@@ -653,7 +813,7 @@ public class SignatureValidationContext implements ValidationContext {
 			} else {
 				issuerCandidates.add(timestampSigner);
 			}
-			return new TokenIssuerSelector(timestamp, issuerCandidates).getIssuer();
+			return new TokenIssuerSelector(timestamp, issuerCandidates, issuerCandidatesExecutorService).getIssuer();
 		}
 		return null;
 	}
@@ -863,6 +1023,11 @@ public class SignatureValidationContext implements ValidationContext {
 				getRevocationData((CertificateToken) token, certChain);
 			}
 			token = getNotYetVerifiedToken();
+			if (token == null && !pendingRevocationRequests.isEmpty()) {
+				// the obtained revocation data may bring new tokens for verification (e.g. OCSP responder certificates)
+				completePendingRevocationRequests();
+				token = getNotYetVerifiedToken();
+			}
 		}
 	}
 
@@ -908,6 +1073,10 @@ public class SignatureValidationContext implements ValidationContext {
 			addDocumentCertificateSource(revocationToken.getCertificateSource()); // applicable only for OCSP
 		}
 
+		// the pending requests for the other certificates of the issuer may provide revocation data
+		// for the current certificate (see #linkRevocationToOtherCertificates)
+		completePendingRevocationRequests(issuerToken);
+
 		// add processed revocation tokens
 		revocations.addAll(getRelatedRevocationTokens(certToken));
 
@@ -919,16 +1088,22 @@ public class SignatureValidationContext implements ValidationContext {
 				CertificateToken trustAnchor = (CertificateToken) getFirstTrustAnchor(certChain);
 
 				// Fetch OCSP or CRL from online sources
-				final RevocationToken<?> onlineRevocationToken = getRevocationToken(certToken, issuerToken, trustAnchor);
-
-				// Check if the obtained revocation is not yet present
-				if (onlineRevocationToken != null && !revocations.contains(onlineRevocationToken)) {
-					LOG.debug("Obtained a new revocation data : {}, for certificate : {}",
-							onlineRevocationToken.getDSSIdAsString(), certToken.getDSSIdAsString());
-					revocations.add(onlineRevocationToken);
-					addRevocationTokenForVerification(onlineRevocationToken);
-					linkRevocationToOtherCertificates(onlineRevocationToken, certToken, issuerToken);
+				final RevocationDataLoadingStrategy revocationDataLoadingStrategy =
+						getRevocationDataLoadingStrategy(trustAnchor);
+				if (revocationDataLoadingStrategy instanceof AsynchronousRevocationDataLoadingStrategy) {
+					// the request is completed on processing of another certificate of the same issuer
+					// or, at the latest, after processing of the other tokens
+					final CompletableFuture<RevocationToken<?>> onlineRevocationTokenFuture =
+							((AsynchronousRevocationDataLoadingStrategy) revocationDataLoadingStrategy)
+									.getRevocationTokenAsync(certToken, issuerToken);
+					pendingRevocationRequests.add(new PendingRevocationRequest(
+							certToken, issuerToken, revocations, onlineRevocationTokenFuture));
+					return revocations;
 				}
+
+				final RevocationToken<?> onlineRevocationToken =
+						getOnlineRevocationToken(revocationDataLoadingStrategy, certToken, issuerToken);
+				addOnlineRevocationToken(onlineRevocationToken, certToken, issuerToken, revocations);
 				
 			} else {
 				LOG.warn("External revocation check is skipped for untrusted certificate : {}", certToken.getDSSIdAsString());
@@ -942,6 +1117,133 @@ public class SignatureValidationContext implements ValidationContext {
 		return revocations;
 	}
 
+	/**
+	 * Retrieves the revocation data for {@code certToken} from the online sources. When other certificates issued
+	 * by {@code issuerToken} still need revocation data, they are requested at once with {@code certToken}
+	 * (see {@code RevocationDataLoadingStrategy#getRevocationTokens}) and the obtained tokens are kept
+	 * for the verification of these certificates.
+	 */
+	private RevocationToken<?> getOnlineRevocationToken(RevocationDataLoadingStrategy revocationDataLoadingStrategy,
+														CertificateToken certToken, CertificateToken issuerToken) {
+		final List<CertificateToken> siblingCertificates = getCertificatesWithoutRevocationData(issuerToken, certToken);
+		if (Utils.isCollectionNotEmpty(siblingCertificates)) {
+			final Map<CertificateToken, CertificateToken> certificatesAndIssuers = new LinkedHashMap<>();
+			certificatesAndIssuers.put(certToken, issuerToken);
+			for (CertificateToken siblingCertificate : siblingCertificates) {
+				certificatesAndIssuers.put(siblingCertificate, issuerToken);
+			}
+			final Map<CertificateToken, RevocationToken<?>> revocationTokens =
+					revocationDataLoadingStrategy.getRevocationTokens(certificatesAndIssuers);
+			for (CertificateToken siblingCertificate : siblingCertificates) {
+				final RevocationToken<?> revocationToken = revocationTokens.get(siblingCertificate);
+				if (revocationToken != null) {
+					// found on processing of the sibling certificate, see #getRelatedRevocationTokens
+					addRevocationTokenForVerification(revocationToken);
+				}
+			}
+			final RevocationToken<?> revocationToken = revocationTokens.get(certToken);
+			if (revocationToken != null) {
+				return revocationToken;
+			}
+		}
+		return revocationDataLoadingStrategy.getRevocationToken(certToken, issuerToken);
+	}
+
+	/**
+	 * Returns the not yet verified certificates issued by {@code issuerToken} (other than {@code certToken}),
+	 * which require revocation data and have none within the document or the already obtained revocation data
+	 */
+	private List<CertificateToken> getCertificatesWithoutRevocationData(CertificateToken issuerToken, CertificateToken certToken) {
+		final Set<CertificateToken> childrenCertificates = certificateChildrenMap.get(issuerToken);
+		if (Utils.isCollectionEmpty(childrenCertificates)) {
+			return Collections.emptyList();
+		}
+		final List<CertificateToken> result = new ArrayList<>();
+		for (CertificateToken childCertificate : childrenCertificates) {
+			if (!certToken.equals(childCertificate) && isNotYetVerified(childCertificate)
+					&& !isRevocationDataNotRequired(childCertificate)
+					&& Utils.isCollectionEmpty(documentCRLSource.getRevocationTokens(childCertificate, issuerToken))
+					&& Utils.isCollectionEmpty(documentOCSPSource.getRevocationTokens(childCertificate, issuerToken))
+					&& Utils.isCollectionEmpty(getRelatedRevocationTokens(childCertificate))) {
+				result.add(childCertificate);
+			}
+		}
+		return result;
+	}
+
+	private boolean isNotYetVerified(Token token) {
+		synchronized (tokensToProcess) {
+			return tokensToProcess.containsKey(token) && tokensToProcess.get(token) == null;
+		}
+	}
+
+	private void addOnlineRevocationToken(RevocationToken<?> onlineRevocationToken, CertificateToken certToken,
+										  CertificateToken issuerToken, Set<RevocationToken<?>> revocations) {
+		// Check if the obtained revocation is not yet present
+		if (onlineRevocationToken != null && !revocations.contains(onlineRevocationToken)) {
+			LOG.debug("Obtained a new revocation data : {}, for certificate : {}",
+					onlineRevocationToken.getDSSIdAsString(), certToken.getDSSIdAsString());
+			revocations.add(onlineRevocationToken);
+			addRevocationTokenForVerification(onlineRevocationToken);
+			linkRevocationToOtherCertificates(onlineRevocationToken, certToken, issuerToken);
+		}
+	}
+
+	/**
+	 * Waits for the asynchronous revocation requests and processes the obtained revocation data
+	 */
+	private void completePendingRevocationRequests() {
+		completePendingRevocationRequests(new ArrayList<>(pendingRevocationRequests));
+	}
+
+	/**
+	 * Waits for the asynchronous revocation requests for certificates issued by {@code issuerToken}
+	 * and processes the obtained revocation data
+	 *
+	 * @param issuerToken {@link CertificateToken} issuer of the certificates
+	 */
+	private void completePendingRevocationRequests(CertificateToken issuerToken) {
+		final List<PendingRevocationRequest> requests = new ArrayList<>();
+		for (PendingRevocationRequest request : pendingRevocationRequests) {
+			if (issuerToken.equals(request.issuerToken)) {
+				requests.add(request);
+			}
+		}
+		completePendingRevocationRequests(requests);
+	}
+
+	private void completePendingRevocationRequests(List<PendingRevocationRequest> requests) {
+		if (requests.isEmpty()) {
+			return;
+		}
+		pendingRevocationRequests.removeAll(requests);
+
+		// all the requests are awaited before an exception is thrown
+		RuntimeException exception = null;
+		for (PendingRevocationRequest request : requests) {
+			final RevocationToken<?> onlineRevocationToken;
+			try {
+				onlineRevocationToken = request.future.join();
+			} catch (RuntimeException e) {
+				final RuntimeException cause = e instanceof CompletionException && e.getCause() instanceof RuntimeException ?
+						(RuntimeException) e.getCause() : e;
+				if (exception == null) {
+					exception = cause;
+				} else if (exception != cause) {
+					exception.addSuppressed(cause);
+				}
+				continue;
+			}
+			addOnlineRevocationToken(onlineRevocationToken, request.certToken, request.issuerToken, request.revocations);
+			if (request.revocations.isEmpty()) {
+				LOG.warn("No revocation found for the certificate {}", request.certToken.getDSSIdAsString());
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
 	private <T extends Token> boolean containsTrustAnchor(List<T> certChain) {
 		return getFirstTrustAnchor(certChain) != null;
 	}
@@ -965,7 +1267,7 @@ public class SignatureValidationContext implements ValidationContext {
 			Set<CertificateToken> certificateTokens = certificateChildrenMap.get(issuerCertificateToken);
 			for (CertificateToken childCertificate : certificateTokens) {
 				if (certificateToken != childCertificate) {
-					CRLToken newCRLToken = new CRLToken(childCertificate, crlToken.getCrlValidity());
+					CRLToken newCRLToken = new CRLToken(childCertificate, crlToken.getCrlValidity(), crlToken.getDeltaCrlValidity());
 					newCRLToken.setExternalOrigin(crlToken.getExternalOrigin());
 					newCRLToken.setSourceURL(crlToken.getSourceURL());
 					addRevocationTokenForVerification(newCRLToken);
@@ -974,8 +1276,7 @@ public class SignatureValidationContext implements ValidationContext {
 		}
 	}
 
-	private RevocationToken<?> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificate,
-												  CertificateToken trustAnchor) {
+	private RevocationDataLoadingStrategy getRevocationDataLoadingStrategy(CertificateToken trustAnchor) {
 		// configure the CompositeRevocationSource
 		RevocationSource<OCSP> currentOCSPSource;
 		RevocationSource<CRL> currentCRLSource;
@@ -989,13 +1290,12 @@ public class SignatureValidationContext implements ValidationContext {
 			currentCRLSource = remoteCRLSource;
 		}
 
-		// fetch the data
 		final RevocationDataLoadingStrategy revocationDataLoadingStrategy = revocationDataLoadingStrategyFactory.create();
 		revocationDataLoadingStrategy.setCrlSource(currentCRLSource);
 		revocationDataLoadingStrategy.setOcspSource(currentOCSPSource);
 		revocationDataLoadingStrategy.setRevocationDataVerifier(getRevocationDataVerifier());
 		revocationDataLoadingStrategy.setFallbackEnabled(revocationFallback);
-		return revocationDataLoadingStrategy.getRevocationToken(certificateToken, issuerCertificate);
+		return revocationDataLoadingStrategy;
 	}
 
 	private RevocationSource<OCSP> instantiateOCSPWithTrustServices(CertificateToken trustAnchor) {
@@ -1624,4 +1924,40 @@ public class SignatureValidationContext implements ValidationContext {
 
 	}
 
+
+	/**
+	 * Contains an online revocation request executed asynchronously
+	 */
+	private static class PendingRevocationRequest {
+
+		/** The certificate the revocation data is requested for */
+		private final CertificateToken certToken;
+
+		/** The issuer of the certificate */
+		private final CertificateToken issuerToken;
+
+		/** The revocation data already found for the certificate */
+		private final Set<RevocationToken<?>> revocations;
+
+		/** The future of the online revocation token */
+		private final CompletableFuture<RevocationToken<?>> future;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param certToken {@link CertificateToken}
+		 * @param issuerToken {@link CertificateToken}
+		 * @param revocations a set of already found {@link RevocationToken}s
+		 * @param future {@link CompletableFuture} of the online {@link RevocationToken}
+		 */
+		private PendingRevocationRequest(CertificateToken certToken, CertificateToken issuerToken,
+										 Set<RevocationToken<?>> revocations, CompletableFuture<RevocationToken<?>> future) {
+			this.certToken = certToken;
+			this.issuerToken = issuerToken;
+			this.revocations = revocations;
+			this.future = future;
+		}
+
+	}
+
 }
@@ -0,0 +1,144 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.spi.x509.ListCertificateSource;
+import eu.europa.esig.dss.spi.x509.MappedTrustedCertificateSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Identifies the state of the trusted certificate sources used by a validation.
+ * The object contains an ordered list of the trusted certificate sources, identified by the instance,
+ * together with the version of their content. Two objects are equal only when they refer to the same
+ * source instances, in the same order, with the same content versions.
+ *
+ */
+public final class TrustedSourcesVersion {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TrustedSourcesVersion.class);
+
+	/** The versions of the trusted certificate sources */
+	private final List<SourceVersion> sourceVersions;
+
+	/**
+	 * The private constructor
+	 *
+	 * @param sourceVersions a list of {@link SourceVersion}s
+	 */
+	private TrustedSourcesVersion(List<SourceVersion> sourceVersions) {
+		this.sourceVersions = Collections.unmodifiableList(sourceVersions);
+	}
+
+	/**
+	 * Builds the version of the given trusted certificate sources.
+	 * Returns NULL when the content version of one of the sources cannot be determined
+	 * (i.e. the source is neither a {@code CommonCertificateSource} nor a {@code MappedTrustedCertificateSource}).
+	 *
+	 * @param trustedCertSources {@link ListCertificateSource} the trusted certificate sources
+	 * @return {@link TrustedSourcesVersion}, NULL if the version cannot be determined
+	 */
+	public static TrustedSourcesVersion of(ListCertificateSource trustedCertSources) {
+		final List<SourceVersion> sourceVersions = new ArrayList<>();
+		if (trustedCertSources != null) {
+			for (CertificateSource certificateSource : trustedCertSources.getSources()) {
+				if (certificateSource instanceof TrustedListsCertificateSource) {
+					// a snapshot view is identified by the certificate source it has been created from
+					TrustedListsCertificateSource tlCertificateSource = (TrustedListsCertificateSource) certificateSource;
+					sourceVersions.add(new SourceVersion(tlCertificateSource.getOrigin(), tlCertificateSource.getSnapshotVersion()));
+				} else if (certificateSource instanceof CommonCertificateSource) {
+					sourceVersions.add(new SourceVersion(certificateSource, ((CommonCertificateSource) certificateSource).getVersion()));
+				} else if (certificateSource instanceof MappedTrustedCertificateSource) {
+					// the content of the mapped store does not change
+					sourceVersions.add(new SourceVersion(certificateSource, 0));
+				} else {
+					LOG.debug("Unable to determine the version of the trusted certificate source of type '{}'.",
+							certificateSource.getClass().getSimpleName());
+					return null;
+				}
+			}
+		}
+		return new TrustedSourcesVersion(sourceVersions);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof TrustedSourcesVersion)) return false;
+		TrustedSourcesVersion that = (TrustedSourcesVersion) o;
+		return sourceVersions.equals(that.sourceVersions);
+	}
+
+	@Override
+	public int hashCode() {
+		return sourceVersions.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "TrustedSourcesVersion [" + sourceVersions + "]";
+	}
+
+	/**
+	 * Contains a trusted certificate source, compared by the instance, with the version of its content
+	 */
+	private static final class SourceVersion {
+
+		/** The trusted certificate source */
+		private final CertificateSource certificateSource;
+
+		/** The version of the source content */
+		private final long version;
+
+		SourceVersion(CertificateSource certificateSource, long version) {
+			this.certificateSource = certificateSource;
+			this.version = version;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof SourceVersion)) return false;
+			SourceVersion that = (SourceVersion) o;
+			return certificateSource == that.certificateSource && version == that.version;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(certificateSource) + Long.hashCode(version);
+		}
+
+		@Override
+		public String toString() {
+			return certificateSource.getClass().getSimpleName() + "@"
+					+ Integer.toHexString(System.identityHashCode(certificateSource)) + ":" + version;
+		}
+
+	}
+
+}
@@ -0,0 +1,156 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.identifier.EntityIdentifier;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A compact probabilistic membership filter (Bloom filter) over entity keys and certificate digests.
+ * It is used to quickly reject certificates not present within a large certificate source (e.g. trusted lists),
+ * before a lookup in the corresponding maps.
+ *
+ * A negative answer is definitive, while a positive answer shall be confirmed by the certificate source.
+ * The filter is not thread-safe for additions, and shall be completely built before being shared between threads.
+ *
+ */
+public class CertificateBloomFilter implements Serializable {
+
+	private static final long serialVersionUID = -4630316588003574402L;
+
+	/** Number of bits allocated per expected element (gives about 1% of false positives) */
+	private static final int BITS_PER_ELEMENT = 10;
+
+	/** Number of hash functions */
+	private static final int NUMBER_OF_HASH_FUNCTIONS = 5;
+
+	/** Minimal size of the bit set */
+	private static final int MIN_NUMBER_OF_BITS = 64;
+
+	/** The bit set */
+	private final long[] bits;
+
+	/** Mask used to get a bit index (the number of bits is a power of two) */
+	private final int mask;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param expectedNumberOfElements the expected number of entity keys and digests to be added
+	 */
+	public CertificateBloomFilter(int expectedNumberOfElements) {
+		if (expectedNumberOfElements < 0) {
+			throw new IllegalArgumentException("The expected number of elements cannot be negative!");
+		}
+		final long requiredBits = Math.max((long) expectedNumberOfElements * BITS_PER_ELEMENT, MIN_NUMBER_OF_BITS);
+		final int numberOfBits = (int) Math.min(Long.highestOneBit(requiredBits - 1) << 1, 1 << 30);
+		this.bits = new long[numberOfBits >>> 6];
+		this.mask = numberOfBits - 1;
+	}
+
+	/**
+	 * Adds an entity key (public key identifier) to the filter
+	 *
+	 * @param entityKey {@link EntityIdentifier}
+	 */
+	public void addEntityKey(EntityIdentifier entityKey) {
+		add(hash(entityKey));
+	}
+
+	/**
+	 * Adds a certificate digest to the filter
+	 *
+	 * @param digest {@link Digest}
+	 */
+	public void addDigest(Digest digest) {
+		add(hash(digest));
+	}
+
+	/**
+	 * Checks whether the entity key might have been added to the filter
+	 *
+	 * @param entityKey {@link EntityIdentifier}
+	 * @return FALSE if the entity key has definitely not been added, TRUE if it might have been added
+	 */
+	public boolean mightContainEntityKey(EntityIdentifier entityKey) {
+		return mightContain(hash(entityKey));
+	}
+
+	/**
+	 * Checks whether the digest might have been added to the filter
+	 *
+	 * @param digest {@link Digest}
+	 * @return FALSE if the digest has definitely not been added, TRUE if it might have been added
+	 */
+	public boolean mightContainDigest(Digest digest) {
+		return mightContain(hash(digest));
+	}
+
+	private void add(long hash) {
+		final int hash1 = (int) hash;
+		final int hash2 = (int) (hash >>> 32);
+		for (int i = 1; i <= NUMBER_OF_HASH_FUNCTIONS; i++) {
+			final int index = (hash1 + i * hash2) & mask;
+			bits[index >>> 6] |= 1L << index;
+		}
+	}
+
+	private boolean mightContain(long hash) {
+		final int hash1 = (int) hash;
+		final int hash2 = (int) (hash >>> 32);
+		for (int i = 1; i <= NUMBER_OF_HASH_FUNCTIONS; i++) {
+			final int index = (hash1 + i * hash2) & mask;
+			if ((bits[index >>> 6] & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long hash(EntityIdentifier entityKey) {
+		// the String identifier is cached and its hash is stable between JVMs
+		return mix(entityKey.asXmlId().hashCode());
+	}
+
+	private static long hash(Digest digest) {
+		return mix(Arrays.hashCode(digest.getValue()) ^ ((long) digest.getAlgorithm().ordinal() << 32));
+	}
+
+	/**
+	 * Spreads the bits of the given value (finalization step of MurmurHash3)
+	 *
+	 * @param value to be mixed
+	 * @return mixed value
+	 */
+	private static long mix(long value) {
+		long h = value;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+}
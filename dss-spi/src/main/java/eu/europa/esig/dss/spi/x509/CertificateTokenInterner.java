@@ -0,0 +1,195 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class allows sharing the parsed content of a single canonical instance of {@code CertificateToken}
+ * per distinct certificate within the application, instead of keeping a separate parsed copy for each signature,
+ * timestamp, OCSP response or trusted list the certificate is extracted from.
+ * <p>
+ * The first loaded token becomes the canonical one. Further loads of the same certificate return a new
+ * {@code CertificateToken} sharing the X509Certificate, the computed digests and the parsed extensions of
+ * the canonical instance, but with its own validation state (signature validity, public key of the signer
+ * and source URL), which may differ between validations.
+ * <p>
+ * The certificates are identified by the SHA-256 digest of their DER-encoding. The canonical instances are
+ * referenced weakly, thus a certificate is released as soon as it is not used anymore.
+ * <p>
+ * The interner is disabled by default. When enabled, it is used by {@code DSSUtils.loadCertificate(...)}
+ * and {@code DSSASN1Utils.getCertificate(...)} methods.
+ *
+ */
+public final class CertificateTokenInterner {
+
+	/** The digest algorithm used to identify certificates */
+	private static final DigestAlgorithm DIGEST_ALGORITHM = DigestAlgorithm.SHA256;
+
+	/** Defines whether the interner is enabled */
+	private static volatile boolean enabled = false;
+
+	/** The canonical certificate tokens by their digests */
+	private static final Map<Digest, CertificateTokenReference> CERTIFICATES = new HashMap<>();
+
+	/** The queue of released certificate tokens */
+	private static final ReferenceQueue<CertificateToken> RELEASED_CERTIFICATES = new ReferenceQueue<>();
+
+	/**
+	 * Utils class
+	 */
+	private CertificateTokenInterner() {
+		// empty
+	}
+
+	/**
+	 * Enables the certificate token interner
+	 */
+	public static void enable() {
+		enabled = true;
+	}
+
+	/**
+	 * Disables the certificate token interner and releases all the canonical instances
+	 */
+	public static void disable() {
+		enabled = false;
+		clear();
+	}
+
+	/**
+	 * Returns whether the certificate token interner is enabled
+	 *
+	 * @return TRUE if the interner is enabled, FALSE otherwise
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns a {@code CertificateToken} sharing the parsed content of the canonical instance of
+	 * the given {@code certificateToken}.
+	 * If no canonical instance exists yet, the given {@code certificateToken} becomes the canonical one and is returned.
+	 * Returns the given {@code certificateToken}, when the interner is disabled.
+	 *
+	 * @param certificateToken {@link CertificateToken} to get canonical instance for
+	 * @return {@link CertificateToken} sharing the parsed content of the canonical instance
+	 */
+	public static CertificateToken intern(final CertificateToken certificateToken) {
+		Objects.requireNonNull(certificateToken, "CertificateToken cannot be null!");
+		if (!enabled) {
+			return certificateToken;
+		}
+
+		final Digest digest = new Digest(DIGEST_ALGORITHM, certificateToken.getDigest(DIGEST_ALGORITHM));
+		synchronized (CERTIFICATES) {
+			expungeReleasedCertificates();
+			final CertificateTokenReference reference = CERTIFICATES.get(digest);
+			final CertificateToken canonicalToken = reference != null ? reference.get() : null;
+			if (canonicalToken != null) {
+				return canonicalToken.copy();
+			}
+			CERTIFICATES.put(digest, new CertificateTokenReference(certificateToken, digest, RELEASED_CERTIFICATES));
+			return certificateToken;
+		}
+	}
+
+	/**
+	 * Returns a {@code CertificateToken} sharing the parsed content of the canonical instance of a certificate
+	 * with the given DER-encoding, when available.
+	 * This method allows to skip the parsing of an already known certificate.
+	 *
+	 * @param derEncoded byte array representing a DER-encoded certificate
+	 * @return {@link CertificateToken} sharing the parsed content of the canonical instance if found,
+	 *         NULL otherwise (or when the interner is disabled)
+	 */
+	public static CertificateToken get(final byte[] derEncoded) {
+		Objects.requireNonNull(derEncoded, "The encoded certificate cannot be null!");
+		if (!enabled) {
+			return null;
+		}
+
+		final Digest digest = new Digest(DIGEST_ALGORITHM, DSSUtils.digest(DIGEST_ALGORITHM, derEncoded));
+		final CertificateToken canonicalToken;
+		synchronized (CERTIFICATES) {
+			final CertificateTokenReference reference = CERTIFICATES.get(digest);
+			canonicalToken = reference != null ? reference.get() : null;
+		}
+		return canonicalToken != null ? canonicalToken.copy() : null;
+	}
+
+	/**
+	 * Returns the number of canonical instances currently registered (including released but not yet removed instances)
+	 *
+	 * @return number of registered certificates
+	 */
+	public static int size() {
+		synchronized (CERTIFICATES) {
+			expungeReleasedCertificates();
+			return CERTIFICATES.size();
+		}
+	}
+
+	/**
+	 * Removes all the registered canonical instances
+	 */
+	public static void clear() {
+		synchronized (CERTIFICATES) {
+			CERTIFICATES.clear();
+			expungeReleasedCertificates();
+		}
+	}
+
+	private static void expungeReleasedCertificates() {
+		Reference<? extends CertificateToken> reference;
+		while ((reference = RELEASED_CERTIFICATES.poll()) != null) {
+			final CertificateTokenReference certificateTokenReference = (CertificateTokenReference) reference;
+			// remove only when not replaced by a new canonical instance
+			CERTIFICATES.remove(certificateTokenReference.digest, certificateTokenReference);
+		}
+	}
+
+	/**
+	 * Weak reference to a canonical certificate token, keeping the digest of the certificate
+	 */
+	private static final class CertificateTokenReference extends WeakReference<CertificateToken> {
+
+		/** The digest of the certificate */
+		private final Digest digest;
+
+		CertificateTokenReference(CertificateToken certificateToken, Digest digest, ReferenceQueue<CertificateToken> queue) {
+			super(certificateToken, queue);
+			this.digest = digest;
+		}
+
+	}
+
+}
@@ -108,7 +108,7 @@ public class CertificateTokenRefMatcher {
 	public boolean matchByIssuerName(CertificateToken certificateToken, CertificateRef certificateRef) {
 		SignerIdentifier signerIdentifier = certificateRef.getCertificateIdentifier();
 		if (signerIdentifier != null && signerIdentifier.getIssuerName() != null) {
-			return DSSASN1Utils.x500PrincipalAreEquals(signerIdentifier.getIssuerName(), certificateToken.getIssuerX500Principal());
+			return DSSASN1Utils.x500PrincipalAreEquals(signerIdentifier.getIssuerNameHelper(), certificateToken.getIssuer());
 		}
 		return false;
 	}
@@ -21,18 +21,21 @@
 package eu.europa.esig.dss.spi.x509;
 
 import eu.europa.esig.dss.enumerations.CertificateSourceType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.identifier.EntityIdentifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
-import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.model.x509.extension.SubjectKeyIdentifier;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigInteger;
 import java.security.PublicKey;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -40,6 +43,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class is the common class for all {@code CertificateSource}. It stores
@@ -63,10 +68,44 @@ public class CommonCertificateSource implements CertificateSource {
 	private Map<EntityIdentifier, EquivalentCertificatesEntity> entriesByPublicKeyHash = new HashMap<>();
 
 	/**
-	 * Map of tokens, the key is the properties map of SubjectX500Principal
+	 * Map of tokens, the key is the canonical key of SubjectX500Principal (see {@code X500PrincipalHelper#getCanonicalKey})
 	 * For a same SubjectX500Principal, different key pairs (and certificates) are possible
 	 */
-	private Map<Map<String, String>, Set<CertificateToken>> tokensBySubject = new HashMap<>();
+	private Map<String, Set<CertificateToken>> tokensBySubject = new HashMap<>();
+
+	/**
+	 * Map of entries, the key is a base64-encoded SKI (SHA-1 of the public key) computed from the certificate.
+	 * The map is kept in sync with {@code entriesByPublicKeyHash}
+	 */
+	private Map<String, EquivalentCertificatesEntity> entriesBySki = new HashMap<>();
+
+	/**
+	 * Map of tokens, the key is the serial number of the certificate.
+	 * Used to find certificates by issuer name and serial number
+	 */
+	private Map<BigInteger, Set<CertificateToken>> tokensBySerialNumber = new HashMap<>();
+
+	/**
+	 * Map of tokens, the key is a base64-encoded value of the SubjectKeyIdentifier certificate extension
+	 */
+	private Map<String, Set<CertificateToken>> tokensBySkiExtension = new HashMap<>();
+
+	/**
+	 * Map of tokens, the key is the digest of the certificate.
+	 * The map is populated lazily for a {@code DigestAlgorithm}, on the first request by a digest with the algorithm
+	 * (concurrent map, as it can be populated during a read operation)
+	 */
+	private Map<Digest, Set<CertificateToken>> tokensByDigest = new ConcurrentHashMap<>();
+
+	/**
+	 * Set of digest algorithms for which certificate digests have been added to {@code tokensByDigest}
+	 */
+	private Set<DigestAlgorithm> indexedDigestAlgorithms = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The version of the source content, incremented on each change
+	 */
+	private final AtomicLong version = new AtomicLong();
 
 	/**
 	 * The default constructor
@@ -102,13 +141,17 @@ public class CommonCertificateSource implements CertificateSource {
 				LOG.trace("Public key {} is already in the pool", entityKey);
 				poolEntity.addEquivalentCertificate(certificateToAdd);
 			}
+			if (poolEntity.getEquivalentCertificates().contains(certificateToAdd)) {
+				addToIndexes(poolEntity, certificateToAdd);
+			}
 		}
 
 		synchronized (tokensBySubject) {
-			Map<String, String> propertiesMap = DSSASN1Utils.get(certificateToAdd.getSubject().getPrincipal());
-			tokensBySubject.computeIfAbsent(propertiesMap, k -> new HashSet<>()).add(certificateToAdd);
+			final String subjectKey = certificateToAdd.getSubject().getCanonicalKey();
+			tokensBySubject.computeIfAbsent(subjectKey, k -> new HashSet<>()).add(certificateToAdd);
 		}
 
+		version.incrementAndGet();
 		return certificateToAdd;
 	}
 
@@ -134,26 +177,123 @@ public class CommonCertificateSource implements CertificateSource {
 				if (poolEntity.getEquivalentCertificates().size() == 1) {
 					LOG.trace("Remove the public key {} from the pool", entityKey);
 					entriesByPublicKeyHash.remove(entityKey);
-				} else {
+					removeFromIndexes(poolEntity, poolEntity.getEquivalentCertificates().iterator().next());
+					removeEntityFromSkiIndex(poolEntity);
+				} else if (poolEntity.getEquivalentCertificates().contains(certificateToRemove)) {
 					LOG.trace("Remove the token {} from the pool", certificateToRemove.getAbbreviation());
 					poolEntity.removeEquivalentCertificate(certificateToRemove);
+					removeFromIndexes(poolEntity, certificateToRemove);
 				}
 			}
 		}
 
 		synchronized (tokensBySubject) {
-			final Map<String, String> propertiesMap = DSSASN1Utils.get(certificateToRemove.getSubject().getPrincipal());
-			Set<CertificateToken> certificateTokens = tokensBySubject.get(propertiesMap);
+			final String subjectKey = certificateToRemove.getSubject().getCanonicalKey();
+			Set<CertificateToken> certificateTokens = tokensBySubject.get(subjectKey);
 			if (Utils.isCollectionEmpty(certificateTokens)) {
-				LOG.trace("Property map {} is not in the pool", propertiesMap);
+				LOG.trace("Subject {} is not in the pool", certificateToRemove.getSubject().getRFC2253());
 			} else {
 				if (certificateTokens.size() == 1) {
-					tokensBySubject.remove(propertiesMap);
+					tokensBySubject.remove(subjectKey);
 				} else {
 					certificateTokens.remove(certificateToRemove);
 				}
 			}
 		}
+
+		version.incrementAndGet();
+	}
+
+	/**
+	 * This method adds the {@code certificateToken} belonging to the {@code poolEntity} to the lookup indexes
+	 *
+	 * @param poolEntity {@link EquivalentCertificatesEntity} containing the certificate token
+	 * @param certificateToken {@link CertificateToken} to be indexed
+	 */
+	private void addToIndexes(EquivalentCertificatesEntity poolEntity, CertificateToken certificateToken) {
+		entriesBySki.putIfAbsent(Utils.toBase64(poolEntity.getSki()), poolEntity);
+		tokensBySerialNumber.computeIfAbsent(certificateToken.getSerialNumber(), k -> new HashSet<>()).add(certificateToken);
+
+		final SubjectKeyIdentifier skiExtension = CertificateExtensionsUtils.getSubjectKeyIdentifier(certificateToken);
+		if (skiExtension != null && Utils.isArrayNotEmpty(skiExtension.getSki())) {
+			tokensBySkiExtension.computeIfAbsent(Utils.toBase64(skiExtension.getSki()), k -> new HashSet<>()).add(certificateToken);
+		}
+
+		for (DigestAlgorithm digestAlgorithm : indexedDigestAlgorithms) {
+			final Digest digest = new Digest(digestAlgorithm, certificateToken.getDigest(digestAlgorithm));
+			tokensByDigest.computeIfAbsent(digest, k -> new HashSet<>()).add(certificateToken);
+		}
+	}
+
+	/**
+	 * This method removes the {@code certificateToken} from the lookup indexes
+	 *
+	 * @param poolEntity {@link EquivalentCertificatesEntity} the certificate token was belonging to
+	 * @param certificateToken {@link CertificateToken} to be removed from indexes
+	 */
+	private void removeFromIndexes(EquivalentCertificatesEntity poolEntity, CertificateToken certificateToken) {
+		removeFromIndex(tokensBySerialNumber, certificateToken.getSerialNumber(), certificateToken);
+
+		final SubjectKeyIdentifier skiExtension = CertificateExtensionsUtils.getSubjectKeyIdentifier(certificateToken);
+		if (skiExtension != null && Utils.isArrayNotEmpty(skiExtension.getSki())) {
+			removeFromIndex(tokensBySkiExtension, Utils.toBase64(skiExtension.getSki()), certificateToken);
+		}
+
+		for (DigestAlgorithm digestAlgorithm : indexedDigestAlgorithms) {
+			final Digest digest = new Digest(digestAlgorithm, certificateToken.getDigest(digestAlgorithm));
+			removeFromIndex(tokensByDigest, digest, certificateToken);
+		}
+	}
+
+	private <K> void removeFromIndex(Map<K, Set<CertificateToken>> index, K key, CertificateToken certificateToken) {
+		final Set<CertificateToken> certificateTokens = index.get(key);
+		if (certificateTokens != null) {
+			certificateTokens.remove(certificateToken);
+			if (certificateTokens.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * This method removes the {@code poolEntity} from the SKI index.
+	 * If another entity with the same SKI is present (e.g. a different encoding of the same public key),
+	 * the SKI is re-assigned to that entity.
+	 *
+	 * @param poolEntity {@link EquivalentCertificatesEntity} to be removed
+	 */
+	private void removeEntityFromSkiIndex(EquivalentCertificatesEntity poolEntity) {
+		final String skiKey = Utils.toBase64(poolEntity.getSki());
+		if (entriesBySki.remove(skiKey, poolEntity)) {
+			for (EquivalentCertificatesEntity entry : entriesByPublicKeyHash.values()) {
+				if (skiKey.equals(Utils.toBase64(entry.getSki()))) {
+					entriesBySki.put(skiKey, entry);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method ensures the certificate digests computed with the given {@code digestAlgorithm}
+	 * are present within the {@code tokensByDigest} index
+	 *
+	 * @param digestAlgorithm {@link DigestAlgorithm} to index certificate digests with
+	 */
+	private void ensureDigestIndex(DigestAlgorithm digestAlgorithm) {
+		if (!indexedDigestAlgorithms.contains(digestAlgorithm)) {
+			synchronized (entriesByPublicKeyHash) {
+				if (!indexedDigestAlgorithms.contains(digestAlgorithm)) {
+					for (EquivalentCertificatesEntity entry : entriesByPublicKeyHash.values()) {
+						for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
+							final Digest digest = new Digest(digestAlgorithm, certificateToken.getDigest(digestAlgorithm));
+							tokensByDigest.computeIfAbsent(digest, k -> new HashSet<>()).add(certificateToken);
+						}
+					}
+					indexedDigestAlgorithms.add(digestAlgorithm);
+				}
+			}
+		}
 	}
 
 	/**
@@ -162,6 +302,22 @@ public class CommonCertificateSource implements CertificateSource {
 	protected void reset() {
 		entriesByPublicKeyHash = new HashMap<>();
 		tokensBySubject = new HashMap<>();
+		entriesBySki = new HashMap<>();
+		tokensBySerialNumber = new HashMap<>();
+		tokensBySkiExtension = new HashMap<>();
+		tokensByDigest = new ConcurrentHashMap<>();
+		indexedDigestAlgorithms = ConcurrentHashMap.newKeySet();
+		version.incrementAndGet();
+	}
+
+	/**
+	 * Gets the version of the source content, incremented on each addition or removal of certificates.
+	 * Allows to detect a change of the content, e.g. to invalidate the data derived from it.
+	 *
+	 * @return version number
+	 */
+	public long getVersion() {
+		return version.get();
 	}
 
 	@Override
@@ -220,8 +376,9 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public Set<CertificateToken> getBySki(byte[] ski) {
-		for (EquivalentCertificatesEntity entry : entriesByPublicKeyHash.values()) {
-			if (Arrays.equals(entry.getSki(), ski)) {
+		if (Utils.isArrayNotEmpty(ski)) {
+			final EquivalentCertificatesEntity entry = entriesBySki.get(Utils.toBase64(ski));
+			if (entry != null) {
 				return entry.getEquivalentCertificates();
 			}
 		}
@@ -236,7 +393,7 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
-		final Set<CertificateToken> tokensSet = tokensBySubject.get(DSSASN1Utils.get(subject.getPrincipal()));
+		final Set<CertificateToken> tokensSet = tokensBySubject.get(subject.getCanonicalKey());
 		if (tokensSet != null) {
 			return tokensSet;
 		}
@@ -245,10 +402,20 @@ public class CommonCertificateSource implements CertificateSource {
 
 	@Override
 	public Set<CertificateToken> getBySignerIdentifier(SignerIdentifier signerIdentifier) {
+		final Collection<CertificateToken> candidates;
+		if (signerIdentifier.getIssuerName() != null && signerIdentifier.getSerialNumber() != null) {
+			candidates = tokensBySerialNumber.get(signerIdentifier.getSerialNumber());
+		} else if (Utils.isArrayNotEmpty(signerIdentifier.getSki())) {
+			candidates = tokensBySkiExtension.get(Utils.toBase64(signerIdentifier.getSki()));
+		} else {
+			// an empty identifier may match certificates without SKI extension
+			candidates = getCertificates();
+		}
+
 		Set<CertificateToken> result = new HashSet<>();
-		for (EquivalentCertificatesEntity entry : entriesByPublicKeyHash.values()) {
-			for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
-				// run over all entries to compare with the SN too
+		if (candidates != null) {
+			for (CertificateToken certificateToken : candidates) {
+				// compare with the issuer name too
 				if (signerIdentifier.isRelatedToCertificate(certificateToken)) {
 					result.add(certificateToken);
 				}
@@ -259,25 +426,39 @@ public class CommonCertificateSource implements CertificateSource {
 
 	@Override
 	public Set<CertificateToken> getByCertificateDigest(Digest digest) {
-		Set<CertificateToken> result = new HashSet<>();
-		for (EquivalentCertificatesEntity entry : entriesByPublicKeyHash.values()) {
-			for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
-				if (Arrays.equals(digest.getValue(), certificateToken.getDigest(digest.getAlgorithm()))) {
-					result.add(certificateToken);
-				}
-			}
+		if (digest.getAlgorithm() == null || digest.getValue() == null) {
+			return new HashSet<>();
 		}
-		return result;
+		ensureDigestIndex(digest.getAlgorithm());
+		final Set<CertificateToken> certificateTokens = tokensByDigest.get(digest);
+		if (certificateTokens != null) {
+			return new HashSet<>(certificateTokens);
+		}
+		return new HashSet<>();
 	}
 	
 	@Override
 	public Set<CertificateToken> findTokensFromCertRef(CertificateRef certificateRef) {
+		final Set<CertificateToken> candidates = new HashSet<>();
+		if (certificateRef.getCertDigest() != null) {
+			candidates.addAll(getByCertificateDigest(certificateRef.getCertDigest()));
+		}
+		if (certificateRef.getCertificateIdentifier() != null) {
+			candidates.addAll(getBySignerIdentifier(certificateRef.getCertificateIdentifier()));
+		}
+		final ResponderId responderId = certificateRef.getResponderId();
+		if (responderId != null) {
+			if (responderId.getX500Principal() != null) {
+				candidates.addAll(getBySubject(new X500PrincipalHelper(responderId.getX500Principal())));
+			} else {
+				candidates.addAll(getBySki(responderId.getSki()));
+			}
+		}
+
 		Set<CertificateToken> result = new HashSet<>();
-		for (EquivalentCertificatesEntity entry : entriesByPublicKeyHash.values()) {
-			for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
-				if (doesCertificateReferenceMatch(certificateToken, certificateRef)) {
-					result.add(certificateToken);
-				}
+		for (CertificateToken certificateToken : candidates) {
+			if (doesCertificateReferenceMatch(certificateToken, certificateRef)) {
+				result.add(certificateToken);
 			}
 		}
 		return result;
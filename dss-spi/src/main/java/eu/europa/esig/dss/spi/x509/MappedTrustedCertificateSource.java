@@ -0,0 +1,705 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.CertificateSourceType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.identifier.EntityIdentifier;
+import eu.europa.esig.dss.model.identifier.TokenIdentifier;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
+import eu.europa.esig.dss.model.x509.extension.SubjectKeyIdentifier;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A read-only trusted certificate source backed by a memory-mapped store file.
+ *
+ * The store file contains the DER-encoded certificates together with hash indexes by entity key (public key),
+ * SKI, subject, serial number, SKI extension and certificate digests. The indexes are read directly from
+ * the mapped file (off-heap), and {@code CertificateToken}s are only instantiated for the certificates
+ * matching a lookup. This allows the use of very large sets of trust anchors with a limited heap usage
+ * and without parsing of all the certificates on startup.
+ *
+ * The store file is created with {@code #writeStore(Collection, File)} and shall not be modified
+ * while in use by the certificate source.
+ *
+ * NOTE: the methods returning all the certificates (e.g. {@code #getCertificates()}) instantiate every certificate
+ * of the store, and therefore should be avoided for large stores.
+ *
+ */
+@SuppressWarnings("serial")
+public class MappedTrustedCertificateSource implements TrustedCertificateSource {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MappedTrustedCertificateSource.class);
+
+	/** Identifies the store file format ("DSSM") */
+	private static final int MAGIC = 0x4453534D;
+
+	/** The version of the store file format */
+	private static final int VERSION = 1;
+
+	/** Size of the file header : magic, version, number of certificates, end of the certificates' area */
+	private static final int HEADER_SIZE = 16;
+
+	/** Size of an index descriptor : capacity and offset of the table */
+	private static final int INDEX_DESCRIPTOR_SIZE = 8;
+
+	/** Size of an index slot : key hash and certificate record offset */
+	private static final int SLOT_SIZE = 12;
+
+	/** Default maximum number of instantiated certificates kept in memory */
+	private static final int DEFAULT_CACHE_SIZE = 1000;
+
+	/** The store file */
+	private final File storeFile;
+
+	/** The mapped store file (mapped again on the first use after deserialization) */
+	private transient volatile MappedStore mappedStore;
+
+	/** Maximum number of instantiated certificates kept in memory */
+	private int cacheSize = DEFAULT_CACHE_SIZE;
+
+	/** The instantiated certificates, by record offset */
+	private transient volatile Map<Integer, CertificateToken> certificatesCache;
+
+	/**
+	 * Constructor opening a store file created with {@code #writeStore(Collection, File)}
+	 *
+	 * @param storeFile {@link File} the store file
+	 */
+	public MappedTrustedCertificateSource(final File storeFile) {
+		Objects.requireNonNull(storeFile, "The store file cannot be null!");
+		this.storeFile = storeFile;
+		this.mappedStore = mapStore(storeFile);
+	}
+
+	/**
+	 * Sets the maximum number of instantiated certificates kept in memory.
+	 * Default : 1000
+	 *
+	 * @param cacheSize the maximum number of cached certificates (0 to disable the cache)
+	 */
+	public void setCacheSize(int cacheSize) {
+		if (cacheSize < 0) {
+			throw new IllegalArgumentException("The cache size cannot be negative!");
+		}
+		this.cacheSize = cacheSize;
+	}
+
+	/**
+	 * Creates a store file containing the given {@code certificates}, to be used by
+	 * a {@code MappedTrustedCertificateSource}. Duplicated certificates are stored only once.
+	 *
+	 * @param certificates a collection of {@link CertificateToken}s to store
+	 * @param storeFile {@link File} to be created (overwritten if exists)
+	 */
+	public static void writeStore(final Collection<CertificateToken> certificates, final File storeFile) {
+		Objects.requireNonNull(certificates, "The certificates cannot be null!");
+		Objects.requireNonNull(storeFile, "The store file cannot be null!");
+
+		final List<CertificateToken> uniqueCertificates = new ArrayList<>();
+		final Set<TokenIdentifier> identifiers = new HashSet<>();
+		for (CertificateToken certificateToken : certificates) {
+			if (identifiers.add(certificateToken.getDSSId())) {
+				uniqueCertificates.add(certificateToken);
+			}
+		}
+
+		final IndexType[] indexTypes = IndexType.values();
+		final long[][] hashes = new long[indexTypes.length][];
+		final int[][] offsets = new int[indexTypes.length][];
+		for (IndexType indexType : indexTypes) {
+			final int capacity = getTableCapacity(uniqueCertificates.size());
+			hashes[indexType.ordinal()] = new long[capacity];
+			offsets[indexType.ordinal()] = new int[capacity];
+		}
+
+		try (OutputStream os = Files.newOutputStream(storeFile.toPath());
+			 DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(os))) {
+			long position = HEADER_SIZE + (long) indexTypes.length * INDEX_DESCRIPTOR_SIZE;
+			final long certificatesStart = position;
+			for (CertificateToken certificateToken : uniqueCertificates) {
+				final byte[] encoded = certificateToken.getEncoded();
+				for (IndexType indexType : indexTypes) {
+					final byte[] key = indexType.getKey(certificateToken);
+					if (key != null) {
+						addToTable(hashes[indexType.ordinal()], offsets[indexType.ordinal()], hash(key), (int) position);
+					}
+				}
+				position += 4 + encoded.length;
+				if (position > Integer.MAX_VALUE) {
+					throw new DSSException("The certificates are too large to be stored within a single store file!");
+				}
+			}
+			final long certificatesEnd = position;
+
+			long tablesSize = 0;
+			for (IndexType indexType : indexTypes) {
+				tablesSize += (long) hashes[indexType.ordinal()].length * SLOT_SIZE;
+			}
+			if (certificatesEnd + tablesSize > Integer.MAX_VALUE) {
+				throw new DSSException("The certificates are too large to be stored within a single store file!");
+			}
+
+			// header
+			dos.writeInt(MAGIC);
+			dos.writeInt(VERSION);
+			dos.writeInt(uniqueCertificates.size());
+			dos.writeInt((int) certificatesEnd);
+
+			// index descriptors
+			long tableOffset = certificatesEnd;
+			for (IndexType indexType : indexTypes) {
+				dos.writeInt(hashes[indexType.ordinal()].length);
+				dos.writeInt((int) tableOffset);
+				tableOffset += (long) hashes[indexType.ordinal()].length * SLOT_SIZE;
+			}
+
+			// certificates
+			long written = certificatesStart;
+			for (CertificateToken certificateToken : uniqueCertificates) {
+				final byte[] encoded = certificateToken.getEncoded();
+				dos.writeInt(encoded.length);
+				dos.write(encoded);
+				written += 4 + encoded.length;
+			}
+			if (written != certificatesEnd) {
+				throw new DSSException("Unexpected size of the certificates' area within the store file!");
+			}
+
+			// index tables
+			for (IndexType indexType : indexTypes) {
+				final long[] tableHashes = hashes[indexType.ordinal()];
+				final int[] tableOffsets = offsets[indexType.ordinal()];
+				for (int i = 0; i < tableHashes.length; i++) {
+					dos.writeLong(tableHashes[i]);
+					dos.writeInt(tableOffsets[i]);
+				}
+			}
+
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the certificate store file : %s", e.getMessage()), e);
+		}
+		LOG.info("{} certificates have been written to the store file '{}'", uniqueCertificates.size(), storeFile.getName());
+	}
+
+	private static int getTableCapacity(int numberOfElements) {
+		// load factor of 0.5 at most
+		int capacity = 16;
+		while (capacity < numberOfElements * 2L) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private static void addToTable(long[] hashes, int[] offsets, long hash, int recordOffset) {
+		final int mask = hashes.length - 1;
+		int slot = (int) hash & mask;
+		while (offsets[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		hashes[slot] = hash;
+		offsets[slot] = recordOffset;
+	}
+
+	/**
+	 * Returns the mapped store file, mapping the file again if the source has been deserialized
+	 *
+	 * @return {@link MappedStore}
+	 */
+	private MappedStore getMappedStore() {
+		MappedStore store = mappedStore;
+		if (store == null) {
+			synchronized (this) {
+				store = mappedStore;
+				if (store == null) {
+					store = mapStore(storeFile);
+					mappedStore = store;
+				}
+			}
+		}
+		return store;
+	}
+
+	private static MappedStore mapStore(File storeFile) {
+		try (RandomAccessFile raf = new RandomAccessFile(storeFile, "r");
+			 FileChannel channel = raf.getChannel()) {
+			final ByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (mappedBuffer.capacity() < HEADER_SIZE || mappedBuffer.getInt(0) != MAGIC) {
+				throw new DSSException(String.format("The file '%s' is not a certificate store file!", storeFile.getName()));
+			}
+			if (mappedBuffer.getInt(4) != VERSION) {
+				throw new DSSException(String.format("The version '%s' of the certificate store file is not supported!",
+						mappedBuffer.getInt(4)));
+			}
+			final IndexType[] indexTypes = IndexType.values();
+			final int[] capacities = new int[indexTypes.length];
+			final int[] offsets = new int[indexTypes.length];
+			for (IndexType indexType : indexTypes) {
+				final int descriptorOffset = HEADER_SIZE + indexType.ordinal() * INDEX_DESCRIPTOR_SIZE;
+				capacities[indexType.ordinal()] = mappedBuffer.getInt(descriptorOffset);
+				offsets[indexType.ordinal()] = mappedBuffer.getInt(descriptorOffset + 4);
+			}
+			return new MappedStore(mappedBuffer, mappedBuffer.getInt(8), mappedBuffer.getInt(12), capacities, offsets);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to map the certificate store file : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Returns the certificates from the index {@code indexType} with the given {@code key}.
+	 * NOTE: the result may contain certificates with a different key, due to hash collisions.
+	 *
+	 * @param indexType {@link IndexType}
+	 * @param key byte array
+	 * @return a list of {@link CertificateToken} candidates
+	 */
+	private List<CertificateToken> getCandidates(IndexType indexType, byte[] key) {
+		final MappedStore store = getMappedStore();
+		final ByteBuffer mappedBuffer = store.buffer;
+		final long hash = hash(key);
+		final int capacity = store.indexCapacities[indexType.ordinal()];
+		final int tableOffset = store.indexOffsets[indexType.ordinal()];
+		final int mask = capacity - 1;
+
+		final List<CertificateToken> candidates = new ArrayList<>();
+		int slot = (int) hash & mask;
+		for (int i = 0; i < capacity; i++) {
+			final int slotOffset = tableOffset + slot * SLOT_SIZE;
+			final int recordOffset = mappedBuffer.getInt(slotOffset + 8);
+			if (recordOffset == 0) {
+				break;
+			}
+			if (mappedBuffer.getLong(slotOffset) == hash) {
+				candidates.add(getCertificate(recordOffset));
+			}
+			slot = (slot + 1) & mask;
+		}
+		return candidates;
+	}
+
+	/**
+	 * Instantiates the certificate stored at the given {@code recordOffset}
+	 *
+	 * @param recordOffset the offset of the certificate record
+	 * @return {@link CertificateToken}
+	 */
+	private CertificateToken getCertificate(int recordOffset) {
+		final Map<Integer, CertificateToken> cache = getCertificatesCache();
+		synchronized (cache) {
+			final CertificateToken cachedCertificate = cache.get(recordOffset);
+			if (cachedCertificate != null) {
+				return cachedCertificate;
+			}
+		}
+
+		final ByteBuffer record = getMappedStore().buffer.duplicate();
+		record.position(recordOffset);
+		final byte[] encoded = new byte[record.getInt()];
+		record.get(encoded);
+		final CertificateToken certificateToken = DSSUtils.loadCertificate(encoded);
+
+		if (cacheSize > 0) {
+			synchronized (cache) {
+				cache.put(recordOffset, certificateToken);
+			}
+		}
+		return certificateToken;
+	}
+
+	private Map<Integer, CertificateToken> getCertificatesCache() {
+		Map<Integer, CertificateToken> cache = certificatesCache;
+		if (cache == null) {
+			synchronized (this) {
+				cache = certificatesCache;
+				if (cache == null) {
+					cache = new LinkedHashMap<Integer, CertificateToken>(16, 0.75f, true) {
+
+						private static final long serialVersionUID = 7046193512734950113L;
+
+						@Override
+						protected boolean removeEldestEntry(Map.Entry<Integer, CertificateToken> eldest) {
+							return size() > cacheSize;
+						}
+
+					};
+					certificatesCache = cache;
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Returns the number of certificates within the store, without instantiation of the certificates
+	 *
+	 * @return number of certificates
+	 */
+	public int getNumberOfCertificates() {
+		return getMappedStore().numberOfCertificates;
+	}
+
+	@Override
+	public CertificateToken addCertificate(CertificateToken certificate) {
+		throw new UnsupportedOperationException("Cannot directly add certificate to a MappedTrustedCertificateSource");
+	}
+
+	@Override
+	public CertificateSourceType getCertificateSourceType() {
+		return CertificateSourceType.TRUSTED_STORE;
+	}
+
+	@Override
+	public List<CertificateToken> getCertificates() {
+		final MappedStore store = getMappedStore();
+		final ByteBuffer mappedBuffer = store.buffer;
+		final List<CertificateToken> certificates = new ArrayList<>(store.numberOfCertificates);
+		int recordOffset = HEADER_SIZE + IndexType.values().length * INDEX_DESCRIPTOR_SIZE;
+		while (recordOffset < store.certificatesEnd) {
+			certificates.add(getCertificate(recordOffset));
+			recordOffset += 4 + mappedBuffer.getInt(recordOffset);
+		}
+		return Collections.unmodifiableList(certificates);
+	}
+
+	@Override
+	public boolean isTrusted(CertificateToken certificateToken) {
+		return isKnown(certificateToken);
+	}
+
+	@Override
+	public boolean isKnown(CertificateToken certificateToken) {
+		final String subjectKey = certificateToken.getSubject().getCanonicalKey();
+		for (CertificateToken candidate : getCandidates(IndexType.ENTITY_KEY, IndexType.getEntityKey(certificateToken.getEntityKey()))) {
+			if (certificateToken.getEntityKey().equals(candidate.getEntityKey())
+					&& subjectKey.equals(candidate.getSubject().getCanonicalKey())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
+		final String subjectKey = subject.getCanonicalKey();
+		final Set<CertificateToken> result = new HashSet<>();
+		for (CertificateToken candidate : getCandidates(IndexType.SUBJECT, subjectKey.getBytes(StandardCharsets.UTF_8))) {
+			if (subjectKey.equals(candidate.getSubject().getCanonicalKey())) {
+				result.add(candidate);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Set<CertificateToken> getBySignerIdentifier(SignerIdentifier signerIdentifier) {
+		final Collection<CertificateToken> candidates;
+		if (signerIdentifier.getIssuerName() != null && signerIdentifier.getSerialNumber() != null) {
+			candidates = getCandidates(IndexType.SERIAL_NUMBER, signerIdentifier.getSerialNumber().toByteArray());
+		} else if (Utils.isArrayNotEmpty(signerIdentifier.getSki())) {
+			candidates = getCandidates(IndexType.SKI_EXTENSION, signerIdentifier.getSki());
+		} else {
+			// an empty identifier may match certificates without SKI extension
+			candidates = getCertificates();
+		}
+
+		final Set<CertificateToken> result = new HashSet<>();
+		for (CertificateToken certificateToken : candidates) {
+			// compare with the issuer name too
+			if (signerIdentifier.isRelatedToCertificate(certificateToken)) {
+				result.add(certificateToken);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Set<CertificateToken> getByCertificateDigest(Digest digest) {
+		final Set<CertificateToken> result = new HashSet<>();
+		if (digest.getAlgorithm() == null || digest.getValue() == null) {
+			return result;
+		}
+		final IndexType indexType = IndexType.forDigestAlgorithm(digest.getAlgorithm());
+		final Collection<CertificateToken> candidates = indexType != null ?
+				getCandidates(indexType, digest.getValue()) : getCertificates();
+		for (CertificateToken candidate : candidates) {
+			if (Arrays.equals(digest.getValue(), candidate.getDigest(digest.getAlgorithm()))) {
+				result.add(candidate);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Set<CertificateToken> getByPublicKey(PublicKey publicKey) {
+		final EntityIdentifier entityKey = new EntityIdentifier(publicKey);
+		final Set<CertificateToken> result = new HashSet<>();
+		for (CertificateToken candidate : getCandidates(IndexType.ENTITY_KEY, IndexType.getEntityKey(entityKey))) {
+			if (entityKey.equals(candidate.getEntityKey())) {
+				result.add(candidate);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Set<CertificateToken> getBySki(byte[] ski) {
+		final Set<CertificateToken> result = new HashSet<>();
+		if (Utils.isArrayNotEmpty(ski)) {
+			for (CertificateToken candidate : getCandidates(IndexType.SKI, ski)) {
+				if (Arrays.equals(ski, DSSASN1Utils.computeSkiFromCert(candidate))) {
+					result.add(candidate);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Set<CertificateToken> findTokensFromCertRef(CertificateRef certificateRef) {
+		final Set<CertificateToken> candidates = new HashSet<>();
+		if (certificateRef.getCertDigest() != null) {
+			candidates.addAll(getByCertificateDigest(certificateRef.getCertDigest()));
+		}
+		if (certificateRef.getCertificateIdentifier() != null) {
+			candidates.addAll(getBySignerIdentifier(certificateRef.getCertificateIdentifier()));
+		}
+		final ResponderId responderId = certificateRef.getResponderId();
+		if (responderId != null) {
+			if (responderId.getX500Principal() != null) {
+				candidates.addAll(getBySubject(new X500PrincipalHelper(responderId.getX500Principal())));
+			} else {
+				candidates.addAll(getBySki(responderId.getSki()));
+			}
+		}
+
+		final CertificateTokenRefMatcher certificateMatcher = new CertificateTokenRefMatcher();
+		final Set<CertificateToken> result = new HashSet<>();
+		for (CertificateToken certificateToken : candidates) {
+			if (certificateMatcher.match(certificateToken, certificateRef)) {
+				result.add(certificateToken);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<CertificateSourceEntity> getEntities() {
+		final Map<EntityIdentifier, EquivalentCertificatesEntity> entities = new LinkedHashMap<>();
+		for (CertificateToken certificateToken : getCertificates()) {
+			final EquivalentCertificatesEntity entity = entities.get(certificateToken.getEntityKey());
+			if (entity == null) {
+				entities.put(certificateToken.getEntityKey(), new EquivalentCertificatesEntity(certificateToken));
+			} else {
+				entity.addEquivalentCertificate(certificateToken);
+			}
+		}
+		return new ArrayList<>(entities.values());
+	}
+
+	@Override
+	public boolean isAllSelfSigned() {
+		for (CertificateToken certificate : getCertificates()) {
+			if (!certificate.isSelfSigned()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean isCertificateSourceEqual(CertificateSource certificateSource) {
+		return new HashSet<>(getCertificates()).equals(new HashSet<>(certificateSource.getCertificates()));
+	}
+
+	@Override
+	public boolean isCertificateSourceEquivalent(CertificateSource certificateSource) {
+		return new HashSet<>(getEntities()).equals(new HashSet<>(certificateSource.getEntities()));
+	}
+
+	@Override
+	public List<String> getAlternativeOCSPUrls(CertificateToken trustAnchor) {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public List<String> getAlternativeCRLUrls(CertificateToken trustAnchor) {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Computes a 64-bit hash of the given key (FNV-1a, followed by a bit mixing)
+	 *
+	 * @param key byte array
+	 * @return hash value
+	 */
+	private static long hash(byte[] key) {
+		long h = 0xcbf29ce484222325L;
+		for (byte b : key) {
+			h ^= (b & 0xff);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * The mapped content of a store file, together with its header values.
+	 * The buffer is only read with absolute methods or through duplicates, and can therefore be shared between threads.
+	 */
+	private static final class MappedStore {
+
+		/** The mapped content of the store file */
+		private final ByteBuffer buffer;
+
+		/** The number of certificates within the store */
+		private final int numberOfCertificates;
+
+		/** The end offset of the certificates' area */
+		private final int certificatesEnd;
+
+		/** Capacities of the index tables, by IndexType */
+		private final int[] indexCapacities;
+
+		/** Offsets of the index tables, by IndexType */
+		private final int[] indexOffsets;
+
+		private MappedStore(ByteBuffer buffer, int numberOfCertificates, int certificatesEnd,
+							int[] indexCapacities, int[] indexOffsets) {
+			this.buffer = buffer;
+			this.numberOfCertificates = numberOfCertificates;
+			this.certificatesEnd = certificatesEnd;
+			this.indexCapacities = indexCapacities;
+			this.indexOffsets = indexOffsets;
+		}
+
+	}
+
+	/**
+	 * Defines the indexes of the store file. The order shall not be changed without a change of the file version.
+	 */
+	private enum IndexType {
+
+		/** Index by the public key identifier */
+		ENTITY_KEY,
+
+		/** Index by the SKI computed from the public key */
+		SKI,
+
+		/** Index by the canonical subject name */
+		SUBJECT,
+
+		/** Index by the serial number */
+		SERIAL_NUMBER,
+
+		/** Index by the value of the SKI extension */
+		SKI_EXTENSION,
+
+		/** Index by the SHA-1 digest of the certificate */
+		DIGEST_SHA1,
+
+		/** Index by the SHA-256 digest of the certificate */
+		DIGEST_SHA256,
+
+		/** Index by the SHA-512 digest of the certificate */
+		DIGEST_SHA512;
+
+		/**
+		 * Returns the key of the certificate within the index
+		 *
+		 * @param certificateToken {@link CertificateToken}
+		 * @return byte array, null if not applicable
+		 */
+		private byte[] getKey(CertificateToken certificateToken) {
+			switch (this) {
+				case ENTITY_KEY:
+					return getEntityKey(certificateToken.getEntityKey());
+				case SKI:
+					return DSSASN1Utils.computeSkiFromCert(certificateToken);
+				case SUBJECT:
+					return certificateToken.getSubject().getCanonicalKey().getBytes(StandardCharsets.UTF_8);
+				case SERIAL_NUMBER:
+					return certificateToken.getSerialNumber().toByteArray();
+				case SKI_EXTENSION:
+					final SubjectKeyIdentifier skiExtension = CertificateExtensionsUtils.getSubjectKeyIdentifier(certificateToken);
+					return skiExtension != null && Utils.isArrayNotEmpty(skiExtension.getSki()) ? skiExtension.getSki() : null;
+				case DIGEST_SHA1:
+					return certificateToken.getDigest(DigestAlgorithm.SHA1);
+				case DIGEST_SHA256:
+					return certificateToken.getDigest(DigestAlgorithm.SHA256);
+				case DIGEST_SHA512:
+					return certificateToken.getDigest(DigestAlgorithm.SHA512);
+				default:
+					throw new UnsupportedOperationException(String.format("The index type '%s' is not supported!", this));
+			}
+		}
+
+		private static byte[] getEntityKey(EntityIdentifier entityKey) {
+			return entityKey.asXmlId().getBytes(StandardCharsets.UTF_8);
+		}
+
+		private static IndexType forDigestAlgorithm(DigestAlgorithm digestAlgorithm) {
+			switch (digestAlgorithm) {
+				case SHA1:
+					return DIGEST_SHA1;
+				case SHA256:
+					return DIGEST_SHA256;
+				case SHA512:
+					return DIGEST_SHA512;
+				default:
+					return null;
+			}
+		}
+
+	}
+
+}
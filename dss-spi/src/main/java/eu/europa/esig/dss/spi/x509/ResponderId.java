@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.spi.x509;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 
 import javax.security.auth.x500.X500Principal;
@@ -40,6 +41,9 @@ public class ResponderId implements Serializable {
 	/** SKI if the OCSP issuer */
 	private byte[] ski;
 
+	/** Cached helper of the {@code subjectX500Principal}, used for name comparison */
+	private transient X500PrincipalHelper subjectX500PrincipalHelper;
+
 	/**
 	 * Default constructor
 	 *
@@ -68,6 +72,7 @@ public class ResponderId implements Serializable {
 	 */
 	public void setX500Principal(X500Principal subjectX500Principal) {
 		this.subjectX500Principal = subjectX500Principal;
+		this.subjectX500PrincipalHelper = null;
 	}
 	
 	/**
@@ -96,7 +101,10 @@ public class ResponderId implements Serializable {
 	 */
 	public boolean isRelatedToCertificate(CertificateToken certificateToken) {
 		if (subjectX500Principal!= null) {
-			return DSSASN1Utils.x500PrincipalAreEquals(certificateToken.getSubject().getPrincipal(), subjectX500Principal);
+			if (subjectX500PrincipalHelper == null) {
+				subjectX500PrincipalHelper = new X500PrincipalHelper(subjectX500Principal);
+			}
+			return DSSASN1Utils.x500PrincipalAreEquals(certificateToken.getSubject(), subjectX500PrincipalHelper);
 		} else {
 			return DSSASN1Utils.isSkiEqual(ski, certificateToken);
 		}
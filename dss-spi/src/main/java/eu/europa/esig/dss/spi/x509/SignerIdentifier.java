@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.spi.x509;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
 import eu.europa.esig.dss.model.x509.extension.SubjectKeyIdentifier;
 import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
@@ -55,6 +56,9 @@ public class SignerIdentifier implements Serializable {
 	/** the used CertificateIdentifier for a signature/timestamp */
 	private boolean current;
 
+	/** Cached helper of the {@code issuerName}, used for name comparison */
+	private transient X500PrincipalHelper issuerNameHelper;
+
 	/**
 	 * Default constructor instantiating object with null values
 	 */
@@ -78,6 +82,19 @@ public class SignerIdentifier implements Serializable {
 	 */
 	public void setIssuerName(X500Principal name) {
 		this.issuerName = name;
+		this.issuerNameHelper = null;
+	}
+
+	/**
+	 * Returns the cached helper of the certificate issuer name
+	 *
+	 * @return {@link X500PrincipalHelper} if the issuer name is defined, null otherwise
+	 */
+	X500PrincipalHelper getIssuerNameHelper() {
+		if (issuerNameHelper == null && issuerName != null) {
+			issuerNameHelper = new X500PrincipalHelper(issuerName);
+		}
+		return issuerNameHelper;
 	}
 
 	/**
@@ -158,14 +175,13 @@ public class SignerIdentifier implements Serializable {
 	 * @return TRUE if the certificateToken is related to the SerialInfo, FALSE otherwise
 	 */
 	public boolean isRelatedToCertificate(CertificateToken certificateToken) {
-		SignerIdentifier id = new SignerIdentifier();
-		id.setIssuerName(certificateToken.getIssuerX500Principal());
-		id.setSerialNumber(certificateToken.getSerialNumber());
-		SubjectKeyIdentifier certSki = CertificateExtensionsUtils.getSubjectKeyIdentifier(certificateToken);
-		if (certSki != null) {
-			id.setSki(certSki.getSki());
+		if (issuerName != null && serialNumber != null) {
+			return serialNumber.equals(certificateToken.getSerialNumber()) &&
+					DSSASN1Utils.x500PrincipalAreEquals(getIssuerNameHelper(), certificateToken.getIssuer());
+		} else {
+			SubjectKeyIdentifier certSki = CertificateExtensionsUtils.getSubjectKeyIdentifier(certificateToken);
+			return Arrays.equals(ski, certSki != null ? certSki.getSki() : null);
 		}
-		return isEquivalent(id);
 	}
 
 	/**
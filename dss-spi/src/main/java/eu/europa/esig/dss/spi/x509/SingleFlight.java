@@ -0,0 +1,130 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent requests for the same key : while a request is in flight, the other callers with the same
+ * key wait for it and share its result (or its exception) instead of executing the same request again.
+ * <p>
+ * Nothing is kept once the request is completed, the class is not a cache.
+ *
+ * @param <K> the request key
+ * @param <V> the request result
+ */
+public class SingleFlight<K, V> implements Serializable {
+
+    private static final long serialVersionUID = -4562139847623011754L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(SingleFlight.class);
+
+    /**
+     * The requests currently in flight (not serialized)
+     */
+    private transient volatile ConcurrentMap<K, CompletableFuture<V>> inFlightRequests;
+
+    /**
+     * Default constructor
+     */
+    public SingleFlight() {
+        // empty
+    }
+
+    /**
+     * Executes the {@code request} for the given {@code key}, unless a request with the same key is already in flight.
+     * In the latter case, the method waits for the in-flight request and returns its result.
+     *
+     * @param key {@link Object} identifying the request
+     * @param request {@link Supplier} executing the request
+     * @return the result of the request
+     */
+    public V execute(final K key, final Supplier<V> request) {
+        Objects.requireNonNull(key, "Key cannot be null!");
+        Objects.requireNonNull(request, "Request cannot be null!");
+
+        final ConcurrentMap<K, CompletableFuture<V>> requests = getInFlightRequests();
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = requests.putIfAbsent(key, future);
+        if (inFlight != null) {
+            LOG.debug("Waiting for the in-flight request with key '{}'", key);
+            return join(inFlight);
+        }
+
+        try {
+            final V result = request.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            requests.remove(key, future);
+        }
+    }
+
+    /**
+     * Returns the number of requests currently in flight
+     *
+     * @return the number of in-flight requests
+     */
+    public int getNumberOfInFlightRequests() {
+        return getInFlightRequests().size();
+    }
+
+    private V join(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private ConcurrentMap<K, CompletableFuture<V>> getInFlightRequests() {
+        ConcurrentMap<K, CompletableFuture<V>> requests = inFlightRequests;
+        if (requests == null) {
+            synchronized (this) {
+                requests = inFlightRequests;
+                if (requests == null) {
+                    requests = new ConcurrentHashMap<>();
+                    inFlightRequests = requests;
+                }
+            }
+        }
+        return requests;
+    }
+
+}
@@ -31,6 +31,12 @@ import javax.security.auth.x500.X500Principal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * This class is used to select an issuer of the provided {@code Token}
@@ -46,6 +52,9 @@ public class TokenIssuerSelector {
     /** Collection of issuer candidates */
     private final Collection<CertificateToken> certificateTokens;
 
+    /** Used to verify the issuer candidates concurrently (optional) */
+    private final ExecutorService executorService;
+
     /**
      * Default constructor
      *
@@ -53,8 +62,24 @@ public class TokenIssuerSelector {
      * @param certificateTokens collection of {@link CertificateToken}s representing {@code token} issuer candidates
      */
     public TokenIssuerSelector(final Token token, final Collection<CertificateToken> certificateTokens) {
+        this(token, certificateTokens, null);
+    }
+
+    /**
+     * Constructor with an {@code ExecutorService} used to verify signatures of the issuer candidates concurrently.
+     * The verification is short-circuited on the first candidate signing the {@code token},
+     * while the returned issuer remains the same as the one returned on a sequential processing.
+     *
+     * @param token {@link Token} to get an issuer for
+     * @param certificateTokens collection of {@link CertificateToken}s representing {@code token} issuer candidates
+     * @param executorService {@link ExecutorService} to verify the candidates concurrently,
+     *                        when NULL the candidates are verified sequentially
+     */
+    public TokenIssuerSelector(final Token token, final Collection<CertificateToken> certificateTokens,
+                               final ExecutorService executorService) {
         this.token = token;
         this.certificateTokens = certificateTokens;
+        this.executorService = executorService;
     }
 
     /**
@@ -88,7 +113,13 @@ public class TokenIssuerSelector {
      * @param candidates a collection of {@link CertificateToken}s
      * @return a collection of {@code CertificateToken}s issuer candidates
      */
-    private static Collection<CertificateToken> filterIssuersByPublicKey(Token token, Collection<CertificateToken> candidates) {
+    private Collection<CertificateToken> filterIssuersByPublicKey(Token token, Collection<CertificateToken> candidates) {
+        if (isConcurrentVerification(token, candidates)) {
+            List<CertificateToken> issuers = filterIssuersByPublicKeyConcurrently((CertificateToken) token, candidates);
+            if (issuers != null) {
+                return issuers;
+            }
+        }
         List<CertificateToken> issuers = new ArrayList<>();
         for (CertificateToken candidate : candidates) {
             if (token.isSignedBy(candidate)) {
@@ -98,6 +129,64 @@ public class TokenIssuerSelector {
         return issuers;
     }
 
+    private boolean isConcurrentVerification(Token token, Collection<CertificateToken> candidates) {
+        return executorService != null && token instanceof CertificateToken
+                && token.getPublicKeyOfTheSigner() == null && candidates.size() > 1;
+    }
+
+    /**
+     * This method verifies the {@code candidates} concurrently and, once the first candidate signing
+     * the {@code token} is found, cancels the remaining verifications. The result is the same as for
+     * the sequential verification, as the other candidates are then compared to the signer by the public key.
+     *
+     * @param token {@link CertificateToken} to get issuers for
+     * @param candidates a collection of {@link CertificateToken}s
+     * @return a list of {@code CertificateToken}s issuer candidates, null if the concurrent verification failed
+     */
+    private List<CertificateToken> filterIssuersByPublicKeyConcurrently(CertificateToken token, Collection<CertificateToken> candidates) {
+        final CompletionService<CertificateToken> completionService = new ExecutorCompletionService<>(executorService);
+        final List<Future<CertificateToken>> futures = new ArrayList<>();
+        CertificateToken signer = null;
+        try {
+            for (CertificateToken candidate : candidates) {
+                futures.add(completionService.submit(() -> token.verifySignature(candidate.getPublicKey()) ? candidate : null));
+            }
+            for (int i = 0; i < futures.size() && signer == null; i++) {
+                signer = completionService.take().get();
+            }
+
+        } catch (InterruptedException e) {
+            LOG.warn("Concurrent verification of issuer candidates has been interrupted. " +
+                    "The candidates are verified sequentially.");
+            Thread.currentThread().interrupt();
+            return null;
+
+        } catch (ExecutionException | RejectedExecutionException e) {
+            LOG.warn("Unable to verify issuer candidates concurrently : {}. " +
+                    "The candidates are verified sequentially.", e.getMessage());
+            return null;
+
+        } finally {
+            for (Future<CertificateToken> future : futures) {
+                future.cancel(false);
+            }
+        }
+
+        if (signer == null) {
+            return new ArrayList<>();
+        }
+
+        // sets the signature validity of the token. The other candidates are compared to the signer by the public key
+        token.isSignedBy(signer);
+        List<CertificateToken> issuers = new ArrayList<>();
+        for (CertificateToken candidate : candidates) {
+            if (signer.getPublicKey().equals(candidate.getPublicKey())) {
+                issuers.add(candidate);
+            }
+        }
+        return issuers;
+    }
+
     /**
      * Filters a collection of {@code candidates} with a Subject name matching
      * the Issuer Subject name of the {@code token}.
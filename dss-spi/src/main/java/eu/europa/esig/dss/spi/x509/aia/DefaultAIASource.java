@@ -27,11 +27,13 @@ import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.http.NativeHTTPDataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.spi.x509.SingleFlight;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
@@ -63,6 +65,11 @@ public class DefaultAIASource implements AIASource {
      */
     private Collection<Protocol> acceptedProtocols = Arrays.asList(Protocol.values());
 
+    /**
+     * Shares a download between concurrent requests for the same URL
+     */
+    private final SingleFlight<String, List<CertificateToken>> caIssuersRequests = new SingleFlight<>();
+
     /**
      * Empty constructor.
      * Instantiates a {@code NativeHTTPDataLoader} as a default data loader
@@ -115,18 +122,9 @@ public class DefaultAIASource implements AIASource {
             }
 
             try {
-                byte[] bytes = executeCAIssuersRequest(caIssuersUrl);
-
-                try (InputStream is = new ByteArrayInputStream(bytes)) {
-                    List<CertificateToken> loadedCertificates = DSSUtils.loadCertificateFromP7c(is);
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("{} certificate(s) loaded from '{}'", loadedCertificates.size(), caIssuersUrl);
-                    }
-                    for (CertificateToken certificate : loadedCertificates) {
-                        certificate.setSourceURL(caIssuersUrl);
-                    }
-                    return new LinkedHashSet<>(loadedCertificates);
-                }
+                List<CertificateToken> loadedCertificates = caIssuersRequests.execute(caIssuersUrl,
+                        () -> loadCertificates(caIssuersUrl));
+                return new LinkedHashSet<>(loadedCertificates);
 
             } catch (Exception e) {
                 LOG.warn("Unable to retrieve AIA certificates with URL '{}' : {}", caIssuersUrl, e.getMessage());
@@ -136,6 +134,25 @@ public class DefaultAIASource implements AIASource {
         return Collections.emptySet();
     }
 
+    private List<CertificateToken> loadCertificates(String caIssuersUrl) {
+        byte[] bytes = executeCAIssuersRequest(caIssuersUrl);
+
+        try (InputStream is = new ByteArrayInputStream(bytes)) {
+            List<CertificateToken> loadedCertificates = DSSUtils.loadCertificateFromP7c(is);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("{} certificate(s) loaded from '{}'", loadedCertificates.size(), caIssuersUrl);
+            }
+            for (CertificateToken certificate : loadedCertificates) {
+                certificate.setSourceURL(caIssuersUrl);
+            }
+            return loadedCertificates;
+
+        } catch (IOException e) {
+            throw new DSSExternalResourceException(String.format("Unable to load certificates from url '%s' : %s",
+                    caIssuersUrl, e.getMessage()), e);
+        }
+    }
+
     /**
      * Returns a list of caIssuers URLs for the given {@code certificateToken}
      *
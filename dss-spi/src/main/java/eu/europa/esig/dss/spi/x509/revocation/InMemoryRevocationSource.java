@@ -0,0 +1,176 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps revocation data in memory, within a size-bounded map with a least-recently-used eviction.
+ * <p>
+ * The source follows the same rules as other {@code RepositoryRevocationSource}s (nextUpdate,
+ * defaultNextUpdateDelay, maxNextUpdateDelay, removeExpired). It can be used alone, or as a first level
+ * cache in front of a persistent repository (e.g. a {@code JdbcRevocationSource}) defined as the proxied source.
+ *
+ * @param <R> {@code CRL} or {@code OCSP}
+ */
+public abstract class InMemoryRevocationSource<R extends Revocation> extends RepositoryRevocationSource<R> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryRevocationSource.class);
+
+    private static final long serialVersionUID = -2371694593843745925L;
+
+    /**
+     * The default maximum number of revocation entries kept in memory
+     */
+    private static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    /**
+     * The cached revocation tokens, by revocation key (in access order)
+     */
+    private final Map<String, RevocationToken<R>> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The maximum number of revocation entries kept in memory
+     */
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * Default constructor
+     */
+    protected InMemoryRevocationSource() {
+        // empty
+    }
+
+    /**
+     * Sets the maximum number of revocation entries kept in memory.
+     * When the limit is reached, the least recently used entries are evicted.
+     * <p>
+     * Default : 1000
+     *
+     * @param maximumSize the maximum number of cached entries
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("The maximum size of the cache cannot be negative!");
+        }
+        synchronized (cache) {
+            this.maximumSize = maximumSize;
+            evict();
+        }
+    }
+
+    /**
+     * Returns the number of revocation entries currently kept in memory
+     *
+     * @return the number of cached entries
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Removes all the revocation entries from memory
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Builds a new {@code RevocationToken} for the given {@code certificateToken} from a cached one.
+     * A new instance is returned on each call, so the cached token is never shared with the caller.
+     *
+     * @param cachedToken            {@link RevocationToken} from the cache
+     * @param certificateToken       {@link CertificateToken} to get the revocation data for
+     * @param issuerCertificateToken {@link CertificateToken} issuer of {@code certificateToken}
+     * @return {@link RevocationToken}, or null if the cached entry does not concern the certificate
+     */
+    protected abstract RevocationToken<R> buildRevocationTokenFromCache(RevocationToken<R> cachedToken,
+            CertificateToken certificateToken, CertificateToken issuerCertificateToken);
+
+    @Override
+    protected List<RevocationToken<R>> findRevocations(final String key, final CertificateToken certificateToken,
+                                                       final CertificateToken issuerCertificateToken) {
+        final RevocationToken<R> cachedToken;
+        synchronized (cache) {
+            cachedToken = cache.get(key);
+        }
+        if (cachedToken == null) {
+            return Collections.emptyList();
+        }
+        final RevocationToken<R> revocationToken = buildRevocationTokenFromCache(cachedToken, certificateToken, issuerCertificateToken);
+        if (revocationToken == null) {
+            return Collections.emptyList();
+        }
+        revocationToken.setSourceURL(cachedToken.getSourceURL());
+        revocationToken.setExternalOrigin(RevocationOrigin.CACHED);
+        return Collections.singletonList(revocationToken);
+    }
+
+    @Override
+    protected void insertRevocation(final String revocationKey, final RevocationToken<R> token) {
+        putRevocation(revocationKey, token);
+    }
+
+    @Override
+    protected void updateRevocation(final String revocationKey, final RevocationToken<R> token) {
+        putRevocation(revocationKey, token);
+    }
+
+    private void putRevocation(final String revocationKey, final RevocationToken<R> token) {
+        synchronized (cache) {
+            if (maximumSize > 0) {
+                cache.put(revocationKey, token);
+                evict();
+            }
+        }
+    }
+
+    @Override
+    protected void removeRevocation(final String revocationKey) {
+        synchronized (cache) {
+            cache.remove(revocationKey);
+        }
+    }
+
+    private void evict() {
+        final Iterator<String> iterator = cache.keySet().iterator();
+        while (cache.size() > maximumSize && iterator.hasNext()) {
+            String evictedKey = iterator.next();
+            iterator.remove();
+            LOG.debug("Revocation entry with key '{}' has been evicted from the memory cache", evictedKey);
+        }
+    }
+
+}
@@ -33,10 +33,13 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -55,6 +58,11 @@ public abstract class JdbcRevocationSource<R extends Revocation> extends Reposit
 	 */
 	private transient JdbcCacheConnector jdbcCacheConnector;
 
+	/**
+	 * Defines whether the table uses a primary key on ID and an indexed NEXT_UPDATE column
+	 */
+	private boolean indexedSchema = false;
+
 	/**
 	 * Default constructor instantiating object with null values
 	 */
@@ -103,6 +111,34 @@ public abstract class JdbcRevocationSource<R extends Revocation> extends Reposit
 	 */
 	protected abstract SqlQuery getRemoveRevocationTokenEntryQuery();
 	
+	/**
+	 * Returns an sql query to create an index on the NEXT_UPDATE column, used with the indexed schema
+	 *
+	 * @return {@link SqlQuery}, null if not supported
+	 */
+	protected SqlQuery getCreateIndexQuery() {
+		return null;
+	}
+
+	/**
+	 * Returns an sql query to remove all revocation tokens with a NEXT_UPDATE before the given time,
+	 * used with the indexed schema
+	 *
+	 * @return {@link SqlQuery}, null if not supported
+	 */
+	protected SqlQuery getRemoveExpiredRevocationTokenEntriesQuery() {
+		return null;
+	}
+
+	/**
+	 * Returns the values of the data columns to be stored for the given revocation token, in the order
+	 * defined by the insert and update queries (the ID and NEXT_UPDATE columns excluded)
+	 *
+	 * @param token {@link RevocationToken} to be stored
+	 * @return an array of {@link Object} column values
+	 */
+	protected abstract Object[] getRevocationTokenEntryValues(RevocationToken<R> token);
+
 	/**
 	 * Builds {@link RevocationToken} from the obtained {@link ResultSet}
 	 *
@@ -135,10 +171,126 @@ public abstract class JdbcRevocationSource<R extends Revocation> extends Reposit
 		this.jdbcCacheConnector = jdbcCacheConnector;
 	}
 	
+	/**
+	 * Sets whether the table shall be created with a primary key on the ID column and an indexed NEXT_UPDATE column.
+	 * With the indexed schema, the entries are stored with their cache expiration date (computed from the nextUpdate
+	 * of the revocation data and the {@code defaultNextUpdateDelay} and {@code maxNextUpdateDelay} values),
+	 * the lookups skip the expired entries without reading their binaries,
+	 * the entries are stored with "update or insert" queries and
+	 * the expired entries are not removed on lookup, but can be removed at once using {@code removeExpiredRevocations()}.
+	 * <p>
+	 * NOTE: the value shall be set before calling {@code initTable()} and shall match the schema of an existing table.
+	 * Existing tables are not migrated.
+	 * <p>
+	 * Default : FALSE (the table is created without index)
+	 *
+	 * @param indexedSchema whether the indexed schema shall be used
+	 */
+	public void setIndexedSchema(boolean indexedSchema) {
+		this.indexedSchema = indexedSchema;
+	}
+
+	/**
+	 * Gets whether the indexed schema is used
+	 *
+	 * @return TRUE if the indexed schema is used, FALSE otherwise
+	 */
+	protected boolean isIndexedSchema() {
+		return indexedSchema;
+	}
+
+	@Override
+	protected void insertRevocation(final String revocationKey, final RevocationToken<R> token) {
+		if (indexedSchema) {
+			upsertRevocations(Collections.singletonMap(revocationKey, token));
+		} else {
+			getJdbcCacheConnector().execute(getInsertRevocationTokenEntryQuery(), getInsertArguments(revocationKey, token));
+		}
+	}
+
+	@Override
+	protected void updateRevocation(final String revocationKey, final RevocationToken<R> token) {
+		if (indexedSchema) {
+			upsertRevocations(Collections.singletonMap(revocationKey, token));
+		} else {
+			getJdbcCacheConnector().execute(getUpdateRevocationTokenEntryQuery(), getUpdateArguments(revocationKey, token));
+		}
+	}
+
+	/**
+	 * Updates the existing entries and inserts the missing ones within a single transaction using JDBC batches
+	 *
+	 * @param revocationsByKey a map between revocation keys and {@link RevocationToken}s to be stored
+	 * @return number of stored entries
+	 */
+	protected int upsertRevocations(final Map<String, RevocationToken<R>> revocationsByKey) {
+		final List<Object[]> updateArguments = new ArrayList<>();
+		final List<Object[]> insertArguments = new ArrayList<>();
+		for (Map.Entry<String, RevocationToken<R>> entry : revocationsByKey.entrySet()) {
+			updateArguments.add(getUpdateArguments(entry.getKey(), entry.getValue()));
+			insertArguments.add(getInsertArguments(entry.getKey(), entry.getValue()));
+		}
+		return getJdbcCacheConnector().executeBatchUpsert(getUpdateRevocationTokenEntryQuery(), updateArguments,
+				getInsertRevocationTokenEntryQuery(), insertArguments);
+	}
+
+	private Object[] getInsertArguments(final String revocationKey, final RevocationToken<R> token) {
+		// ID, values..., [NEXT_UPDATE]
+		final List<Object> arguments = new ArrayList<>();
+		arguments.add(revocationKey);
+		Collections.addAll(arguments, getRevocationTokenEntryValues(token));
+		if (indexedSchema) {
+			arguments.add(getExpirationTimestamp(token));
+		}
+		return arguments.toArray();
+	}
+
+	private Object[] getUpdateArguments(final String revocationKey, final RevocationToken<R> token) {
+		// values..., [NEXT_UPDATE], ID
+		final List<Object> arguments = new ArrayList<>();
+		Collections.addAll(arguments, getRevocationTokenEntryValues(token));
+		if (indexedSchema) {
+			arguments.add(getExpirationTimestamp(token));
+		}
+		arguments.add(revocationKey);
+		return arguments.toArray();
+	}
+
+	/**
+	 * Returns the value of the NEXT_UPDATE column, i.e. the cache expiration date of the token computed
+	 * with the nextUpdate delays (see {@code getExpirationDate(token)}).
+	 * A token without expiration date is never considered as fresh by the cache, therefore
+	 * it is stored as already expired in order to be skipped on lookup and removed by {@code removeExpiredRevocations()}.
+	 */
+	private Timestamp getExpirationTimestamp(final RevocationToken<R> token) {
+		final Date expirationDate = getExpirationDate(token);
+		return new Timestamp(expirationDate != null ? expirationDate.getTime() : System.currentTimeMillis());
+	}
+
+	/**
+	 * Removes all the entries with an expiration date in the past. The query uses the index on the NEXT_UPDATE column.
+	 * NOTE: available only with the indexed schema (see {@code setIndexedSchema(boolean)})
+	 *
+	 * @return number of removed entries
+	 */
+	public int removeExpiredRevocations() {
+		final SqlQuery removeExpiredQuery = getRemoveExpiredRevocationTokenEntriesQuery();
+		if (!indexedSchema || removeExpiredQuery == null) {
+			throw new UnsupportedOperationException("The removal of expired revocation data requires the indexed schema!");
+		}
+		return getJdbcCacheConnector().execute(removeExpiredQuery, new Timestamp(System.currentTimeMillis()));
+	}
+
 	@Override
 	protected List<RevocationToken<R>> findRevocations(final String key, final CertificateToken certificateToken,
 													   final CertificateToken issuerCertificateToken) {
-		Collection<SqlRecord> responses = getJdbcCacheConnector().select(getRevocationDataExtractQuery(), key);
+		final Collection<SqlRecord> responses;
+		if (indexedSchema) {
+			// entries with an expiration date in the past are skipped without reading the revocation data
+			responses = getJdbcCacheConnector().select(getRevocationDataExtractQuery(), key, new Timestamp(System.currentTimeMillis()));
+		} else {
+			responses = getJdbcCacheConnector().select(getRevocationDataExtractQuery(), key);
+		}
 		LOG.debug("Record obtained : {}", responses.size());
 		if (Utils.isCollectionNotEmpty(responses)) {
 			return getRevocationDataFromRecords(responses, certificateToken, issuerCertificateToken);
@@ -188,6 +340,10 @@ public abstract class JdbcRevocationSource<R extends Revocation> extends Reposit
 	
 	private void createTable() throws SQLException {
 		getJdbcCacheConnector().executeThrowable(getCreateTableQuery());
+		final SqlQuery createIndexQuery = getCreateIndexQuery();
+		if (indexedSchema && createIndexQuery != null) {
+			getJdbcCacheConnector().executeThrowable(createIndexQuery);
+		}
 	}
 
 	/**
@@ -22,6 +22,7 @@ package eu.europa.esig.dss.spi.x509.revocation;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +31,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -66,6 +68,11 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
      */
     private boolean removeExpired = true;
 
+    /**
+     * Refreshes the cached revocation data in the background before its expiration (optional)
+     */
+    private transient RevocationRefreshScheduler refreshScheduler;
+
     /**
      * Default constructor instantiating object with null values
      */
@@ -168,6 +175,20 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
         this.removeExpired = removeExpired;
     }
 
+    /**
+     * Sets the scheduler used to refresh the cached revocation data in the background, shortly before its
+     * expiration. When defined, every revocation data inserted into or found in the cache on a request is planned
+     * for a refresh, so the validations do not have to wait for a download of an expired revocation data.
+     * The revocation data which is not requested after its refresh is not refreshed again.
+     * <p>
+     * Default : null (the revocation data is refreshed on the first request after its expiration)
+     *
+     * @param refreshScheduler {@link RevocationRefreshScheduler}
+     */
+    public void setRefreshScheduler(final RevocationRefreshScheduler refreshScheduler) {
+        this.refreshScheduler = refreshScheduler;
+    }
+
     @Override
     public RevocationToken<R> getRevocationToken(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
         return getRevocationToken(certificateToken, issuerCertificateToken, false);
@@ -233,7 +254,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
         }
 
         final RevocationToken<R> revocationToken = extractAndInsertRevocationTokenFromProxiedSource(
-                certificateToken, issuerCertificateToken, keys);
+                certificateToken, issuerCertificateToken, keys, true);
         if (revocationToken != null) {
             return Collections.singletonList(revocationToken);
         }
@@ -260,6 +281,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
                         .filter(r -> isNotExpired(r, issuerCertificateToken)).collect(Collectors.toList());
                 if (Utils.isCollectionNotEmpty(freshRevocationData)) {
                     result.put(key, freshRevocationData);
+                    scheduleRefresh(key, getLatestRevocationData(freshRevocationData), certificateToken, issuerCertificateToken);
                 } else {
                     LOG.debug("Revocation token is expired in the cache for certificate with Id '{}'",
                             certificateToken.getDSSIdAsString());
@@ -296,25 +318,111 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
      * @param certificateToken       {@link CertificateToken} to extract the revocation token for
      * @param issuerCertificateToken {@link CertificateToken} of the issuer
      * @param keys                   a collection of {@link String} keys that can be used as unique identifications of the revocation entry
+     * @param planRefresh            whether a background refresh of the obtained revocation data shall be planned
      * @return {@link RevocationToken}
      */
     private RevocationToken<R> extractAndInsertRevocationTokenFromProxiedSource(
             final CertificateToken certificateToken, final CertificateToken issuerCertificateToken,
-            final Collection<String> keys) {
+            final Collection<String> keys, final boolean planRefresh) {
         if (proxiedSource == null) {
             LOG.warn("Proxied revocation source is not initialized for the called RevocationSource!");
             return null;
         }
 
-
-        RevocationToken<R> revocationToken =
+        final RevocationToken<R> revocationToken =
                 proxiedSource.getRevocationToken(certificateToken, issuerCertificateToken);
+        storeRevocationToken(certificateToken, issuerCertificateToken, keys, revocationToken, planRefresh);
+        return revocationToken;
+    }
+
+    /**
+     * Retrieves revocation tokens for several certificates at once. The fresh revocation data is extracted
+     * from the cache, the certificates without a fresh cache entry are requested together from the proxied source
+     * (see {@code #getProxiedRevocationTokens}) and the obtained revocation data is stored in the cache.
+     * NOTE: certificates for which no revocation data has been obtained are not present within the returned map
+     *
+     * @param certificatesAndIssuers a map between {@code CertificateToken}s to be requested and their issuers
+     * @return a map between {@link CertificateToken}s and the obtained {@link RevocationToken}s
+     */
+    protected Map<CertificateToken, RevocationToken<R>> extractRevocationTokens(
+            final Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+        final Map<CertificateToken, RevocationToken<R>> revocationTokens = new HashMap<>();
+        final Map<CertificateToken, CertificateToken> notCachedCertificates = new LinkedHashMap<>();
+        for (Map.Entry<CertificateToken, CertificateToken> entry : certificatesAndIssuers.entrySet()) {
+            final CertificateToken certificateToken = entry.getKey();
+            final CertificateToken issuerCertificateToken = entry.getValue();
+            if (certificateToken == null || issuerCertificateToken == null) {
+                LOG.warn("Certificate token or issuer's certificate token is null. Cannot get a revocation token!");
+                continue;
+            }
+            final Map<String, List<RevocationToken<R>>> cachedRevocationTokensMap = extractRevocationFromCacheSource(
+                    certificateToken, issuerCertificateToken, initRevocationTokenKeys(certificateToken));
+            if (Utils.isMapNotEmpty(cachedRevocationTokensMap)) {
+                revocationTokens.put(certificateToken, getLatestRevocationData(
+                        cachedRevocationTokensMap.values().stream().flatMap(Collection::stream).collect(Collectors.toList())));
+            } else {
+                notCachedCertificates.put(certificateToken, issuerCertificateToken);
+            }
+        }
+
+        if (Utils.isMapNotEmpty(notCachedCertificates)) {
+            if (proxiedSource == null) {
+                LOG.warn("Proxied revocation source is not initialized for the called RevocationSource!");
+            } else {
+                final Map<CertificateToken, RevocationToken<R>> proxiedRevocationTokens =
+                        getProxiedRevocationTokens(notCachedCertificates);
+                for (Map.Entry<CertificateToken, RevocationToken<R>> entry : proxiedRevocationTokens.entrySet()) {
+                    final CertificateToken certificateToken = entry.getKey();
+                    final CertificateToken issuerCertificateToken = notCachedCertificates.get(certificateToken);
+                    if (issuerCertificateToken != null && entry.getValue() != null) {
+                        storeRevocationToken(certificateToken, issuerCertificateToken, Collections.emptyList(), entry.getValue(), true);
+                        revocationTokens.put(certificateToken, entry.getValue());
+                    }
+                }
+            }
+        }
+
+        // keep the order of the requested certificates
+        final Map<CertificateToken, RevocationToken<R>> result = new LinkedHashMap<>();
+        for (CertificateToken certificateToken : certificatesAndIssuers.keySet()) {
+            final RevocationToken<R> revocationToken = revocationTokens.get(certificateToken);
+            if (revocationToken != null) {
+                result.put(certificateToken, revocationToken);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Requests revocation data for several certificates from the proxied source.
+     * The default implementation requests each certificate individually.
+     *
+     * @param certificatesAndIssuers a map between {@code CertificateToken}s to be requested and their issuers
+     * @return a map between {@link CertificateToken}s and the obtained {@link RevocationToken}s
+     */
+    protected Map<CertificateToken, RevocationToken<R>> getProxiedRevocationTokens(
+            final Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+        return DSSRevocationUtils.getRevocationTokens(proxiedSource, certificatesAndIssuers);
+    }
+
+    /**
+     * Inserts/updates the {@code revocationToken} obtained from the proxied source in the cache source if required
+     *
+     * @param certificateToken       {@link CertificateToken} the revocation token has been obtained for
+     * @param issuerCertificateToken {@link CertificateToken} of the issuer
+     * @param keys                   a collection of {@link String} keys of the existing cache entries
+     * @param revocationToken        {@link RevocationToken} to store
+     * @param planRefresh            whether a background refresh of the revocation data shall be planned
+     */
+    private void storeRevocationToken(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken,
+                                      final Collection<String> keys, final RevocationToken<R> revocationToken,
+                                      final boolean planRefresh) {
         if (revocationToken != null) {
             if (revocationToken.isValid()) {
                 String sourceUrl = getRevocationSourceUrl(certificateToken, revocationToken);
                 if (sourceUrl == null) {
                     LOG.warn("Not able to find revocation source URL for certificate '{}'. Revocation will not be added to the cache", certificateToken.getDSSIdAsString());
-                    return revocationToken;
+                    return;
                 }
                 String revocationTokenKey = getRevocationTokenKey(certificateToken, sourceUrl);
                 if (!keys.contains(revocationTokenKey)) {
@@ -324,12 +432,54 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
                     updateRevocation(revocationTokenKey, revocationToken);
                     LOG.info("Revocation token for certificate '{}' is updated in the cache", certificateToken.getDSSIdAsString());
                 }
+                if (planRefresh) {
+                    scheduleRefresh(revocationTokenKey, revocationToken, certificateToken, issuerCertificateToken);
+                }
             } else {
                 LOG.warn("The extracted revocation token with Id '{}' is invalid! Reason: {}",
                         revocationToken.getDSSIdAsString(), revocationToken.getInvalidityReason());
             }
         }
-        return revocationToken;
+    }
+
+    /**
+     * Plans a background refresh of the cached revocation data, when a {@code refreshScheduler} is defined.
+     * The refresh is planned only on a request of the revocation data. The background refresh itself does not plan
+     * a new one, so the revocation data which is not requested anymore is not refreshed again.
+     *
+     * @param revocationTokenKey {@link String} key of the cached revocation data
+     * @param revocationToken {@link RevocationToken} the cached revocation data
+     * @param certificateToken {@link CertificateToken} the revocation data has been requested for
+     * @param issuerCertificateToken {@link CertificateToken} issuer of {@code certificateToken}
+     */
+    private void scheduleRefresh(final String revocationTokenKey, final RevocationToken<R> revocationToken,
+                                 final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+        final RevocationRefreshScheduler scheduler = refreshScheduler;
+        if (scheduler == null || revocationToken == null) {
+            return;
+        }
+        final Date expirationDate = getExpirationDate(revocationToken);
+        if (expirationDate == null) {
+            LOG.debug("No expiration date for the revocation data with key '{}', no refresh planned", revocationTokenKey);
+            return;
+        }
+        String sourceUrl = revocationToken.getSourceURL();
+        if (sourceUrl == null) {
+            sourceUrl = getRevocationSourceUrl(certificateToken, revocationToken);
+        }
+        scheduler.schedule(revocationTokenKey, sourceUrl, expirationDate,
+                () -> refreshRevocationToken(certificateToken, issuerCertificateToken));
+    }
+
+    /**
+     * Downloads the revocation data from the proxied source and updates the cache, without planning a new refresh
+     *
+     * @param certificateToken {@link CertificateToken} the revocation data has been requested for
+     * @param issuerCertificateToken {@link CertificateToken} issuer of {@code certificateToken}
+     */
+    private void refreshRevocationToken(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+        extractAndInsertRevocationTokenFromProxiedSource(certificateToken, issuerCertificateToken,
+                initRevocationTokenKeys(certificateToken), false);
     }
 
     /**
@@ -399,21 +549,34 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
         }
 
         // check the validity of the revocation token itself
+        final Date expirationDate = getExpirationDate(revocationToken);
+        if (expirationDate != null) {
+            return expirationDate.after(validationDate);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the date until which the cached revocation data is used, with respect of
+     * nextUpdateDelay and maxNexUpdateDelay parameters.
+     *
+     * @param revocationToken {@code CRLToken} or {@code OCSPToken}
+     * @return {@link Date} the expiration date of the cached data, or null if not defined
+     */
+    protected Date getExpirationDate(RevocationToken<R> revocationToken) {
+        Date nextUpdate = revocationToken.getNextUpdate();
         final Date thisUpdate = revocationToken.getThisUpdate();
         if (nextUpdate == null && defaultNextUpdateDelay != null && thisUpdate != null) {
             nextUpdate = new Date(thisUpdate.getTime() + defaultNextUpdateDelay);
         }
-        if (nextUpdate != null) {
-            if (maxNextUpdateDelay != null && thisUpdate != null) {
-                Date maxNextUpdate = new Date(thisUpdate.getTime() + maxNextUpdateDelay);
-                if (nextUpdate.after(maxNextUpdate)) {
-                    nextUpdate = maxNextUpdate;
-                }
+        if (nextUpdate != null && maxNextUpdateDelay != null && thisUpdate != null) {
+            Date maxNextUpdate = new Date(thisUpdate.getTime() + maxNextUpdateDelay);
+            if (nextUpdate.after(maxNextUpdate)) {
+                nextUpdate = maxNextUpdate;
             }
-            return nextUpdate.after(validationDate);
         }
-
-        return false;
+        return nextUpdate;
     }
 
 }
@@ -0,0 +1,349 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes the revocation data kept by a {@code RepositoryRevocationSource} in the background, shortly before
+ * its expiration, so that validations do not have to wait for a download of a known revocation data (typically
+ * a large CRL).
+ * <p>
+ * A refresh is planned at {@code expiration - refreshLeadTime - random(0, maxJitter)}. The number of concurrent
+ * refreshes is bounded globally and per host; a refresh exceeding one of the limits is postponed.
+ * <p>
+ * The scheduler is used with {@code RepositoryRevocationSource.setRefreshScheduler(scheduler)}. The provided
+ * {@code ScheduledExecutorService} is owned by the caller.
+ */
+public class RevocationRefreshScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RevocationRefreshScheduler.class);
+
+    /**
+     * The executor running the refreshes
+     */
+    private final ScheduledExecutorService executorService;
+
+    /**
+     * The planned refreshes, by revocation key. An entry is removed once the refresh is executed.
+     */
+    private final Map<String, PlannedRefresh> plannedRefreshes = new HashMap<>();
+
+    /**
+     * The expiration dates of the revocation data refreshed recently, by revocation key.
+     * Used to ignore a new request for an already refreshed revocation data. An entry is removed
+     * once the expiration date is reached.
+     */
+    private final Map<String, Date> executedRefreshes = new HashMap<>();
+
+    /**
+     * Limits the number of concurrent refreshes per host
+     */
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Limits the total number of concurrent refreshes
+     */
+    private Semaphore permits = new Semaphore(4);
+
+    /**
+     * The maximum number of concurrent refreshes for a single host
+     */
+    private int maxConcurrentRefreshesPerHost = 1;
+
+    /**
+     * Time before the expiration of the revocation data when the refresh is executed (milliseconds)
+     */
+    private long refreshLeadTime = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Maximum random delay added to the lead time, in order to spread the refreshes (milliseconds)
+     */
+    private long maxJitter = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Delay before a new attempt, when a concurrency limit is reached (milliseconds)
+     */
+    private long postponeDelay = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * Default constructor
+     *
+     * @param executorService {@link ScheduledExecutorService} to run the refreshes
+     */
+    public RevocationRefreshScheduler(final ScheduledExecutorService executorService) {
+        Objects.requireNonNull(executorService, "ScheduledExecutorService cannot be null!");
+        this.executorService = executorService;
+    }
+
+    /**
+     * Sets the maximum number of refreshes executed at the same time
+     * <p>
+     * Default : 4
+     *
+     * @param maxConcurrentRefreshes the maximum number of concurrent refreshes
+     */
+    public void setMaxConcurrentRefreshes(int maxConcurrentRefreshes) {
+        if (maxConcurrentRefreshes < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent refreshes shall be positive!");
+        }
+        this.permits = new Semaphore(maxConcurrentRefreshes);
+    }
+
+    /**
+     * Sets the maximum number of refreshes executed at the same time against a single host
+     * <p>
+     * Default : 1
+     *
+     * @param maxConcurrentRefreshesPerHost the maximum number of concurrent refreshes per host
+     */
+    public void setMaxConcurrentRefreshesPerHost(int maxConcurrentRefreshesPerHost) {
+        if (maxConcurrentRefreshesPerHost < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent refreshes per host shall be positive!");
+        }
+        this.maxConcurrentRefreshesPerHost = maxConcurrentRefreshesPerHost;
+        this.hostPermits.clear();
+    }
+
+    /**
+     * Sets the time before the expiration of the revocation data when the refresh is executed, in seconds
+     * <p>
+     * Default : 300 (5 minutes)
+     *
+     * @param refreshLeadTime lead time in seconds
+     */
+    public void setRefreshLeadTime(long refreshLeadTime) {
+        this.refreshLeadTime = TimeUnit.SECONDS.toMillis(refreshLeadTime);
+    }
+
+    /**
+     * Sets the maximum random delay added to the lead time, in seconds.
+     * The jitter avoids refreshing all the revocation data with the same nextUpdate at once.
+     * <p>
+     * Default : 60
+     *
+     * @param maxJitter maximum jitter in seconds
+     */
+    public void setMaxJitter(long maxJitter) {
+        this.maxJitter = TimeUnit.SECONDS.toMillis(maxJitter);
+    }
+
+    /**
+     * Sets the delay before a new attempt, when a concurrency limit is reached, in seconds
+     * <p>
+     * Default : 5
+     *
+     * @param postponeDelay delay in seconds
+     */
+    public void setPostponeDelay(long postponeDelay) {
+        this.postponeDelay = TimeUnit.SECONDS.toMillis(postponeDelay);
+    }
+
+    /**
+     * Plans a refresh of the revocation data with the given {@code key}, before its {@code expirationDate}.
+     * Nothing is done when a refresh is already planned (or has been executed) for the same or a later expiration.
+     * The refresh is executed once, a new refresh shall be planned for the refreshed revocation data.
+     *
+     * @param key {@link String} the revocation key
+     * @param url {@link String} the URL the revocation data is downloaded from (used to limit requests per host)
+     * @param expirationDate {@link Date} the date when the cached revocation data expires
+     * @param refresh {@link Runnable} executing the refresh
+     */
+    public void schedule(final String key, final String url, final Date expirationDate, final Runnable refresh) {
+        Objects.requireNonNull(key, "Key cannot be null!");
+        Objects.requireNonNull(expirationDate, "Expiration date cannot be null!");
+        Objects.requireNonNull(refresh, "Refresh cannot be null!");
+
+        synchronized (plannedRefreshes) {
+            removeOutdatedExecutedRefreshes();
+            final Date executedExpirationDate = executedRefreshes.get(key);
+            if (executedExpirationDate != null && !expirationDate.after(executedExpirationDate)) {
+                return;
+            }
+            final PlannedRefresh planned = plannedRefreshes.get(key);
+            if (planned != null && !expirationDate.after(planned.expirationDate)) {
+                return;
+            }
+            if (planned != null && planned.future != null) {
+                planned.future.cancel(false);
+            }
+
+            long jitter = maxJitter > 0 ? ThreadLocalRandom.current().nextLong(maxJitter + 1) : 0;
+            long delay = Math.max(0, expirationDate.getTime() - refreshLeadTime - jitter - System.currentTimeMillis());
+
+            final PlannedRefresh plannedRefresh = new PlannedRefresh(key, getHost(url), expirationDate, refresh);
+            plannedRefreshes.put(key, plannedRefresh);
+            submit(plannedRefresh, delay);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Refresh of the revocation data with key '{}' planned in {} s", key, TimeUnit.MILLISECONDS.toSeconds(delay));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of revocation data with a planned refresh, not yet executed
+     *
+     * @return the number of planned refreshes
+     */
+    public int getNumberOfPlannedRefreshes() {
+        synchronized (plannedRefreshes) {
+            return plannedRefreshes.size();
+        }
+    }
+
+    /**
+     * Cancels all the planned refreshes
+     */
+    public void cancelAll() {
+        synchronized (plannedRefreshes) {
+            for (PlannedRefresh plannedRefresh : plannedRefreshes.values()) {
+                if (plannedRefresh.future != null) {
+                    plannedRefresh.future.cancel(false);
+                }
+            }
+            plannedRefreshes.clear();
+            executedRefreshes.clear();
+        }
+    }
+
+    private void removeOutdatedExecutedRefreshes() {
+        if (!executedRefreshes.isEmpty()) {
+            final Date now = new Date();
+            executedRefreshes.values().removeIf(expirationDate -> expirationDate.before(now));
+        }
+    }
+
+    private void complete(PlannedRefresh plannedRefresh) {
+        synchronized (plannedRefreshes) {
+            // releases the references of the refresh, unless replaced in the meantime
+            plannedRefreshes.remove(plannedRefresh.key, plannedRefresh);
+            final Date executedExpirationDate = executedRefreshes.get(plannedRefresh.key);
+            if (executedExpirationDate == null || plannedRefresh.expirationDate.after(executedExpirationDate)) {
+                executedRefreshes.put(plannedRefresh.key, plannedRefresh.expirationDate);
+            }
+        }
+    }
+
+    private void submit(PlannedRefresh plannedRefresh, long delay) {
+        try {
+            plannedRefresh.future = executorService.schedule(() -> execute(plannedRefresh), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Unable to plan the refresh of the revocation data with key '{}' : {}", plannedRefresh.key, e.getMessage());
+            plannedRefreshes.remove(plannedRefresh.key, plannedRefresh);
+        }
+    }
+
+    private void execute(PlannedRefresh plannedRefresh) {
+        final Semaphore globalPermits = permits;
+        if (!globalPermits.tryAcquire()) {
+            postpone(plannedRefresh);
+            return;
+        }
+        try {
+            final Semaphore perHostPermits = hostPermits.computeIfAbsent(plannedRefresh.host,
+                    h -> new Semaphore(maxConcurrentRefreshesPerHost));
+            if (!perHostPermits.tryAcquire()) {
+                postpone(plannedRefresh);
+                return;
+            }
+            try {
+                LOG.debug("Refreshing the revocation data with key '{}'", plannedRefresh.key);
+                plannedRefresh.refresh.run();
+            } catch (Exception e) {
+                LOG.warn("Unable to refresh the revocation data with key '{}' : {}", plannedRefresh.key, e.getMessage());
+            } finally {
+                perHostPermits.release();
+                complete(plannedRefresh);
+            }
+        } finally {
+            globalPermits.release();
+        }
+    }
+
+    private void postpone(PlannedRefresh plannedRefresh) {
+        synchronized (plannedRefreshes) {
+            // only if not replaced or cancelled in the meantime
+            if (plannedRefreshes.get(plannedRefresh.key) == plannedRefresh) {
+                LOG.debug("Concurrency limit reached, the refresh of the revocation data with key '{}' is postponed", plannedRefresh.key);
+                submit(plannedRefresh, postponeDelay);
+            }
+        }
+    }
+
+    private String getHost(String url) {
+        if (url == null) {
+            return "";
+        }
+        try {
+            String host = new URI(url).getHost();
+            if (host != null) {
+                return host.toLowerCase();
+            }
+        } catch (Exception e) {
+            LOG.debug("Unable to extract the host from URL '{}' : {}", url, e.getMessage());
+        }
+        return url;
+    }
+
+    /**
+     * Refresh planned for a revocation data
+     */
+    private static class PlannedRefresh {
+
+        /** The revocation key */
+        private final String key;
+
+        /** The host the revocation data is downloaded from */
+        private final String host;
+
+        /** The expiration of the cached revocation data */
+        private final Date expirationDate;
+
+        /** Executes the refresh */
+        private final Runnable refresh;
+
+        /** The scheduled execution */
+        private ScheduledFuture<?> future;
+
+        private PlannedRefresh(String key, String host, Date expirationDate, Runnable refresh) {
+            this.key = key;
+            this.host = host;
+            this.expirationDate = expirationDate;
+            this.refresh = refresh;
+        }
+
+    }
+
+}
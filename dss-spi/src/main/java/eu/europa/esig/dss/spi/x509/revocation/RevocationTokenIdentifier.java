@@ -49,4 +49,14 @@ public class RevocationTokenIdentifier extends TokenIdentifier {
 		super(prefix, revocationToken);
 	}
 
+	/**
+	 * Constructor to build an identifier from the given binaries
+	 *
+	 * @param prefix {@link String}
+	 * @param binaries byte array representing the revocation token binaries
+	 */
+	protected RevocationTokenIdentifier(String prefix, byte[] binaries) {
+		super(prefix, binaries);
+	}
+
 }
@@ -23,16 +23,21 @@ package eu.europa.esig.dss.spi.x509.revocation.crl;
 import eu.europa.esig.dss.crl.CRLUtils;
 import eu.europa.esig.dss.crl.CRLValidity;
 import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.RevocationReason;
 import eu.europa.esig.dss.enumerations.RevocationType;
 import eu.europa.esig.dss.enumerations.SignatureValidity;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.identifier.TokenIdentifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationCertificateSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationTokenIdentifier;
+import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +63,11 @@ public class CRLToken extends RevocationToken<CRL> {
 	 */
 	private final CRLValidity crlValidity;
 
+	/**
+	 * The reference to the {@code CRLValidity} of a delta CRL updating the {@code crlValidity}, when applicable
+	 */
+	private final CRLValidity deltaCrlValidity;
+
 	/**
 	 * The constructor to be used with the certificate which is managed by the
 	 * CRL and the {@code CRLValidity}.
@@ -69,8 +79,31 @@ public class CRLToken extends RevocationToken<CRL> {
 	 *            validity of the CRL
 	 */
 	public CRLToken(final CertificateToken certificateToken, final CRLValidity crlValidity) {
+		this(certificateToken, crlValidity, null);
+	}
+
+	/**
+	 * The constructor to be used with the certificate which is managed by the
+	 * complete CRL and a delta CRL updating it. The revocation status is computed
+	 * on the merged view of both CRLs, with entries of the delta CRL taking precedence.
+	 * The production and update times are taken from the delta CRL, and the token identifier
+	 * is computed on the binaries of both CRLs.
+	 *
+	 * @param certificateToken
+	 *            the {@code CertificateToken} which is managed by this CRL.
+	 * @param crlValidity
+	 *            {@code CRLValidity} of the complete (base) CRL
+	 * @param deltaCrlValidity
+	 *            {@code CRLValidity} of the delta CRL updating the complete CRL (can be null)
+	 */
+	public CRLToken(final CertificateToken certificateToken, final CRLValidity crlValidity,
+					final CRLValidity deltaCrlValidity) {
 		Objects.requireNonNull(crlValidity, "CRL Validity cannot be null");
+		if (deltaCrlValidity != null && !deltaCrlValidity.isDeltaCRLFor(crlValidity)) {
+			throw new DSSException("The delta CRL is not applicable to the given complete CRL!");
+		}
 		this.crlValidity = crlValidity;
+		this.deltaCrlValidity = deltaCrlValidity;
 		this.relatedCertificate = certificateToken;
 		initInfo();
 		setRevocationStatus(certificateToken);
@@ -80,10 +113,11 @@ public class CRLToken extends RevocationToken<CRL> {
 	}
 
 	private void initInfo() {
+		final CRLValidity latestCrlValidity = deltaCrlValidity != null ? deltaCrlValidity : crlValidity;
 		this.signatureAlgorithm = crlValidity.getSignatureAlgorithm();
-		this.thisUpdate = crlValidity.getThisUpdate();
-		this.productionDate = crlValidity.getThisUpdate(); // dates are equals in case of CRL
-		this.nextUpdate = crlValidity.getNextUpdate();
+		this.thisUpdate = latestCrlValidity.getThisUpdate();
+		this.productionDate = latestCrlValidity.getThisUpdate(); // dates are equals in case of CRL
+		this.nextUpdate = latestCrlValidity.getNextUpdate();
 		this.expiredCertsOnCRL = crlValidity.getExpiredCertsOnCRL();
 
 		CertificateToken issuerToken = crlValidity.getIssuerToken();
@@ -100,11 +134,11 @@ public class CRLToken extends RevocationToken<CRL> {
 	 *            the {@code CertificateToken} which is managed by this CRL.
 	 */
 	private void setRevocationStatus(final CertificateToken certificateToken) {
-		final X500Principal issuerToken = certificateToken.getIssuerX500Principal();
+		final X500PrincipalHelper issuerToken = certificateToken.getIssuer();
 		CertificateToken crlSigner = crlValidity.getIssuerToken();
-		X500Principal crlSignerSubject = null;
+		X500PrincipalHelper crlSignerSubject = null;
 		if (crlSigner != null) {
-			crlSignerSubject = crlSigner.getSubject().getPrincipal();
+			crlSignerSubject = crlSigner.getSubject();
 		}
 
 		if (!DSSASN1Utils.x500PrincipalAreEquals(issuerToken, crlSignerSubject)) {
@@ -115,9 +149,15 @@ public class CRLToken extends RevocationToken<CRL> {
 		}
 
 		final BigInteger serialNumber = certificateToken.getSerialNumber();
-		X509CRLEntry crlEntry = CRLUtils.getRevocationInfo(crlValidity, serialNumber);
+		X509CRLEntry crlEntry = null;
+		if (deltaCrlValidity != null) {
+			crlEntry = CRLUtils.getRevocationInfo(deltaCrlValidity, serialNumber);
+		}
+		if (crlEntry == null) {
+			crlEntry = CRLUtils.getRevocationInfo(crlValidity, serialNumber);
+		}
 
-		if (crlEntry != null) {
+		if (crlEntry != null && CRLReason.REMOVE_FROM_CRL != crlEntry.getRevocationReason()) {
 			status = CertificateStatus.REVOKED;
 			revocationDate = crlEntry.getRevocationDate();
 			CRLReason revocationReason = crlEntry.getRevocationReason();
@@ -125,6 +165,7 @@ public class CRLToken extends RevocationToken<CRL> {
 				reason = RevocationReason.fromInt(revocationReason.ordinal());
 			}
 		} else {
+			// a delta CRL entry with 'removeFromCRL' reason releases a certificate hold
 			status = CertificateStatus.GOOD;
 		}
 	}
@@ -149,6 +190,39 @@ public class CRLToken extends RevocationToken<CRL> {
 		return crlValidity;
 	}
 
+	/**
+	 * Returns a {@code CRLValidity} of the delta CRL merged into the current token, when applicable
+	 *
+	 * @return {@link CRLValidity} of the delta CRL, null if the token is based on a complete CRL only
+	 */
+	public CRLValidity getDeltaCrlValidity() {
+		return deltaCrlValidity;
+	}
+
+	@Override
+	protected TokenIdentifier buildTokenIdentifier() {
+		if (deltaCrlValidity == null) {
+			return super.buildTokenIdentifier();
+		}
+		// the merged token shall not be confused with a token based on the complete CRL only
+		return new MergedCRLTokenIdentifier(crlValidity, deltaCrlValidity);
+	}
+
+	/**
+	 * Returns the digest of the complete CRL binaries, as referenced or embedded within signatures
+	 *
+	 * @param digestAlgorithm
+	 *                        the requested digest algorithm
+	 * @return the digest value in binaries
+	 */
+	@Override
+	public byte[] getDigest(DigestAlgorithm digestAlgorithm) {
+		if (deltaCrlValidity == null) {
+			return super.getDigest(digestAlgorithm);
+		}
+		return crlValidity.getCrlBinary().getDigestValue(digestAlgorithm);
+	}
+
 	@Override
 	public X500Principal getIssuerX500Principal() {
 		if (crlValidity.getIssuerToken() != null) { // if the signature is invalid, the issuer is null
@@ -163,13 +237,19 @@ public class CRLToken extends RevocationToken<CRL> {
 		return crlValidity.getIssuerToken();
 	}
 
+	/**
+	 * Returns binaries of the complete CRL. When a delta CRL is merged, its binaries
+	 * are returned by the {@code getDeltaEncoded()} method
+	 *
+	 * @return CRL binaries
+	 */
 	@Override
 	public byte[] getEncoded() {
 		return crlValidity.getDerEncoded();
 	}
 
 	/**
-	 * Opens InputStream of the CRL binaries
+	 * Opens InputStream of the complete CRL binaries
 	 *
 	 * @return {@link InputStream}
 	 */
@@ -177,15 +257,33 @@ public class CRLToken extends RevocationToken<CRL> {
 		return crlValidity.toCRLInputStream();
 	}
 
+	/**
+	 * Returns binaries of the delta CRL merged into the current token, when applicable
+	 *
+	 * @return delta CRL binaries, null if the token is based on a complete CRL only
+	 */
+	public byte[] getDeltaEncoded() {
+		return deltaCrlValidity != null ? deltaCrlValidity.getDerEncoded() : null;
+	}
+
+	/**
+	 * Opens InputStream of the delta CRL binaries, when applicable
+	 *
+	 * @return {@link InputStream}, null if the token is based on a complete CRL only
+	 */
+	public InputStream getDeltaCRLStream() {
+		return deltaCrlValidity != null ? deltaCrlValidity.toCRLInputStream() : null;
+	}
+
 	/**
 	 * Indicates if the token signature is intact and the signing certificate
-	 * has cRLSign key usage bit set.
+	 * has cRLSign key usage bit set. When a delta CRL is merged, both CRLs shall be valid.
 	 *
 	 * @return {@code true} or {@code false}
 	 */
 	@Override
 	public boolean isValid() {
-		return crlValidity.isValid();
+		return crlValidity.isValid() && (deltaCrlValidity == null || deltaCrlValidity.isValid());
 	}
 
 	@Override
@@ -215,6 +313,9 @@ public class CRLToken extends RevocationToken<CRL> {
 		out.append(indentStr).append("NextUpdate time: ").append(nextUpdate == null ? "?" : DSSUtils.formatDateToRFC(nextUpdate)).append('\n');
 		out.append(indentStr).append("Signature algorithm: ").append(signatureAlgorithm == null ? "?" : signatureAlgorithm).append('\n');
 		out.append(indentStr).append("Status: ").append(getStatus()).append('\n');
+		if (deltaCrlValidity != null) {
+			out.append(indentStr).append("Delta CRL: ").append(deltaCrlValidity.getCrlBinary().asXmlId()).append('\n');
+		}
 		out.append(indentStr).append("Issuer's certificate: ").append(getIssuerX500Principal()).append('\n');
 		if (getRelatedCertificateId() != null) {
 			out.append(indentStr).append("Related certificate: ").append(getRelatedCertificateId()).append('\n');
@@ -224,4 +325,25 @@ public class CRLToken extends RevocationToken<CRL> {
 		return out.toString();
 	}
 
+	/**
+	 * Identifies a token merging a complete CRL with a delta CRL, computed on the SHA-256 digests of both CRLs,
+	 * so the (possibly large) binaries of the CRLs are not loaded to compute the identifier
+	 */
+	private static final class MergedCRLTokenIdentifier extends RevocationTokenIdentifier {
+
+		private static final long serialVersionUID = 4716283350541796431L;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param crlValidity {@link CRLValidity} of the complete CRL
+		 * @param deltaCrlValidity {@link CRLValidity} of the delta CRL
+		 */
+		MergedCRLTokenIdentifier(CRLValidity crlValidity, CRLValidity deltaCrlValidity) {
+			super("R-", Utils.concat(crlValidity.getCrlBinary().getDigestValue(DigestAlgorithm.SHA256),
+					deltaCrlValidity.getCrlBinary().getDigestValue(DigestAlgorithm.SHA256)));
+		}
+
+	}
+
 }
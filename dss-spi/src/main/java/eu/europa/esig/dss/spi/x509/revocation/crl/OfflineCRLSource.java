@@ -84,7 +84,12 @@ public abstract class OfflineCRLSource extends OfflineRevocationSource<CRL> {
 		}
 
 		for (CRLValidity crlValidity : validCRLValiditiesForIssuer) {
-			final CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
+			if (crlValidity.isDeltaCRL()) {
+				// a delta CRL is only used together with the complete CRL it updates
+				continue;
+			}
+			final CRLValidity deltaCrlValidity = getLatestDeltaCRLValidity(crlValidity, validCRLValiditiesForIssuer);
+			final CRLToken crlToken = new CRLToken(certificateToken, crlValidity, deltaCrlValidity);
 			addRevocation(crlToken, crlValidity.getCrlBinary());
 			result.add(crlToken);
 		}
@@ -93,6 +98,17 @@ public abstract class OfflineCRLSource extends OfflineRevocationSource<CRL> {
 		return result;
 	}
 
+	private CRLValidity getLatestDeltaCRLValidity(CRLValidity completeCrlValidity, List<CRLValidity> crlValidities) {
+		CRLValidity latestDeltaCrlValidity = null;
+		for (CRLValidity crlValidity : crlValidities) {
+			if (crlValidity.isDeltaCRLFor(completeCrlValidity) && (latestDeltaCrlValidity == null
+					|| crlValidity.getThisUpdate().after(latestDeltaCrlValidity.getThisUpdate()))) {
+				latestDeltaCrlValidity = crlValidity;
+			}
+		}
+		return latestDeltaCrlValidity;
+	}
+
 	private List<CRLValidity> getFromCachedCRLValidities(CertificateToken issuerToken) {
 		List<CRLValidity> result = new ArrayList<>();
 		for (CRLValidity validity : cachedValidCRLValidities) {
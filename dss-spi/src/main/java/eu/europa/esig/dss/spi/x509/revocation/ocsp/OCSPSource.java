@@ -22,7 +22,12 @@ package eu.europa.esig.dss.spi.x509.revocation.ocsp;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.DSSRevocationUtils;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Typed sub-interface which allows collection of {@code OCSPToken}(s). The validation
@@ -36,4 +41,22 @@ public interface OCSPSource extends RevocationSource<OCSP> {
 	@Override
 	OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken);
 
+	/**
+	 * This method retrieves {@code OCSPToken}s for several certificates at once.
+	 * The default implementation requests each certificate individually. Implementations may combine
+	 * several certificates within a single OCSP request.
+	 * NOTE: certificates for which no OCSP response has been obtained are not present within the returned map
+	 *
+	 * @param certificatesAndIssuers a map between {@code CertificateToken}s to be requested and their issuers
+	 * @return a map between {@link CertificateToken}s and the obtained {@link OCSPToken}s
+	 */
+	default Map<CertificateToken, OCSPToken> getRevocationTokens(Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+		final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+		for (Map.Entry<CertificateToken, RevocationToken<OCSP>> entry :
+				DSSRevocationUtils.getRevocationTokens(this, certificatesAndIssuers).entrySet()) {
+			result.put(entry.getKey(), (OCSPToken) entry.getValue());
+		}
+		return result;
+	}
+
 }
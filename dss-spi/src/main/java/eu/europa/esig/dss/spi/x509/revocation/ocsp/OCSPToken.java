@@ -298,6 +298,11 @@ public class OCSPToken extends RevocationToken<OCSP> {
 		return signatureValidity;
 	}
 
+	@Override
+	protected boolean isSignatureValidityCacheable() {
+		return true;
+	}
+
 	/**
 	 * This method returns version defined within the OCSP token (returns version value + 1, i.e. 'v1' for value '0').
 	 * Returns '1' if no version defined (default value).
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.spi;
 
+import eu.europa.esig.dss.enumerations.CertificateExtensionEnum;
 import eu.europa.esig.dss.enumerations.ExtendedKeyUsage;
 import eu.europa.esig.dss.enumerations.GeneralNameType;
 import eu.europa.esig.dss.model.x509.CertificateToken;
@@ -27,6 +28,7 @@ import eu.europa.esig.dss.model.x509.extension.AuthorityInformationAccess;
 import eu.europa.esig.dss.model.x509.extension.AuthorityKeyIdentifier;
 import eu.europa.esig.dss.model.x509.extension.CRLDistributionPoints;
 import eu.europa.esig.dss.model.x509.extension.CertificateExtensions;
+import eu.europa.esig.dss.model.x509.extension.CertificateExtensionsHolder;
 import eu.europa.esig.dss.model.x509.extension.CertificatePolicies;
 import eu.europa.esig.dss.model.x509.extension.CertificatePolicy;
 import eu.europa.esig.dss.model.x509.extension.ExtendedKeyUsages;
@@ -49,7 +51,9 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CertificateExtensionUtilsTest {
@@ -504,4 +508,47 @@ class CertificateExtensionUtilsTest {
         assertEquals("#0000000000000000000000000000000000000000000000000000000000000000", subtree.getValue());
     }
 
+    @Test
+    void extensionsAreParsedOnce() {
+        CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/TSP_Certificate_2014.crt"));
+        CertificateExtensionsHolder extensionsHolder = certificate.getExtensionsHolder();
+        assertNotNull(extensionsHolder);
+        assertSame(extensionsHolder, certificate.getExtensionsHolder());
+        assertEquals(0, extensionsHolder.getNumberOfParsedExtensions());
+
+        String aiaOid = CertificateExtensionEnum.AUTHORITY_INFORMATION_ACCESS.getOid();
+        assertFalse(extensionsHolder.isParsed(aiaOid));
+
+        AuthorityInformationAccess aia = CertificateExtensionsUtils.getAuthorityInformationAccess(certificate);
+        assertNotNull(aia);
+        assertTrue(extensionsHolder.isParsed(aiaOid));
+        assertSame(aia, CertificateExtensionsUtils.getAuthorityInformationAccess(certificate));
+        assertEquals(1, extensionsHolder.getNumberOfParsedExtensions());
+
+        String nameConstraintsOid = CertificateExtensionEnum.NAME_CONSTRAINTS.getOid();
+        assertNull(CertificateExtensionsUtils.getNameConstraints(certificate));
+        assertTrue(extensionsHolder.isParsed(nameConstraintsOid));
+        assertNull(CertificateExtensionsUtils.getNameConstraints(certificate));
+        assertEquals(2, extensionsHolder.getNumberOfParsedExtensions());
+    }
+
+    @Test
+    void extensionsMemoisationDisabled() {
+        CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/TSP_Certificate_2014.crt"));
+        assertTrue(CertificateExtensionsUtils.isMemoisationEnabled());
+        try {
+            CertificateExtensionsUtils.setMemoisationEnabled(false);
+
+            AuthorityInformationAccess aia = CertificateExtensionsUtils.getAuthorityInformationAccess(certificate);
+            assertNotNull(aia);
+            assertNotSame(aia, CertificateExtensionsUtils.getAuthorityInformationAccess(certificate));
+            assertEquals(0, certificate.getExtensionsHolder().getNumberOfParsedExtensions());
+
+        } finally {
+            CertificateExtensionsUtils.setMemoisationEnabled(true);
+        }
+        assertSame(CertificateExtensionsUtils.getAuthorityInformationAccess(certificate),
+                CertificateExtensionsUtils.getAuthorityInformationAccess(certificate));
+    }
+
 }
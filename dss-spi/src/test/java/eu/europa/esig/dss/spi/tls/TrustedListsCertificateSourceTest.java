@@ -21,13 +21,32 @@
 package eu.europa.esig.dss.spi.tls;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.timedependent.TimeDependentValues;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.model.tsl.TrustProperties;
+import eu.europa.esig.dss.model.tsl.TrustServiceProvider;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.tsl.TrustedListsSnapshot;
 
 class TrustedListsCertificateSourceTest {
 
@@ -42,4 +61,169 @@ class TrustedListsCertificateSourceTest {
 		assertEquals("Cannot directly add certificate to a TrustedListsCertificateSource", exception.getMessage());
 	}
 
+	@Test
+	void snapshotTest() {
+		CertificateToken cert = DSSUtils.loadCertificateFromBase64EncodedString(
+				"MIIDjjCCAnagAwIBAgIIKv++n6Lw6YcwDQYJKoZIhvcNAQEFBQAwKDELMAkGA1UEBhMCQkUxGTAXBgNVBAMTEEJlbGdpdW0gUm9vdCBDQTIwHhcNMDcxMDA0MTAwMDAwWhcNMjExMjE1MDgwMDAwWjAoMQswCQYDVQQGEwJCRTEZMBcGA1UEAxMQQmVsZ2l1bSBSb290IENBMjCCASIwDQYJKoZIhvcNAQEBBQADggEPADCCAQoCggEBAMZzQh6S/3UPi790hqc/7bIYLS2X+an7mEoj39WN4IzGMhwWLQdC1i22bi+n9fzGhYJdld61IgDMqFNAn68KNaJ6x+HK92AQZw6nUHMXU5WfIp8MXW+2QbyM69odRr2nlL/zGsvU+40OHjPIltfsjFPekx40HopQcSZYtF3CiInaYNKJIT/e1wEYNm7hLHADBGXvmAYrXR5i3FVr/mZkIV/4L+HXmymvb82fqgxG0YjFnaKVn6w/Fa7yYd/vw2uaItgscf1YHewApDgglVrH1Tdjuk+bqv5WRi5j2Qsj1Yr6tSPwiRuhFA0m2kHwOI8w7QUmecFLTqG4flVSOmlGhHUCAwEAAaOBuzCBuDAOBgNVHQ8BAf8EBAMCAQYwDwYDVR0TAQH/BAUwAwEB/zBCBgNVHSAEOzA5MDcGBWA4CQEBMC4wLAYIKwYBBQUHAgEWIGh0dHA6Ly9yZXBvc2l0b3J5LmVpZC5iZWxnaXVtLmJlMB0GA1UdDgQWBBSFiuv0xbu+DlkDlN7WgAEV4xCcOTARBglghkgBhvhCAQEEBAMCAAcwHwYDVR0jBBgwFoAUhYrr9MW7vg5ZA5Te1oABFeMQnDkwDQYJKoZIhvcNAQEFBQADggEBAFHYhd27V2/MoGy1oyCcUwnzSgEMdL8rs5qauhjyC4isHLMzr87lEwEnkoRYmhC598wUkmt0FoqW6FHvv/pKJaeJtmMrXZRY0c8RcrYeuTlBFk0pvDVTC9rejg7NqZV3JcqUWumyaa7YwBO+mPyWnIR/VRPmPIfjvCCkpDZoa01gZhz5v6yAlGYuuUGK02XThIAC71AdXkbc98m6tTR8KvPG2F9fVJ3bTc0R5/0UAoNmXsimABKgX77OFP67H6dh96tK8QYUn8pJQsKpvO2FsauBQeYNxUJpU4c5nUwfAA4+Bw11V0SoU7Q2dmSZ3G7rPUZuFF1eR1ONeE3gJ7uOhXY=");
+
+		TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
+		TrustedListsSnapshot emptySnapshot = trustedCertSource.getSnapshot();
+		assertEquals(0, trustedCertSource.getSnapshotVersion());
+		assertFalse(trustedCertSource.isTrusted(cert));
+
+		Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new HashMap<>();
+		trustPropertiesByCerts.put(cert, Collections.emptyList());
+		trustedCertSource.setTrustPropertiesByCertificates(trustPropertiesByCerts);
+
+		assertEquals(1, trustedCertSource.getSnapshotVersion());
+		assertTrue(trustedCertSource.isTrusted(cert));
+		assertEquals(1, trustedCertSource.getNumberOfCertificates());
+		assertEquals(1, trustedCertSource.getNumberOfTrustedPublicKeys());
+		assertEquals(1, trustedCertSource.getBySubject(cert.getSubject()).size());
+		assertTrue(trustedCertSource.getTrustServices(cert).isEmpty());
+		Digest certDigest = new Digest(DigestAlgorithm.SHA256, cert.getDigest(DigestAlgorithm.SHA256));
+		assertEquals(1, trustedCertSource.getByCertificateDigest(certDigest).size());
+		assertEquals(1, trustedCertSource.getByCertificateDigest(new Digest(DigestAlgorithm.SHA512, cert.getDigest(DigestAlgorithm.SHA512))).size());
+
+		// previous snapshot is not impacted
+		assertEquals(0, emptySnapshot.getVersion());
+		assertEquals(0, emptySnapshot.getNumberOfTrustedPublicKeys());
+
+		trustedCertSource.setTrustPropertiesByCertificates(Collections.emptyMap());
+		assertEquals(2, trustedCertSource.getSnapshotVersion());
+		assertFalse(trustedCertSource.isTrusted(cert));
+		assertEquals(0, trustedCertSource.getNumberOfCertificates());
+		assertTrue(trustedCertSource.getByCertificateDigest(certDigest).isEmpty());
+	}
+
+	@Test
+	void incrementalUpdateTest() {
+		CertificateToken czCert = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		CertificateToken beCert = DSSUtils.loadCertificate(new File("src/test/resources/TSA_BE.cer"));
+
+		TrustProperties czTrustProperties = getTrustProperties("https://cz.tl");
+		TrustProperties beTrustProperties = getTrustProperties("https://be.tl");
+
+		TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
+		Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new HashMap<>();
+		trustPropertiesByCerts.put(czCert, Collections.singletonList(czTrustProperties));
+		trustPropertiesByCerts.put(beCert, Collections.singletonList(beTrustProperties));
+		trustedCertSource.setTrustPropertiesByCertificates(trustPropertiesByCerts);
+
+		assertEquals(1, trustedCertSource.getSnapshotVersion());
+		assertEquals(2, trustedCertSource.getNumberOfCertificates());
+		assertEquals(2, trustedCertSource.getSnapshot().getTrustedListUrls().size());
+
+		// the BE TL is updated and now also contains the CZ certificate
+		TrustProperties newBeTrustProperties = getTrustProperties("https://be.tl");
+		Map<CertificateToken, List<TrustProperties>> beUpdate = new HashMap<>();
+		beUpdate.put(beCert, Collections.singletonList(newBeTrustProperties));
+		beUpdate.put(czCert, Collections.singletonList(newBeTrustProperties));
+		trustedCertSource.updateTrustPropertiesByCertificates(Collections.singleton("https://be.tl"), beUpdate);
+
+		assertEquals(2, trustedCertSource.getSnapshotVersion());
+		assertEquals(2, trustedCertSource.getNumberOfCertificates());
+		assertEquals(Collections.singletonList(newBeTrustProperties), trustedCertSource.getTrustServices(beCert));
+		assertEquals(Arrays.asList(czTrustProperties, newBeTrustProperties), trustedCertSource.getTrustServices(czCert));
+
+		// the CZ TL is removed, the CZ certificate is still trusted by the BE TL
+		trustedCertSource.updateTrustPropertiesByCertificates(Collections.singleton("https://cz.tl"), Collections.emptyMap());
+
+		assertEquals(3, trustedCertSource.getSnapshotVersion());
+		assertTrue(trustedCertSource.isTrusted(czCert));
+		assertEquals(Collections.singletonList(newBeTrustProperties), trustedCertSource.getTrustServices(czCert));
+		assertEquals(Collections.singleton("https://be.tl"), trustedCertSource.getSnapshot().getTrustedListUrls());
+
+		// the BE TL is removed
+		trustedCertSource.updateTrustPropertiesByCertificates(Collections.singleton("https://be.tl"), Collections.emptyMap());
+
+		assertEquals(4, trustedCertSource.getSnapshotVersion());
+		assertFalse(trustedCertSource.isTrusted(czCert));
+		assertFalse(trustedCertSource.isTrusted(beCert));
+		assertEquals(0, trustedCertSource.getNumberOfCertificates());
+		assertTrue(trustedCertSource.getSnapshot().getTrustedListUrls().isEmpty());
+	}
+
+	@Test
+	void snapshotViewTest() {
+		CertificateToken czCert = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		TrustProperties czTrustProperties = getTrustProperties("https://cz.tl");
+
+		TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
+		trustedCertSource.setTrustPropertiesByCertificates(Collections.singletonMap(czCert, Collections.singletonList(czTrustProperties)));
+		assertFalse(trustedCertSource.isSnapshotView());
+		assertSame(trustedCertSource, trustedCertSource.getOrigin());
+
+		TrustedListsCertificateSource snapshotView = trustedCertSource.getSnapshotView();
+		assertTrue(snapshotView.isSnapshotView());
+		assertSame(trustedCertSource, snapshotView.getOrigin());
+		assertSame(snapshotView, snapshotView.getSnapshotView());
+		assertSame(trustedCertSource.getSnapshot(), snapshotView.getSnapshot());
+
+		trustedCertSource.updateTrustPropertiesByCertificates(Collections.singleton("https://cz.tl"), Collections.emptyMap());
+		assertFalse(trustedCertSource.isTrusted(czCert));
+
+		// the view is not impacted by the update
+		assertEquals(1, snapshotView.getSnapshotVersion());
+		assertTrue(snapshotView.isTrusted(czCert));
+		assertEquals(Collections.singletonList(czTrustProperties), snapshotView.getTrustServices(czCert));
+
+		Exception exception = assertThrows(UnsupportedOperationException.class,
+				() -> snapshotView.setTrustPropertiesByCertificates(Collections.emptyMap()));
+		assertEquals("Cannot update a snapshot view of a TrustedListsCertificateSource", exception.getMessage());
+		assertThrows(UnsupportedOperationException.class, () -> snapshotView.setSummary(null));
+	}
+
+	@Test
+	void unchangedTLRefreshTest() {
+		CertificateToken czCert = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		CertificateToken beCert = DSSUtils.loadCertificate(new File("src/test/resources/TSA_BE.cer"));
+
+		TrustProperties czTrustProperties = getTrustProperties("https://cz.tl");
+		TrustProperties beTrustProperties = getTrustProperties("https://be.tl");
+
+		TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
+		Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new HashMap<>();
+		trustPropertiesByCerts.put(czCert, Collections.singletonList(czTrustProperties));
+		trustPropertiesByCerts.put(beCert, Collections.singletonList(beTrustProperties));
+		trustedCertSource.setTrustPropertiesByCertificates(trustPropertiesByCerts);
+
+		// nothing has changed
+		TrustedListsSnapshot snapshot = trustedCertSource.getSnapshot();
+		trustedCertSource.updateTrustPropertiesByCertificates(Collections.emptySet(), Collections.emptyMap(), null);
+		assertSame(snapshot, trustedCertSource.getSnapshot());
+
+		TLInfo czTLInfo = czTrustProperties.getTLInfo();
+		TLInfo newCzTLInfo = new TLInfo(null, null, null, "https://cz.tl");
+		TLInfo newBeTLInfo = new TLInfo(null, null, null, "https://be.tl");
+		TLValidationJobSummary summary = new TLValidationJobSummary(Collections.emptyList(), Arrays.asList(newCzTLInfo, newBeTLInfo));
+
+		// the CZ TL is unchanged, but its trust properties refer to the new summary
+		TrustProperties newBeTrustProperties = new TrustProperties(newBeTLInfo, new TrustServiceProvider(), new TimeDependentValues<>());
+		trustedCertSource.updateTrustPropertiesByCertificates(Collections.singleton("https://be.tl"),
+				Collections.singletonMap(beCert, Collections.singletonList(newBeTrustProperties)), summary);
+
+		assertEquals(2, trustedCertSource.getSnapshotVersion());
+		assertEquals(2, trustedCertSource.getNumberOfCertificates());
+		assertEquals(Collections.singletonList(newBeTrustProperties), trustedCertSource.getTrustServices(beCert));
+
+		List<TrustProperties> czTrustServices = trustedCertSource.getTrustServices(czCert);
+		assertEquals(1, czTrustServices.size());
+		assertSame(newCzTLInfo, czTrustServices.get(0).getTLInfo());
+		assertNotSame(czTLInfo, czTrustServices.get(0).getTLInfo());
+		assertSame(czTrustProperties.getTrustServiceProvider(), czTrustServices.get(0).getTrustServiceProvider());
+		assertSame(czTrustProperties.getTrustService(), czTrustServices.get(0).getTrustService());
+
+		// the infos are up to date
+		snapshot = trustedCertSource.getSnapshot();
+		trustedCertSource.updateTrustPropertiesByCertificates(Collections.emptySet(), Collections.emptyMap(), summary);
+		assertSame(snapshot, trustedCertSource.getSnapshot());
+		assertEquals(2, trustedCertSource.getSnapshotVersion());
+	}
+
+	private TrustProperties getTrustProperties(String tlUrl) {
+		TLInfo tlInfo = new TLInfo(null, null, null, tlUrl);
+		return new TrustProperties(tlInfo, new TrustServiceProvider(), new TimeDependentValues<>());
+	}
+
 }
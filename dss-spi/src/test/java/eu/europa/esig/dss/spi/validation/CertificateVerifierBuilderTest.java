@@ -35,6 +35,7 @@ import eu.europa.esig.dss.spi.x509.revocation.ocsp.OfflineOCSPSource;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -50,6 +51,8 @@ class CertificateVerifierBuilderTest {
         CertificateVerifier copy = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
         assertEquals(certificateVerifier.getDefaultDigestAlgorithm(), copy.getDefaultDigestAlgorithm());
         assertEquals(certificateVerifier.getAIASource(), copy.getAIASource());
+        assertEquals(certificateVerifier.getCertificateChainCache(), copy.getCertificateChainCache());
+        assertEquals(certificateVerifier.getIssuerCandidatesExecutorService(), copy.getIssuerCandidatesExecutorService());
         assertEquals(certificateVerifier.getCrlSource(), copy.getCrlSource());
         assertEquals(certificateVerifier.getOcspSource(), copy.getOcspSource());
         assertEquals(certificateVerifier.getRevocationDataLoadingStrategyFactory(), copy.getRevocationDataLoadingStrategyFactory());
@@ -93,6 +96,8 @@ class CertificateVerifierBuilderTest {
         assertEquals(certificateVerifier.getAdjunctCertSources(), copy.getAdjunctCertSources());
         assertEquals(certificateVerifier.getTrustedCertSources(), copy.getTrustedCertSources());
         assertNull(copy.getAIASource());
+        assertNull(copy.getCertificateChainCache());
+        assertEquals(certificateVerifier.getIssuerCandidatesExecutorService(), copy.getIssuerCandidatesExecutorService());
         assertNull(copy.getCrlSource());
         assertNull(copy.getOcspSource());
         assertNotNull(copy.getRevocationDataLoadingStrategyFactory()); // not relevant for offline validation
@@ -117,6 +122,8 @@ class CertificateVerifierBuilderTest {
         CertificateVerifier copy = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopyForValidation();
         assertEquals(certificateVerifier.getDefaultDigestAlgorithm(), copy.getDefaultDigestAlgorithm());
         assertEquals(certificateVerifier.getAIASource(), copy.getAIASource());
+        assertEquals(certificateVerifier.getCertificateChainCache(), copy.getCertificateChainCache());
+        assertEquals(certificateVerifier.getIssuerCandidatesExecutorService(), copy.getIssuerCandidatesExecutorService());
         assertEquals(certificateVerifier.getCrlSource(), copy.getCrlSource());
         assertEquals(certificateVerifier.getOcspSource(), copy.getOcspSource());
         assertEquals(certificateVerifier.getRevocationDataLoadingStrategyFactory(), copy.getRevocationDataLoadingStrategyFactory());
@@ -139,6 +146,8 @@ class CertificateVerifierBuilderTest {
         CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
         certificateVerifier.setDefaultDigestAlgorithm(DigestAlgorithm.SHA512);
         certificateVerifier.setAIASource(new DefaultAIASource());
+        certificateVerifier.setCertificateChainCache(new InMemoryCertificateChainCache());
+        certificateVerifier.setIssuerCandidatesExecutorService(ForkJoinPool.commonPool());
         certificateVerifier.setCrlSource(new OfflineCRLSource() {
             private static final long serialVersionUID = 2488777601664014631L;
             @Override
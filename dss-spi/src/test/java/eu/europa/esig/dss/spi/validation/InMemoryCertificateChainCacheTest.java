@@ -0,0 +1,168 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.validation;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.ListCertificateSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryCertificateChainCacheTest {
+
+    private static final CertificateToken CERT = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+    private static final CertificateToken CA_CERT = DSSUtils.loadCertificate(new File("src/test/resources/CZ_CA.cer"));
+    private static final CertificateToken OTHER_CERT = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+
+    private static final TrustedSourcesVersion V0 = TrustedSourcesVersion.of(new ListCertificateSource());
+
+    @Test
+    void putAndGetTest() {
+        InMemoryCertificateChainCache cache = new InMemoryCertificateChainCache();
+        assertNull(cache.get(CERT, V0));
+
+        cache.put(CERT, V0, new CertificateIssuerEntry(CA_CERT));
+        CertificateIssuerEntry entry = cache.get(CERT, V0);
+        assertNotNull(entry);
+        assertEquals(CA_CERT, entry.getIssuer());
+        assertFalse(entry.isRetrievedFromAIA());
+
+        // same certificate from another instance
+        assertNotNull(cache.get(DSSUtils.loadCertificate(CERT.getEncoded()), V0));
+
+        // another version of trusted sources
+        CommonTrustedCertificateSource trustedCertificateSource = new CommonTrustedCertificateSource();
+        TrustedSourcesVersion v1 = TrustedSourcesVersion.of(new ListCertificateSource(trustedCertificateSource));
+        assertNull(cache.get(CERT, v1));
+
+        cache.put(CERT, v1, new CertificateIssuerEntry(CA_CERT, Collections.singletonList(CA_CERT)));
+        entry = cache.get(CERT, v1);
+        assertNotNull(entry);
+        assertTrue(entry.isRetrievedFromAIA());
+        assertEquals(1, entry.getAIACertificates().size());
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(CERT, V0));
+    }
+
+    @Test
+    void maxSizeTest() {
+        InMemoryCertificateChainCache cache = new InMemoryCertificateChainCache();
+        cache.setMaxSize(2);
+
+        cache.put(CERT, V0, new CertificateIssuerEntry(CA_CERT));
+        cache.put(CA_CERT, V0, new CertificateIssuerEntry(CA_CERT));
+        assertNotNull(cache.get(CERT, V0)); // CERT is now the most recently used
+        cache.put(OTHER_CERT, V0, new CertificateIssuerEntry(OTHER_CERT));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(CERT, V0));
+        assertNull(cache.get(CA_CERT, V0));
+        assertNotNull(cache.get(OTHER_CERT, V0));
+
+        assertThrows(IllegalArgumentException.class, () -> cache.setMaxSize(0));
+    }
+
+    @Test
+    void expirationTest() {
+        InMemoryCertificateChainCache cache = new InMemoryCertificateChainCache();
+        cache.setExpirationTime(0);
+
+        cache.put(CERT, V0, new CertificateIssuerEntry(CA_CERT));
+        assertNull(cache.get(CERT, V0));
+        assertEquals(0, cache.size());
+
+        cache.setExpirationTime(-1);
+        cache.put(CERT, V0, new CertificateIssuerEntry(CA_CERT));
+        assertNotNull(cache.get(CERT, V0));
+    }
+
+    @Test
+    void trustedSourcesVersionTest() {
+        CommonTrustedCertificateSource trustedCertificateSource = new CommonTrustedCertificateSource();
+        CommonCertificateSource adjunctCertificateSource = new CommonCertificateSource();
+
+        ListCertificateSource trustedCertSources = new ListCertificateSource();
+        trustedCertSources.add(trustedCertificateSource);
+        trustedCertSources.add(adjunctCertificateSource);
+
+        TrustedSourcesVersion version = TrustedSourcesVersion.of(trustedCertSources);
+        assertNotNull(version);
+        assertEquals(version, TrustedSourcesVersion.of(trustedCertSources));
+        assertNotEquals(V0, version);
+
+        InMemoryCertificateChainCache cache = new InMemoryCertificateChainCache();
+        cache.put(CERT, version, new CertificateIssuerEntry(CA_CERT));
+        assertNotNull(cache.get(CERT, TrustedSourcesVersion.of(trustedCertSources)));
+
+        // a change of a source which is not a trusted list invalidates the entry
+        adjunctCertificateSource.addCertificate(OTHER_CERT);
+        TrustedSourcesVersion updatedVersion = TrustedSourcesVersion.of(trustedCertSources);
+        assertNotEquals(version, updatedVersion);
+        assertNull(cache.get(CERT, updatedVersion));
+
+        // same content in another source instance is not the same version
+        ListCertificateSource otherTrustedCertSources = new ListCertificateSource();
+        otherTrustedCertSources.add(new CommonTrustedCertificateSource());
+        otherTrustedCertSources.add(adjunctCertificateSource);
+        assertNotEquals(updatedVersion, TrustedSourcesVersion.of(otherTrustedCertSources));
+
+        // the order of the sources matters
+        ListCertificateSource reorderedTrustedCertSources = new ListCertificateSource();
+        reorderedTrustedCertSources.add(adjunctCertificateSource);
+        reorderedTrustedCertSources.add(trustedCertificateSource);
+        assertNotEquals(updatedVersion, TrustedSourcesVersion.of(reorderedTrustedCertSources));
+
+        assertThrows(NullPointerException.class, () -> cache.put(CERT, null, new CertificateIssuerEntry(CA_CERT)));
+    }
+
+    @Test
+    void trustedListsSnapshotViewVersionTest() {
+        TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+        trustedListsCertificateSource.setTrustPropertiesByCertificates(Collections.singletonMap(CA_CERT, Collections.emptyList()));
+
+        // a snapshot view is identified by its origin and its snapshot version
+        TrustedSourcesVersion version = TrustedSourcesVersion.of(new ListCertificateSource(trustedListsCertificateSource));
+        TrustedListsCertificateSource snapshotView = trustedListsCertificateSource.getSnapshotView();
+        assertEquals(version, TrustedSourcesVersion.of(new ListCertificateSource(snapshotView)));
+        assertEquals(version, TrustedSourcesVersion.of(new ListCertificateSource(trustedListsCertificateSource.getSnapshotView())));
+
+        trustedListsCertificateSource.setTrustPropertiesByCertificates(Collections.emptyMap());
+        assertNotEquals(version, TrustedSourcesVersion.of(new ListCertificateSource(trustedListsCertificateSource)));
+        assertEquals(version, TrustedSourcesVersion.of(new ListCertificateSource(snapshotView)));
+    }
+
+}
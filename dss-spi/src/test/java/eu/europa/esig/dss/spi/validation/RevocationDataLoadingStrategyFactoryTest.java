@@ -41,9 +41,14 @@ import org.bouncycastle.cert.ocsp.SingleResp;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class RevocationDataLoadingStrategyFactoryTest {
@@ -137,6 +142,40 @@ class RevocationDataLoadingStrategyFactoryTest {
         assertNotNull(revocationToken);
     }
 
+    @Test
+    void asynchronousTest() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            AsynchronousRevocationDataLoadingStrategyFactory factory = new AsynchronousRevocationDataLoadingStrategyFactory(executorService);
+
+            RevocationDataLoadingStrategy revocationDataLoadingStrategy = factory.create();
+            assertInstanceOf(AsynchronousRevocationDataLoadingStrategy.class, revocationDataLoadingStrategy);
+            revocationDataLoadingStrategy.setOcspSource(ocspSource);
+            revocationDataLoadingStrategy.setCrlSource(crlSource);
+            revocationDataLoadingStrategy.setRevocationDataVerifier(RevocationDataVerifier.createDefaultRevocationDataVerifier());
+
+            RevocationToken<?> revocationToken = revocationDataLoadingStrategy.getRevocationToken(CERTIFICATE, ISSUER);
+            assertNotNull(revocationToken);
+            assertEquals(RevocationType.OCSP, revocationToken.getRevocationType());
+
+            factory.setRacePolicy(RevocationDataRacePolicy.PREFER_CRL);
+
+            revocationDataLoadingStrategy = factory.create();
+            revocationDataLoadingStrategy.setOcspSource(ocspSource);
+            revocationDataLoadingStrategy.setCrlSource(crlSource);
+            revocationDataLoadingStrategy.setRevocationDataVerifier(RevocationDataVerifier.createDefaultRevocationDataVerifier());
+
+            revocationToken = revocationDataLoadingStrategy.getRevocationToken(CERTIFICATE, ISSUER);
+            assertNotNull(revocationToken);
+            assertEquals(RevocationType.CRL, revocationToken.getRevocationType());
+
+            assertThrows(NullPointerException.class, () -> factory.setRacePolicy(null));
+
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     private static class MockOCSPSource implements OCSPSource {
 
         private static final long serialVersionUID = -3854454644299458096L;
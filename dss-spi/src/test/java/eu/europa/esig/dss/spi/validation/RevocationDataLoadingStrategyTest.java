@@ -41,9 +41,19 @@ import org.bouncycastle.cert.ocsp.SingleResp;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class RevocationDataLoadingStrategyTest {
@@ -113,6 +123,59 @@ class RevocationDataLoadingStrategyTest {
         assertNull(revocationToken);
     }
 
+    @Test
+    void severalCertificatesTest() {
+        final AtomicInteger counter = new AtomicInteger();
+        OCSPSource batchOCSPSource = new MockOCSPSource() {
+
+            private static final long serialVersionUID = 5326493541893436207L;
+
+            @Override
+            public Map<CertificateToken, OCSPToken> getRevocationTokens(Map<CertificateToken, CertificateToken> certificatesAndIssuers) {
+                counter.incrementAndGet();
+                assertEquals(2, certificatesAndIssuers.size());
+                Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+                result.put(CERTIFICATE, ocspToken);
+                return result;
+            }
+
+        };
+
+        Map<CertificateToken, CertificateToken> certificatesAndIssuers = new LinkedHashMap<>();
+        certificatesAndIssuers.put(CERTIFICATE, ISSUER);
+        certificatesAndIssuers.put(ISSUER, ISSUER);
+
+        RevocationDataLoadingStrategy revocationDataLoadingStrategy = new OCSPFirstRevocationDataLoadingStrategy();
+        revocationDataLoadingStrategy.setOcspSource(batchOCSPSource);
+        revocationDataLoadingStrategy.setCrlSource(crlSource);
+
+        Map<CertificateToken, RevocationToken<?>> revocationTokens = revocationDataLoadingStrategy.getRevocationTokens(certificatesAndIssuers);
+        assertEquals(1, revocationTokens.size());
+        assertEquals(ocspToken, revocationTokens.get(CERTIFICATE));
+        assertEquals(1, counter.get());
+
+        // not acceptable tokens are not returned
+        revocationDataLoadingStrategy.setRevocationDataVerifier(new RevocationDataVerifier() {
+            @Override
+            public boolean isAcceptable(RevocationToken<?> revocationToken) {
+                return false;
+            }
+        });
+        assertTrue(revocationDataLoadingStrategy.getRevocationTokens(certificatesAndIssuers).isEmpty());
+        assertEquals(2, counter.get());
+
+        // the source does not support a request for several certificates
+        revocationDataLoadingStrategy = new OCSPFirstRevocationDataLoadingStrategy();
+        revocationDataLoadingStrategy.setOcspSource((certificateToken, issuerCertificateToken) -> ocspToken);
+        assertTrue(revocationDataLoadingStrategy.getRevocationTokens(certificatesAndIssuers).isEmpty());
+
+        revocationDataLoadingStrategy = new CRLFirstRevocationDataLoadingStrategy();
+        revocationDataLoadingStrategy.setOcspSource(batchOCSPSource);
+        revocationDataLoadingStrategy.setCrlSource(crlSource);
+        assertTrue(revocationDataLoadingStrategy.getRevocationTokens(certificatesAndIssuers).isEmpty());
+        assertEquals(2, counter.get());
+    }
+
     @Test
     void fallbackTest() {
         CertificateToken cert = DSSUtils.loadCertificateFromBase64EncodedString("MIIFQDCCBCigAwIBAgIOGCB2t4Cg4gEAAQAOEN4wDQYJKoZIhvcNAQELBQAwbTELMAkGA1UEBhMCTFQxEjAQBgNVBGETCTE4ODc3ODMxNTE2MDQGA1UEChMtQXNtZW5zIGRva3VtZW50dSBpc3Jhc3ltbyBjZW50cmFzIHByaWUgTFIgVlJNMRIwEAYDVQQDEwlBRElDIENBLUEwHhcNMTkwMTE1MDc1MDUwWhcNMjIwMTE0MDc1MDUwWjBlMQswCQYDVQQGEwJMVDEaMBgGA1UEAwwRQURPTUFTIEJJUsWgVFVOQVMxEzARBgNVBAQMCkJJUsWgVFVOQVMxDzANBgNVBCoTBkFET01BUzEUMBIGA1UEBRMLMzgwMDMxMzA2OTMwggEiMA0GCSqGSIb3DQEBAQUAA4IBDwAwggEKAoIBAQCpBBVaIBn1jxl44uuvkJWkW5F3rtoUsmAkMJPlPyzQOg87h07uYOIJk4YDIpvujDaL3y3RAy7ARFWpY31zn0b0TnMkDyuf5JYtro6ZpR3v/wijVUNYyGZYpbc42WVNVp/AYuE6IJ7ecE1dMMJDHVkJAmoH2wnT+Lnqp71n51luYc5v0VP+OFmPqPzuSbiwXewOg8PHARkv9l8d0FnoUmKg5xpm+jbjCFsOC77hkwjUDQxu9Yv7p+T1X7+se46GDOm287i2iW66bZYu4qy6ycrznNuwWLtU1i5Z7ypoNGJ++IRn4wP80CvwzUo5TNcLD8Ql3PaDs8GPKXfpBz2zd4MBAgMBAAGjggHkMIIB4DBLBgNVHQkERDBCMA8GCCsGAQUFBwkDMQMTAU0wHQYIKwYBBQUHCQExERgPMTk4MDAzMTMxMjAwMDBaMBAGCCsGAQUFBwkEMQQTAkxUMB0GA1UdDgQWBBSkKwML7BV258Cpil5bewoD6itogjAOBgNVHQ8BAf8EBAMCBsAwHwYDVR0jBBgwFoAUYpbcZMVf8JBEU79q1WAACu/0N7IweAYIKwYBBQUHAQEEbDBqMDQGCCsGAQUFBzABhihodHRwOi8vbnNjLnZybS5sdC9PQ1NQL29jc3ByZXNwb25kZXIubnNjMDIGCCsGAQUFBzAChiZodHRwOi8vbnNjLnZybS5sdC9haWEvQURJQ19DQS1BKDEpLmNydDAVBgNVHSUEDjAMBgorBgEEAYI3CgMMMEQGA1UdIAQ9MDswOQYLKwYBBAGChlUCAgIwKjAoBggrBgEFBQcCARYcaHR0cDovL25zYy52cm0ubHQvcmVwb3NpdG9yeTAdBgkrBgEEAYI3FQoEEDAOMAwGCisGAQQBgjcKAwwwSwYIKwYBBQUHAQMEPzA9MAgGBgQAjkYBATAIBgYEAI5GAQQwJwYGBACORgEFMB0wGxYVaHR0cDovL25zYy52cm0ubHQvcGRzEwJlbjANBgkqhkiG9w0BAQsFAAOCAQEAIHcOUDrDtW1cJVkCsKpdniYpBBoZfmwX0VIM+mTevRb/dCTMyHHp+DkfauWXEGUEkl+PoZb8r9hoYcBWYvbIXbSEPnoRX26BLXeNGKz4LxqoqoHRqDFSOr7+7uFkhIwalM5mjc9c/oOJZu5xTALH/TCSRD4TVp48/+UiII/JpC+700N8oNbPkJUoKBpfRFcD89WGlvywrGYyD1nPoSn+KF7lmxenl+KEJKE6q0UdzV9kbzkk7BlksiUL9U9D0c7emx6pRk1Mw7fqTVD/ETGqmKVR6lzIQcY/GLQ55W968FrovU6F7TP/7qW8ahYzdM09sEnoIeG5jet3mYVHPEyGMA==");
@@ -134,6 +197,120 @@ class RevocationDataLoadingStrategyTest {
         assertNotNull(revocationToken);
     }
 
+    @Test
+    void asynchronousPreferOcspTest() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            RevocationDataLoadingStrategy revocationDataLoadingStrategy = new AsynchronousRevocationDataLoadingStrategy(
+                    executorService, RevocationDataRacePolicy.PREFER_OCSP);
+            revocationDataLoadingStrategy.setOcspSource(ocspSource);
+            revocationDataLoadingStrategy.setCrlSource(crlSource);
+
+            RevocationToken<?> revocationToken = revocationDataLoadingStrategy.getRevocationToken(CERTIFICATE, ISSUER);
+            assertNotNull(revocationToken);
+            assertEquals(RevocationType.OCSP, revocationToken.getRevocationType());
+
+            revocationDataLoadingStrategy.setOcspSource(null);
+            revocationToken = revocationDataLoadingStrategy.getRevocationToken(CERTIFICATE, ISSUER);
+            assertNotNull(revocationToken);
+            assertEquals(RevocationType.CRL, revocationToken.getRevocationType());
+
+            revocationDataLoadingStrategy.setCrlSource(null);
+            revocationToken = revocationDataLoadingStrategy.getRevocationToken(CERTIFICATE, ISSUER);
+            assertNull(revocationToken);
+
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void asynchronousPreferCrlTest() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            RevocationDataLoadingStrategy revocationDataLoadingStrategy = new AsynchronousRevocationDataLoadingStrategy(
+                    executorService, RevocationDataRacePolicy.PREFER_CRL);
+            revocationDataLoadingStrategy.setOcspSource(ocspSource);
+            revocationDataLoadingStrategy.setCrlSource(crlSource);
+
+            RevocationToken<?> revocationToken = revocationDataLoadingStrategy.getRevocationToken(CERTIFICATE, ISSUER);
+            assertNotNull(revocationToken);
+            assertEquals(RevocationType.CRL, revocationToken.getRevocationType());
+
+            revocationDataLoadingStrategy.setCrlSource(null);
+            revocationToken = revocationDataLoadingStrategy.getRevocationToken(CERTIFICATE, ISSUER);
+            assertNotNull(revocationToken);
+            assertEquals(RevocationType.OCSP, revocationToken.getRevocationType());
+
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void asynchronousConcurrentRequestsTest() throws Exception {
+        // both requests are blocked until the other one is started
+        final CountDownLatch latch = new CountDownLatch(2);
+        final CountDownLatch ocspReleased = new CountDownLatch(1);
+        OCSPSource slowOcspSource = (certificateToken, issuerCertificateToken) -> {
+            latch.countDown();
+            await(latch);
+            await(ocspReleased);
+            return ocspToken;
+        };
+        CRLSource slowCrlSource = (certificateToken, issuerCertificateToken) -> {
+            latch.countDown();
+            await(latch);
+            return crlToken;
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            AsynchronousRevocationDataLoadingStrategy revocationDataLoadingStrategy = new AsynchronousRevocationDataLoadingStrategy(
+                    executorService, RevocationDataRacePolicy.FIRST_ACCEPTABLE);
+            revocationDataLoadingStrategy.setOcspSource(slowOcspSource);
+            revocationDataLoadingStrategy.setCrlSource(slowCrlSource);
+
+            // the CRL is returned without waiting for the OCSP response
+            RevocationToken<?> revocationToken = revocationDataLoadingStrategy.getRevocationTokenAsync(CERTIFICATE, ISSUER)
+                    .get(10, TimeUnit.SECONDS);
+            assertNotNull(revocationToken);
+            assertEquals(RevocationType.CRL, revocationToken.getRevocationType());
+
+        } finally {
+            ocspReleased.countDown();
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void asynchronousExceptionTest() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            RevocationDataLoadingStrategy revocationDataLoadingStrategy = new AsynchronousRevocationDataLoadingStrategy(executorService);
+            revocationDataLoadingStrategy.setOcspSource((certificateToken, issuerCertificateToken) -> {
+                throw new IllegalStateException("Unexpected error");
+            });
+            revocationDataLoadingStrategy.setCrlSource(crlSource);
+
+            Exception exception = assertThrows(IllegalStateException.class,
+                    () -> revocationDataLoadingStrategy.getRevocationToken(CERTIFICATE, ISSUER));
+            assertEquals("Unexpected error", exception.getMessage());
+
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+    }
+
     private static class MockOCSPSource implements OCSPSource {
 
         private static final long serialVersionUID = -3854454644299458096L;
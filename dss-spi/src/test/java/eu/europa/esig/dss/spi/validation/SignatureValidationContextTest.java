@@ -20,12 +20,14 @@
  */
 package eu.europa.esig.dss.spi.validation;
 
+import eu.europa.esig.dss.enumerations.CertificateSourceType;
 import eu.europa.esig.dss.enumerations.TimestampType;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.http.IgnoreDataLoader;
 import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
 import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
@@ -35,14 +37,17 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.security.PublicKey;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SignatureValidationContextTest {
 
@@ -249,6 +254,96 @@ class SignatureValidationContextTest {
 		assertNull(certToken.getPublicKeyOfTheSigner());
 	}
 
+	@Test
+	void aiaRequestWithCertificateChainCacheTest() {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put("http://q.ica.cz/ca_nbusr09.p7c", DSSUtils.toByteArray(new File("src/test/resources/CZ_CA.cer")));
+
+		DataLoader dataLoader = new MemoryDataLoader(dataMap);
+		MockAIASource aiaSource = new MockAIASource(dataLoader);
+
+		InMemoryCertificateChainCache certificateChainCache = new InMemoryCertificateChainCache();
+
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setAIASource(aiaSource);
+		certificateVerifier.setCertificateChainCache(certificateChainCache);
+
+		CertificateToken certToken = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		SignatureValidationContext svc = new SignatureValidationContext();
+		svc.initialize(certificateVerifier);
+		svc.addCertificateTokenForVerification(certToken);
+		svc.validate();
+
+		assertEquals(1, aiaSource.requestCounter);
+		assertNotNull(certToken.getPublicKeyOfTheSigner());
+		assertEquals(1, certificateChainCache.size());
+
+		// new validation with a new instance of the certificate
+		certToken = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		svc = new SignatureValidationContext();
+		svc.initialize(certificateVerifier);
+		svc.addCertificateTokenForVerification(certToken);
+		svc.validate();
+
+		assertEquals(1, aiaSource.requestCounter);
+		assertNotNull(certToken.getPublicKeyOfTheSigner());
+		assertEquals(2, svc.getProcessedCertificates().size());
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/CZ_CA.cer"));
+		assertTrue(svc.getAllCertificateSources().getCertificateSourceType(caToken).contains(CertificateSourceType.AIA));
+
+		// the cached AIA issuer is not used when no AIA source is defined
+		certificateVerifier.setAIASource(null);
+		certToken = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		svc = new SignatureValidationContext();
+		svc.initialize(certificateVerifier);
+		svc.addCertificateTokenForVerification(certToken);
+		svc.validate();
+
+		assertNull(certToken.getPublicKeyOfTheSigner());
+		assertEquals(1, svc.getProcessedCertificates().size());
+	}
+
+	@Test
+	void trustedListsSnapshotTest() {
+		CertificateToken certToken = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		CertificateToken caToken = DSSUtils.loadCertificate(new File("src/test/resources/CZ_CA.cer"));
+
+		TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+		trustedListsCertificateSource.setTrustPropertiesByCertificates(Collections.singletonMap(caToken, Collections.emptyList()));
+
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setAIASource(null);
+		certificateVerifier.setTrustedCertSources(trustedListsCertificateSource);
+
+		SignatureValidationContext svc = new SignatureValidationContext();
+		svc.initialize(certificateVerifier);
+		svc.addCertificateTokenForVerification(certToken);
+
+		// the trusted lists are synchronized during the validation
+		trustedListsCertificateSource.setTrustPropertiesByCertificates(Collections.emptyMap());
+		assertEquals(2, trustedListsCertificateSource.getSnapshotVersion());
+		assertFalse(trustedListsCertificateSource.isTrusted(caToken));
+
+		svc.validate();
+
+		// the snapshot captured at the initialization is used
+		assertEquals(Collections.singletonMap(trustedListsCertificateSource, 1L), svc.getTrustedListsSnapshotVersions());
+		assertNotNull(certToken.getPublicKeyOfTheSigner());
+		assertEquals(2, svc.getProcessedCertificates().size());
+		assertTrue(svc.getAllCertificateSources().isTrusted(caToken));
+
+		// a new validation uses the current snapshot
+		certToken = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		svc = new SignatureValidationContext();
+		svc.initialize(certificateVerifier);
+		svc.addCertificateTokenForVerification(certToken);
+		svc.validate();
+
+		assertEquals(Collections.singletonMap(trustedListsCertificateSource, 2L), svc.getTrustedListsSnapshotVersions());
+		assertNull(certToken.getPublicKeyOfTheSigner());
+		assertEquals(1, svc.getProcessedCertificates().size());
+	}
+
 	private static class MockAIASource extends DefaultAIASource {
 
 		private static final long serialVersionUID = -5890796098843749473L;
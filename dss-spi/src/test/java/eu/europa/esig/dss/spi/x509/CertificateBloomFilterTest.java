@@ -0,0 +1,88 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CertificateBloomFilterTest {
+
+    @Test
+    void entityKeyTest() {
+        CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/TSP_Certificate_2014.crt"));
+        CertificateToken otherCertificate = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+        CertificateBloomFilter filter = new CertificateBloomFilter(1);
+        assertFalse(filter.mightContainEntityKey(certificate.getEntityKey()));
+
+        filter.addEntityKey(certificate.getEntityKey());
+        assertTrue(filter.mightContainEntityKey(certificate.getEntityKey()));
+        assertFalse(filter.mightContainEntityKey(otherCertificate.getEntityKey()));
+        assertFalse(filter.mightContainDigest(new Digest(DigestAlgorithm.SHA256, certificate.getDigest(DigestAlgorithm.SHA256))));
+    }
+
+    @Test
+    void digestsTest() {
+        Random random = new Random(42);
+        List<Digest> digests = new ArrayList<>();
+        CertificateBloomFilter filter = new CertificateBloomFilter(1000);
+        for (int i = 0; i < 1000; i++) {
+            Digest digest = randomDigest(random);
+            filter.addDigest(digest);
+            digests.add(digest);
+        }
+        for (Digest digest : digests) {
+            assertTrue(filter.mightContainDigest(digest));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContainDigest(randomDigest(random))) {
+                ++falsePositives;
+            }
+        }
+        assertTrue(falsePositives < 300, "Too many false positives : " + falsePositives);
+    }
+
+    @Test
+    void negativeSizeTest() {
+        assertThrows(IllegalArgumentException.class, () -> new CertificateBloomFilter(-1));
+    }
+
+    private Digest randomDigest(Random random) {
+        byte[] value = new byte[32];
+        random.nextBytes(value);
+        return new Digest(DigestAlgorithm.SHA256, value);
+    }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.SignatureValidity;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CertificateTokenInternerTest {
+
+	private static final File CERT_FILE = new File("src/test/resources/citizen_ca.cer");
+
+	@AfterEach
+	void disable() {
+		CertificateTokenInterner.disable();
+	}
+
+	@Test
+	void disabledTest() {
+		assertFalse(CertificateTokenInterner.isEnabled());
+
+		CertificateToken certificateToken = DSSUtils.loadCertificate(CERT_FILE);
+		CertificateToken sameCertificateToken = DSSUtils.loadCertificate(CERT_FILE);
+		assertEquals(certificateToken, sameCertificateToken);
+		assertNotSame(certificateToken, sameCertificateToken);
+
+		assertSame(certificateToken, CertificateTokenInterner.intern(certificateToken));
+		assertNull(CertificateTokenInterner.get(certificateToken.getEncoded()));
+		assertEquals(0, CertificateTokenInterner.size());
+	}
+
+	@Test
+	void enabledTest() {
+		CertificateTokenInterner.enable();
+		assertTrue(CertificateTokenInterner.isEnabled());
+
+		CertificateToken certificateToken = DSSUtils.loadCertificate(CERT_FILE);
+		assertEquals(1, CertificateTokenInterner.size());
+
+		assertSharedContent(certificateToken, DSSUtils.loadCertificate(CERT_FILE));
+		assertSharedContent(certificateToken, DSSUtils.loadCertificate(certificateToken.getEncoded()));
+		assertSharedContent(certificateToken, DSSUtils.loadCertificateFromBase64EncodedString(Utils.toBase64(certificateToken.getEncoded())));
+		assertSharedContent(certificateToken, DSSUtils.loadCertificate(DSSUtils.convertToPEM(certificateToken).getBytes()));
+		assertSharedContent(certificateToken, DSSASN1Utils.getCertificate(DSSASN1Utils.getX509CertificateHolder(certificateToken)));
+		assertSharedContent(certificateToken, CertificateTokenInterner.get(certificateToken.getEncoded()));
+		assertEquals(1, CertificateTokenInterner.size());
+
+		CertificateTokenInterner.clear();
+		assertEquals(0, CertificateTokenInterner.size());
+		assertNull(CertificateTokenInterner.get(certificateToken.getEncoded()));
+		assertNotSame(certificateToken.getCertificate(), DSSUtils.loadCertificate(CERT_FILE).getCertificate());
+	}
+
+	@Test
+	void validationStateNotSharedTest() {
+		CertificateTokenInterner.enable();
+
+		CertificateToken certificateToken = DSSUtils.loadCertificate(CERT_FILE);
+		certificateToken.setSourceURL("http://example.com/ca.cer");
+		assertFalse(certificateToken.isSignedBy(certificateToken));
+		assertEquals(SignatureValidity.INVALID, certificateToken.getSignatureValidity());
+
+		CertificateToken otherCertificateToken = DSSUtils.loadCertificate(CERT_FILE);
+		assertSharedContent(certificateToken, otherCertificateToken);
+		assertNull(otherCertificateToken.getSourceURL());
+		assertEquals(SignatureValidity.NOT_EVALUATED, otherCertificateToken.getSignatureValidity());
+		assertNull(otherCertificateToken.getPublicKeyOfTheSigner());
+	}
+
+	private void assertSharedContent(CertificateToken canonicalToken, CertificateToken certificateToken) {
+		assertNotSame(canonicalToken, certificateToken);
+		assertEquals(canonicalToken, certificateToken);
+		assertSame(canonicalToken.getCertificate(), certificateToken.getCertificate());
+		assertSame(canonicalToken.getDSSId(), certificateToken.getDSSId());
+		assertSame(canonicalToken.getExtensionsHolder(), certificateToken.getExtensionsHolder());
+	}
+
+}
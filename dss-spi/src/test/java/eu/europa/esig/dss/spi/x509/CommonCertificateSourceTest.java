@@ -30,7 +30,11 @@ import java.io.File;
 import org.junit.jupiter.api.Test;
 
 import eu.europa.esig.dss.enumerations.CertificateSourceType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
 
 class CommonCertificateSourceTest {
@@ -144,4 +148,59 @@ class CommonCertificateSourceTest {
 		assertTrue(ccTwo.isCertificateSourceEquivalent(ccOne));
 	}
 
+	@Test
+	void lookupIndexesTest() {
+		CommonCertificateSource ccc = new CommonCertificateSource();
+		Digest certDigest = new Digest(DigestAlgorithm.SHA256, CERT.getDigest(DigestAlgorithm.SHA256));
+		assertTrue(ccc.getByCertificateDigest(certDigest).isEmpty());
+
+		ccc.addCertificate(CERT);
+		ccc.addCertificate(SAME_PK_CERT_1);
+		ccc.addCertificate(SAME_PK_CERT_2);
+
+		assertEquals(1, ccc.getBySki(DSSASN1Utils.computeSkiFromCert(CERT)).size());
+		assertEquals(2, ccc.getBySki(DSSASN1Utils.computeSkiFromCert(SAME_PK_CERT_1)).size());
+		assertTrue(ccc.getBySki(new byte[] { 1, 2, 3 }).isEmpty());
+
+		assertEquals(1, ccc.getByCertificateDigest(certDigest).size());
+		assertTrue(ccc.getByCertificateDigest(certDigest).contains(CERT));
+		Digest sha1Digest = new Digest(DigestAlgorithm.SHA1, SAME_PK_CERT_2.getDigest(DigestAlgorithm.SHA1));
+		assertEquals(1, ccc.getByCertificateDigest(sha1Digest).size());
+		assertTrue(ccc.getByCertificateDigest(sha1Digest).contains(SAME_PK_CERT_2));
+
+		SignerIdentifier issuerSerial = new SignerIdentifier();
+		issuerSerial.setIssuerName(SAME_PK_CERT_1.getIssuerX500Principal());
+		issuerSerial.setSerialNumber(SAME_PK_CERT_1.getSerialNumber());
+		assertEquals(1, ccc.getBySignerIdentifier(issuerSerial).size());
+		assertTrue(ccc.getBySignerIdentifier(issuerSerial).contains(SAME_PK_CERT_1));
+
+		SignerIdentifier skiIdentifier = new SignerIdentifier();
+		skiIdentifier.setSki(CertificateExtensionsUtils.getSubjectKeyIdentifier(SAME_PK_CERT_2).getSki());
+		assertEquals(1, ccc.getBySignerIdentifier(skiIdentifier).size());
+		assertTrue(ccc.getBySignerIdentifier(skiIdentifier).contains(SAME_PK_CERT_2));
+
+		CertificateRef certificateRef = new CertificateRef();
+		certificateRef.setCertificateIdentifier(issuerSerial);
+		assertEquals(1, ccc.findTokensFromCertRef(certificateRef).size());
+		certificateRef = new CertificateRef();
+		certificateRef.setResponderId(new ResponderId(null, DSSASN1Utils.computeSkiFromCert(CERT)));
+		assertEquals(1, ccc.findTokensFromCertRef(certificateRef).size());
+		assertTrue(ccc.findTokensFromCertRef(certificateRef).contains(CERT));
+
+		ccc.removeCertificate(SAME_PK_CERT_1);
+		assertEquals(1, ccc.getBySki(DSSASN1Utils.computeSkiFromCert(SAME_PK_CERT_1)).size());
+		assertTrue(ccc.getBySignerIdentifier(issuerSerial).isEmpty());
+		assertEquals(1, ccc.getBySignerIdentifier(skiIdentifier).size());
+
+		ccc.removeCertificate(SAME_PK_CERT_2);
+		assertTrue(ccc.getBySki(DSSASN1Utils.computeSkiFromCert(SAME_PK_CERT_2)).isEmpty());
+		assertTrue(ccc.getBySignerIdentifier(skiIdentifier).isEmpty());
+		assertTrue(ccc.getByCertificateDigest(sha1Digest).isEmpty());
+
+		ccc.removeCertificate(CERT);
+		assertTrue(ccc.getByCertificateDigest(certDigest).isEmpty());
+		assertTrue(ccc.findTokensFromCertRef(certificateRef).isEmpty());
+		assertEquals(0, ccc.getNumberOfCertificates());
+	}
+
 }
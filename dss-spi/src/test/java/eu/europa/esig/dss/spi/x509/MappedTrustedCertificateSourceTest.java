@@ -0,0 +1,130 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.CertificateSourceType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedTrustedCertificateSourceTest {
+
+    private static final File STORE_FILE = new File("target/trusted-certificates.store");
+
+    private static List<CertificateToken> trustedCertificates;
+
+    private static CertificateToken untrustedCertificate;
+
+    @BeforeAll
+    static void init() {
+        trustedCertificates = Arrays.asList(
+                DSSUtils.loadCertificate(new File("src/test/resources/belgiumrca2-self-sign.crt")),
+                DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt")),
+                DSSUtils.loadCertificate(new File("src/test/resources/TSP_Certificate_2014.crt")),
+                DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer")),
+                DSSUtils.loadCertificate(new File("src/test/resources/sk_ca.cer")));
+        untrustedCertificate = DSSUtils.loadCertificate(new File("src/test/resources/sk_user.cer"));
+
+        MappedTrustedCertificateSource.writeStore(trustedCertificates, STORE_FILE);
+    }
+
+    @Test
+    void lookupTest() {
+        MappedTrustedCertificateSource trustedCertificateSource = new MappedTrustedCertificateSource(STORE_FILE);
+        assertEquals(CertificateSourceType.TRUSTED_STORE, trustedCertificateSource.getCertificateSourceType());
+        assertEquals(trustedCertificates.size(), trustedCertificateSource.getNumberOfCertificates());
+
+        for (CertificateToken certificateToken : trustedCertificates) {
+            assertTrue(trustedCertificateSource.isTrusted(certificateToken));
+            assertTrue(trustedCertificateSource.getBySubject(certificateToken.getSubject()).contains(certificateToken));
+            assertTrue(trustedCertificateSource.getByPublicKey(certificateToken.getPublicKey()).contains(certificateToken));
+            assertTrue(trustedCertificateSource.getBySki(DSSASN1Utils.computeSkiFromCert(certificateToken)).contains(certificateToken));
+            assertTrue(trustedCertificateSource.getByCertificateDigest(new Digest(DigestAlgorithm.SHA256,
+                    certificateToken.getDigest(DigestAlgorithm.SHA256))).contains(certificateToken));
+            // not indexed digest algorithm
+            assertTrue(trustedCertificateSource.getByCertificateDigest(new Digest(DigestAlgorithm.SHA384,
+                    certificateToken.getDigest(DigestAlgorithm.SHA384))).contains(certificateToken));
+
+            SignerIdentifier signerIdentifier = new SignerIdentifier();
+            signerIdentifier.setIssuerName(certificateToken.getIssuerX500Principal());
+            signerIdentifier.setSerialNumber(certificateToken.getSerialNumber());
+            assertTrue(trustedCertificateSource.getBySignerIdentifier(signerIdentifier).contains(certificateToken));
+        }
+
+        assertFalse(trustedCertificateSource.isTrusted(untrustedCertificate));
+        assertTrue(trustedCertificateSource.getByPublicKey(untrustedCertificate.getPublicKey()).isEmpty());
+        assertTrue(trustedCertificateSource.getByCertificateDigest(new Digest(DigestAlgorithm.SHA256,
+                untrustedCertificate.getDigest(DigestAlgorithm.SHA256))).isEmpty());
+    }
+
+    @Test
+    void sameContentAsCommonTrustedCertificateSourceTest() {
+        CommonTrustedCertificateSource commonTrustedCertificateSource = new CommonTrustedCertificateSource();
+        for (CertificateToken certificateToken : trustedCertificates) {
+            commonTrustedCertificateSource.addCertificate(certificateToken);
+        }
+
+        MappedTrustedCertificateSource trustedCertificateSource = new MappedTrustedCertificateSource(STORE_FILE);
+        assertTrue(trustedCertificateSource.isCertificateSourceEqual(commonTrustedCertificateSource));
+        assertTrue(trustedCertificateSource.isCertificateSourceEquivalent(commonTrustedCertificateSource));
+        assertEquals(commonTrustedCertificateSource.isAllSelfSigned(), trustedCertificateSource.isAllSelfSigned());
+    }
+
+    @Test
+    void emptyStoreTest() {
+        File emptyStoreFile = new File("target/empty-certificates.store");
+        MappedTrustedCertificateSource.writeStore(Collections.emptyList(), emptyStoreFile);
+
+        MappedTrustedCertificateSource trustedCertificateSource = new MappedTrustedCertificateSource(emptyStoreFile);
+        assertEquals(0, trustedCertificateSource.getNumberOfCertificates());
+        assertTrue(trustedCertificateSource.getCertificates().isEmpty());
+        assertFalse(trustedCertificateSource.isTrusted(untrustedCertificate));
+    }
+
+    @Test
+    void invalidFileTest() {
+        Exception exception = assertThrows(DSSException.class,
+                () -> new MappedTrustedCertificateSource(new File("src/test/resources/sk_ca.cer")));
+        assertEquals("The file 'sk_ca.cer' is not a certificate store file!", exception.getMessage());
+    }
+
+    @Test
+    void addCertificateTest() {
+        MappedTrustedCertificateSource trustedCertificateSource = new MappedTrustedCertificateSource(STORE_FILE);
+        assertThrows(UnsupportedOperationException.class, () -> trustedCertificateSource.addCertificate(untrustedCertificate));
+    }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.model.DSSException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int NUMBER_OF_FOLLOWERS = 8;
+
+    @Test
+    void concurrentRequestsAreCoalesced() throws Exception {
+        SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object expected = new Object();
+
+        List<Object> results = new CopyOnWriteArrayList<>();
+        Thread leader = new Thread(() -> results.add(singleFlight.execute("url", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return expected;
+        })));
+        leader.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_FOLLOWERS; i++) {
+            Thread follower = new Thread(() -> results.add(singleFlight.execute("url", () -> {
+                executions.incrementAndGet();
+                return new Object();
+            })));
+            followers.add(follower);
+            follower.start();
+        }
+        // all the followers are parked on the in-flight request
+        for (Thread follower : followers) {
+            waitUntilWaiting(follower);
+        }
+        assertEquals(1, singleFlight.getNumberOfInFlightRequests());
+
+        release.countDown();
+        leader.join();
+        for (Thread follower : followers) {
+            follower.join();
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(NUMBER_OF_FOLLOWERS + 1, results.size());
+        for (Object result : results) {
+            assertSame(expected, result);
+        }
+        assertEquals(0, singleFlight.getNumberOfInFlightRequests());
+    }
+
+    @Test
+    void completedRequestsAreNotCached() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        assertEquals(1, singleFlight.execute("url", executions::incrementAndGet));
+        assertEquals(2, singleFlight.execute("url", executions::incrementAndGet));
+        assertEquals(3, singleFlight.execute("other-url", executions::incrementAndGet));
+    }
+
+    @Test
+    void exceptionIsPropagated() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        DSSException exception = assertThrows(DSSException.class, () -> singleFlight.execute("url", () -> {
+            throw new DSSException("Unable to download");
+        }));
+        assertEquals("Unable to download", exception.getMessage());
+        assertEquals(0, singleFlight.getNumberOfInFlightRequests());
+
+        // a failed request is not remembered
+        assertEquals(1, singleFlight.execute("url", () -> 1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntilWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+}
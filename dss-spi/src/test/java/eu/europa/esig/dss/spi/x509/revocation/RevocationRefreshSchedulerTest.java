@@ -0,0 +1,149 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationRefreshSchedulerTest {
+
+    private ScheduledExecutorService executorService;
+
+    @BeforeEach
+    void init() {
+        executorService = Executors.newScheduledThreadPool(4);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void refreshBeforeExpiration() throws InterruptedException {
+        RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(executorService);
+        scheduler.setRefreshLeadTime(60);
+        scheduler.setMaxJitter(0);
+
+        CountDownLatch refreshed = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        Date expiration = new Date(System.currentTimeMillis() + 30000);
+        scheduler.schedule("crl-key", "http://crl.example.com/ca.crl", expiration, () -> {
+            refreshes.incrementAndGet();
+            refreshed.countDown();
+        });
+        assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+
+        // the executed refresh is not kept
+        Thread.sleep(200);
+        assertEquals(0, scheduler.getNumberOfPlannedRefreshes());
+
+        // already refreshed for the same expiration
+        scheduler.schedule("crl-key", "http://crl.example.com/ca.crl", expiration, refreshes::incrementAndGet);
+        Thread.sleep(200);
+        assertEquals(1, refreshes.get());
+        assertEquals(0, scheduler.getNumberOfPlannedRefreshes());
+
+        // the refreshed revocation data is planned on a new request
+        CountDownLatch refreshedAgain = new CountDownLatch(1);
+        scheduler.schedule("crl-key", "http://crl.example.com/ca.crl", new Date(expiration.getTime() + 1000), () -> {
+            refreshes.incrementAndGet();
+            refreshedAgain.countDown();
+        });
+        assertTrue(refreshedAgain.await(10, TimeUnit.SECONDS));
+        assertEquals(2, refreshes.get());
+    }
+
+    @Test
+    void refreshIsPlanned() throws InterruptedException {
+        RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(executorService);
+        scheduler.setRefreshLeadTime(60);
+        scheduler.setMaxJitter(10);
+
+        AtomicInteger refreshes = new AtomicInteger();
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        scheduler.schedule("crl-key", "http://crl.example.com/ca.crl", expiration, refreshes::incrementAndGet);
+        assertEquals(1, scheduler.getNumberOfPlannedRefreshes());
+
+        // a later expiration replaces the planned refresh
+        CountDownLatch refreshed = new CountDownLatch(1);
+        scheduler.schedule("crl-key", "http://crl.example.com/ca.crl", new Date(expiration.getTime() + 1000), refreshed::countDown);
+        assertEquals(1, scheduler.getNumberOfPlannedRefreshes());
+        assertFalse(refreshed.await(200, TimeUnit.MILLISECONDS));
+
+        scheduler.cancelAll();
+        assertEquals(0, scheduler.getNumberOfPlannedRefreshes());
+        assertEquals(0, refreshes.get());
+    }
+
+    @Test
+    void perHostLimit() throws InterruptedException {
+        RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(executorService);
+        scheduler.setMaxJitter(0);
+        scheduler.setPostponeDelay(1);
+        scheduler.setMaxConcurrentRefreshesPerHost(1);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch refreshed = new CountDownLatch(3);
+        Runnable refresh = () -> {
+            int current = running.incrementAndGet();
+            maxRunning.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            refreshed.countDown();
+        };
+
+        Date expiration = new Date();
+        scheduler.schedule("crl-key-1", "http://crl.example.com/ca1.crl", expiration, refresh);
+        scheduler.schedule("crl-key-2", "http://CRL.example.com/ca2.crl", expiration, refresh);
+        scheduler.schedule("crl-key-3", "http://crl.example.com/ca3.crl", expiration, refresh);
+
+        assertTrue(refreshed.await(20, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void invalidConfiguration() {
+        RevocationRefreshScheduler scheduler = new RevocationRefreshScheduler(executorService);
+        assertThrows(IllegalArgumentException.class, () -> scheduler.setMaxConcurrentRefreshes(0));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.setMaxConcurrentRefreshesPerHost(0));
+        assertThrows(NullPointerException.class, () -> new RevocationRefreshScheduler(null));
+    }
+
+}
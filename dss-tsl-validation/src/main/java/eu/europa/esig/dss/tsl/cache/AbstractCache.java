@@ -83,6 +83,21 @@ public abstract class AbstractCache<R extends CachedResult> {
 		return emptyEntry;
 	}
 	
+	/**
+	 * Returns the result stored for the given {@code cacheKey}, when the entry is not empty,
+	 * does not require a refresh and is not to be deleted
+	 *
+	 * @param cacheKey {@link CacheKey}
+	 * @return {@link CachedResult} if up to date, NULL otherwise
+	 */
+	public R getUpToDateResult(CacheKey cacheKey) {
+		CachedEntry<R> cachedEntry = cachedEntriesMap.get(cacheKey);
+		if (cachedEntry != null && !cachedEntry.isEmpty() && !cachedEntry.isRefreshNeeded() && !cachedEntry.isToBeDeleted()) {
+			return cachedEntry.getCachedResult();
+		}
+		return null;
+	}
+
 	/**
 	 * Updates in the cache the value for {@code cacheKey} with the given {@code result}
 	 *
@@ -0,0 +1,142 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.cache;
+
+import eu.europa.esig.dss.tsl.download.XmlDownloadResult;
+import eu.europa.esig.dss.tsl.parsing.AbstractParsingResult;
+import eu.europa.esig.dss.tsl.validation.ValidationResult;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Serializable snapshot of the download, parsing and validation caches of a {@code TLValidationJob}.
+ * The parsing and validation results are stored together with the download result they have been computed from,
+ * so they are only re-used when the downloaded document has the same digest.
+ *
+ */
+public class CacheSnapshot implements Serializable {
+
+	private static final long serialVersionUID = 2786128405581137590L;
+
+	/** The creation time of the snapshot */
+	private final Date creationTime = new Date();
+
+	/** The download results (containing the document digests) */
+	private final Map<CacheKey, XmlDownloadResult> downloadResults = new HashMap<>();
+
+	/** The parsing results computed from the downloaded documents */
+	private final Map<CacheKey, AbstractParsingResult> parsingResults = new HashMap<>();
+
+	/** The validation results computed from the downloaded documents */
+	private final Map<CacheKey, ValidationResult> validationResults = new HashMap<>();
+
+	/**
+	 * Default constructor instantiating an empty snapshot
+	 */
+	public CacheSnapshot() {
+		// empty
+	}
+
+	/**
+	 * Gets the creation time of the snapshot
+	 *
+	 * @return {@link Date}
+	 */
+	public Date getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * Adds the results for the given {@code cacheKey}
+	 *
+	 * @param cacheKey {@link CacheKey}
+	 * @param downloadResult {@link XmlDownloadResult} (mandatory)
+	 * @param parsingResult {@link AbstractParsingResult} computed from the downloaded document, if any
+	 * @param validationResult {@link ValidationResult} computed from the downloaded document, if any
+	 */
+	public void add(CacheKey cacheKey, XmlDownloadResult downloadResult, AbstractParsingResult parsingResult,
+					ValidationResult validationResult) {
+		Objects.requireNonNull(cacheKey, "CacheKey cannot be null!");
+		Objects.requireNonNull(downloadResult, "XmlDownloadResult cannot be null!");
+		downloadResults.put(cacheKey, downloadResult);
+		if (parsingResult != null) {
+			parsingResults.put(cacheKey, parsingResult);
+		}
+		if (validationResult != null) {
+			validationResults.put(cacheKey, validationResult);
+		}
+	}
+
+	/**
+	 * Returns the keys of the stored entries
+	 *
+	 * @return a set of {@link CacheKey}s
+	 */
+	public Set<CacheKey> getKeys() {
+		return Collections.unmodifiableSet(downloadResults.keySet());
+	}
+
+	/**
+	 * Returns the download result for the given {@code cacheKey}
+	 *
+	 * @param cacheKey {@link CacheKey}
+	 * @return {@link XmlDownloadResult}
+	 */
+	public XmlDownloadResult getDownloadResult(CacheKey cacheKey) {
+		return downloadResults.get(cacheKey);
+	}
+
+	/**
+	 * Returns the parsing result for the given {@code cacheKey}
+	 *
+	 * @param cacheKey {@link CacheKey}
+	 * @return {@link AbstractParsingResult}
+	 */
+	public AbstractParsingResult getParsingResult(CacheKey cacheKey) {
+		return parsingResults.get(cacheKey);
+	}
+
+	/**
+	 * Returns the validation result for the given {@code cacheKey}
+	 *
+	 * @param cacheKey {@link CacheKey}
+	 * @return {@link ValidationResult}
+	 */
+	public ValidationResult getValidationResult(CacheKey cacheKey) {
+		return validationResults.get(cacheKey);
+	}
+
+	/**
+	 * Checks if the snapshot is empty
+	 *
+	 * @return TRUE if no entry is stored, FALSE otherwise
+	 */
+	public boolean isEmpty() {
+		return downloadResults.isEmpty();
+	}
+
+}
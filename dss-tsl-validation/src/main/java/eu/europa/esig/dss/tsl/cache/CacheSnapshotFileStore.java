@@ -0,0 +1,284 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.cache;
+
+import eu.europa.esig.dss.model.DSSException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * Persists a {@code CacheSnapshot} of the {@code TLValidationJob} within a file, using the Java serialization.
+ * This allows a warm start of the job : the trusted lists which did not change since the snapshot
+ * are not parsed and validated again.
+ * <p>
+ * NOTE: the file is deserialized on loading, so it shall be stored in a location which is only writable
+ * by the application. The deserialization is restricted by a serialization filter to the exact classes composing
+ * a snapshot and to a maximum graph depth, array length and number of objects. A snapshot containing any other
+ * class (e.g. a custom {@code DSSDocument} or {@code CertificateSource} implementation) is not loaded.
+ *
+ */
+public class CacheSnapshotFileStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CacheSnapshotFileStore.class);
+
+	/** The maximum depth of the deserialized object graph */
+	private static final int MAX_DEPTH = 50;
+
+	/** The maximum length of a deserialized array (the binaries of the trusted lists are stored as byte arrays) */
+	private static final int MAX_ARRAY_LENGTH = 64 * 1024 * 1024;
+
+	/** The maximum number of deserialized objects */
+	private static final int MAX_REFERENCES = 10_000_000;
+
+	/** The classes allowed to be deserialized (for arrays, the component type is checked) */
+	private static final String[] ALLOWED_CLASSES = {
+			// Snapshot
+			"eu.europa.esig.dss.tsl.cache.CacheSnapshot",
+			"eu.europa.esig.dss.tsl.cache.CacheKey",
+			"eu.europa.esig.dss.tsl.download.XmlDownloadResult",
+			"eu.europa.esig.dss.tsl.parsing.AbstractParsingResult",
+			"eu.europa.esig.dss.tsl.parsing.TLParsingResult",
+			"eu.europa.esig.dss.tsl.parsing.LOTLParsingResult",
+			"eu.europa.esig.dss.tsl.validation.ValidationResult",
+			"eu.europa.esig.dss.tsl.dto.condition.CertSubjectDNAttributeCondition",
+			"eu.europa.esig.dss.tsl.dto.condition.CompositeCondition",
+			"eu.europa.esig.dss.tsl.dto.condition.ExtendedKeyUsageCondition",
+			"eu.europa.esig.dss.tsl.dto.condition.KeyUsageCondition",
+			"eu.europa.esig.dss.tsl.dto.condition.PolicyIdCondition",
+			"eu.europa.esig.dss.tsl.dto.condition.QCStatementCondition",
+			// Model
+			"eu.europa.esig.dss.model.CommonDocument",
+			"eu.europa.esig.dss.model.InMemoryDocument",
+			"eu.europa.esig.dss.model.FileDocument",
+			"eu.europa.esig.dss.model.Digest",
+			"eu.europa.esig.dss.model.identifier.Identifier",
+			"eu.europa.esig.dss.model.identifier.MultipleDigestIdentifier",
+			"eu.europa.esig.dss.model.identifier.TokenIdentifier",
+			"eu.europa.esig.dss.model.identifier.CertificateTokenIdentifier",
+			"eu.europa.esig.dss.model.identifier.EntityIdentifier",
+			"eu.europa.esig.dss.model.x509.Token",
+			"eu.europa.esig.dss.model.x509.CertificateToken",
+			"eu.europa.esig.dss.model.timedependent.BaseTimeDependent",
+			"eu.europa.esig.dss.model.timedependent.TimeDependentValues",
+			"eu.europa.esig.dss.model.timedependent.MutableTimeDependentValues",
+			"eu.europa.esig.dss.model.tsl.CertificateContentEquivalence",
+			"eu.europa.esig.dss.model.tsl.ConditionForQualifiers",
+			"eu.europa.esig.dss.model.tsl.MRA",
+			"eu.europa.esig.dss.model.tsl.OtherTSLPointer",
+			"eu.europa.esig.dss.model.tsl.QCStatementOids",
+			"eu.europa.esig.dss.model.tsl.ServiceEquivalence",
+			"eu.europa.esig.dss.model.tsl.ServiceTypeASi",
+			"eu.europa.esig.dss.model.tsl.TrustService",
+			"eu.europa.esig.dss.model.tsl.TrustServiceProvider",
+			"eu.europa.esig.dss.model.tsl.TrustServiceStatusAndInformationExtensions",
+			"eu.europa.esig.dss.spi.x509.CommonCertificateSource",
+			"eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource",
+			"eu.europa.esig.dss.spi.x509.EquivalentCertificatesEntity",
+			// Enumerations
+			"eu.europa.esig.dss.enumerations.DigestAlgorithm",
+			"eu.europa.esig.dss.enumerations.Indication",
+			"eu.europa.esig.dss.enumerations.KeyUsageBit",
+			"eu.europa.esig.dss.enumerations.MimeTypeEnum",
+			"eu.europa.esig.dss.enumerations.MRAEquivalenceContext",
+			"eu.europa.esig.dss.enumerations.MRAStatus",
+			"eu.europa.esig.dss.enumerations.SignatureAlgorithm",
+			"eu.europa.esig.dss.enumerations.SignatureValidity",
+			"eu.europa.esig.dss.enumerations.SubIndication",
+			"eu.europa.esig.dss.enumerations.TSLTypeEnum",
+			"eu.europa.esig.trustedlist.enums.Assert",
+			// JDK
+			"java.lang.Boolean",
+			"java.lang.Enum",
+			"java.lang.Integer",
+			"java.lang.Long",
+			"java.lang.Number",
+			"java.lang.Object",
+			"java.lang.String",
+			"java.math.BigInteger",
+			"java.io.File",
+			"java.util.ArrayList",
+			"java.util.Arrays$ArrayList",
+			"java.util.Collections$EmptyList",
+			"java.util.Collections$EmptyMap",
+			"java.util.Collections$EmptySet",
+			"java.util.Collections$SingletonList",
+			"java.util.Collections$SingletonSet",
+			"java.util.Collections$UnmodifiableCollection",
+			"java.util.Collections$UnmodifiableList",
+			"java.util.Collections$UnmodifiableRandomAccessList",
+			"java.util.Collections$UnmodifiableSet",
+			"java.util.Date",
+			"java.util.EnumMap",
+			"java.util.HashMap",
+			"java.util.HashSet",
+			"java.util.LinkedHashMap",
+			"java.util.LinkedHashSet",
+			"java.util.LinkedList",
+			"java.util.Map$Entry",
+			"java.util.TreeMap",
+			"java.util.concurrent.ConcurrentHashMap",
+			"java.util.concurrent.ConcurrentHashMap$CollectionView",
+			"java.util.concurrent.ConcurrentHashMap$KeySetView",
+			"java.util.concurrent.ConcurrentHashMap$Segment",
+			"java.util.concurrent.atomic.AtomicLong",
+			"java.util.concurrent.locks.AbstractOwnableSynchronizer",
+			"java.util.concurrent.locks.AbstractQueuedSynchronizer",
+			"java.util.concurrent.locks.ReentrantLock",
+			"java.util.concurrent.locks.ReentrantLock$NonfairSync",
+			"java.util.concurrent.locks.ReentrantLock$Sync",
+			"java.security.KeyRep",
+			"java.security.KeyRep$Type",
+			"java.security.cert.Certificate$CertificateRep",
+			"javax.security.auth.x500.X500Principal",
+			// Certificates and public keys, as resolved from their serialized representation
+			"sun.security.x509.X509CertImpl",
+			"sun.security.ec.ECPublicKeyImpl",
+			"sun.security.ec.ed.EdDSAPublicKeyImpl",
+			"sun.security.provider.DSAPublicKeyImpl",
+			"sun.security.rsa.RSAPublicKeyImpl",
+			// Public keys of the signers, when loaded with the BouncyCastle provider
+			"org.bouncycastle.jcajce.provider.asymmetric.dsa.BCDSAPublicKey",
+			"org.bouncycastle.jcajce.provider.asymmetric.ec.BCECPublicKey",
+			"org.bouncycastle.jcajce.provider.asymmetric.edec.BC15EdDSAPublicKey",
+			"org.bouncycastle.jcajce.provider.asymmetric.edec.BCEdDSAPublicKey",
+			"org.bouncycastle.jcajce.provider.asymmetric.rsa.BCRSAPublicKey"
+	};
+
+	/** The serialization filter pattern, rejecting any class which is not explicitly allowed */
+	private static final String FILTER_PATTERN = buildFilterPattern();
+
+	/** The file containing the serialized snapshot */
+	private final File snapshotFile;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param snapshotFile {@link File} to store the snapshot in
+	 */
+	public CacheSnapshotFileStore(File snapshotFile) {
+		Objects.requireNonNull(snapshotFile, "The snapshot file cannot be null!");
+		this.snapshotFile = snapshotFile;
+	}
+
+	private static String buildFilterPattern() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("maxdepth=").append(MAX_DEPTH).append(';');
+		sb.append("maxarray=").append(MAX_ARRAY_LENGTH).append(';');
+		sb.append("maxrefs=").append(MAX_REFERENCES).append(';');
+		for (String allowedClass : ALLOWED_CLASSES) {
+			sb.append(allowedClass).append(';');
+		}
+		sb.append("!*");
+		return sb.toString();
+	}
+
+	/**
+	 * Writes the {@code snapshot} to the file. The previous snapshot is replaced only once the new one is written.
+	 *
+	 * @param snapshot {@link CacheSnapshot} to store
+	 */
+	public void save(CacheSnapshot snapshot) {
+		Objects.requireNonNull(snapshot, "The snapshot cannot be null!");
+		File tempFile = new File(snapshotFile.getPath() + ".tmp");
+		try (OutputStream os = Files.newOutputStream(tempFile.toPath());
+			 ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(os))) {
+			oos.writeObject(snapshot);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the cache snapshot to '%s' : %s",
+					tempFile.getAbsolutePath(), e.getMessage()), e);
+		}
+		try {
+			Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to replace the cache snapshot '%s' : %s",
+					snapshotFile.getAbsolutePath(), e.getMessage()), e);
+		}
+		LOG.debug("The cache snapshot has been written to '{}'", snapshotFile.getAbsolutePath());
+	}
+
+	/**
+	 * Reads the snapshot from the file
+	 *
+	 * @return {@link CacheSnapshot}, NULL if the file does not exist or cannot be read (e.g. created by an
+	 *         incompatible version)
+	 */
+	public CacheSnapshot load() {
+		if (!snapshotFile.exists()) {
+			LOG.debug("The cache snapshot '{}' does not exist", snapshotFile.getAbsolutePath());
+			return null;
+		}
+		try (InputStream is = Files.newInputStream(snapshotFile.toPath());
+			 ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(is))) {
+			setObjectInputFilter(ois);
+			Object object = ois.readObject();
+			if (object instanceof CacheSnapshot) {
+				return (CacheSnapshot) object;
+			}
+			LOG.warn("The file '{}' does not contain a cache snapshot", snapshotFile.getAbsolutePath());
+		} catch (IOException | ClassNotFoundException | DSSException e) {
+			LOG.warn("Unable to read the cache snapshot '{}' : {}", snapshotFile.getAbsolutePath(), e.getMessage());
+		}
+		return null;
+	}
+
+	/**
+	 * Sets the serialization filter of the {@code ObjectInputStream}.
+	 * The module targets Java 8, so the filter API is accessed by reflection :
+	 * {@code java.io.ObjectInputFilter} since Java 9, {@code sun.misc.ObjectInputFilter} since Java 8u121.
+	 *
+	 * @param ois {@link ObjectInputStream} to set the filter on, before reading any object
+	 * @throws DSSException if no serialization filter is supported by the runtime
+	 */
+	private static void setObjectInputFilter(ObjectInputStream ois) {
+		try {
+			try {
+				Class<?> filterClass = Class.forName("java.io.ObjectInputFilter");
+				Object filter = createFilter(filterClass);
+				ObjectInputStream.class.getMethod("setObjectInputFilter", filterClass).invoke(ois, filter);
+			} catch (ClassNotFoundException e) {
+				Class<?> filterClass = Class.forName("sun.misc.ObjectInputFilter");
+				Object filter = createFilter(filterClass);
+				Class.forName("sun.misc.ObjectInputFilter$Config")
+						.getMethod("setObjectInputFilter", ObjectInputStream.class, filterClass).invoke(null, ois, filter);
+			}
+		} catch (ReflectiveOperationException | LinkageError e) {
+			throw new DSSException(String.format("Unable to set the serialization filter : %s", e.getMessage()), e);
+		}
+	}
+
+	private static Object createFilter(Class<?> filterClass) throws ReflectiveOperationException {
+		return Class.forName(filterClass.getName() + "$Config").getMethod("createFilter", String.class)
+				.invoke(null, FILTER_PATTERN);
+	}
+
+}
@@ -20,10 +20,13 @@
  */
 package eu.europa.esig.dss.tsl.cache;
 
+import java.io.Serializable;
+
 /**
- * This interface is used to define a cached result for a single job
+ * This interface is used to define a cached result for a single job.
+ * The results are serializable in order to be persisted within a {@code CacheSnapshot}.
  * 
  */
-public interface CachedResult {
+public interface CachedResult extends Serializable {
 
 }
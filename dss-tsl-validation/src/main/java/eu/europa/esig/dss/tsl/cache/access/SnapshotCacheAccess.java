@@ -0,0 +1,105 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.cache.access;
+
+import eu.europa.esig.dss.tsl.cache.CacheKey;
+import eu.europa.esig.dss.tsl.cache.CacheSnapshot;
+import eu.europa.esig.dss.tsl.cache.DownloadCache;
+import eu.europa.esig.dss.tsl.cache.ParsingCache;
+import eu.europa.esig.dss.tsl.cache.ValidationCache;
+import eu.europa.esig.dss.tsl.download.XmlDownloadResult;
+import eu.europa.esig.dss.tsl.parsing.AbstractParsingResult;
+import eu.europa.esig.dss.tsl.validation.ValidationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates snapshots of the caches and restores the caches from a snapshot
+ */
+public class SnapshotCacheAccess extends ReadOnlyCacheAccess {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SnapshotCacheAccess.class);
+
+	/**
+	 * Default constructor
+	 *
+	 * @param downloadCache {@link DownloadCache}
+	 * @param parsingCache {@link ParsingCache}
+	 * @param validationCache {@link ValidationCache}
+	 */
+	public SnapshotCacheAccess(final DownloadCache downloadCache, final ParsingCache parsingCache,
+							   final ValidationCache validationCache) {
+		super(downloadCache, parsingCache, validationCache);
+	}
+
+	/**
+	 * Creates a snapshot of the up-to-date cache entries.
+	 * The entries in error, to be refreshed or to be deleted are not included.
+	 *
+	 * @return {@link CacheSnapshot}
+	 */
+	public CacheSnapshot createSnapshot() {
+		CacheSnapshot snapshot = new CacheSnapshot();
+		for (CacheKey key : downloadCache.getKeys()) {
+			XmlDownloadResult downloadResult = downloadCache.getUpToDateResult(key);
+			if (downloadResult != null) {
+				snapshot.add(key, downloadResult, parsingCache.getUpToDateResult(key), validationCache.getUpToDateResult(key));
+			}
+		}
+		LOG.debug("Snapshot created with {} entries", snapshot.getKeys().size());
+		return snapshot;
+	}
+
+	/**
+	 * Restores the caches from the given {@code snapshot}. The entries already present in the download cache
+	 * are not overwritten. The restored entries are synchronized, as if they were obtained by a previous refresh :
+	 * when the downloaded document has the same digest, the restored parsing and validation results are re-used,
+	 * otherwise they are expired.
+	 * NOTE: the trusted certificate source shall be synchronized on the next refresh.
+	 *
+	 * @param snapshot {@link CacheSnapshot} to restore
+	 */
+	public void restore(CacheSnapshot snapshot) {
+		int restored = 0;
+		for (CacheKey key : snapshot.getKeys()) {
+			if (!downloadCache.isEmpty(key)) {
+				LOG.debug("The entry with the key [{}] is already present in the cache. Snapshot entry is skipped.", key);
+				continue;
+			}
+			downloadCache.update(key, snapshot.getDownloadResult(key));
+			downloadCache.sync(key);
+
+			AbstractParsingResult parsingResult = snapshot.getParsingResult(key);
+			if (parsingResult != null) {
+				parsingCache.update(key, parsingResult);
+				parsingCache.sync(key);
+			}
+			ValidationResult validationResult = snapshot.getValidationResult(key);
+			if (validationResult != null) {
+				validationCache.update(key, validationResult);
+				validationCache.sync(key);
+			}
+			restored++;
+		}
+		LOG.info("{} entries have been restored from the cache snapshot created at {}", restored, snapshot.getCreationTime());
+	}
+
+}
@@ -33,6 +33,8 @@ import java.util.List;
  */
 public class XmlDownloadResult implements CachedResult {
 
+	private static final long serialVersionUID = 138686694852855341L;
+
 	/** The downloaded document */
 	private final DSSDocument dssDocument;
 
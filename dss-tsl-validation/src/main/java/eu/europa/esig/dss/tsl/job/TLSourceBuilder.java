@@ -82,6 +82,8 @@ public class TLSourceBuilder {
 		tlSource.setCertificateSource(getCertificateSource(otherTSLPointerDTO.getSdiCertificates()));
 		tlSource.setTrustServiceProviderPredicate(lotlSource.getTrustServiceProviderPredicate());
 		tlSource.setTrustServicePredicate(lotlSource.getTrustServicePredicate());
+		tlSource.setStreamingParsing(lotlSource.isStreamingParsing());
+		tlSource.setLightweightSignatureValidation(lotlSource.isLightweightSignatureValidation());
 		return tlSource;
 	}
 
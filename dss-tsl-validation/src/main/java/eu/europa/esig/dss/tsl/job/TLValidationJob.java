@@ -30,6 +30,7 @@ import eu.europa.esig.dss.model.tsl.TrustPropertiesCertificateSource;
 import eu.europa.esig.dss.tsl.alerts.TLValidationJobAlerter;
 import eu.europa.esig.dss.tsl.cache.CacheCleaner;
 import eu.europa.esig.dss.tsl.cache.CacheKey;
+import eu.europa.esig.dss.tsl.cache.CacheSnapshot;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessByKey;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessFactory;
 import eu.europa.esig.dss.tsl.cache.access.ReadOnlyCacheAccess;
@@ -132,6 +133,12 @@ public class TLValidationJob {
      */
     private List<Alert<TLInfo>> tlAlerts;
 
+	/**
+	 * Defines whether the certificate source shall be synchronized on the next refresh,
+	 * even if no TL changed (after a cache snapshot restoration)
+	 */
+	private boolean certificateSyncForced = false;
+
 	/**
 	 * Default constructor instantiating object with null configuration
 	 */
@@ -254,6 +261,30 @@ public class TLValidationJob {
 				.build();
 	}
 
+	/**
+	 * Returns a serializable snapshot of the current download, parsing and validation caches.
+	 * The snapshot can be persisted (see {@code CacheSnapshotFileStore}) and restored on the next start
+	 * with {@code restoreCacheSnapshot(CacheSnapshot)}
+	 *
+	 * @return {@link CacheSnapshot}
+	 */
+	public synchronized CacheSnapshot getCacheSnapshot() {
+		return cacheAccessFactory.getSnapshotCacheAccess().createSnapshot();
+	}
+
+	/**
+	 * Restores the caches from a snapshot created by a job with the same configuration (sources, filters).
+	 * This method shall be called before the first refresh. On the next refresh, the documents with an unchanged
+	 * digest are neither parsed nor validated again, the restored results are used instead.
+	 *
+	 * @param cacheSnapshot {@link CacheSnapshot} to restore
+	 */
+	public synchronized void restoreCacheSnapshot(CacheSnapshot cacheSnapshot) {
+		Objects.requireNonNull(cacheSnapshot, "The cacheSnapshot must be defined!");
+		cacheAccessFactory.getSnapshotCacheAccess().restore(cacheSnapshot);
+		certificateSyncForced = true;
+	}
+
 	/**
 	 * Used to execute the refresh in offline mode (no date from remote sources will be downloaded)
 	 * By default used on initialization
@@ -399,7 +430,9 @@ public class TLValidationJob {
 
 		TrustedListCertificateSourceSynchronizer synchronizer = new TrustedListCertificateSourceSynchronizer(trustedListSources, listOfTrustedListSources,
 				trustPropertiesCertificateSource, synchronizationStrategy, cacheAccessFactory.getSynchronizerCacheAccess());
+		synchronizer.setCertificateSyncForced(certificateSyncForced);
 		synchronizer.sync();
+		certificateSyncForced = false;
 	}
 
 	private void executeCacheCleaner() {
@@ -31,6 +31,8 @@ import java.util.List;
  */
 public abstract class AbstractParsingResult implements CachedResult {
 
+	private static final long serialVersionUID = -6368071664897029648L;
+
 	/** The LOTL/TL TSLType */
 	private TSLType tslType;
 
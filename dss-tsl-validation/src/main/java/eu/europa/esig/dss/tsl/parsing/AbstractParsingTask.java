@@ -25,18 +25,28 @@ import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.trustedlist.TrustedListFacade;
+import eu.europa.esig.trustedlist.definition.TrustedListNamespace;
 import eu.europa.esig.trustedlist.jaxb.tsl.NextUpdateType;
 import eu.europa.esig.trustedlist.jaxb.tsl.NonEmptyURIListType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TSLSchemeInformationType;
+import eu.europa.esig.trustedlist.jaxb.tsl.TSPType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TrustStatusListType;
+import org.xml.sax.SAXException;
 
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
 import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
 import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -46,6 +56,15 @@ import java.util.function.Supplier;
  */
 public abstract class AbstractParsingTask<T extends AbstractParsingResult> implements Supplier<T> {
 
+	/** The root element of a TL */
+	private static final String TRUST_SERVICE_STATUS_LIST = "TrustServiceStatusList";
+
+	/** The SchemeInformation element */
+	private static final String SCHEME_INFORMATION = "SchemeInformation";
+
+	/** The TrustServiceProvider element */
+	private static final String TRUST_SERVICE_PROVIDER = "TrustServiceProvider";
+
 	/** The document to parse */
 	private final DSSDocument document;
 
@@ -68,13 +87,90 @@ public abstract class AbstractParsingTask<T extends AbstractParsingResult> imple
 		try (InputStream is = document.openStream()) {
 			return createTrustedListFacade().unmarshall(is);
 		} catch (Exception e) {
-			String message = "Unable to parse binaries. Reason : '%s'";
-			// get complete error message in case if the message string is not defined directly
-			if (e.getMessage() == null && e.getCause() != null) {
-				throw new DSSException(String.format(message, e.getCause().getMessage()), e);
+			throw buildParsingException(e);
+		}
+	}
+
+	/**
+	 * Reads the document with a StAX reader and unmarshalls the {@code SchemeInformation} and
+	 * each {@code TrustServiceProvider} element one by one, instead of building the complete
+	 * {@code TrustStatusListType} tree. Each unmarshalled element is validated against the XSD
+	 * and is released as soon as it has been processed by the corresponding consumer.
+	 *
+	 * @param schemeInformationConsumer {@link Consumer} processing the {@link TSLSchemeInformationType}
+	 * @param trustServiceProviderConsumer {@link Consumer} processing every {@link TSPType}.
+	 *                                     When null, the reading stops after the SchemeInformation.
+	 */
+	protected void streamJAXBObjects(Consumer<TSLSchemeInformationType> schemeInformationConsumer,
+									 Consumer<TSPType> trustServiceProviderConsumer) {
+		XMLStreamReader reader = null;
+		try (InputStream is = document.openStream()) {
+			TrustedListFacade trustedListFacade = createTrustedListFacade();
+			Unmarshaller unmarshaller = trustedListFacade.getUnmarshaller(true);
+			reader = trustedListFacade.createXMLStreamReader(new StreamSource(is));
+			streamJAXBObjects(reader, unmarshaller, schemeInformationConsumer, trustServiceProviderConsumer);
+
+		} catch (JAXBException | XMLStreamException | IOException | SAXException e) {
+			throw buildParsingException(e);
+
+		} finally {
+			closeQuietly(reader);
+		}
+	}
+
+	private void streamJAXBObjects(XMLStreamReader reader, Unmarshaller unmarshaller,
+								   Consumer<TSLSchemeInformationType> schemeInformationConsumer,
+								   Consumer<TSPType> trustServiceProviderConsumer) throws XMLStreamException, JAXBException {
+		reader.nextTag();
+		if (!isTrustedListElement(reader, TRUST_SERVICE_STATUS_LIST)) {
+			throw new XMLStreamException(String.format("Unexpected root element '%s'", reader.getName()));
+		}
+
+		boolean schemeInformationFound = false;
+		while (reader.hasNext()) {
+			if (isTrustedListElement(reader, SCHEME_INFORMATION)) {
+				// the reader is moved after the end of the element
+				schemeInformationConsumer.accept(unmarshaller.unmarshal(reader, TSLSchemeInformationType.class).getValue());
+				schemeInformationFound = true;
+				if (trustServiceProviderConsumer == null) {
+					break;
+				}
+
+			} else if (schemeInformationFound && isTrustedListElement(reader, TRUST_SERVICE_PROVIDER)) {
+				trustServiceProviderConsumer.accept(unmarshaller.unmarshal(reader, TSPType.class).getValue());
+
+			} else {
+				reader.next();
 			}
-			throw new DSSException(String.format(message, e.getMessage()), e);
 		}
+
+		if (!schemeInformationFound) {
+			throw new XMLStreamException("The SchemeInformation element is not found");
+		}
+	}
+
+	private boolean isTrustedListElement(XMLStreamReader reader, String localName) {
+		return reader.isStartElement() && localName.equals(reader.getLocalName())
+				&& TrustedListNamespace.NS.getUri().equals(reader.getNamespaceURI());
+	}
+
+	private void closeQuietly(XMLStreamReader reader) {
+		if (reader != null) {
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				// ignore
+			}
+		}
+	}
+
+	private DSSException buildParsingException(Exception e) {
+		String message = "Unable to parse binaries. Reason : '%s'";
+		// get complete error message in case if the message string is not defined directly
+		if (e.getMessage() == null && e.getCause() != null) {
+			return new DSSException(String.format(message, e.getCause().getMessage()), e);
+		}
+		return new DSSException(String.format(message, e.getMessage()), e);
 	}
 
 	/**
@@ -29,6 +29,8 @@ import java.util.List;
  */
 public class LOTLParsingResult extends AbstractParsingResult {
 
+	private static final long serialVersionUID = -7561288371261435438L;
+
 	/** List of LOTL pointers */
 	private List<OtherTSLPointer> lotlPointers;
 
@@ -72,7 +72,13 @@ public class LOTLParsingTask extends AbstractParsingTask<LOTLParsingResult> {
 		return result;
 	}
 
-	private void parseSchemeInformation(LOTLParsingResult result, TSLSchemeInformationType schemeInformation) {
+	/**
+	 * Extracts the scheme information values of the LOTL
+	 *
+	 * @param result {@link LOTLParsingResult} to be filled
+	 * @param schemeInformation {@link TSLSchemeInformationType}
+	 */
+	protected void parseSchemeInformation(LOTLParsingResult result, TSLSchemeInformationType schemeInformation) {
 		commonParseSchemeInformation(result, schemeInformation);
 		extractOtherTSLPointers(result, schemeInformation);
 		extractSchemeInformationURI(result, schemeInformation);
@@ -0,0 +1,51 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.parsing;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.tsl.source.LOTLSource;
+
+/**
+ * Parses a LOTL with a StAX reader and returns {@code LOTLParsingResult}.
+ *
+ * Only the SchemeInformation element is unmarshalled, the reading of the document stops
+ * as soon as this element has been processed.
+ */
+public class StreamingLOTLParsingTask extends LOTLParsingTask {
+
+	/**
+	 * The default constructor
+	 *
+	 * @param document {@link DSSDocument} LOTL document to parse
+	 * @param lotlSource {@link LOTLSource}
+	 */
+	public StreamingLOTLParsingTask(DSSDocument document, LOTLSource lotlSource) {
+		super(document, lotlSource);
+	}
+
+	@Override
+	public LOTLParsingResult get() {
+		final LOTLParsingResult result = new LOTLParsingResult();
+		streamJAXBObjects(schemeInformation -> parseSchemeInformation(result, schemeInformation), null);
+		return result;
+	}
+
+}
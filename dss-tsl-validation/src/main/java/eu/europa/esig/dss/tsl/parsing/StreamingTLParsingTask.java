@@ -0,0 +1,76 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.parsing;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.tsl.TrustServiceProvider;
+import eu.europa.esig.dss.tsl.function.converter.TrustServiceProviderConverter;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import eu.europa.esig.trustedlist.jaxb.tsl.TSPType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parses a TL with a StAX reader and returns {@code TLParsingResult}.
+ *
+ * Unlike {@code TLParsingTask}, the complete {@code TrustStatusListType} tree is never built :
+ * each TrustServiceProvider is unmarshalled, filtered and converted as soon as it is read,
+ * so only one TSP JAXB object is kept in memory at a time.
+ */
+public class StreamingTLParsingTask extends TLParsingTask {
+
+	/**
+	 * The default constructor
+	 *
+	 * @param document {@link DSSDocument} TL document to parse
+	 * @param tlSource {@link TLSource}
+	 */
+	public StreamingTLParsingTask(DSSDocument document, TLSource tlSource) {
+		super(document, tlSource);
+	}
+
+	@Override
+	public TLParsingResult get() {
+		final TLParsingResult result = new TLParsingResult();
+		final TrustServiceProviderConverter converter = new TrustServiceProviderConverter();
+		final List<TrustServiceProvider> trustServiceProviders = new ArrayList<>();
+
+		streamJAXBObjects(schemeInformation -> {
+			commonParseSchemeInformation(result, schemeInformation);
+			converter.setTerritory(result.getTerritory());
+
+		}, trustServiceProvider -> {
+			for (TSPType tspType : filter(Collections.singletonList(trustServiceProvider))) {
+				trustServiceProviders.add(converter.apply(tspType));
+			}
+		});
+
+		if (trustServiceProviders.isEmpty()) {
+			result.setTrustServiceProviders(Collections.emptyList());
+		} else {
+			result.setTrustServiceProviders(Collections.unmodifiableList(trustServiceProviders));
+		}
+		return result;
+	}
+
+}
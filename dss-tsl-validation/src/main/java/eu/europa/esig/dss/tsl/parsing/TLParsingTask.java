@@ -84,7 +84,14 @@ public class TLParsingTask extends AbstractParsingTask<TLParsingResult> {
 		}
 	}
 
-	private List<TSPType> filter(List<TSPType> trustServiceProviders) {
+	/**
+	 * Filters the given trust service providers and their trust services with the predicates
+	 * defined within the {@code TLSource}, and removes the trust service providers without trust services
+	 *
+	 * @param trustServiceProviders a list of {@link TSPType}s to filter
+	 * @return a filtered list of {@link TSPType}s
+	 */
+	protected List<TSPType> filter(List<TSPType> trustServiceProviders) {
 
 		List<TSPType> filteredTSP = trustServiceProviders;
 
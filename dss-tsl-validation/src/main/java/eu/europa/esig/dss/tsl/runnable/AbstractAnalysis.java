@@ -28,6 +28,7 @@ import eu.europa.esig.dss.tsl.download.XmlDownloadResult;
 import eu.europa.esig.dss.tsl.download.XmlDownloadTask;
 import eu.europa.esig.dss.tsl.parsing.AbstractParsingTask;
 import eu.europa.esig.dss.tsl.source.TLSource;
+import eu.europa.esig.dss.tsl.validation.LightweightTLValidatorTask;
 import eu.europa.esig.dss.tsl.validation.TLValidatorTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -168,6 +169,9 @@ public abstract class AbstractAnalysis  {
 	 * @return {@link TLValidatorTask} to be executed
 	 */
 	protected TLValidatorTask getValidationTask(DSSDocument document, CertificateSource certificateSource) {
+		if (getSource().isLightweightSignatureValidation()) {
+			return new LightweightTLValidatorTask(document, certificateSource);
+		}
 		return new TLValidatorTask(document, certificateSource);
 	}
 
@@ -25,6 +25,7 @@ import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessByKey;
 import eu.europa.esig.dss.tsl.parsing.AbstractParsingTask;
 import eu.europa.esig.dss.tsl.parsing.LOTLParsingTask;
+import eu.europa.esig.dss.tsl.parsing.StreamingLOTLParsingTask;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
 
 import java.util.concurrent.CountDownLatch;
@@ -50,7 +51,11 @@ public class LOTLAnalysis extends AbstractRunnableAnalysis {
 
 	@Override
 	protected AbstractParsingTask<?> getParsingTask(DSSDocument document) {
-		return new LOTLParsingTask(document, (LOTLSource) getSource());
+		LOTLSource lotlSource = (LOTLSource) getSource();
+		if (lotlSource.isStreamingParsing()) {
+			return new StreamingLOTLParsingTask(document, lotlSource);
+		}
+		return new LOTLParsingTask(document, lotlSource);
 	}
 
 }
@@ -151,7 +151,7 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 		if (pivotCacheAccess.isValidationRefreshNeeded()) {
 			try {
 				LOG.debug("Validating the Pivot LOTL with cache key '{}'...", pivotCacheAccess.getCacheKey().getKey());
-				TLValidatorTask validationTask = new TLValidatorTask(document, certificateSource);
+				TLValidatorTask validationTask = getValidationTask(document, certificateSource);
 				pivotCacheAccess.update(validationTask.get());
 			} catch (Exception e) {
 				LOG.warn("Cannot validate the Pivot LOTL with the cache key '{}' : {}", pivotCacheAccess.getCacheKey().getKey(), e.getMessage());
@@ -193,6 +193,8 @@ public class LOTLWithPivotsAnalysis extends LOTLAnalysis {
 				pivotSource.setLotlPredicate(lotlSource.getLotlPredicate());
 				pivotSource.setTlPredicate(lotlSource.getTlPredicate());
 				pivotSource.setPivotSupport(lotlSource.isPivotSupport());
+				pivotSource.setStreamingParsing(lotlSource.isStreamingParsing());
+				pivotSource.setLightweightSignatureValidation(lotlSource.isLightweightSignatureValidation());
 
 				// .sha2 is not supported by pivot
 				DSSFileLoader dataLoader = dssFileLoader instanceof Sha2FileCacheDataLoader ?
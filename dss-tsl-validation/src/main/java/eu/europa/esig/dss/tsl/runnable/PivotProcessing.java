@@ -28,6 +28,7 @@ import eu.europa.esig.dss.tsl.dto.ParsingCacheDTO;
 import eu.europa.esig.dss.tsl.parsing.AbstractParsingTask;
 import eu.europa.esig.dss.tsl.parsing.LOTLParsingTask;
 import eu.europa.esig.dss.tsl.parsing.ParsingUtils;
+import eu.europa.esig.dss.tsl.parsing.StreamingLOTLParsingTask;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
 import eu.europa.esig.dss.utils.Utils;
 
@@ -79,7 +80,11 @@ public class PivotProcessing extends AbstractAnalysis implements Callable<PivotP
 
 	@Override
 	protected AbstractParsingTask<?> getParsingTask(DSSDocument document) {
-		return new LOTLParsingTask(document, (LOTLSource) getSource());
+		LOTLSource lotlSource = (LOTLSource) getSource();
+		if (lotlSource.isStreamingParsing()) {
+			return new StreamingLOTLParsingTask(document, lotlSource);
+		}
+		return new LOTLParsingTask(document, lotlSource);
 	}
 
 	@Override
@@ -24,6 +24,7 @@ import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessByKey;
 import eu.europa.esig.dss.tsl.parsing.AbstractParsingTask;
+import eu.europa.esig.dss.tsl.parsing.StreamingTLParsingTask;
 import eu.europa.esig.dss.tsl.parsing.TLParsingTask;
 import eu.europa.esig.dss.tsl.source.TLSource;
 
@@ -50,6 +51,9 @@ public class TLAnalysis extends AbstractRunnableAnalysis {
 
 	@Override
 	protected AbstractParsingTask<?> getParsingTask(DSSDocument document) {
+		if (getSource().isStreamingParsing()) {
+			return new StreamingTLParsingTask(document, getSource());
+		}
 		return new TLParsingTask(document, getSource());
 	}
 
@@ -56,6 +56,22 @@ public class TLSource {
 	 * Default : all trust services are selected
 	 */
 	private Predicate<TSPServiceType> trustServicePredicate;
+
+	/**
+	 * Defines whether the TL is parsed with the streaming StAX parser instead of
+	 * unmarshalling the complete JAXB tree
+	 *
+	 * Default : false (the complete document is unmarshalled)
+	 */
+	private boolean streamingParsing = false;
+
+	/**
+	 * Defines whether the TL signature is validated with the lightweight validator first,
+	 * before falling back to the complete validation process
+	 *
+	 * Default : false (the complete validation process is executed)
+	 */
+	private boolean lightweightSignatureValidation = false;
 	
 	/**
 	 * The cached CacheKey value (the key is computed from url parameter)
@@ -143,6 +159,50 @@ public class TLSource {
 		this.trustServicePredicate = trustServicePredicate;
 	}
 
+	/**
+	 * Gets whether the TL is parsed with the streaming StAX parser
+	 *
+	 * @return TRUE if the streaming parser is used, FALSE otherwise
+	 */
+	public boolean isStreamingParsing() {
+		return streamingParsing;
+	}
+
+	/**
+	 * Sets whether the TL shall be parsed with the streaming StAX parser.
+	 * When enabled, the SchemeInformation and each TrustServiceProvider are unmarshalled
+	 * and processed one by one, without building the complete JAXB tree of the document.
+	 *
+	 * Default : false (the complete document is unmarshalled)
+	 *
+	 * @param streamingParsing whether the streaming parser shall be used
+	 */
+	public void setStreamingParsing(boolean streamingParsing) {
+		this.streamingParsing = streamingParsing;
+	}
+
+	/**
+	 * Gets whether the TL signature is validated with the lightweight validator
+	 *
+	 * @return TRUE if the lightweight validator is used, FALSE otherwise
+	 */
+	public boolean isLightweightSignatureValidation() {
+		return lightweightSignatureValidation;
+	}
+
+	/**
+	 * Sets whether the TL signature shall be validated with the lightweight validator.
+	 * When enabled, a valid signature is accepted directly from the extracted XAdES signature, without
+	 * building the validation reports. Any other signature is processed by the complete validation process.
+	 *
+	 * Default : false (the complete validation process is executed)
+	 *
+	 * @param lightweightSignatureValidation whether the lightweight validator shall be used
+	 */
+	public void setLightweightSignatureValidation(boolean lightweightSignatureValidation) {
+		this.lightweightSignatureValidation = lightweightSignatureValidation;
+	}
+
 	/**
 	 * Gets the TL cache key
 	 *
@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.tsl.sync;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.tsl.InfoRecord;
 import eu.europa.esig.dss.model.tsl.LOTLInfo;
 import eu.europa.esig.dss.model.tsl.ParsingInfoRecord;
 import eu.europa.esig.dss.model.tsl.PivotInfo;
@@ -32,6 +33,7 @@ import eu.europa.esig.dss.model.tsl.TrustService;
 import eu.europa.esig.dss.model.tsl.TrustServiceProvider;
 import eu.europa.esig.dss.model.tsl.TrustServiceStatusAndInformationExtensions;
 import eu.europa.esig.dss.model.timedependent.TimeDependentValues;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.tsl.cache.CacheKey;
 import eu.europa.esig.dss.tsl.cache.access.SynchronizerCacheAccess;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
@@ -43,9 +45,13 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Loads trusted certificate source
@@ -79,6 +85,11 @@ public class TrustedListCertificateSourceSynchronizer {
 	 */
 	private final SynchronizerCacheAccess cacheAccess;
 
+	/**
+	 * Defines whether the certificates shall be synchronized even if no TL parsing result has changed
+	 */
+	private boolean certificateSyncForced = false;
+
 	/**
 	 * Default constructor
 	 *
@@ -99,6 +110,18 @@ public class TrustedListCertificateSourceSynchronizer {
 		this.cacheAccess = cacheAccess;
 	}
 
+	/**
+	 * Sets whether the certificates shall be synchronized even if no TL parsing result has changed
+	 * (e.g. when the caches have been restored from a snapshot)
+	 * <p>
+	 * Default : FALSE (the certificates are synchronized only when a TL parsing result has changed)
+	 *
+	 * @param certificateSyncForced whether the certificates synchronization shall be forced
+	 */
+	public void setCertificateSyncForced(boolean certificateSyncForced) {
+		this.certificateSyncForced = certificateSyncForced;
+	}
+
 	/**
 	 * Synchronizes the trusted certificate source based on the validation job processing result
 	 */
@@ -107,7 +130,9 @@ public class TrustedListCertificateSourceSynchronizer {
 			ValidationJobSummaryBuilder summaryBuilder = new ValidationJobSummaryBuilder(cacheAccess, tlSources, lotlSources);
 
 			TLValidationJobSummary summary = summaryBuilder.build();
-			if (isCertificateSyncNeeded(summary)) {
+			if (!certificateSyncForced && isIncrementalSyncSupported()) {
+				synchronizeChangedCertificates(summary);
+			} else if (certificateSyncForced || isCertificateSyncNeeded(summary)) {
 				synchronizeCertificates(summary);
 			}
 			syncCache(summary);
@@ -153,6 +178,92 @@ public class TrustedListCertificateSourceSynchronizer {
 		certificateSource.setTrustPropertiesByCertificates(trustPropertiesByCerts);
 	}
 
+	/**
+	 * The incremental synchronization is only possible when the certificate source supports it and
+	 * has already been synchronized once, so its content reflects the synchronized cache state
+	 */
+	private boolean isIncrementalSyncSupported() {
+		return certificateSource instanceof TrustedListsCertificateSource && certificateSource.getSummary() != null;
+	}
+
+	private void synchronizeChangedCertificates(TLValidationJobSummary summary) {
+		final TrustedListsCertificateSource trustedListsCertificateSource = (TrustedListsCertificateSource) certificateSource;
+		final Set<String> currentTLUrls = trustedListsCertificateSource.getSnapshot().getTrustedListUrls();
+
+		final Set<String> changedTLUrls = getChangedTLUrls(summary, currentTLUrls);
+
+		final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new HashMap<>();
+		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
+			if (synchronizationStrategy.canBeSynchronized(lotlInfo)) {
+				addCertificatesFromTLs(trustPropertiesByCerts, filterByUrls(lotlInfo.getTLInfos(), changedTLUrls), lotlInfo);
+			} else {
+				LOG.warn("Certificate synchronization is skipped for LOTL '{}' and its TLs", lotlInfo.getUrl());
+			}
+		}
+		addCertificatesFromTLs(trustPropertiesByCerts, filterByUrls(summary.getOtherTLInfos(), changedTLUrls), null);
+
+		if (!changedTLUrls.isEmpty()) {
+			LOG.debug("Incremental synchronization of the certificates for TLs {}", changedTLUrls);
+		}
+		// the trust properties of unchanged TLs are refreshed to refer to the infos of the current summary
+		trustedListsCertificateSource.updateTrustPropertiesByCertificates(changedTLUrls, trustPropertiesByCerts, summary);
+	}
+
+	/**
+	 * Returns URLs of TLs the certificates of which have to be re-synchronized : TLs with a changed parsing or
+	 * validation result, TLs of a changed LOTL, TLs which cannot be synchronized anymore and
+	 * TLs not present within the job anymore
+	 */
+	private Set<String> getChangedTLUrls(TLValidationJobSummary summary, Set<String> currentTLUrls) {
+		final Set<String> changedTLUrls = new HashSet<>();
+		final Set<String> processedTLUrls = new HashSet<>();
+		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
+			boolean lotlChanged = isChanged(lotlInfo) || !synchronizationStrategy.canBeSynchronized(lotlInfo);
+			addChangedTLUrls(changedTLUrls, processedTLUrls, lotlInfo.getTLInfos(), currentTLUrls, lotlChanged);
+		}
+		addChangedTLUrls(changedTLUrls, processedTLUrls, summary.getOtherTLInfos(), currentTLUrls, false);
+
+		for (String tlUrl : currentTLUrls) {
+			if (!processedTLUrls.contains(tlUrl)) {
+				changedTLUrls.add(tlUrl);
+			}
+		}
+		return changedTLUrls;
+	}
+
+	private void addChangedTLUrls(Set<String> changedTLUrls, Set<String> processedTLUrls, List<TLInfo> tlInfos,
+								  Set<String> currentTLUrls, boolean parentChanged) {
+		for (TLInfo tlInfo : tlInfos) {
+			String tlUrl = tlInfo.getUrl();
+			processedTLUrls.add(tlUrl);
+			if (parentChanged || isChanged(tlInfo)) {
+				changedTLUrls.add(tlUrl);
+			} else if (currentTLUrls.contains(tlUrl) != isExpectedInCertificateSource(tlInfo)) {
+				// e.g. the TL has expired or the synchronization strategy has changed since the last synchronization
+				changedTLUrls.add(tlUrl);
+			}
+		}
+	}
+
+	private boolean isExpectedInCertificateSource(TLInfo tlInfo) {
+		ParsingInfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
+		return synchronizationStrategy.canBeSynchronized(tlInfo) && parsingCacheInfo != null && parsingCacheInfo.isResultExist()
+				&& Utils.isCollectionNotEmpty(parsingCacheInfo.getTrustServiceProviders());
+	}
+
+	private boolean isChanged(TLInfo tlInfo) {
+		ParsingInfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
+		return parsingCacheInfo == null || isDesyncOrError(parsingCacheInfo) || isDesyncOrError(tlInfo.getValidationCacheInfo());
+	}
+
+	private boolean isDesyncOrError(InfoRecord infoRecord) {
+		return infoRecord != null && (infoRecord.isDesynchronized() || infoRecord.isError());
+	}
+
+	private List<TLInfo> filterByUrls(List<TLInfo> tlInfos, Set<String> tlUrls) {
+		return tlInfos.stream().filter(tlInfo -> tlUrls.contains(tlInfo.getUrl())).collect(Collectors.toList());
+	}
+
 	private void addCertificatesFromTLs(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts, final List<TLInfo> tlInfos,
 			final LOTLInfo relatedLOTL) {
 
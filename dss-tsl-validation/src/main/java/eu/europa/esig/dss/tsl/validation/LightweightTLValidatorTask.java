@@ -0,0 +1,205 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.validation;
+
+import eu.europa.esig.dss.enumerations.Context;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.DigestMatcherType;
+import eu.europa.esig.dss.enumerations.EncryptionAlgorithm;
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignatureScopeType;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.ReferenceValidation;
+import eu.europa.esig.dss.model.scope.SignatureScope;
+import eu.europa.esig.dss.model.signature.SignatureCryptographicVerification;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.spi.DSSPKUtils;
+import eu.europa.esig.dss.spi.signature.AdvancedSignature;
+import eu.europa.esig.dss.spi.x509.CertificateRef;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CertificateValidity;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.process.bbb.sav.checks.CryptographicConstraintWrapper;
+import eu.europa.esig.dss.xades.validation.XAdESSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * This class validates a TL or LOTL signature directly on the extracted XAdES signature,
+ * without building the DiagnosticData and the reports of the complete validation process.
+ * The signature is accepted only when all the constraints of the trusted list validation policy are satisfied
+ * (format, full scope, reference digests, signature value, signing certificate digest, trusted signing certificate,
+ * signing time and cryptographic constraints). In all other cases, the complete validation process
+ * of {@code TLValidatorTask} is executed, in order to obtain the same indication and sub-indication.
+ */
+public class LightweightTLValidatorTask extends TLValidatorTask {
+
+	private static final Logger LOG = LoggerFactory.getLogger(LightweightTLValidatorTask.class);
+
+	/**
+	 * Constructor used to instantiate a validator for a trusted list
+	 *
+	 * @param trustedList       the DSSDocument with a trusted list
+	 * @param certificateSource a certificate source with the allowed certificates
+	 *                          to sign this TL
+	 */
+	public LightweightTLValidatorTask(DSSDocument trustedList, CertificateSource certificateSource) {
+		super(trustedList, certificateSource);
+	}
+
+	@Override
+	public ValidationResult get() {
+		ValidationResult validationResult = validateSignature();
+		if (validationResult != null) {
+			return validationResult;
+		}
+		LOG.debug("The signature cannot be accepted by the lightweight validation. Running the complete validation process...");
+		return super.get();
+	}
+
+	private ValidationResult validateSignature() {
+		try {
+			List<AdvancedSignature> signatures = createDocumentValidator().getSignatures();
+			if (Utils.collectionSize(signatures) != 1) {
+				return null;
+			}
+			XAdESSignature signature = (XAdESSignature) signatures.get(0);
+			if (!isSignatureAccepted(signature)) {
+				return null;
+			}
+			return new ValidationResult(Indication.TOTAL_PASSED, null, signature.getSigningTime(),
+					signature.getSigningCertificateToken(), getCertificateSource());
+
+		} catch (Exception e) {
+			LOG.debug("Unable to perform the lightweight validation of the trusted list : {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private boolean isSignatureAccepted(XAdESSignature signature) {
+		// FC : the signature shall be a XAdES-BASELINE-B covering the whole document
+		if (SignatureLevel.XAdES_BASELINE_B != signature.getDataFoundUpToLevel()
+				|| !isFullScope(signature.getSignatureScopes())) {
+			return false;
+		}
+
+		// CV : reference digests and signature value
+		signature.checkSignatureIntegrity();
+		SignatureCryptographicVerification scv = signature.getSignatureCryptographicVerification();
+		if (!scv.isReferenceDataFound() || !scv.isReferenceDataIntact() || !scv.isSignatureIntact()
+				|| !areReferencesValid(signature.getReferenceValidations())) {
+			return false;
+		}
+
+		// ISC / XCV : identified signing certificate, matching the signing certificate reference and trusted
+		CertificateToken signingCertificate = signature.getSigningCertificateToken();
+		if (signingCertificate == null || !isSigningCertificateReferenceValid(signature, signingCertificate)
+				|| !buildTrustedCertificateSource(getCertificateSource()).isTrusted(signingCertificate)) {
+			return false;
+		}
+
+		// SAV : signing time and cryptographic constraints
+		if (signature.getSigningTime() == null) {
+			return false;
+		}
+		return isCryptographicallyAcceptable(signature, signingCertificate, getTrustedListValidationPolicy());
+	}
+
+	private boolean isFullScope(List<SignatureScope> signatureScopes) {
+		if (Utils.isCollectionNotEmpty(signatureScopes)) {
+			for (SignatureScope signatureScope : signatureScopes) {
+				if (SignatureScopeType.FULL != signatureScope.getType()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean areReferencesValid(List<ReferenceValidation> referenceValidations) {
+		if (Utils.isCollectionEmpty(referenceValidations)) {
+			return false;
+		}
+		for (ReferenceValidation referenceValidation : referenceValidations) {
+			if (DigestMatcherType.MANIFEST == referenceValidation.getType()
+					|| DigestMatcherType.MANIFEST_ENTRY == referenceValidation.getType()) {
+				return false;
+			}
+			if (!referenceValidation.isFound() || !referenceValidation.isIntact()) {
+				return false;
+			}
+			if (Utils.isStringNotEmpty(referenceValidation.getUri()) && Utils.isStringNotEmpty(referenceValidation.getDocumentName())
+					&& !referenceValidation.getUri().equals(referenceValidation.getDocumentName())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isSigningCertificateReferenceValid(XAdESSignature signature, CertificateToken signingCertificate) {
+		CertificateValidity certificateValidity = signature.getCandidatesForSigningCertificate().getTheCertificateValidity();
+		return certificateValidity != null && signingCertificate.equals(certificateValidity.getCertificateToken())
+				&& certificateValidity.isDigestPresent() && certificateValidity.isDigestEqual();
+	}
+
+	private boolean isCryptographicallyAcceptable(XAdESSignature signature, CertificateToken signingCertificate,
+												  ValidationPolicy validationPolicy) {
+		CryptographicConstraintWrapper constraint = new CryptographicConstraintWrapper(
+				validationPolicy.getSignatureCryptographicConstraint(Context.SIGNATURE));
+
+		EncryptionAlgorithm encryptionAlgorithm = signature.getEncryptionAlgorithm();
+		int keySize = DSSPKUtils.getPublicKeySize(signingCertificate.getPublicKey());
+		if (!constraint.isEncryptionAlgorithmReliable(encryptionAlgorithm)
+				|| !constraint.isEncryptionAlgorithmWithKeySizeReliable(encryptionAlgorithm, keySize)
+				|| constraint.getExpirationDate(encryptionAlgorithm, keySize) != null) {
+			return false;
+		}
+
+		if (!isDigestAlgorithmAcceptable(constraint, signature.getDigestAlgorithm())) {
+			return false;
+		}
+		for (ReferenceValidation referenceValidation : signature.getReferenceValidations()) {
+			if (!isDigestAcceptable(constraint, referenceValidation.getDigest())) {
+				return false;
+			}
+		}
+		for (CertificateRef certificateRef : signature.getCertificateSource().getSigningCertificateRefs()) {
+			if (!isDigestAcceptable(constraint, certificateRef.getCertDigest())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isDigestAcceptable(CryptographicConstraintWrapper constraint, Digest digest) {
+		return digest != null && isDigestAlgorithmAcceptable(constraint, digest.getAlgorithm());
+	}
+
+	private boolean isDigestAlgorithmAcceptable(CryptographicConstraintWrapper constraint, DigestAlgorithm digestAlgorithm) {
+		return constraint.isDigestAlgorithmReliable(digestAlgorithm) && constraint.getExpirationDate(digestAlgorithm) == null;
+	}
+
+}
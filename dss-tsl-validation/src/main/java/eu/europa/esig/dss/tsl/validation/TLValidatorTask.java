@@ -83,6 +83,17 @@ public class TLValidatorTask implements Supplier<ValidationResult> {
 	}
 
 	private Reports validateTL() {
+		final XMLDocumentValidator xmlDocumentValidator = createDocumentValidator();
+		return xmlDocumentValidator.validateDocument(getTrustedListValidationPolicy());
+	}
+
+	/**
+	 * Creates a validator for the trusted list, accepting only the certificates from the certificate source
+	 * as trust anchors and skipping the retrieval of any external validation data
+	 *
+	 * @return {@link XMLDocumentValidator}
+	 */
+	protected XMLDocumentValidator createDocumentValidator() {
 		final CertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
 		certificateVerifier.setTrustedCertSources(buildTrustedCertificateSource(certificateSource));
 
@@ -100,7 +111,7 @@ public class TLValidatorTask implements Supplier<ValidationResult> {
 		xadesPathsHolders.clear();
 		xadesPathsHolders.add(new XAdES132Path());
 
-		return xmlDocumentValidator.validateDocument(getTrustedListValidationPolicy());
+		return xmlDocumentValidator;
 	}
 
 	private ValidationResult fillResult(Reports reports) {
@@ -124,13 +135,33 @@ public class TLValidatorTask implements Supplier<ValidationResult> {
 		return new ValidationResult(indication, subIndication, signingTime, signingCertificate, certificateSource);
 	}
 
-	private TrustedCertificateSource buildTrustedCertificateSource(CertificateSource certificateSource) {
+	/**
+	 * Gets the certificate source with the allowed certificates to sign the trusted list
+	 *
+	 * @return {@link CertificateSource}
+	 */
+	protected CertificateSource getCertificateSource() {
+		return certificateSource;
+	}
+
+	/**
+	 * Builds a trusted certificate source from the given {@code certificateSource}
+	 *
+	 * @param certificateSource {@link CertificateSource} with the allowed certificates
+	 * @return {@link TrustedCertificateSource}
+	 */
+	protected TrustedCertificateSource buildTrustedCertificateSource(CertificateSource certificateSource) {
 		CommonTrustedCertificateSource commonTrustedCertificateSource = new CommonTrustedCertificateSource();
 		commonTrustedCertificateSource.importAsTrusted(certificateSource);
 		return commonTrustedCertificateSource;
 	}
 
-	private ValidationPolicy getTrustedListValidationPolicy() {
+	/**
+	 * Loads the validation policy used for trusted lists
+	 *
+	 * @return {@link ValidationPolicy}
+	 */
+	protected ValidationPolicy getTrustedListValidationPolicy() {
 		try {
 			return ValidationPolicyFacade.newFacade().getTrustedListValidationPolicy();
 		} catch (Exception e) {
@@ -35,6 +35,8 @@ import java.util.List;
  */
 public class ValidationResult implements CachedResult {
 
+	private static final long serialVersionUID = 5696803838767433238L;
+
 	/** The used certificate source */
 	private final CertificateSource certificateSource;
 
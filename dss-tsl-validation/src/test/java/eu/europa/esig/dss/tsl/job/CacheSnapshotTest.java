@@ -0,0 +1,188 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.service.http.commons.FileCacheDataLoader;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.tsl.cache.CacheSnapshot;
+import eu.europa.esig.dss.tsl.cache.CacheSnapshotFileStore;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheSnapshotTest {
+
+	private static final String URL = "cz-snapshot";
+
+	@TempDir
+	File cacheDirectory;
+
+	private final DSSDocument CZ = new FileDocument("src/test/resources/lotlCache/CZ.xml");
+	private final DSSDocument CZ_BROKEN_SIG = new FileDocument("src/test/resources/lotlCache/CZ_broken-sig.xml");
+
+	@Test
+	void restoreUnchangedTL() {
+		CacheSnapshotFileStore fileStore = new CacheSnapshotFileStore(new File(cacheDirectory, "tl-cache.ser"));
+		assertNull(fileStore.load());
+
+		TLValidationJob job = new TLValidationJob();
+		job.setTrustedListSources(getTLSource(getCertificateSource()));
+		job.setOnlineDataLoader(getOnlineDataLoader(CZ));
+		job.onlineRefresh();
+		assertEquals(Indication.TOTAL_PASSED, getTLInfo(job).getValidationCacheInfo().getIndication());
+
+		fileStore.save(job.getCacheSnapshot());
+
+		CacheSnapshot snapshot = fileStore.load();
+		assertNotNull(snapshot);
+		assertEquals(1, snapshot.getKeys().size());
+
+		// The TL signing certificate is not provided : the restored validation result is used for the same document
+		TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+		TLValidationJob restoredJob = new TLValidationJob();
+		restoredJob.setTrustedListCertificateSource(trustedListsCertificateSource);
+		restoredJob.setTrustedListSources(getTLSource(new CommonCertificateSource()));
+		restoredJob.setOnlineDataLoader(getOnlineDataLoader(CZ));
+		restoredJob.restoreCacheSnapshot(snapshot);
+		restoredJob.onlineRefresh();
+
+		TLInfo tlInfo = getTLInfo(restoredJob);
+		assertTrue(tlInfo.getDownloadCacheInfo().isSynchronized());
+		assertTrue(tlInfo.getParsingCacheInfo().isSynchronized());
+		assertTrue(tlInfo.getValidationCacheInfo().isSynchronized());
+		assertEquals(Indication.TOTAL_PASSED, tlInfo.getValidationCacheInfo().getIndication());
+		assertNotEquals(0, trustedListsCertificateSource.getNumberOfCertificates());
+
+		// Without the snapshot, the TL is validated again
+		TLValidationJob coldJob = new TLValidationJob();
+		coldJob.setTrustedListSources(getTLSource(new CommonCertificateSource()));
+		coldJob.setOnlineDataLoader(getOnlineDataLoader(CZ));
+		coldJob.onlineRefresh();
+		assertNotEquals(Indication.TOTAL_PASSED, getTLInfo(coldJob).getValidationCacheInfo().getIndication());
+	}
+
+	@Test
+	void restoreChangedTL() {
+		TLValidationJob job = new TLValidationJob();
+		job.setTrustedListSources(getTLSource(getCertificateSource()));
+		job.setOnlineDataLoader(getOnlineDataLoader(CZ));
+		job.onlineRefresh();
+		assertEquals(Indication.TOTAL_PASSED, getTLInfo(job).getValidationCacheInfo().getIndication());
+
+		CacheSnapshot snapshot = job.getCacheSnapshot();
+		assertFalse(snapshot.isEmpty());
+
+		// The document digest changed : the TL is parsed and validated again
+		TLValidationJob restoredJob = new TLValidationJob();
+		restoredJob.setTrustedListSources(getTLSource(getCertificateSource()));
+		restoredJob.setOnlineDataLoader(getOnlineDataLoader(CZ_BROKEN_SIG));
+		restoredJob.restoreCacheSnapshot(snapshot);
+		restoredJob.onlineRefresh();
+		assertEquals(Indication.TOTAL_FAILED, getTLInfo(restoredJob).getValidationCacheInfo().getIndication());
+	}
+
+	@Test
+	void emptySnapshot() {
+		TLValidationJob job = new TLValidationJob();
+		assertTrue(job.getCacheSnapshot().isEmpty());
+		assertThrows(NullPointerException.class, () -> job.restoreCacheSnapshot(null));
+	}
+
+	@Test
+	void notAllowedClassIsRejected() throws IOException {
+		File file = new File(cacheDirectory, "not-a-snapshot.ser");
+		try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(file.toPath()))) {
+			oos.writeObject(new Vector<>(Collections.singletonList("value")));
+		}
+		assertNull(new CacheSnapshotFileStore(file).load());
+	}
+
+	@Test
+	void tooDeepGraphIsRejected() throws IOException {
+		List<Object> list = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			List<Object> parent = new ArrayList<>();
+			parent.add(list);
+			list = parent;
+		}
+		File file = new File(cacheDirectory, "deep-graph.ser");
+		try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(file.toPath()))) {
+			oos.writeObject(list);
+		}
+		assertNull(new CacheSnapshotFileStore(file).load());
+	}
+
+	private TLInfo getTLInfo(TLValidationJob job) {
+		return job.getSummary().getOtherTLInfos().get(0);
+	}
+
+	private TLSource getTLSource(CertificateSource certificateSource) {
+		TLSource czTLSource = new TLSource();
+		czTLSource.setUrl(URL);
+		czTLSource.setCertificateSource(certificateSource);
+		return czTLSource;
+	}
+
+	private CertificateSource getCertificateSource() {
+		CertificateSource certificateSource = new CommonCertificateSource();
+		certificateSource.addCertificate(DSSUtils.loadCertificateFromBase64EncodedString(
+				"MIIISDCCBjCgAwIBAgIEAK+KyjANBgkqhkiG9w0BAQsFADB/MQswCQYDVQQGEwJDWjEoMCYGA1UEAwwfSS5DQSBRdWFsaWZpZWQgMiBDQS9SU0EgMDIvMjAxNjEtMCsGA1UECgwkUHJ2bsOtIGNlcnRpZmlrYcSNbsOtIGF1dG9yaXRhLCBhLnMuMRcwFQYDVQQFEw5OVFJDWi0yNjQzOTM5NTAeFw0xOTAzMDQwOTQzMThaFw0yMDAzMDMwOTQzMThaMIGiMR0wGwYDVQQDDBRJbmcuIFJhZG9tw61yIMWgaW1lazERMA8GA1UEKgwIUmFkb23DrXIxDzANBgNVBAQMBsWgaW1lazELMAkGA1UEBhMCQ1oxNzA1BgNVBAoMLk1pbmlzdHJ5IG9mIHRoZSBJbnRlcmlvciBvZiB0aGUgQ3plY2ggUmVwdWJsaWMxFzAVBgNVBAUTDklDQSAtIDEwNDkzOTg5MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAj0NF1nqVxU2B/ZO2MKuO6MYN6qH5SGntLvtAAFTYJXyiafT6zzSBXhHHW0bvVMsfW/GGeyVKfrDzz9J+Aw45UbC7+tDkQ+3AGqYpM9y2WhSqw4dsZSNm9Qz/Jrw7HSe7wrEJeg4X0vjXU0jt8Kh1hq5Sz1tEvbhLU9sTCRBnkS5a9ZeGfSJNpOLLowQQZ/HiHjgVMVcm576ij1jo1mGYz5304e+nIkl1IC8EbIrwe+is1LhMxcqMBooEVdb/ZjaA/7Q/3KESgErXbYMitmFQ0OdH6fEKx+uerw/KO7wExDY0RbbsyEbLWOTuzQQfH+lqZJOF3Dl8Ey9n6QrverDA5QIDAQABo4IDpjCCA6IwVQYDVR0RBE4wTIEVcmFkb21pci5zaW1la0BtdmNyLmN6oBgGCisGAQQBgbhIBAagCgwIMTA0OTM5ODmgGQYJKwYBBAHcGQIBoAwMCjE4OTUxNDA4MDgwHwYJYIZIAYb4QgENBBIWEDkyMDMwMzAwMDAwMTEyNzMwDgYDVR0PAQH/BAQDAgbAMAkGA1UdEwQCMAAwggEoBgNVHSAEggEfMIIBGzCCAQwGDSsGAQQBgbhICgEeAQEwgfowHQYIKwYBBQUHAgEWEWh0dHA6Ly93d3cuaWNhLmN6MIHYBggrBgEFBQcCAjCByxqByFRlbnRvIGt2YWxpZmlrb3ZhbnkgY2VydGlmaWthdCBwcm8gZWxla3Ryb25pY2t5IHBvZHBpcyBieWwgdnlkYW4gdiBzb3VsYWR1IHMgbmFyaXplbmltIEVVIGMuIDkxMC8yMDE0LlRoaXMgaXMgYSBxdWFsaWZpZWQgY2VydGlmaWNhdGUgZm9yIGVsZWN0cm9uaWMgc2lnbmF0dXJlIGFjY29yZGluZyB0byBSZWd1bGF0aW9uIChFVSkgTm8gOTEwLzIwMTQuMAkGBwQAi+xAAQIwgY8GA1UdHwSBhzCBhDAqoCigJoYkaHR0cDovL3FjcmxkcDEuaWNhLmN6LzJxY2ExNl9yc2EuY3JsMCqgKKAmhiRodHRwOi8vcWNybGRwMi5pY2EuY3ovMnFjYTE2X3JzYS5jcmwwKqAooCaGJGh0dHA6Ly9xY3JsZHAzLmljYS5jei8ycWNhMTZfcnNhLmNybDCBkgYIKwYBBQUHAQMEgYUwgYIwCAYGBACORgEBMAgGBgQAjkYBBDBXBgYEAI5GAQUwTTAtFidodHRwczovL3d3dy5pY2EuY3ovWnByYXZ5LXByby11eml2YXRlbGUTAmNzMBwWFmh0dHBzOi8vd3d3LmljYS5jei9QRFMTAmVuMBMGBgQAjkYBBjAJBgcEAI5GAQYBMGUGCCsGAQUFBwEBBFkwVzAqBggrBgEFBQcwAoYeaHR0cDovL3EuaWNhLmN6LzJxY2ExNl9yc2EuY2VyMCkGCCsGAQUFBzABhh1odHRwOi8vb2NzcC5pY2EuY3ovMnFjYTE2X3JzYTAfBgNVHSMEGDAWgBR0ggiR49lkaHGF1usx5HLfiyaxbTAdBgNVHQ4EFgQUkVUbJXHGZ+cJtqHZKttyclziLAcwEwYDVR0lBAwwCgYIKwYBBQUHAwQwDQYJKoZIhvcNAQELBQADggIBAJ02rKq039tzkKhCcYWvZVR6ZyRH++kJiVdm0gxmmpjcHo37A2sDFkjt19v2WpDtTMswVoBKE1Vpo+GN19WxNixAxfZLP8NJRdeopvr1m05iBdmzfIuOZ7ehb6g8xVSoC9BEDDzGIXHJaVDv60sr4E80RNquD3UHia1O0V4CQk/bY1645/LETBqGopeZUAPJcdqSj342ofR4iXTOOwl7hl7qEbNKefSzEnEKSHLqnBomi4kUqT7d5zFJRxI8fS6esfqNi74WS0dofHNxh7sf8F7m7F6lsEkXNrcD84OQg+NU00km92ATaRp4dLS79KSkSPH5Jv3oOkmZ8epjNoA6b9lBAZH9ZL8HlwF7gYheg+jfYmXAeMu6vAeXXVJyi7QaMVawkGLNJsn9gTCw7B55dT/XL8yyAia2aSUj1mRogWzYBQbvC5fPxAvRyweikTwPRngVNSHN85ed/NnLAKDpTlOrJhGoRltm2d7xWa5/AJCZP91Yr//Dex8mksslyYU9yB5tP4ZZrVBRjR4KX8DOMO3rf+R9rJFEMefsAkgwOFeJ5VjXof3QGjy7sHxlVG+dG4xFEvuup7Dt6kFHuVxNxwJVZ+umfgteZcGtrucKgw0Nh4fv4ixOfez6UOZpkCdCmjg1AlLSnEhERb2OGCMVSdAu9mHsINNDhRDhoDBYOxyn"));
+		return certificateSource;
+	}
+
+	private DSSFileLoader getOnlineDataLoader(DSSDocument doc) {
+		FileCacheDataLoader onlineFileLoader = new FileCacheDataLoader();
+		onlineFileLoader.setCacheExpirationTime(0);
+		Map<String, DSSDocument> onlineMap = new HashMap<>();
+		onlineMap.put(URL, doc);
+		onlineFileLoader.setDataLoader(new MockDataLoader(onlineMap));
+		onlineFileLoader.setFileCacheDirectory(cacheDirectory);
+		return onlineFileLoader;
+	}
+
+}
@@ -0,0 +1,126 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.parsing;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.tsl.OtherTSLPointer;
+import eu.europa.esig.dss.tsl.function.OfficialJournalSchemeInformationURI;
+import eu.europa.esig.dss.tsl.function.XMLOtherTSLPointer;
+import eu.europa.esig.dss.tsl.source.LOTLSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingLOTLParsingTaskTest {
+
+	private static DSSDocument LOTL;
+	private static DSSDocument LOTL_NOT_PARSEABLE;
+	private static DSSDocument LOTL_PIVOT;
+
+	private static DSSDocument LOTL_MRA;
+
+	private static DSSDocument TL;
+
+	@BeforeAll
+	static void init() {
+		LOTL = new FileDocument("src/test/resources/eu-lotl.xml");
+		LOTL_NOT_PARSEABLE = new FileDocument("src/test/resources/eu-lotl-not-parseable.xml");
+		LOTL_PIVOT = new FileDocument("src/test/resources/eu-lotl-pivot.xml");
+
+		LOTL_MRA = new FileDocument("src/test/resources/mra-lotl.xml");
+
+		TL = new FileDocument("src/test/resources/ie-tl.xml");
+	}
+
+	@Test
+	void sameResultAsJaxbParsing() {
+		for (DSSDocument document : new DSSDocument[] { LOTL, LOTL_PIVOT, TL }) {
+			LOTLSource lotlSource = new LOTLSource();
+			compare(new LOTLParsingTask(document, lotlSource).get(), new StreamingLOTLParsingTask(document, lotlSource).get());
+		}
+	}
+
+	@Test
+	void pivotSupportAndSigningCertAnnouncement() {
+		LOTLSource lotlSource = new LOTLSource();
+		lotlSource.setPivotSupport(true);
+		lotlSource.setSigningCertificatesAnnouncementPredicate(new OfficialJournalSchemeInformationURI("https://eur-lex.europa.eu/legal-content/blabla"));
+
+		LOTLParsingResult result = new StreamingLOTLParsingTask(LOTL_PIVOT, lotlSource).get();
+		compare(new LOTLParsingTask(LOTL_PIVOT, lotlSource).get(), result);
+		assertNotNull(result.getSigningCertificateAnnouncementURL());
+		assertNotNull(result.getPivotURLs());
+	}
+
+	@Test
+	void mra() {
+		LOTLSource lotlSource = new LOTLSource();
+		lotlSource.setMraSupport(true);
+		lotlSource.setTlPredicate(new XMLOtherTSLPointer());
+
+		LOTLParsingResult result = new StreamingLOTLParsingTask(LOTL_MRA, lotlSource).get();
+		compare(new LOTLParsingTask(LOTL_MRA, lotlSource).get(), result);
+		assertEquals(33, result.getTlPointers().size());
+		assertNotNull(result.getTlPointers().get(result.getTlPointers().size() - 1).getMra());
+	}
+
+	@Test
+	void notParseable() {
+		StreamingLOTLParsingTask task = new StreamingLOTLParsingTask(LOTL_NOT_PARSEABLE, new LOTLSource());
+		DSSException exception = assertThrows(DSSException.class, () -> task.get());
+		assertTrue(exception.getMessage().contains("Unable to parse binaries"));
+	}
+
+	private void compare(LOTLParsingResult expected, LOTLParsingResult result) {
+		assertNotNull(result);
+		assertEquals(expected.getVersion(), result.getVersion());
+		assertEquals(expected.getSequenceNumber(), result.getSequenceNumber());
+		assertEquals(expected.getTSLType(), result.getTSLType());
+		assertEquals(expected.getTerritory(), result.getTerritory());
+		assertEquals(expected.getIssueDate(), result.getIssueDate());
+		assertEquals(expected.getNextUpdateDate(), result.getNextUpdateDate());
+		assertEquals(expected.getDistributionPoints(), result.getDistributionPoints());
+		assertEquals(expected.getSigningCertificateAnnouncementURL(), result.getSigningCertificateAnnouncementURL());
+		assertEquals(expected.getPivotURLs(), result.getPivotURLs());
+		comparePointers(expected.getLotlPointers(), result.getLotlPointers());
+		comparePointers(expected.getTlPointers(), result.getTlPointers());
+	}
+
+	private void comparePointers(List<OtherTSLPointer> expected, List<OtherTSLPointer> pointers) {
+		assertEquals(expected.size(), pointers.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getTSLLocation(), pointers.get(i).getTSLLocation());
+			assertEquals(expected.get(i).getSchemeTerritory(), pointers.get(i).getSchemeTerritory());
+			assertEquals(expected.get(i).getTslType(), pointers.get(i).getTslType());
+			assertEquals(expected.get(i).getMimeType(), pointers.get(i).getMimeType());
+			assertEquals(expected.get(i).getSdiCertificates(), pointers.get(i).getSdiCertificates());
+		}
+	}
+
+}
@@ -0,0 +1,159 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.parsing;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.tsl.TrustService;
+import eu.europa.esig.dss.model.tsl.TrustServiceProvider;
+import eu.europa.esig.dss.model.tsl.TrustServiceStatusAndInformationExtensions;
+import eu.europa.esig.dss.tsl.function.TrustServicePredicate;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import eu.europa.esig.trustedlist.jaxb.tsl.TSPServiceType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingTLParsingTaskTest {
+
+	private static DSSDocument DE_TL;
+	private static DSSDocument FR_TL;
+	private static DSSDocument IE_TL;
+	private static DSSDocument SK_TL;
+	private static DSSDocument SK_1911;
+
+	private static DSSDocument LOTL;
+	private static DSSDocument LOTL_NOT_PARSEABLE;
+
+	@BeforeAll
+	static void init() {
+		DE_TL = new FileDocument("src/test/resources/de-tl.xml");
+		FR_TL = new FileDocument("src/test/resources/fr.xml");
+		IE_TL = new FileDocument("src/test/resources/ie-tl.xml");
+		SK_TL = new FileDocument("src/test/resources/sk-tl.xml");
+		SK_1911 = new FileDocument("src/test/resources/tsl-sk-minimal-dss-1911.xml");
+
+		LOTL = new FileDocument("src/test/resources/eu-lotl.xml");
+		LOTL_NOT_PARSEABLE = new FileDocument("src/test/resources/eu-lotl-not-parseable.xml");
+	}
+
+	@Test
+	void sameResultAsJaxbParsing() {
+		for (DSSDocument document : new DSSDocument[] { DE_TL, FR_TL, IE_TL, SK_TL, SK_1911, LOTL }) {
+			TLSource tlSource = new TLSource();
+			compare(new TLParsingTask(document, tlSource).get(), new StreamingTLParsingTask(document, tlSource).get());
+		}
+	}
+
+	@Test
+	void sameResultWithPredicates() {
+		TLSource tlSource = new TLSource();
+		tlSource.setTrustServiceProviderPredicate(t -> t.getTSPServices() != null
+				&& t.getTSPServices().getTSPService().size() > 1);
+		tlSource.setTrustServicePredicate(new TrustServicePredicate() {
+
+			@Override
+			public boolean test(TSPServiceType t) {
+				return t.getServiceInformation().getServiceTypeIdentifier().endsWith("CA/QC");
+			}
+
+		});
+
+		TLParsingResult result = new StreamingTLParsingTask(FR_TL, tlSource).get();
+		compare(new TLParsingTask(FR_TL, tlSource).get(), result);
+		assertTrue(result.getTrustServiceProviders().size() > 0);
+	}
+
+	@Test
+	void filterAllTrustServiceProviders() {
+		TLSource tlSource = new TLSource();
+		tlSource.setTrustServiceProviderPredicate(t -> false);
+
+		TLParsingResult result = new StreamingTLParsingTask(IE_TL, tlSource).get();
+		assertNotNull(result);
+		assertEquals("IE", result.getTerritory());
+		assertEquals(0, result.getTrustServiceProviders().size());
+	}
+
+	@Test
+	void notParseable() {
+		StreamingTLParsingTask task = new StreamingTLParsingTask(LOTL_NOT_PARSEABLE, new TLSource());
+		DSSException exception = assertThrows(DSSException.class, () -> task.get());
+		assertTrue(exception.getMessage().contains("Unable to parse binaries"));
+	}
+
+	private void compare(TLParsingResult expected, TLParsingResult result) {
+		assertNotNull(result);
+		assertEquals(expected.getVersion(), result.getVersion());
+		assertEquals(expected.getSequenceNumber(), result.getSequenceNumber());
+		assertEquals(expected.getTSLType(), result.getTSLType());
+		assertEquals(expected.getTerritory(), result.getTerritory());
+		assertEquals(expected.getIssueDate(), result.getIssueDate());
+		assertEquals(expected.getNextUpdateDate(), result.getNextUpdateDate());
+		assertEquals(expected.getDistributionPoints(), result.getDistributionPoints());
+
+		List<TrustServiceProvider> expectedTSPs = expected.getTrustServiceProviders();
+		List<TrustServiceProvider> tsps = result.getTrustServiceProviders();
+		assertEquals(expectedTSPs.size(), tsps.size());
+		for (int i = 0; i < expectedTSPs.size(); i++) {
+			TrustServiceProvider expectedTSP = expectedTSPs.get(i);
+			TrustServiceProvider tsp = tsps.get(i);
+			assertEquals(expectedTSP.getNames(), tsp.getNames());
+			assertEquals(expectedTSP.getTradeNames(), tsp.getTradeNames());
+			assertEquals(expectedTSP.getRegistrationIdentifiers(), tsp.getRegistrationIdentifiers());
+			assertEquals(expectedTSP.getPostalAddresses(), tsp.getPostalAddresses());
+			assertEquals(expectedTSP.getElectronicAddresses(), tsp.getElectronicAddresses());
+			assertEquals(expectedTSP.getInformation(), tsp.getInformation());
+			assertEquals(expectedTSP.getTerritory(), tsp.getTerritory());
+
+			assertEquals(expectedTSP.getServices().size(), tsp.getServices().size());
+			for (int j = 0; j < expectedTSP.getServices().size(); j++) {
+				TrustService expectedService = expectedTSP.getServices().get(j);
+				TrustService service = tsp.getServices().get(j);
+				assertEquals(expectedService.getCertificates(), service.getCertificates());
+
+				Iterator<TrustServiceStatusAndInformationExtensions> expectedHistory = expectedService.getStatusAndInformationExtensions().iterator();
+				Iterator<TrustServiceStatusAndInformationExtensions> history = service.getStatusAndInformationExtensions().iterator();
+				while (expectedHistory.hasNext()) {
+					assertTrue(history.hasNext());
+					TrustServiceStatusAndInformationExtensions expectedStatus = expectedHistory.next();
+					TrustServiceStatusAndInformationExtensions status = history.next();
+					assertEquals(expectedStatus.getType(), status.getType());
+					assertEquals(expectedStatus.getStatus(), status.getStatus());
+					assertEquals(expectedStatus.getStartDate(), status.getStartDate());
+					assertEquals(expectedStatus.getEndDate(), status.getEndDate());
+					assertEquals(expectedStatus.getConditionsForQualifiers().size(), status.getConditionsForQualifiers().size());
+				}
+				assertFalse(history.hasNext());
+			}
+		}
+	}
+
+}
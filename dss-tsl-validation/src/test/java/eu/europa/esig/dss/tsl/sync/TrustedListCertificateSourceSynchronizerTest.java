@@ -0,0 +1,245 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.sync;
+
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.tsl.OtherTSLPointer;
+import eu.europa.esig.dss.model.tsl.TrustProperties;
+import eu.europa.esig.dss.model.tsl.TrustServiceStatusAndInformationExtensions;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.tsl.cache.CacheKey;
+import eu.europa.esig.dss.tsl.cache.access.CacheAccessFactory;
+import eu.europa.esig.dss.tsl.parsing.LOTLParsingResult;
+import eu.europa.esig.dss.tsl.parsing.TLParsingResult;
+import eu.europa.esig.dss.tsl.parsing.TLParsingTask;
+import eu.europa.esig.dss.tsl.source.LOTLSource;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrustedListCertificateSourceSynchronizerTest {
+
+	private static final String DE_URL = "https://www.nrca-ds.de/st/TSL-XML.xml";
+	private static final String IE_URL = "https://files.dcenr.gov.ie/rh/Irelandtslsigned.xml";
+	private static final String SK_URL = "https://tl.nbu.gov.sk/kca/tsl/tsl.xml";
+	private static final String LOTL_URL = "https://ec.europa.eu/tools/lotl/eu-lotl.xml";
+
+	private CacheAccessFactory cacheAccessFactory;
+
+	private SynchronizationStrategy synchronizationStrategy;
+
+	private TLParsingResult deParsingResult;
+	private TLParsingResult ieParsingResult;
+	private TLParsingResult skParsingResult;
+
+	@BeforeEach
+	void init() {
+		cacheAccessFactory = new CacheAccessFactory();
+		synchronizationStrategy = new ExpirationAndSignatureCheckStrategy();
+
+		deParsingResult = parse("src/test/resources/de-tl.xml");
+		ieParsingResult = parse("src/test/resources/ie-tl.xml");
+		skParsingResult = parse("src/test/resources/sk-tl.xml");
+	}
+
+	@Test
+	void expiredTLTest() {
+		TLSource[] tlSources = new TLSource[] { getTLSource(DE_URL), getTLSource(IE_URL) };
+		updateCache(DE_URL, deParsingResult);
+		updateCache(IE_URL, ieParsingResult);
+
+		TrustedListsCertificateSource certificateSource = new TrustedListsCertificateSource();
+		sync(tlSources, null, certificateSource);
+		assertEquals(new HashSet<>(Arrays.asList(DE_URL, IE_URL)), certificateSource.getSnapshot().getTrustedListUrls());
+		assertSameAsFullSynchronization(tlSources, null, certificateSource);
+
+		// the TL expires without any change within the cache
+		ieParsingResult.setNextUpdateDate(getDate(-1));
+		sync(tlSources, null, certificateSource);
+		assertEquals(new HashSet<>(Arrays.asList(DE_URL)), certificateSource.getSnapshot().getTrustedListUrls());
+		assertSameAsFullSynchronization(tlSources, null, certificateSource);
+
+		// the TL is updated
+		ieParsingResult = parse("src/test/resources/ie-tl.xml");
+		updateCache(IE_URL, ieParsingResult);
+		sync(tlSources, null, certificateSource);
+		assertEquals(new HashSet<>(Arrays.asList(DE_URL, IE_URL)), certificateSource.getSnapshot().getTrustedListUrls());
+		assertSameAsFullSynchronization(tlSources, null, certificateSource);
+	}
+
+	@Test
+	void tlDroppedFromJobTest() {
+		TLSource[] tlSources = new TLSource[] { getTLSource(DE_URL), getTLSource(IE_URL), getTLSource(SK_URL) };
+		updateCache(DE_URL, deParsingResult);
+		updateCache(IE_URL, ieParsingResult);
+		updateCache(SK_URL, skParsingResult);
+
+		TrustedListsCertificateSource certificateSource = new TrustedListsCertificateSource();
+		sync(tlSources, null, certificateSource);
+		assertEquals(new HashSet<>(Arrays.asList(DE_URL, IE_URL, SK_URL)), certificateSource.getSnapshot().getTrustedListUrls());
+		int certificatesNumber = certificateSource.getNumberOfCertificates();
+
+		// the job configuration changes, the cache of the removed TL is untouched
+		tlSources = new TLSource[] { getTLSource(DE_URL), getTLSource(SK_URL) };
+		sync(tlSources, null, certificateSource);
+		assertEquals(new HashSet<>(Arrays.asList(DE_URL, SK_URL)), certificateSource.getSnapshot().getTrustedListUrls());
+		assertTrue(certificatesNumber > certificateSource.getNumberOfCertificates());
+		assertSameAsFullSynchronization(tlSources, null, certificateSource);
+
+		tlSources = new TLSource[0];
+		sync(tlSources, null, certificateSource);
+		assertEquals(0, certificateSource.getNumberOfCertificates());
+		assertTrue(certificateSource.getSnapshot().getTrustedListUrls().isEmpty());
+		assertSameAsFullSynchronization(tlSources, null, certificateSource);
+	}
+
+	@Test
+	void lotlChangeTest() {
+		LOTLSource[] lotlSources = new LOTLSource[] { getLOTLSource() };
+		updateCache(LOTL_URL, getLOTLParsingResult(DE_URL, IE_URL, SK_URL));
+		updateCache(DE_URL, deParsingResult);
+		updateCache(IE_URL, ieParsingResult);
+		updateCache(SK_URL, skParsingResult);
+
+		TrustedListsCertificateSource certificateSource = new TrustedListsCertificateSource();
+		sync(null, lotlSources, certificateSource);
+		assertEquals(new HashSet<>(Arrays.asList(DE_URL, IE_URL, SK_URL)), certificateSource.getSnapshot().getTrustedListUrls());
+		assertSameAsFullSynchronization(null, lotlSources, certificateSource);
+
+		// the LOTL does not point to the TL anymore
+		updateCache(LOTL_URL, getLOTLParsingResult(DE_URL, SK_URL));
+		sync(null, lotlSources, certificateSource);
+		assertEquals(new HashSet<>(Arrays.asList(DE_URL, SK_URL)), certificateSource.getSnapshot().getTrustedListUrls());
+		assertSameAsFullSynchronization(null, lotlSources, certificateSource);
+
+		// the LOTL expires, its TLs cannot be synchronized anymore
+		LOTLParsingResult expiredLOTLParsingResult = getLOTLParsingResult(DE_URL, SK_URL);
+		expiredLOTLParsingResult.setNextUpdateDate(getDate(-1));
+		updateCache(LOTL_URL, expiredLOTLParsingResult);
+		sync(null, lotlSources, certificateSource);
+		assertEquals(0, certificateSource.getNumberOfCertificates());
+		assertSameAsFullSynchronization(null, lotlSources, certificateSource);
+
+		updateCache(LOTL_URL, getLOTLParsingResult(DE_URL, IE_URL, SK_URL));
+		sync(null, lotlSources, certificateSource);
+		assertEquals(new HashSet<>(Arrays.asList(DE_URL, IE_URL, SK_URL)), certificateSource.getSnapshot().getTrustedListUrls());
+		assertSameAsFullSynchronization(null, lotlSources, certificateSource);
+	}
+
+	private void sync(TLSource[] tlSources, LOTLSource[] lotlSources, TrustedListsCertificateSource certificateSource) {
+		TrustedListCertificateSourceSynchronizer synchronizer = new TrustedListCertificateSourceSynchronizer(tlSources, lotlSources,
+				certificateSource, synchronizationStrategy, cacheAccessFactory.getSynchronizerCacheAccess());
+		synchronizer.sync();
+	}
+
+	private void assertSameAsFullSynchronization(TLSource[] tlSources, LOTLSource[] lotlSources,
+												 TrustedListsCertificateSource certificateSource) {
+		TrustedListsCertificateSource rebuiltCertificateSource = new TrustedListsCertificateSource();
+		TrustedListCertificateSourceSynchronizer synchronizer = new TrustedListCertificateSourceSynchronizer(tlSources, lotlSources,
+				rebuiltCertificateSource, synchronizationStrategy, cacheAccessFactory.getSynchronizerCacheAccess());
+		synchronizer.setCertificateSyncForced(true);
+		synchronizer.sync();
+
+		assertEquals(rebuiltCertificateSource.getNumberOfCertificates(), certificateSource.getNumberOfCertificates());
+		assertEquals(rebuiltCertificateSource.getSnapshot().getTrustedListUrls(), certificateSource.getSnapshot().getTrustedListUrls());
+		assertEquals(getTrustPropertiesContent(rebuiltCertificateSource), getTrustPropertiesContent(certificateSource));
+	}
+
+	/**
+	 * {@code TrustProperties} do not define equality, therefore the content is compared
+	 */
+	private Map<CertificateToken, Set<String>> getTrustPropertiesContent(TrustedListsCertificateSource certificateSource) {
+		Map<CertificateToken, Set<String>> result = new HashMap<>();
+		for (CertificateToken certificateToken : certificateSource.getCertificates()) {
+			Set<String> trustPropertiesContent = new HashSet<>();
+			for (TrustProperties trustProperties : certificateSource.getTrustServices(certificateToken)) {
+				TrustServiceStatusAndInformationExtensions latest = trustProperties.getTrustService().getLatest();
+				trustPropertiesContent.add(String.join(";",
+						trustProperties.getLOTLInfo() != null ? trustProperties.getLOTLInfo().getUrl() : "",
+						trustProperties.getTLInfo().getUrl(),
+						String.valueOf(trustProperties.getTrustServiceProvider().getNames()),
+						String.valueOf(latest.getNames()), latest.getType(), latest.getStatus()));
+			}
+			assertFalse(trustPropertiesContent.isEmpty());
+			result.put(certificateToken, trustPropertiesContent);
+		}
+		return result;
+	}
+
+	private void updateCache(String url, TLParsingResult parsingResult) {
+		cacheAccessFactory.getCacheAccess(new CacheKey(url)).update(parsingResult);
+	}
+
+	private void updateCache(String url, LOTLParsingResult parsingResult) {
+		cacheAccessFactory.getCacheAccess(new CacheKey(url)).update(parsingResult);
+	}
+
+	private TLParsingResult parse(String path) {
+		TLParsingResult parsingResult = new TLParsingTask(new FileDocument(path), new TLSource()).get();
+		parsingResult.setNextUpdateDate(getDate(1));
+		return parsingResult;
+	}
+
+	private LOTLParsingResult getLOTLParsingResult(String... tlUrls) {
+		List<OtherTSLPointer> tlPointers = new ArrayList<>();
+		for (String tlUrl : tlUrls) {
+			tlPointers.add(new OtherTSLPointer.OtherTSLPointerBuilder().setTslLocation(tlUrl).build());
+		}
+		LOTLParsingResult parsingResult = new LOTLParsingResult();
+		parsingResult.setTlPointers(tlPointers);
+		parsingResult.setLotlPointers(new ArrayList<>());
+		parsingResult.setPivotURLs(new ArrayList<>());
+		parsingResult.setNextUpdateDate(getDate(1));
+		return parsingResult;
+	}
+
+	private TLSource getTLSource(String url) {
+		TLSource tlSource = new TLSource();
+		tlSource.setUrl(url);
+		return tlSource;
+	}
+
+	private LOTLSource getLOTLSource() {
+		LOTLSource lotlSource = new LOTLSource();
+		lotlSource.setUrl(LOTL_URL);
+		return lotlSource;
+	}
+
+	private Date getDate(int days) {
+		return new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(days));
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.validation;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LightweightTLValidatorTaskTest {
+
+	private static Stream<Arguments> data() {
+		return Stream.of(
+				Arguments.of("src/test/resources/eu-lotl.xml"),
+				Arguments.of("src/test/resources/eu-lotl-broken-sig.xml"),
+				Arguments.of("src/test/resources/eu-lotl-pivot.xml"),
+				Arguments.of("src/test/resources/mra-lotl.xml"),
+				Arguments.of("src/test/resources/de-tl.xml"),
+				Arguments.of("src/test/resources/dk_tl-sn21.xml"),
+				Arguments.of("src/test/resources/fr.xml"),
+				Arguments.of("src/test/resources/ie-tl.xml"),
+				Arguments.of("src/test/resources/sk-tl.xml"),
+				Arguments.of("src/test/resources/tl-ecdsa-brainpool.xml")
+		);
+	}
+
+	@ParameterizedTest(name = "TL {index} : {0}")
+	@MethodSource("data")
+	void sameResultTest(String filePath) {
+		DSSDocument trustedList = new FileDocument(filePath);
+
+		// no trusted certificate : the complete validation process is used
+		CertificateSource emptyCertificateSource = new CommonCertificateSource();
+		ValidationResult expected = new TLValidatorTask(trustedList, emptyCertificateSource).get();
+		assertSameResult(expected, new LightweightTLValidatorTask(trustedList, emptyCertificateSource).get());
+
+		CertificateToken signingCertificate = expected.getSigningCertificate();
+		assertNotNull(signingCertificate);
+
+		// trusted signing certificate
+		CertificateSource certificateSource = new CommonCertificateSource();
+		certificateSource.addCertificate(signingCertificate);
+		expected = new TLValidatorTask(trustedList, certificateSource).get();
+		assertSameResult(expected, new LightweightTLValidatorTask(trustedList, certificateSource).get());
+	}
+
+	@Test
+	void validTest() {
+		DSSDocument trustedList = new FileDocument("src/test/resources/eu-lotl.xml");
+		CertificateToken signingCertificate = new TLValidatorTask(trustedList, new CommonCertificateSource()).get().getSigningCertificate();
+
+		CertificateSource certificateSource = new CommonCertificateSource();
+		certificateSource.addCertificate(signingCertificate);
+		ValidationResult result = new LightweightTLValidatorTask(trustedList, certificateSource).get();
+		assertEquals(Indication.TOTAL_PASSED, result.getIndication());
+		assertNotNull(result.getSigningTime());
+		assertEquals(signingCertificate, result.getSigningCertificate());
+	}
+
+	@Test
+	void noSignatureTest() {
+		DSSDocument trustedList = new FileDocument("src/test/resources/eu-lotl-no-sig.xml");
+		LightweightTLValidatorTask task = new LightweightTLValidatorTask(trustedList, new CommonCertificateSource());
+		DSSException exception = assertThrows(DSSException.class, task::get);
+		assertEquals("Number of signatures must be equal to 1 (currently : 0)", exception.getMessage());
+	}
+
+	private void assertSameResult(ValidationResult expected, ValidationResult result) {
+		assertEquals(expected.getIndication(), result.getIndication());
+		assertEquals(expected.getSubIndication(), result.getSubIndication());
+		assertEquals(expected.getSigningTime(), result.getSigningTime());
+		assertEquals(expected.getSigningCertificate(), result.getSigningCertificate());
+	}
+
+}